@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Builds the three backends, generates the shared CUSTMAST dataset and runs the
+# cross-implementation benchmark. Needs JDK 21 (the bmad backend targets Java 21)
+# and either Docker or BENCHMARK_JDBC_URL pointing at a Postgres server whose user
+# may create databases.
+#
+# Usage: benchmarks/run-benchmarks.sh [extra -Dbenchmark.* options]
+#   ROWS=90000 SEED=1 BENCHMARK_JDBC_URL=jdbc:postgresql://localhost:5432/postgres \
+#   BENCHMARK_JDBC_USER=postgres BENCHMARK_JDBC_PASSWORD=secret benchmarks/run-benchmarks.sh
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+ROWS="${ROWS:-90000}"
+SEED="${SEED:-1}"
+DATASET="${DATASET:-$ROOT/benchmarks/target/custmast-$ROWS-$SEED.csv.gz}"
+
+echo "==> Packaging backends"
+for project in rpgle-transformer-bmad/backend \
+               rpgle-transformer-agents/final-output/backend \
+               rpgle-transformer-baseline/final-output/backend; do
+    (cd "$ROOT/$project" && mvn -B -q package -DskipTests -Dcheckstyle.skip -Dpmd.skip -Djacoco.skip)
+done
+
+if [[ ! -f "$DATASET" ]]; then
+    echo "==> Generating $ROWS CUSTMAST rows (seed $SEED)"
+    mkdir -p "$(dirname "$DATASET")"
+    (cd "$ROOT/rpgle-transformer-bmad/backend" && mvn -B -q test -Dtest=CustmastDataGenerationTest \
+        -Ddatagen.rows="$ROWS" -Ddatagen.seed="$SEED" -Ddatagen.csv="$DATASET" \
+        -Dcheckstyle.skip -Dpmd.skip -Djacoco.skip)
+fi
+
+echo "==> Benchmarking"
+DATABASE_OPTIONS=()
+if [[ -n "${BENCHMARK_JDBC_URL:-}" ]]; then
+    DATABASE_OPTIONS=(-Dbenchmark.jdbc-url="$BENCHMARK_JDBC_URL"
+                      -Dbenchmark.jdbc-user="${BENCHMARK_JDBC_USER:-postgres}"
+                      -Dbenchmark.jdbc-password="${BENCHMARK_JDBC_PASSWORD:-}")
+fi
+cd "$ROOT/benchmarks"
+mvn -B -q test -Dtest=CrossImplementationBenchmarkTest -Dbenchmark.dataset="$DATASET" \
+    ${DATABASE_OPTIONS[@]+"${DATABASE_OPTIONS[@]}"} "$@"
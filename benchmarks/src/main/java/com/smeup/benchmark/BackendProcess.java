@@ -0,0 +1,129 @@
+package com.smeup.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * A backend started from its executable jar in a separate JVM, with output sent to a log file.
+ */
+public final class BackendProcess implements AutoCloseable {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Process process;
+    private final long startNanos;
+    private final Path log;
+
+    private BackendProcess(Process process, long startNanos, Path log) {
+        this.process = process;
+        this.startNanos = startNanos;
+        this.log = log;
+    }
+
+    /**
+     * Starts the jar. Jars without a Postgres driver run through Spring Boot's
+     * PropertiesLauncher with the benchmark's own driver on {@code loader.path}.
+     *
+     * @param java         java executable
+     * @param jvmOptions   options such as the heap size
+     * @param jar          Spring Boot executable jar
+     * @param addDriver    whether to add the Postgres driver
+     * @param arguments    application arguments
+     * @param log          file receiving standard output and error
+     */
+    public static BackendProcess start(Path java, List<String> jvmOptions, Path jar, boolean addDriver,
+            List<String> arguments, Path log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(java.toString());
+        command.addAll(jvmOptions);
+        if (addDriver) {
+            command.add("-Dloader.path=" + postgresDriverJar());
+            command.add("-cp");
+            command.add(jar.toString());
+            command.add(propertiesLauncher(jar));
+        } else {
+            command.add("-jar");
+            command.add(jar.toString());
+        }
+        command.addAll(arguments);
+
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(jar.getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        return new BackendProcess(process, startNanos, log);
+    }
+
+    public long pid() {
+        return process.pid();
+    }
+
+    /**
+     * Polls the probe URI until the backend answers with anything but a server error.
+     *
+     * @return time from process start to the first answer
+     * @throws IllegalStateException when the process exits or does not answer in time
+     */
+    public Duration awaitReady(URI probe, Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(probe).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = startNanos + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with code " + process.exitValue() + "; see " + log);
+            }
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status < 500) {
+                    return Duration.ofNanos(System.nanoTime() - startNanos);
+                }
+            } catch (IOException e) {
+                // not listening yet, or the connection was reset while the server starts
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("Backend not ready after " + timeout + "; see " + log);
+    }
+
+    /**
+     * Asks the JVM to shut down and kills it if it does not within 30 seconds.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static Path postgresDriverJar() {
+        try {
+            return Path.of(org.postgresql.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot locate the Postgres driver jar", e);
+        }
+    }
+
+    /**
+     * The PropertiesLauncher next to the jar's own launcher, whose package differs between
+     * Spring Boot versions.
+     */
+    private static String propertiesLauncher(Path jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            String mainClass = jarFile.getManifest().getMainAttributes().getValue("Main-Class");
+            return mainClass.substring(0, mainClass.lastIndexOf('.') + 1) + "PropertiesLauncher";
+        }
+    }
+}
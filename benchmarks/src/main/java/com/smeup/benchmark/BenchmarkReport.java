@@ -0,0 +1,117 @@
+package com.smeup.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Writes {@code results.json} and {@code results.md} and turns the measurements into the
+ * Performance score of the comparison framework (docs/rpgle-conversion-comparison-prompt.md).
+ *
+ * <p>Each of six metrics scores 10 for the best implementation and proportionally less for
+ * the others (best / value, or value / best for throughput); the Performance score is their
+ * mean. An implementation failing more than {@link #MAX_ERROR_RATIO} of its requests scores 0.
+ */
+public final class BenchmarkReport {
+
+    static final double MAX_ERROR_RATIO = 0.01;
+
+    private static final List<Metric> METRICS = List.of(
+            new Metric("Throughput", true, BenchmarkResult::requestsPerSecond),
+            new Metric("p50 latency", false, BenchmarkResult::p50Micros),
+            new Metric("p99 latency", false, BenchmarkResult::p99Micros),
+            new Metric("Startup time", false, BenchmarkResult::startupMillis),
+            new Metric("Peak RSS", false, BenchmarkResult::peakRssBytes),
+            new Metric("Allocation per request", false, BenchmarkResult::allocatedBytesPerRequest));
+
+    private BenchmarkReport() {
+    }
+
+    /**
+     * Performance score from 0 to 10 per implementation, in result order.
+     */
+    public static Map<String, Double> scores(List<BenchmarkResult> results) {
+        List<BenchmarkResult> valid = results.stream()
+                .filter(result -> result.errorRatio() <= MAX_ERROR_RATIO)
+                .toList();
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (BenchmarkResult result : results) {
+            if (!valid.contains(result)) {
+                scores.put(result.implementation(), 0.0);
+                continue;
+            }
+            double sum = 0;
+            for (Metric metric : METRICS) {
+                sum += metric.score(result, valid);
+            }
+            scores.put(result.implementation(), Math.round(sum / METRICS.size() * 10) / 10.0);
+        }
+        return scores;
+    }
+
+    public static void write(BenchmarkSettings settings, List<BenchmarkResult> results, Path directory)
+            throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Double> scores = scores(results);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings.describe());
+        json.put("results", results);
+        json.put("performanceScores", scores);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("results.json").toFile(), json);
+
+        Files.writeString(directory.resolve("results.md"), markdown(settings, results, scores));
+    }
+
+    static String markdown(BenchmarkSettings settings, List<BenchmarkResult> results, Map<String, Double> scores) {
+        StringBuilder md = new StringBuilder("# Cross-Implementation Inquiry Benchmark\n\n");
+        md.append("| Setting | Value |\n|---------|-------|\n");
+        settings.describe().forEach((name, value) -> md.append("| ").append(name).append(" | ")
+                .append(value).append(" |\n"));
+
+        md.append("\n| Implementation | Startup (ms) | Throughput (req/s) | p50 (ms) | p99 (ms) | Max (ms) "
+                + "| RSS (MB) | Peak RSS (MB) | Alloc rate (MB/s) | Alloc/request (KB) | Errors |\n");
+        md.append("|---|---|---|---|---|---|---|---|---|---|---|\n");
+        for (BenchmarkResult result : results) {
+            md.append(String.format(Locale.ROOT,
+                    "| %s | %d | %.0f | %.2f | %.2f | %.2f | %.0f | %.0f | %.1f | %.1f | %d |%n",
+                    result.implementation(), result.startupMillis(), result.requestsPerSecond(),
+                    result.p50Micros() / 1000.0, result.p99Micros() / 1000.0, result.maxMicros() / 1000.0,
+                    result.rssBytes() / 1048576.0, result.peakRssBytes() / 1048576.0,
+                    result.allocatedBytesPerSecond() / 1048576.0, result.allocatedBytesPerRequest() / 1024.0,
+                    result.errors()));
+        }
+
+        md.append("\n## Performance Score\n\n");
+        md.append("Mean of ").append(METRICS.stream().map(Metric::name).toList())
+                .append(", each 10 for the best implementation and proportionally less for the others. ")
+                .append(String.format(Locale.ROOT, "More than %.0f%% errors scores 0.%n%n", MAX_ERROR_RATIO * 100));
+        md.append("| Implementation | Performance |\n|---|---|\n");
+        scores.forEach((name, score) -> md.append(String.format(Locale.ROOT, "| %s | %.1f/10 |%n", name, score)));
+        return md.toString();
+    }
+
+    private record Metric(String name, boolean higherIsBetter, ToDoubleFunction<BenchmarkResult> value) {
+
+        double score(BenchmarkResult result, List<BenchmarkResult> candidates) {
+            double own = value.applyAsDouble(result);
+            double best = candidates.stream()
+                    .mapToDouble(value)
+                    .reduce(higherIsBetter ? Math::max : Math::min)
+                    .orElse(own);
+            if (own == best) {
+                return 10;
+            }
+            return higherIsBetter ? 10 * own / best : 10 * best / own;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.smeup.benchmark;
+
+/**
+ * Measurements of one implementation.
+ *
+ * @param implementation           target name
+ * @param startupMillis            process start to first answered request, with the dataset loaded
+ * @param requests                 requests answered during the measurement
+ * @param errors                   answers other than 200/404, and failed requests
+ * @param requestsPerSecond        throughput
+ * @param p50Micros                median latency
+ * @param p99Micros                99th percentile latency
+ * @param maxMicros                highest latency
+ * @param rssBytes                 resident set size after the measurement
+ * @param peakRssBytes             highest resident set size of the process
+ * @param allocatedBytesPerSecond  heap allocation rate during the measurement
+ * @param allocatedBytesPerRequest heap allocated per request during the measurement
+ */
+public record BenchmarkResult(
+        String implementation,
+        long startupMillis,
+        long requests,
+        long errors,
+        double requestsPerSecond,
+        long p50Micros,
+        long p99Micros,
+        long maxMicros,
+        long rssBytes,
+        long peakRssBytes,
+        double allocatedBytesPerSecond,
+        double allocatedBytesPerRequest) {
+
+    public double errorRatio() {
+        return requests == 0 ? 1 : (double) errors / requests;
+    }
+}
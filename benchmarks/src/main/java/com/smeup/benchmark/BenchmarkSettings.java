@@ -0,0 +1,69 @@
+package com.smeup.benchmark;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parameters shared by every implementation in one benchmark run.
+ *
+ * @param dataset        generated CUSTMAST CSV, optionally gzipped
+ * @param targets        implementations to measure, in order
+ * @param concurrency    closed-loop clients
+ * @param warmup         load before measuring, to get past JIT compilation and cold caches
+ * @param duration       measured load
+ * @param seed           workload seed
+ * @param missRatio      share of inquiries for missing customers
+ * @param skew           workload skew, see {@link InquiryWorkload}
+ * @param heap           maximum heap given to every backend, e.g. {@code 512m}
+ * @param port           HTTP port the backends listen on, one at a time
+ * @param java           java executable the backends run on
+ * @param startupTimeout limit for a backend to answer its first request
+ */
+public record BenchmarkSettings(
+        Path dataset,
+        List<BenchmarkTarget> targets,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        double missRatio,
+        double skew,
+        String heap,
+        int port,
+        Path java,
+        Duration startupTimeout) {
+
+    /**
+     * JVM options every backend gets, so heap sizing does not favour anyone.
+     */
+    public List<String> jvmOptions() {
+        return List.of("-Xms" + heap, "-Xmx" + heap);
+    }
+
+    /**
+     * The settings as plain values, for the report.
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("dataset", dataset.getFileName().toString());
+        values.put("targets", targets.stream().map(BenchmarkTarget::name).toList());
+        values.put("concurrency", concurrency);
+        values.put("warmupSeconds", warmup.toSeconds());
+        values.put("durationSeconds", duration.toSeconds());
+        values.put("seed", seed);
+        values.put("missRatio", missRatio);
+        values.put("skew", skew);
+        values.put("heap", heap);
+        values.put("javaVersion", javaVersion());
+        return values;
+    }
+
+    private String javaVersion() {
+        return java.equals(Path.of(System.getProperty("java.home"), "bin", "java"))
+                ? System.getProperty("java.version")
+                : java.toString();
+    }
+}
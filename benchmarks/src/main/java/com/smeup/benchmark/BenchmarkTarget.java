@@ -0,0 +1,145 @@
+package com.smeup.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+/**
+ * One backend under benchmark: where its build output lives, how to call its inquiry endpoint
+ * and how to fill its customer table from the staged dataset ({@link DatasetLoader#STAGING_TABLE}).
+ *
+ * @param name                   short name, also used for the database name
+ * @param projectDir             Maven project directory, relative to the repository root
+ * @param inquiryPath            inquiry path with a {@code %d} placeholder for the customer number
+ * @param table                  customer table the inquiry reads
+ * @param loadSql                statement copying the staged rows into {@code table}
+ * @param schemaByHibernate      whether the schema comes from Hibernate DDL (otherwise Flyway)
+ * @param bundlesPostgresDriver  whether the executable jar already contains the Postgres driver
+ */
+public record BenchmarkTarget(
+        String name,
+        String projectDir,
+        String inquiryPath,
+        String table,
+        String loadSql,
+        boolean schemaByHibernate,
+        boolean bundlesPostgresDriver) {
+
+    public static final BenchmarkTarget BMAD = new BenchmarkTarget(
+            "bmad",
+            "rpgle-transformer-bmad/backend",
+            "/api/v1/customers/%d",
+            "CUSTMAST",
+            "INSERT INTO CUSTMAST (CUSTNO, CUSTNAME, ADDR1, CITY, STATE, ZIP, PHONE, BALANCE, CREDITLIM, LASTORDER) "
+                    + "SELECT CUSTNO, CUSTNAME, ADDR1, CITY, STATE, ZIP, PHONE, BALANCE, CREDITLIM, LASTORDER "
+                    + "FROM " + DatasetLoader.STAGING_TABLE,
+            false,
+            true);
+
+    public static final BenchmarkTarget AGENTS = new BenchmarkTarget(
+            "agents",
+            "rpgle-transformer-agents/final-output/backend",
+            "/api/customers/%d",
+            "CUSTMAST",
+            "INSERT INTO CUSTMAST (CUSTNO, CUSTNAME, ADDR1, CITY, STATE, ZIP, PHONE, BALANCE, CREDITLIM, LASTORDER) "
+                    + "SELECT CUSTNO, CUSTNAME, ADDR1, CITY, STATE, ZIP, PHONE, BALANCE, CREDITLIM, LASTORDER "
+                    + "FROM " + DatasetLoader.STAGING_TABLE,
+            true,
+            false);
+
+    /**
+     * Snake-case columns and a real DATE for the last order.
+     */
+    public static final BenchmarkTarget BASELINE = new BenchmarkTarget(
+            "baseline",
+            "rpgle-transformer-baseline/final-output/backend",
+            "/api/customers/%d",
+            "customer_master",
+            "INSERT INTO customer_master (customer_number, customer_name, address_line1, city, state, zip_code, "
+                    + "phone_number, account_balance, credit_limit, last_order_date) "
+                    + "SELECT CUSTNO, CUSTNAME, ADDR1, CITY, STATE, ZIP, PHONE, BALANCE, CREDITLIM, "
+                    + "TO_DATE(CAST(NULLIF(LASTORDER, 0) AS VARCHAR), 'YYYYMMDD') "
+                    + "FROM " + DatasetLoader.STAGING_TABLE,
+            true,
+            true);
+
+    public static final List<BenchmarkTarget> ALL = List.of(BMAD, AGENTS, BASELINE);
+
+    /**
+     * Looks a target up by name, ignoring case.
+     */
+    public static BenchmarkTarget byName(String name) {
+        return ALL.stream()
+                .filter(target -> target.name().equalsIgnoreCase(name.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown benchmark target: " + name));
+    }
+
+    public String inquiryPath(long customerNumber) {
+        return String.format(Locale.ROOT, inquiryPath, customerNumber);
+    }
+
+    /**
+     * Finds the Spring Boot executable jar in the project's {@code target} directory.
+     *
+     * @throws IllegalStateException when the project has not been packaged
+     */
+    public Path findExecutableJar(Path repositoryRoot) {
+        Path targetDir = repositoryRoot.resolve(projectDir).resolve("target");
+        if (Files.isDirectory(targetDir)) {
+            try (Stream<Path> files = Files.list(targetDir)) {
+                List<Path> jars = files
+                        .filter(file -> file.getFileName().toString().endsWith(".jar"))
+                        .filter(BenchmarkTarget::isBootJar)
+                        .sorted()
+                        .toList();
+                if (!jars.isEmpty()) {
+                    return jars.get(0);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        throw new IllegalStateException("No executable jar in " + targetDir
+                + "; run 'mvn package -DskipTests' in " + projectDir);
+    }
+
+    /**
+     * Spring arguments pointing the backend at the benchmark database. Every target runs
+     * without its development profile (and its H2 settings) and without SQL logging.
+     *
+     * @param prepare true for the run that only creates the schema
+     */
+    public List<String> applicationArguments(DatabaseSettings database, int port, boolean prepare) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=" + port,
+                "--spring.profiles.active=benchmark",
+                "--spring.datasource.url=" + database.jdbcUrl(),
+                "--spring.datasource.username=" + database.username(),
+                "--spring.datasource.password=" + database.password(),
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.sql.init.mode=never"));
+        if (schemaByHibernate) {
+            arguments.add("--spring.jpa.hibernate.ddl-auto=" + (prepare ? "create" : "none"));
+        }
+        return arguments;
+    }
+
+    private static boolean isBootJar(Path jar) {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Manifest manifest = jarFile.getManifest();
+            return manifest != null && manifest.getMainAttributes().getValue("Start-Class") != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
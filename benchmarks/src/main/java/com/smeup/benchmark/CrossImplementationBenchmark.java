@@ -0,0 +1,122 @@
+package com.smeup.benchmark;
+
+import com.smeup.benchmark.DatasetLoader.DatasetInfo;
+import com.smeup.benchmark.JvmMetrics.ResidentMemory;
+import com.smeup.benchmark.LoadDriver.LoadResult;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs every target against the same dataset and workload, one at a time.
+ *
+ * <p>Per target: a fresh database, a first start that only lets the backend create its schema
+ * (Flyway or Hibernate DDL), the dataset load, and a second start that is timed, warmed up
+ * and measured. Timing the second start means startup work that scales with the data
+ * (summaries, in-memory indexes) counts against the implementation doing it.
+ */
+public class CrossImplementationBenchmark {
+
+    private final BenchmarkSettings settings;
+    private final DatabaseSettings server;
+    private final Path repositoryRoot;
+    private final Path outputDirectory;
+
+    /**
+     * @param settings        run parameters
+     * @param server          Postgres server; its user must be allowed to create databases
+     * @param repositoryRoot  checkout containing the three implementations
+     * @param outputDirectory receives the backend logs and the report
+     */
+    public CrossImplementationBenchmark(BenchmarkSettings settings, DatabaseSettings server, Path repositoryRoot,
+            Path outputDirectory) {
+        this.settings = settings;
+        this.server = server;
+        this.repositoryRoot = repositoryRoot;
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * Measures every target and writes the report.
+     */
+    public List<BenchmarkResult> run() throws IOException, SQLException, InterruptedException {
+        Files.createDirectories(outputDirectory);
+        // fail before the first long run if any jar is missing
+        settings.targets().forEach(target -> target.findExecutableJar(repositoryRoot));
+
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (BenchmarkTarget target : settings.targets()) {
+            BenchmarkResult result = measure(target);
+            System.out.printf("%s: %.0f req/s, p50 %d us, p99 %d us, startup %d ms%n", result.implementation(),
+                    result.requestsPerSecond(), result.p50Micros(), result.p99Micros(), result.startupMillis());
+            results.add(result);
+        }
+        BenchmarkReport.write(settings, results, outputDirectory);
+        return results;
+    }
+
+    private BenchmarkResult measure(BenchmarkTarget target) throws IOException, SQLException, InterruptedException {
+        Path jar = target.findExecutableJar(repositoryRoot);
+        DatabaseSettings database = recreateDatabase("bench_" + target.name());
+        URI baseUri = URI.create("http://localhost:" + settings.port());
+        URI probe = baseUri.resolve(target.inquiryPath(1));
+
+        try (BackendProcess prepare = start(target, jar, database, true, "-prepare.log")) {
+            prepare.awaitReady(probe, settings.startupTimeout());
+        }
+        DatasetInfo dataset = DatasetLoader.load(database, target, settings.dataset());
+
+        try (BackendProcess backend = start(target, jar, database, false, ".log")) {
+            Duration startup = backend.awaitReady(probe, settings.startupTimeout());
+            InquiryWorkload workload = new InquiryWorkload(settings.seed(), dataset.firstCustomer(),
+                    dataset.lastCustomer(), settings.missRatio(), settings.skew());
+            LoadDriver driver = new LoadDriver(baseUri, target, workload, settings.concurrency());
+
+            try (JvmMetrics metrics = JvmMetrics.attach(backend.pid())) {
+                driver.run(settings.warmup());
+                long allocatedBefore = metrics.allocatedBytes();
+                LoadResult load = driver.run(settings.duration());
+                long allocated = metrics.allocatedBytes() - allocatedBefore;
+                ResidentMemory memory = metrics.residentMemory();
+
+                LatencyHistogram latency = load.latency();
+                double seconds = load.elapsedNanos() / 1e9;
+                return new BenchmarkResult(
+                        target.name(),
+                        startup.toMillis(),
+                        load.requests(),
+                        load.errors(),
+                        load.requestsPerSecond(),
+                        latency.getPercentile(0.50),
+                        latency.getPercentile(0.99),
+                        latency.getMax(),
+                        memory.rssBytes(),
+                        memory.peakRssBytes(),
+                        allocated / seconds,
+                        load.requests() == 0 ? 0 : (double) allocated / load.requests());
+            }
+        }
+    }
+
+    private BackendProcess start(BenchmarkTarget target, Path jar, DatabaseSettings database, boolean prepare,
+            String logSuffix) throws IOException {
+        return BackendProcess.start(settings.java(), settings.jvmOptions(), jar, !target.bundlesPostgresDriver(),
+                target.applicationArguments(database, settings.port(), prepare),
+                outputDirectory.resolve(target.name() + logSuffix));
+    }
+
+    private DatabaseSettings recreateDatabase(String name) throws SQLException {
+        try (Connection connection = server.connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + name);
+            statement.execute("CREATE DATABASE " + name);
+        }
+        return server.withDatabase(name);
+    }
+}
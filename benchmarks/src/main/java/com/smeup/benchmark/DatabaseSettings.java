@@ -0,0 +1,40 @@
+package com.smeup.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Postgres connection settings.
+ *
+ * @param jdbcUrl  JDBC URL, {@code jdbc:postgresql://host:port/database[?params]}
+ * @param username user name
+ * @param password password
+ */
+public record DatabaseSettings(String jdbcUrl, String username, String password) {
+
+    private static final String PREFIX = "jdbc:postgresql://";
+
+    public DatabaseSettings {
+        if (!jdbcUrl.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Not a Postgres JDBC URL: " + jdbcUrl);
+        }
+    }
+
+    /**
+     * Returns the same server and credentials with another database; query parameters are kept.
+     */
+    public DatabaseSettings withDatabase(String database) {
+        int pathStart = jdbcUrl.indexOf('/', PREFIX.length());
+        int queryStart = jdbcUrl.indexOf('?');
+        String server = pathStart < 0
+                ? (queryStart < 0 ? jdbcUrl : jdbcUrl.substring(0, queryStart))
+                : jdbcUrl.substring(0, pathStart);
+        String query = queryStart < 0 ? "" : jdbcUrl.substring(queryStart);
+        return new DatabaseSettings(server + "/" + database + query, username, password);
+    }
+
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+}
@@ -0,0 +1,84 @@
+package com.smeup.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.zip.GZIPInputStream;
+import org.postgresql.PGConnection;
+
+/**
+ * Loads a generated CUSTMAST CSV (the bmad datagen format, optionally gzipped) into one
+ * target's customer table.
+ *
+ * <p>The file is COPYed into a temporary staging table with the DDS layout and converted by
+ * the target's {@link BenchmarkTarget#loadSql()}, so every implementation gets the same rows
+ * whatever its schema looks like.
+ */
+public final class DatasetLoader {
+
+    static final String STAGING_TABLE = "bench_custmast";
+
+    private static final String CREATE_STAGING_TABLE = "CREATE TEMPORARY TABLE " + STAGING_TABLE + " ("
+            + "CUSTNO BIGINT NOT NULL, CUSTNAME VARCHAR(30), ADDR1 VARCHAR(30), CITY VARCHAR(20), "
+            + "STATE VARCHAR(2), ZIP INTEGER, PHONE VARCHAR(12), BALANCE DECIMAL(9,2), "
+            + "CREDITLIM DECIMAL(9,2), LASTORDER INTEGER) ON COMMIT DROP";
+
+    private static final String COPY_STAGING_TABLE =
+            "COPY " + STAGING_TABLE + " FROM STDIN WITH (FORMAT csv, HEADER true)";
+
+    private DatasetLoader() {
+    }
+
+    /**
+     * Replaces the content of the target's customer table with the dataset.
+     *
+     * @return rows loaded and their customer number range
+     */
+    public static DatasetInfo load(DatabaseSettings database, BenchmarkTarget target, Path dataset)
+            throws SQLException, IOException {
+        try (Connection connection = database.connect()) {
+            connection.setAutoCommit(false);
+            DatasetInfo info;
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+                try (InputStream in = open(dataset)) {
+                    connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING_TABLE, in);
+                }
+                statement.executeUpdate("DELETE FROM " + target.table());
+                statement.executeUpdate(target.loadSql());
+                try (ResultSet range = statement.executeQuery(
+                        "SELECT COUNT(*), MIN(CUSTNO), MAX(CUSTNO) FROM " + STAGING_TABLE)) {
+                    range.next();
+                    info = new DatasetInfo(range.getLong(1), range.getLong(2), range.getLong(3));
+                }
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE " + target.table());
+            }
+            if (info.rows() == 0) {
+                throw new IllegalArgumentException("Dataset " + dataset + " has no rows");
+            }
+            return info;
+        }
+    }
+
+    private static InputStream open(Path dataset) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(dataset), 1 << 16);
+        return dataset.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, 1 << 16) : in;
+    }
+
+    /**
+     * Loaded rows; the generator writes a dense range, so every number in between exists.
+     */
+    public record DatasetInfo(long rows, long firstCustomer, long lastCustomer) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.smeup.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic sequence of inquiry keys, so every implementation receives the same requests.
+ *
+ * <p>Key {@code i} depends only on the seed and {@code i}, never on which thread asks for it.
+ * Existing customers are chosen with a power-law skew over their rank (low customer numbers
+ * are hot, as with a cache-friendly real workload); a share of the requests asks for numbers
+ * outside the dataset and must answer 404.
+ *
+ * @param seed           seed for the key sequence
+ * @param firstCustomer  lowest existing customer number
+ * @param lastCustomer   highest existing customer number
+ * @param missRatio      share of requests for customers that do not exist, 0 to 1
+ * @param skew           0 for uniform; towards 1 concentrates requests on the first customers
+ */
+public record InquiryWorkload(long seed, long firstCustomer, long lastCustomer, double missRatio, double skew) {
+
+    /** Largest customer number the DDS key (5P 0) can hold. */
+    public static final long MAX_CUSTOMER_NUMBER = 99_999;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    public InquiryWorkload {
+        if (firstCustomer < 1 || lastCustomer < firstCustomer) {
+            throw new IllegalArgumentException("Invalid customer range " + firstCustomer + "-" + lastCustomer);
+        }
+        if (missRatio < 0 || missRatio > 1) {
+            throw new IllegalArgumentException("missRatio must be between 0 and 1: " + missRatio);
+        }
+        if (skew < 0 || skew >= 1) {
+            throw new IllegalArgumentException("skew must be at least 0 and below 1: " + skew);
+        }
+        if (missRatio > 0 && firstCustomer == 1 && lastCustomer >= MAX_CUSTOMER_NUMBER) {
+            throw new IllegalArgumentException("The dataset covers every customer number; use missRatio 0");
+        }
+    }
+
+    /**
+     * Returns the customer number of request {@code index}.
+     */
+    public long customerNumber(long index) {
+        SplittableRandom random = new SplittableRandom(seed + index * GOLDEN_GAMMA);
+        if (missRatio > 0 && random.nextDouble() < missRatio) {
+            return missingCustomer(random);
+        }
+        long customers = lastCustomer - firstCustomer + 1;
+        return firstCustomer + Math.min(customers - 1, rank(random.nextDouble(), customers));
+    }
+
+    /**
+     * Inverse CDF of a density proportional to x^-skew over [1, n + 1], shifted to a 0-based rank.
+     */
+    private long rank(double uniform, long customers) {
+        if (skew == 0) {
+            return (long) (uniform * customers);
+        }
+        double exponent = 1 - skew;
+        double x = Math.pow((Math.pow(customers + 1, exponent) - 1) * uniform + 1, 1 / exponent);
+        return (long) x - 1;
+    }
+
+    /**
+     * A number above the dataset when there is room below the DDS maximum, otherwise below it.
+     */
+    private long missingCustomer(SplittableRandom random) {
+        if (lastCustomer < MAX_CUSTOMER_NUMBER) {
+            return random.nextLong(lastCustomer + 1, MAX_CUSTOMER_NUMBER + 1);
+        }
+        return random.nextLong(1, firstCustomer);
+    }
+}
@@ -0,0 +1,119 @@
+package com.smeup.benchmark;
+
+import com.sun.tools.attach.AttachNotSupportedException;
+import com.sun.tools.attach.VirtualMachine;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+/**
+ * Memory figures of a running backend JVM, read from outside so the backends need no
+ * actuator or extra agent.
+ *
+ * <p>Allocation comes from the target's {@code TotalThreadAllocatedBytes} through the local
+ * management agent started over the attach API; resident memory comes from
+ * {@code /proc/<pid>/status} (Linux only).
+ */
+public final class JvmMetrics implements AutoCloseable {
+
+    private static final ObjectName THREADING = objectName("java.lang:type=Threading");
+
+    private final long pid;
+    private final JMXConnector connector;
+    private final MBeanServerConnection connection;
+
+    private JvmMetrics(long pid, JMXConnector connector) throws IOException {
+        this.pid = pid;
+        this.connector = connector;
+        this.connection = connector.getMBeanServerConnection();
+    }
+
+    /**
+     * Attaches to the JVM with the given process id; it must run as the same user.
+     */
+    public static JvmMetrics attach(long pid) throws IOException {
+        String address;
+        try {
+            VirtualMachine vm = VirtualMachine.attach(Long.toString(pid));
+            try {
+                address = vm.startLocalManagementAgent();
+            } finally {
+                vm.detach();
+            }
+        } catch (AttachNotSupportedException e) {
+            throw new IOException("Cannot attach to JVM " + pid, e);
+        }
+        return new JvmMetrics(pid, JMXConnectorFactory.connect(new JMXServiceURL(address)));
+    }
+
+    /**
+     * Bytes allocated on the heap by all threads since the JVM started.
+     */
+    public long allocatedBytes() throws IOException {
+        try {
+            long bytes = (Long) connection.getAttribute(THREADING, "TotalThreadAllocatedBytes");
+            if (bytes < 0) {
+                throw new IOException("Thread allocation accounting is disabled in JVM " + pid);
+            }
+            return bytes;
+        } catch (JMException e) {
+            throw new IOException("Cannot read allocated bytes of JVM " + pid, e);
+        }
+    }
+
+    /**
+     * Current and peak resident set size in bytes.
+     */
+    public ResidentMemory residentMemory() throws IOException {
+        return readResidentMemory(Files.readAllLines(Path.of("/proc", Long.toString(pid), "status")));
+    }
+
+    static ResidentMemory readResidentMemory(List<String> status) {
+        long rss = -1;
+        long peak = -1;
+        for (String line : status) {
+            if (line.startsWith("VmRSS:")) {
+                rss = kilobytes(line);
+            } else if (line.startsWith("VmHWM:")) {
+                peak = kilobytes(line);
+            }
+        }
+        if (rss < 0 || peak < 0) {
+            throw new IllegalArgumentException("No VmRSS/VmHWM in process status");
+        }
+        return new ResidentMemory(rss * 1024, peak * 1024);
+    }
+
+    @Override
+    public void close() throws IOException {
+        connector.close();
+    }
+
+    /** "VmRSS:     123456 kB" */
+    private static long kilobytes(String line) {
+        String value = line.substring(line.indexOf(':') + 1).trim();
+        return Long.parseLong(value.substring(0, value.indexOf(' ')));
+    }
+
+    private static ObjectName objectName(String name) {
+        try {
+            return new ObjectName(name);
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param rssBytes     resident set size
+     * @param peakRssBytes highest resident set size since the process started
+     */
+    public record ResidentMemory(long rssBytes, long peakRssBytes) {
+    }
+}
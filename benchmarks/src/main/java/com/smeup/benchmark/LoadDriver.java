@@ -0,0 +1,127 @@
+package com.smeup.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop inquiry load: a fixed number of clients each send the next request of the
+ * workload as soon as their previous one is answered.
+ *
+ * <p>The request index keeps counting across phases, so a warm-up followed by a measurement
+ * replays exactly the same key sequence on every implementation.
+ */
+public class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final BenchmarkTarget target;
+    private final InquiryWorkload workload;
+    private final int concurrency;
+    private final AtomicLong nextIndex = new AtomicLong();
+
+    /**
+     * @param baseUri     backend root, e.g. {@code http://localhost:18080}
+     * @param target      backend whose inquiry path is called
+     * @param workload    key sequence
+     * @param concurrency number of clients
+     */
+    public LoadDriver(URI baseUri, BenchmarkTarget target, InquiryWorkload workload, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUri = baseUri;
+        this.target = target;
+        this.workload = workload;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Drives load for the given time and returns what was answered in that time.
+     */
+    public LoadResult run(Duration duration) throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        AtomicLong found = new AtomicLong();
+        AtomicLong notFound = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        List<Thread> clients = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    long customerNumber = workload.customerNumber(nextIndex.getAndIncrement());
+                    long sent = System.nanoTime();
+                    int status = send(customerNumber);
+                    histogram.record((System.nanoTime() - sent) / 1_000);
+                    if (status == 200) {
+                        found.incrementAndGet();
+                    } else if (status == 404) {
+                        notFound.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+            }, "load-client-" + i);
+            thread.setDaemon(true);
+            clients.add(thread);
+            thread.start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        return new LoadResult(found.get(), notFound.get(), errors.get(), System.nanoTime() - start, histogram);
+    }
+
+    /**
+     * Returns the HTTP status, or -1 when no response arrived.
+     */
+    private int send(long customerNumber) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(target.inquiryPath(customerNumber)))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * Outcome of one load phase.
+     *
+     * @param found        200 responses
+     * @param notFound     404 responses
+     * @param errors       other statuses and failed requests
+     * @param elapsedNanos phase duration, including the last in-flight requests
+     * @param latency      latency of every request in microseconds
+     */
+    public record LoadResult(long found, long notFound, long errors, long elapsedNanos, LatencyHistogram latency) {
+
+        public long requests() {
+            return found + notFound + errors;
+        }
+
+        public double requestsPerSecond() {
+            return elapsedNanos == 0 ? 0 : requests() * 1e9 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.smeup.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the benchmark report and Performance score.
+ */
+class BenchmarkReportTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should give 10 to an implementation that is best on every metric")
+    void shouldScoreRelativeToBest() {
+        // Given - fast is twice as good as slow on every metric
+        BenchmarkResult fast = result("fast", 2_000, 1_000, 0);
+        BenchmarkResult slow = result("slow", 1_000, 2_000, 0);
+
+        // When
+        Map<String, Double> scores = BenchmarkReport.scores(List.of(slow, fast));
+
+        // Then
+        assertThat(scores).containsExactly(Map.entry("slow", 5.0), Map.entry("fast", 10.0));
+    }
+
+    @Test
+    @DisplayName("Should score 0 for too many errors and not let it set the best values")
+    void shouldScoreZeroForErrors() {
+        // Given - broken answers fastest but fails 10% of its requests
+        BenchmarkResult broken = result("broken", 10_000, 100, 10_000);
+        BenchmarkResult correct = result("correct", 1_000, 2_000, 0);
+
+        // When
+        Map<String, Double> scores = BenchmarkReport.scores(List.of(broken, correct));
+
+        // Then
+        assertThat(scores).containsEntry("broken", 0.0).containsEntry("correct", 10.0);
+    }
+
+    @Test
+    @DisplayName("Should write the JSON and Markdown reports")
+    void shouldWriteReports() throws Exception {
+        // Given
+        BenchmarkSettings settings = new BenchmarkSettings(Path.of("/data/custmast.csv.gz"),
+                List.of(BenchmarkTarget.BMAD, BenchmarkTarget.BASELINE), 32, Duration.ofSeconds(30),
+                Duration.ofSeconds(60), 1, 0.05, 0.8, "512m", 18080, Path.of("/opt/java/bin/java"),
+                Duration.ofMinutes(5));
+        List<BenchmarkResult> results = List.of(result("bmad", 2_000, 1_000, 0), result("baseline", 1_000, 2_000, 0));
+
+        // When
+        BenchmarkReport.write(settings, results, directory);
+
+        // Then
+        JsonNode json = new ObjectMapper().readTree(directory.resolve("results.json").toFile());
+        assertThat(json.at("/settings/durationSeconds").asLong()).isEqualTo(60);
+        assertThat(json.at("/results/0/implementation").asText()).isEqualTo("bmad");
+        assertThat(json.at("/results/1/p99Micros").asLong()).isEqualTo(4_000);
+        assertThat(json.at("/performanceScores/baseline").asDouble()).isEqualTo(5.0);
+        assertThat(Files.readString(directory.resolve("results.md")))
+                .contains("| dataset | custmast.csv.gz |")
+                .contains("| bmad | 500 | 2000 | 1.00 | 2.00 | 8.00 | 200 | 300 | 5.0 | 2.5 | 0 |")
+                .contains("| baseline | 5.0/10 |");
+    }
+
+    /**
+     * A result whose cost metrics are proportional to {@code cost} and throughput is {@code throughput}.
+     */
+    private static BenchmarkResult result(String name, double throughput, long cost, long errors) {
+        long requests = 100_000;
+        return new BenchmarkResult(name, cost / 2, requests, errors, throughput, cost, cost * 2, 8_000,
+                cost * 200 * 1024 * 1024 / 1_000, cost * 300 * 1024 * 1024 / 1_000, 5.0 * 1024 * 1024,
+                cost * 2.5 * 1024 / 1_000);
+    }
+}
@@ -0,0 +1,89 @@
+package com.smeup.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the target definitions and database settings.
+ */
+class BenchmarkTargetTest {
+
+    private static final DatabaseSettings DATABASE =
+            new DatabaseSettings("jdbc:postgresql://db:5432/bench_agents", "bench", "secret");
+
+    @TempDir
+    Path repositoryRoot;
+
+    @Test
+    @DisplayName("Should let Hibernate create the schema only in the prepare run")
+    void shouldCreateSchemaOnlyWhenPreparing() {
+        assertThat(BenchmarkTarget.AGENTS.applicationArguments(DATABASE, 18080, true))
+                .contains("--server.port=18080", "--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:postgresql://db:5432/bench_agents",
+                        "--spring.jpa.hibernate.ddl-auto=create");
+        assertThat(BenchmarkTarget.AGENTS.applicationArguments(DATABASE, 18080, false))
+                .contains("--spring.jpa.hibernate.ddl-auto=none");
+        assertThat(BenchmarkTarget.BMAD.applicationArguments(DATABASE, 18080, true))
+                .noneMatch(argument -> argument.startsWith("--spring.jpa.hibernate.ddl-auto"));
+    }
+
+    @Test
+    @DisplayName("Should build inquiry paths and look targets up by name")
+    void shouldBuildInquiryPaths() {
+        assertThat(BenchmarkTarget.byName(" Bmad ").inquiryPath(1001)).isEqualTo("/api/v1/customers/1001");
+        assertThat(BenchmarkTarget.byName("baseline").inquiryPath(7)).isEqualTo("/api/customers/7");
+        assertThatThrownBy(() -> BenchmarkTarget.byName("legacy")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should find the Spring Boot jar and skip plain jars")
+    void shouldFindExecutableJar() throws Exception {
+        // Given
+        Path target = Files.createDirectories(repositoryRoot.resolve(BenchmarkTarget.BMAD.projectDir()).resolve("target"));
+        writeJar(target.resolve("backend-0.0.1-SNAPSHOT-plain.jar"), null);
+        writeJar(target.resolve("backend-0.0.1-SNAPSHOT.jar"), "com.smeup.backend.BackendApplication");
+
+        // When
+        Path jar = BenchmarkTarget.BMAD.findExecutableJar(repositoryRoot);
+
+        // Then
+        assertThat(jar.getFileName()).hasToString("backend-0.0.1-SNAPSHOT.jar");
+        assertThatThrownBy(() -> BenchmarkTarget.AGENTS.findExecutableJar(repositoryRoot))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("mvn package");
+    }
+
+    @Test
+    @DisplayName("Should switch the database and keep URL parameters")
+    void shouldSwitchDatabase() {
+        DatabaseSettings server = new DatabaseSettings("jdbc:postgresql://db:5432/postgres?sslmode=disable", "u", "p");
+
+        assertThat(server.withDatabase("bench_bmad").jdbcUrl())
+                .isEqualTo("jdbc:postgresql://db:5432/bench_bmad?sslmode=disable");
+        assertThat(new DatabaseSettings("jdbc:postgresql://db", "u", "p").withDatabase("bench_bmad").jdbcUrl())
+                .isEqualTo("jdbc:postgresql://db/bench_bmad");
+        assertThatThrownBy(() -> new DatabaseSettings("jdbc:h2:mem:test", "u", "p"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void writeJar(Path jar, String startClass) throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (startClass != null) {
+            manifest.getMainAttributes().putValue("Start-Class", startClass);
+        }
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream ignored = new JarOutputStream(out, manifest)) {
+            // manifest only
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.smeup.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Runs the cross-implementation benchmark on demand (see benchmarks/README.md).
+ *
+ * <p>{@code mvn test -Dtest=CrossImplementationBenchmarkTest -Dbenchmark.dataset=/tmp/custmast.csv.gz}
+ * Without benchmark.jdbc-url a Postgres 16 container is started. Optional: benchmark.targets
+ * (default bmad,agents,baseline), benchmark.jdbc-user, benchmark.jdbc-password,
+ * benchmark.concurrency (32), benchmark.warmup-seconds (30), benchmark.duration-seconds (60),
+ * benchmark.seed (1), benchmark.miss-ratio (0.05), benchmark.skew (0.8), benchmark.heap (512m),
+ * benchmark.port (18080), benchmark.java (this JVM), benchmark.repository-root (..),
+ * benchmark.output (target/benchmark-results).
+ */
+@EnabledIfSystemProperty(named = "benchmark.dataset", matches = ".+")
+class CrossImplementationBenchmarkTest {
+
+    @Test
+    @DisplayName("Benchmark every implementation on the same dataset and workload")
+    void benchmark() throws Exception {
+        BenchmarkSettings settings = new BenchmarkSettings(
+                Path.of(System.getProperty("benchmark.dataset")).toAbsolutePath(),
+                Arrays.stream(System.getProperty("benchmark.targets", "bmad,agents,baseline").split(","))
+                        .map(BenchmarkTarget::byName)
+                        .toList(),
+                Integer.getInteger("benchmark.concurrency", 32),
+                Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 30)),
+                Duration.ofSeconds(Long.getLong("benchmark.duration-seconds", 60)),
+                Long.getLong("benchmark.seed", 1),
+                Double.parseDouble(System.getProperty("benchmark.miss-ratio", "0.05")),
+                Double.parseDouble(System.getProperty("benchmark.skew", "0.8")),
+                System.getProperty("benchmark.heap", "512m"),
+                Integer.getInteger("benchmark.port", 18080),
+                Path.of(System.getProperty("benchmark.java",
+                        Path.of(System.getProperty("java.home"), "bin", "java").toString())),
+                Duration.ofMinutes(5));
+        Path repositoryRoot = Path.of(System.getProperty("benchmark.repository-root", "..")).toAbsolutePath();
+        Path output = Path.of(System.getProperty("benchmark.output", "target/benchmark-results")).toAbsolutePath();
+
+        List<BenchmarkResult> results;
+        String jdbcUrl = System.getProperty("benchmark.jdbc-url");
+        if (jdbcUrl != null) {
+            DatabaseSettings server = new DatabaseSettings(jdbcUrl,
+                    System.getProperty("benchmark.jdbc-user", "postgres"),
+                    System.getProperty("benchmark.jdbc-password", ""));
+            results = new CrossImplementationBenchmark(settings, server, repositoryRoot, output).run();
+        } else {
+            try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")) {
+                postgres.start();
+                DatabaseSettings server = new DatabaseSettings(postgres.getJdbcUrl(), postgres.getUsername(),
+                        postgres.getPassword());
+                results = new CrossImplementationBenchmark(settings, server, repositoryRoot, output).run();
+            }
+        }
+
+        System.out.println("Report: " + output.resolve("results.md"));
+        assertThat(results).hasSize(settings.targets().size());
+    }
+}
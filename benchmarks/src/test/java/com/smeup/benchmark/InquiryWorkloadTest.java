@@ -0,0 +1,77 @@
+package com.smeup.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the deterministic inquiry key sequence.
+ */
+class InquiryWorkloadTest {
+
+    @Test
+    @DisplayName("Should return the same key for the same index, whatever the order of calls")
+    void shouldBeDeterministic() {
+        // Given
+        InquiryWorkload first = new InquiryWorkload(7, 1, 50_000, 0.05, 0.8);
+        InquiryWorkload second = new InquiryWorkload(7, 1, 50_000, 0.05, 0.8);
+
+        // When
+        long[] forward = LongStream.range(0, 1_000).map(first::customerNumber).toArray();
+        long[] backward = LongStream.range(0, 1_000).map(index -> second.customerNumber(999 - index)).toArray();
+
+        // Then
+        for (int i = 0; i < forward.length; i++) {
+            assertThat(forward[i]).isEqualTo(backward[999 - i]);
+        }
+        assertThat(new InquiryWorkload(8, 1, 50_000, 0.05, 0.8).customerNumber(0))
+                .isNotEqualTo(first.customerNumber(0));
+    }
+
+    @Test
+    @DisplayName("Should ask for missing customers at the configured ratio, above the dataset")
+    void shouldMissAtRatio() {
+        // Given
+        InquiryWorkload workload = new InquiryWorkload(1, 1, 50_000, 0.1, 0.0);
+
+        // When
+        long misses = LongStream.range(0, 100_000)
+                .map(workload::customerNumber)
+                .peek(key -> assertThat(key).isBetween(1L, InquiryWorkload.MAX_CUSTOMER_NUMBER))
+                .filter(key -> key > 50_000)
+                .count();
+
+        // Then
+        assertThat(misses / 100_000.0).isCloseTo(0.1, within(0.005));
+    }
+
+    @Test
+    @DisplayName("Should concentrate requests on the first customers when skewed")
+    void shouldSkewTowardsFirstCustomers() {
+        // Given
+        InquiryWorkload uniform = new InquiryWorkload(1, 1_001, 11_000, 0, 0);
+        InquiryWorkload skewed = new InquiryWorkload(1, 1_001, 11_000, 0, 0.8);
+
+        // When - share of requests for the first 1% of customers
+        long uniformHot = LongStream.range(0, 100_000).map(uniform::customerNumber).filter(key -> key <= 1_100).count();
+        long skewedHot = LongStream.range(0, 100_000).map(skewed::customerNumber).filter(key -> key <= 1_100).count();
+
+        // Then
+        assertThat(uniformHot / 100_000.0).isCloseTo(0.01, within(0.002));
+        assertThat(skewedHot / 100_000.0).isGreaterThan(0.25);
+        assertThat(LongStream.range(0, 100_000).map(skewed::customerNumber)).allMatch(key -> key >= 1_001 && key <= 11_000);
+    }
+
+    @Test
+    @DisplayName("Should reject misses when the dataset holds every customer number")
+    void shouldRejectImpossibleMisses() {
+        assertThatThrownBy(() -> new InquiryWorkload(1, 1, InquiryWorkload.MAX_CUSTOMER_NUMBER, 0.05, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new InquiryWorkload(1, 1, InquiryWorkload.MAX_CUSTOMER_NUMBER, 0, 0).customerNumber(3))
+                .isBetween(1L, InquiryWorkload.MAX_CUSTOMER_NUMBER);
+    }
+}
@@ -0,0 +1,41 @@
+package com.smeup.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.smeup.benchmark.JvmMetrics.ResidentMemory;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for reading resident memory from the process status.
+ */
+class JvmMetricsTest {
+
+    @Test
+    @DisplayName("Should read current and peak RSS in bytes")
+    void shouldReadResidentMemory() {
+        // Given
+        List<String> status = List.of(
+                "Name:\tjava",
+                "VmPeak:\t 4194304 kB",
+                "VmHWM:\t  409600 kB",
+                "VmRSS:\t  307200 kB",
+                "Threads:\t42");
+
+        // When
+        ResidentMemory memory = JvmMetrics.readResidentMemory(status);
+
+        // Then
+        assertThat(memory.rssBytes()).isEqualTo(300L * 1024 * 1024);
+        assertThat(memory.peakRssBytes()).isEqualTo(400L * 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("Should reject a status without memory lines")
+    void shouldRejectIncompleteStatus() {
+        assertThatThrownBy(() -> JvmMetrics.readResidentMemory(List.of("Name:\tjava")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
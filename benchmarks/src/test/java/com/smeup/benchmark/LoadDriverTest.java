@@ -0,0 +1,85 @@
+package com.smeup.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.smeup.benchmark.LoadDriver.LoadResult;
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the closed-loop load driver against an in-process HTTP stub.
+ */
+class LoadDriverTest {
+
+    private HttpServer server;
+    private final Set<String> paths = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        // existing customers 1-100; anything else is 404, customer 13 fails
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/customers/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            paths.add(path);
+            long customerNumber = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+            int status = customerNumber == 13 ? 500 : customerNumber <= 100 ? 200 : 404;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should classify answers and record a latency for every request")
+    void shouldClassifyAnswers() throws Exception {
+        // Given
+        InquiryWorkload workload = new InquiryWorkload(1, 1, 100, 0.2, 0);
+        LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + server.getAddress().getPort()),
+                BenchmarkTarget.BMAD, workload, 4);
+
+        // When
+        LoadResult result = driver.run(Duration.ofMillis(500));
+
+        // Then
+        assertThat(result.requests()).isPositive();
+        assertThat(result.latency().getCount()).isEqualTo(result.requests());
+        assertThat(result.found()).isPositive();
+        assertThat(result.notFound()).isPositive();
+        assertThat(result.notFound() / (double) result.requests()).isBetween(0.1, 0.3);
+        assertThat(result.requestsPerSecond()).isPositive();
+        assertThat(paths).allMatch(path -> path.startsWith("/api/v1/customers/"));
+    }
+
+    @Test
+    @DisplayName("Should continue the key sequence across phases")
+    void shouldContinueAcrossPhases() throws Exception {
+        // Given - only customer 13 exists in the key range, so every request fails
+        InquiryWorkload workload = new InquiryWorkload(1, 13, 13, 0, 0);
+        LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + server.getAddress().getPort()),
+                BenchmarkTarget.BMAD, workload, 2);
+
+        // When
+        LoadResult warmup = driver.run(Duration.ofMillis(200));
+        LoadResult measured = driver.run(Duration.ofMillis(200));
+
+        // Then
+        assertThat(warmup.errors()).isEqualTo(warmup.requests());
+        assertThat(measured.errors()).isEqualTo(measured.requests()).isPositive();
+        assertThat(paths).containsExactly("/api/v1/customers/13");
+    }
+}
@@ -0,0 +1,120 @@
+package com.lanarimarco.modernization.engine;
+
+import com.lanarimarco.modernization.engine.library.DependencyGraph;
+import com.lanarimarco.modernization.engine.library.SourceLibrary;
+import com.lanarimarco.modernization.engine.library.SourceMember;
+import com.lanarimarco.modernization.engine.pipeline.ConversionOrchestrator;
+import com.lanarimarco.modernization.engine.pipeline.ConversionReport;
+import com.lanarimarco.modernization.engine.pipeline.ResultCache;
+import com.lanarimarco.modernization.engine.pipeline.TaskOutcome;
+import com.lanarimarco.modernization.engine.pipeline.TaskResult;
+import com.lanarimarco.modernization.engine.pipeline.WorkspacePhaseExecutor;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Command line entry point: run the conversion pipeline for a whole source library
+ *
+ * Usage:
+ *   java -jar conversion-engine.jar [--project-root DIR] [--programs A,B] [--parallelism N]
+ *                                   [--cache-dir DIR] [--force]
+ *
+ * Equivalent to running scripts/run-full-pipeline.sh for every program in
+ * source-rpgle/programs, but phases of independent programs run in parallel
+ * and phases whose inputs did not change since the last run are skipped
+ */
+public final class ConversionEngine {
+
+    private ConversionEngine() {
+    }
+
+    public static void main(String[] args) {
+        Path projectRoot = Path.of(".");
+        Path cacheDir = null;
+        Set<String> programs = Set.of();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        boolean force = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--project-root" -> projectRoot = Path.of(value(args, ++i));
+                case "--cache-dir" -> cacheDir = Path.of(value(args, ++i));
+                case "--programs" -> programs = Arrays.stream(value(args, ++i).split(","))
+                        .map(String::trim)
+                        .map(String::toUpperCase)
+                        .filter(name -> !name.isEmpty())
+                        .collect(Collectors.toSet());
+                case "--parallelism" -> parallelism = Integer.parseInt(value(args, ++i));
+                case "--force" -> force = true;
+                default -> usage("Unknown option: " + args[i]);
+            }
+        }
+        if (cacheDir == null) {
+            cacheDir = projectRoot.resolve("work-in-progress").resolve(".conversion-cache");
+        }
+
+        SourceLibrary library = SourceLibrary.scan(projectRoot.resolve("source-rpgle"));
+        DependencyGraph graph = DependencyGraph.build(library);
+        for (String program : programs) {
+            if (library.get(program).isEmpty()) {
+                usage("Program not found in source-rpgle/programs: " + program);
+            }
+        }
+
+        System.out.printf("Conversion engine: %d members, %d programs, parallelism %d%n",
+                library.getMembers().size(), graph.getProgramsInDependencyOrder().size(), parallelism);
+
+        Set<String> selected = programs;
+        Predicate<SourceMember> filter = selected.isEmpty()
+                ? program -> true
+                : program -> selected.contains(program.name());
+        ConversionReport report = new ConversionOrchestrator(
+                graph, new WorkspacePhaseExecutor(projectRoot), new ResultCache(cacheDir), parallelism, force)
+                .run(filter);
+
+        print(report);
+        System.exit(report.isSuccessful() ? 0 : 1);
+    }
+
+    private static void print(ConversionReport report) {
+        for (TaskResult result : report.results()) {
+            if (result.outcome() == TaskOutcome.SKIPPED) {
+                // programs left out by --programs are only counted
+                continue;
+            }
+            String detail = switch (result.outcome()) {
+                case EXECUTED -> result.durationMillis() + " ms";
+                case CACHED -> "up to date";
+                case FAILED -> result.error();
+                case BLOCKED -> "blocked by " + result.error();
+                case SKIPPED -> "not selected";
+            };
+            System.out.printf("  %-40s %-8s %s%n", result.task().getKey(), result.outcome(), detail);
+        }
+        Map<TaskOutcome, Long> counts = report.countByOutcome();
+        System.out.printf("Done in %d ms: %d executed, %d cached, %d failed, %d blocked, %d skipped%n",
+                report.elapsedMillis(),
+                counts.get(TaskOutcome.EXECUTED), counts.get(TaskOutcome.CACHED),
+                counts.get(TaskOutcome.FAILED), counts.get(TaskOutcome.BLOCKED),
+                counts.get(TaskOutcome.SKIPPED));
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            usage("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: java -jar conversion-engine.jar [--project-root DIR] [--programs A,B]"
+                + " [--parallelism N] [--cache-dir DIR] [--force]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,122 @@
+package com.lanarimarco.modernization.engine;
+
+import com.lanarimarco.modernization.engine.interpreter.CompiledProgram;
+import com.lanarimarco.modernization.engine.interpreter.InMemoryRecordStore;
+import com.lanarimarco.modernization.engine.interpreter.InquiryOracle;
+import com.lanarimarco.modernization.engine.interpreter.ProgramCompiler;
+import com.lanarimarco.modernization.engine.lexer.Dialect;
+import com.lanarimarco.modernization.engine.lexer.LexedSource;
+import com.lanarimarco.modernization.engine.library.MemberType;
+import com.lanarimarco.modernization.engine.library.SourceLibrary;
+import com.lanarimarco.modernization.engine.library.SourceMember;
+import com.lanarimarco.modernization.engine.schema.PhysicalFileParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Command line entry point: expected results for the equivalence suite, computed by
+ * interpreting the original inquiry program over a CSV extract of its database file
+ *
+ * Usage:
+ *   java -cp conversion-engine.jar com.lanarimarco.modernization.engine.GenerateOracle
+ *        --records FILE [--project-root DIR] [--program NAME] [--customers FROM-TO]
+ *        [--output FILE] [--prefix TEXT] [--parallelism N]
+ *
+ * The records file has a header of DDS field names (CUSTNO,CUSTNAME,...). Customer
+ * numbers default to every number the prompt accepts, so each record and each miss
+ * gets a row. Output defaults to work-in-progress/equivalence/{PROGRAM}-expected.csv
+ */
+public final class GenerateOracle {
+
+    private GenerateOracle() {
+    }
+
+    public static void main(String[] args) {
+        Path projectRoot = Path.of(".");
+        Path records = null;
+        Path output = null;
+        String programName = "CUST001";
+        String prefix = "ORACLE_";
+        long from = 0;
+        long to = InquiryOracle.MAX_CUSTOMER_NUMBER;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--project-root" -> projectRoot = Path.of(value(args, ++i));
+                case "--records" -> records = Path.of(value(args, ++i));
+                case "--program" -> programName = value(args, ++i).toUpperCase();
+                case "--output" -> output = Path.of(value(args, ++i));
+                case "--prefix" -> prefix = value(args, ++i);
+                case "--customers" -> {
+                    String[] range = value(args, ++i).split("-");
+                    from = Long.parseLong(range[0]);
+                    to = Long.parseLong(range[range.length - 1]);
+                }
+                case "--parallelism" -> parallelism = Integer.parseInt(value(args, ++i));
+                default -> usage("Unknown option: " + args[i]);
+            }
+        }
+        if (records == null) {
+            usage("Missing --records");
+        }
+        if (output == null) {
+            output = projectRoot.resolve("work-in-progress").resolve("equivalence").resolve(programName + "-expected.csv");
+        }
+
+        long started = System.nanoTime();
+        SourceLibrary library = SourceLibrary.scan(projectRoot.resolve("source-rpgle"));
+        CompiledProgram program = ProgramCompiler.compile(library, programName);
+        SourceMember file = databaseFile(library, programName);
+        InMemoryRecordStore store = new InMemoryRecordStore();
+        int loaded = store.loadCsv(PhysicalFileParser.parse(file.name(), LexedSource.lex(file.path(), Dialect.DDS)),
+                records);
+
+        try {
+            Files.createDirectories(output.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long rows = new InquiryOracle(program, store).write(output, prefix, from, to, parallelism);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        System.out.printf("%s: %d records, %d inquiries in %d ms (%.0f/s)%n", programName, loaded, rows,
+                elapsedMillis, rows * 1000.0 / Math.max(elapsedMillis, 1));
+        System.out.println("Expected results: " + output);
+    }
+
+    /**
+     * The one physical file the program reads; inquiry oracles load a single extract
+     */
+    private static SourceMember databaseFile(SourceLibrary library, String programName) {
+        SourceMember program = library.get(programName).orElseThrow(() -> new IllegalArgumentException(
+                "No program " + programName));
+        List<SourceMember> files = program.references().stream()
+                .map(library::get)
+                .flatMap(Optional::stream)
+                .filter(member -> member.type() == MemberType.PHYSICAL_FILE)
+                .toList();
+        if (files.size() != 1) {
+            throw new IllegalArgumentException(programName + " reads " + files.size() + " physical files, expected 1");
+        }
+        return files.get(0);
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            usage("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: GenerateOracle --records FILE [--project-root DIR] [--program NAME]"
+                + " [--customers FROM-TO] [--output FILE] [--prefix TEXT] [--parallelism N]");
+        System.exit(2);
+    }
+}
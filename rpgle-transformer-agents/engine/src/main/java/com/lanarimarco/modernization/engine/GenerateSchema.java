@@ -0,0 +1,98 @@
+package com.lanarimarco.modernization.engine;
+
+import com.lanarimarco.modernization.engine.library.SourceLibrary;
+import com.lanarimarco.modernization.engine.schema.SchemaGenerationReport;
+import com.lanarimarco.modernization.engine.schema.SchemaGenerator;
+import com.lanarimarco.modernization.engine.schema.SchemaNaming;
+import com.lanarimarco.modernization.engine.schema.TypeMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command line entry point: Flyway migrations and JPA entities for every physical file
+ *
+ * Usage:
+ *   java -cp conversion-engine.jar com.lanarimarco.modernization.engine.GenerateSchema
+ *        [--project-root DIR] [--migrations DIR] [--java DIR] [--package NAME] [--names FILE]
+ *        [--first-version N] [--char-max-length N] [--force]
+ *
+ * Output defaults to work-in-progress/generated-schema/, to be reviewed and copied
+ * into the backend. Entity and property names come from
+ * agents/02-database-agent/entity-names.properties when present
+ */
+public final class GenerateSchema {
+
+    private GenerateSchema() {
+    }
+
+    public static void main(String[] args) {
+        Path projectRoot = Path.of(".");
+        Path migrations = null;
+        Path javaRoot = null;
+        Path names = null;
+        String entityPackage = "com.lanarimarco.modernization.entities";
+        int firstVersion = 1;
+        int charMaxLength = 2;
+        boolean force = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--project-root" -> projectRoot = Path.of(value(args, ++i));
+                case "--migrations" -> migrations = Path.of(value(args, ++i));
+                case "--java" -> javaRoot = Path.of(value(args, ++i));
+                case "--package" -> entityPackage = value(args, ++i);
+                case "--names" -> names = Path.of(value(args, ++i));
+                case "--first-version" -> firstVersion = Integer.parseInt(value(args, ++i));
+                case "--char-max-length" -> charMaxLength = Integer.parseInt(value(args, ++i));
+                case "--force" -> force = true;
+                default -> usage("Unknown option: " + args[i]);
+            }
+        }
+        Path output = projectRoot.resolve("work-in-progress").resolve("generated-schema");
+        if (migrations == null) {
+            migrations = output.resolve("db").resolve("migration");
+        }
+        if (javaRoot == null) {
+            javaRoot = output.resolve("java");
+        }
+        if (names == null) {
+            Path defaultNames = projectRoot.resolve("agents/02-database-agent/entity-names.properties");
+            names = Files.isRegularFile(defaultNames) ? defaultNames : null;
+        }
+
+        SchemaGenerator generator = new SchemaGenerator(
+                SourceLibrary.scan(projectRoot.resolve("source-rpgle")),
+                migrations,
+                javaRoot,
+                entityPackage,
+                names != null ? SchemaNaming.load(names) : SchemaNaming.defaults(),
+                new TypeMapper(charMaxLength),
+                firstVersion,
+                projectRoot.resolve("work-in-progress").resolve(".conversion-cache").resolve("schema-manifest.properties"));
+        SchemaGenerationReport report = generator.generate(force);
+
+        report.generated().forEach(file -> System.out.printf("  %-12s generated%n", file));
+        report.failed().forEach((file, error) -> System.out.printf("  %-12s FAILED    %s%n", file, error));
+        report.warnings().forEach(warning -> System.out.println("  warning: " + warning));
+        System.out.printf("Done in %d ms: %d generated, %d unchanged, %d failed%n", report.elapsedMillis(),
+                report.generated().size(), report.unchanged().size(), report.failed().size());
+        System.out.println("Migrations: " + migrations);
+        System.out.println("Entities:   " + javaRoot.resolve(entityPackage.replace('.', '/')));
+        System.exit(report.isSuccessful() ? 0 : 1);
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            usage("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: GenerateSchema [--project-root DIR] [--migrations DIR] [--java DIR]"
+                + " [--package NAME] [--names FILE] [--first-version N] [--char-max-length N] [--force]");
+        System.exit(2);
+    }
+}
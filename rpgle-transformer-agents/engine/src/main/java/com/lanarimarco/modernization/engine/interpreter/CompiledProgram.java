@@ -0,0 +1,102 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Program compiled by {@link ProgramCompiler}: immutable, so one instance serves any
+ * number of concurrent runs, each with its own storage
+ */
+public final class CompiledProgram {
+
+    /** Calculations one run may execute before it is considered stuck in a loop */
+    public static final long DEFAULT_STEP_LIMIT = 10_000_000;
+
+    /** Program counter RETURN jumps to: past the end, so the run stops whatever *INLR is */
+    static final int RETURN = Integer.MAX_VALUE;
+
+    private final String name;
+    private final Instruction[] code;
+    private final int[] sourceLines;
+    private final List<FieldDefinition> fields;
+    private final Map<String, Integer> slots;
+    private final int fileCount;
+    private final Object[] initialValues;
+
+    CompiledProgram(String name, Instruction[] code, int[] sourceLines, List<FieldDefinition> fields,
+                    Map<String, Integer> slots, int fileCount) {
+        this.name = name;
+        this.code = code;
+        this.sourceLines = sourceLines;
+        this.fields = List.copyOf(fields);
+        this.slots = Map.copyOf(slots);
+        this.fileCount = fileCount;
+        this.initialValues = new Object[fields.size()];
+        for (int i = 0; i < initialValues.length; i++) {
+            initialValues[i] = fields.get(i).initialValue();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Program fields: database file fields, display file fields and standalone fields
+     */
+    public List<FieldDefinition> getFields() {
+        return fields;
+    }
+
+    public long run(RecordStore store, Display display) {
+        return run(store, display, DEFAULT_STEP_LIMIT);
+    }
+
+    /**
+     * Runs the calculations until RETURN, or until the end of the calculations with *INLR on;
+     * with *INLR off the cycle starts the calculations again, as a program without a primary file does
+     *
+     * @return number of calculations executed
+     */
+    public long run(RecordStore store, Display display, long stepLimit) {
+        if (code.length == 0) {
+            return 0;
+        }
+        Frame frame = new Frame(this, store, display);
+        long steps = 0;
+        int pc = 0;
+        try {
+            while (true) {
+                if (pc >= code.length) {
+                    if (pc > code.length || frame.indicators[Frame.LR]) {
+                        return steps;
+                    }
+                    pc = 0;
+                    continue;
+                }
+                if (++steps > stepLimit) {
+                    throw new RpgRuntimeException("RNX9001", "More than " + stepLimit + " calculations executed");
+                }
+                pc = code[pc].execute(frame, pc);
+            }
+        } catch (RpgRuntimeException e) {
+            throw e.at(name, sourceLines[Math.min(pc, sourceLines.length - 1)]);
+        }
+    }
+
+    Object[] initialValues() {
+        return initialValues.clone();
+    }
+
+    int fileCount() {
+        return fileCount;
+    }
+
+    int slot(String fieldName) {
+        Integer slot = slots.get(fieldName);
+        if (slot == null) {
+            throw new IllegalArgumentException(name + " has no field " + fieldName);
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,10 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+/**
+ * Workstation file device: receives each record format written by EXFMT and returns
+ * the user's response
+ */
+public interface Display {
+
+    Response exfmt(Screen screen, ProgramState state);
+}
@@ -0,0 +1,38 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record formats of a DDS display file, as far as a program sees them: fields and
+ * command keys
+ */
+public record DisplayFile(String name, Map<String, RecordFormat> formats) {
+
+    /**
+     * @param functionKeys file level and format level CAnn/CFnn keys, by key name (F3)
+     */
+    public record RecordFormat(String name, List<DisplayField> fields, Map<String, FunctionKey> functionKeys) {
+    }
+
+    /**
+     * @param usage I input, O output, B both (H hidden counts as both)
+     */
+    public record DisplayField(FieldDefinition definition, char usage) {
+
+        public boolean isInput() {
+            return usage != 'O';
+        }
+
+        public boolean isOutput() {
+            return usage != 'I';
+        }
+    }
+
+    /**
+     * @param indicator   response indicator set on when the key is pressed, 0 for none
+     * @param returnsData CFnn returns input fields, CAnn does not
+     */
+    public record FunctionKey(String key, int indicator, boolean returnsData) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import com.lanarimarco.modernization.engine.lexer.LexedSource;
+import com.lanarimarco.modernization.engine.lexer.TokenStream;
+import com.lanarimarco.modernization.engine.lexer.TokenType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a {@link DisplayFile} from the tokens of a DDS display file
+ *
+ * Only what a program can observe is kept: named fields (length, decimals, usage)
+ * and CAnn/CFnn keys. Constants, positions and display attributes are ignored; a
+ * field defined twice under different option indicators (PMSG) is one program field
+ */
+final class DisplayFileParser {
+
+    private DisplayFileParser() {
+    }
+
+    static DisplayFile parse(String fileName, LexedSource source) {
+        TokenStream tokens = source.getTokens();
+        Map<String, DisplayFile.FunctionKey> fileKeys = new LinkedHashMap<>();
+        Map<String, DisplayFile.RecordFormat> formats = new LinkedHashMap<>();
+        FormatBuilder format = null;
+
+        for (int line = 0; line < source.getSource().lineCount(); line++) {
+            if (tokens.lineStart(line) == tokens.lineEnd(line) || tokens.find(line, TokenType.COMMENT) >= 0) {
+                continue;
+            }
+            int nameType = tokens.find(line, TokenType.NAME_TYPE);
+            int name = tokens.find(line, TokenType.NAME);
+
+            if (nameType >= 0 && tokens.is(nameType, "R")) {
+                finish(format, formats);
+                if (name < 0) {
+                    throw new IllegalArgumentException(fileName + " line " + (line + 1) + ": record format without name");
+                }
+                format = new FormatBuilder(tokens.text(name).toUpperCase(Locale.ROOT), fileKeys);
+                functionKeys(tokens, line, format.functionKeys);
+            } else if (name >= 0 && format != null) {
+                format.add(field(tokens, line, tokens.text(name).toUpperCase(Locale.ROOT)));
+            } else {
+                functionKeys(tokens, line, format != null ? format.functionKeys : fileKeys);
+            }
+        }
+        finish(format, formats);
+        return new DisplayFile(fileName, Map.copyOf(formats));
+    }
+
+    private static DisplayFile.DisplayField field(TokenStream tokens, int line, String name) {
+        int length = intValue(tokens, tokens.find(line, TokenType.LENGTH), 0);
+        int decimalsToken = tokens.find(line, TokenType.DECIMALS);
+        int usageToken = tokens.find(line, TokenType.USAGE);
+        char usage = usageToken >= 0 ? Character.toUpperCase(tokens.text(usageToken).charAt(0)) : 'B';
+        if (usage == 'H') {
+            usage = 'B';
+        } else if (usage == 'P') {
+            usage = 'O';
+        }
+        FieldDefinition definition = new FieldDefinition(name, decimalsToken >= 0, length,
+                intValue(tokens, decimalsToken, 0));
+        return new DisplayFile.DisplayField(definition, usage);
+    }
+
+    /**
+     * CA03(03 'Exit') -> F3 on indicator 03 without data; CF05 -> F5 with data, no indicator
+     */
+    private static void functionKeys(TokenStream tokens, int line, Map<String, DisplayFile.FunctionKey> keys) {
+        for (int token = tokens.lineStart(line); token < tokens.lineEnd(line); token++) {
+            if (tokens.type(token) != TokenType.KEYWORD) {
+                continue;
+            }
+            String keyword = tokens.text(token).toUpperCase(Locale.ROOT);
+            if (keyword.length() != 4 || !(keyword.startsWith("CA") || keyword.startsWith("CF"))
+                    || !Character.isDigit(keyword.charAt(2)) || !Character.isDigit(keyword.charAt(3))) {
+                continue;
+            }
+            int indicator = 0;
+            if (token + 1 < tokens.lineEnd(line) && tokens.type(token + 1) == TokenType.KEYWORD_PARAMETERS) {
+                String parameters = tokens.text(token + 1).trim();
+                int blank = parameters.indexOf(' ');
+                String number = blank >= 0 ? parameters.substring(0, blank) : parameters;
+                if (!number.isEmpty() && !number.startsWith("'")) {
+                    indicator = Integer.parseInt(number);
+                }
+            }
+            String key = "F" + Integer.parseInt(keyword.substring(2));
+            keys.put(key, new DisplayFile.FunctionKey(key, indicator, keyword.startsWith("CF")));
+        }
+    }
+
+    private static void finish(FormatBuilder format, Map<String, DisplayFile.RecordFormat> formats) {
+        if (format != null) {
+            formats.put(format.name, new DisplayFile.RecordFormat(format.name, List.copyOf(format.fields),
+                    Map.copyOf(format.functionKeys)));
+        }
+    }
+
+    private static int intValue(TokenStream tokens, int token, int missing) {
+        if (token < 0) {
+            return missing;
+        }
+        try {
+            return Integer.parseInt(tokens.text(token).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number '" + tokens.text(token) + "' on line "
+                    + (tokens.line(token) + 1), e);
+        }
+    }
+
+    private static final class FormatBuilder {
+
+        private final String name;
+        private final List<DisplayFile.DisplayField> fields = new ArrayList<>();
+        private final Set<String> fieldNames = new HashSet<>();
+        private final Map<String, DisplayFile.FunctionKey> functionKeys;
+
+        private FormatBuilder(String name, Map<String, DisplayFile.FunctionKey> fileKeys) {
+            this.name = name;
+            this.functionKeys = new LinkedHashMap<>(fileKeys);
+        }
+
+        private void add(DisplayFile.DisplayField field) {
+            if (fieldNames.add(field.definition().name())) {
+                fields.add(field);
+            }
+        }
+    }
+}
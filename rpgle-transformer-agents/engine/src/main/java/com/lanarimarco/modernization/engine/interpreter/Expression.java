@@ -0,0 +1,10 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+/**
+ * Compiled expression: yields BigDecimal, String or Boolean (indicators, conditions)
+ */
+@FunctionalInterface
+interface Expression {
+
+    Object evaluate(Frame frame);
+}
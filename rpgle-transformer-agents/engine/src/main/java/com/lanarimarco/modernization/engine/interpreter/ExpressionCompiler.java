@@ -0,0 +1,427 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recursive descent compiler for RPG IV expressions (extended factor 2 and factor 1/2 operands)
+ *
+ * Supported: numeric and quoted literals, field names, *INnn, *IN(nn), *INLR, *ON, *OFF,
+ * *BLANK(S), *ZERO(S), %FOUND[(file)], unary -, + - * /, comparisons, NOT, AND, OR and
+ * parentheses. Names are resolved to slots here so evaluation never looks anything up
+ */
+final class ExpressionCompiler {
+
+    private static final MathContext DIVISION = new MathContext(31);
+
+    private final Map<String, Integer> slots;
+    private final Map<String, Integer> files;
+    private final String program;
+    private final int line;
+    private List<String> tokens;
+    private int position;
+
+    ExpressionCompiler(Map<String, Integer> slots, Map<String, Integer> files, String program, int line) {
+        this.slots = slots;
+        this.files = files;
+        this.program = program;
+        this.line = line;
+    }
+
+    Expression compile(String text) {
+        tokens = tokenize(text);
+        position = 0;
+        Expression expression = or();
+        if (position < tokens.size()) {
+            throw error("Unexpected '" + tokens.get(position) + "' in " + text);
+        }
+        return expression;
+    }
+
+    /**
+     * EVAL operand: target = expression
+     */
+    Assignment compileAssignment(String text) {
+        tokens = tokenize(text);
+        position = 0;
+        if (tokens.size() < 3 || !"=".equals(tokens.get(1))) {
+            throw error("Expected target = expression: " + text);
+        }
+        String target = tokens.get(0);
+        Integer indicator = indicatorNumber(target);
+        Integer slot = indicator == null ? slots.get(target) : null;
+        if (indicator == null && slot == null) {
+            throw error("Undefined field " + target);
+        }
+        position = 2;
+        Expression value = or();
+        if (position < tokens.size()) {
+            throw error("Unexpected '" + tokens.get(position) + "' in " + text);
+        }
+        return new Assignment(slot != null ? slot : -1, indicator != null ? indicator : 0, value);
+    }
+
+    /**
+     * @param slot      target field slot, -1 when the target is an indicator
+     * @param indicator target indicator number (Frame.LR for *INLR) when slot is -1
+     */
+    record Assignment(int slot, int indicator, Expression value) {
+    }
+
+    private Expression or() {
+        Expression left = and();
+        while (accept("OR")) {
+            Expression l = left;
+            Expression r = and();
+            left = frame -> condition(l.evaluate(frame)) || condition(r.evaluate(frame));
+        }
+        return left;
+    }
+
+    private Expression and() {
+        Expression left = not();
+        while (accept("AND")) {
+            Expression l = left;
+            Expression r = not();
+            left = frame -> condition(l.evaluate(frame)) && condition(r.evaluate(frame));
+        }
+        return left;
+    }
+
+    private Expression not() {
+        if (accept("NOT")) {
+            Expression operand = not();
+            return frame -> !condition(operand.evaluate(frame));
+        }
+        return comparison();
+    }
+
+    private Expression comparison() {
+        Expression left = additive();
+        String operator = peek();
+        if (operator == null) {
+            return left;
+        }
+        Expression right;
+        switch (operator) {
+            case "=" -> {
+                position++;
+                right = additive();
+                return frame -> compare(left.evaluate(frame), right.evaluate(frame)) == 0;
+            }
+            case "<>" -> {
+                position++;
+                right = additive();
+                return frame -> compare(left.evaluate(frame), right.evaluate(frame)) != 0;
+            }
+            case "<" -> {
+                position++;
+                right = additive();
+                return frame -> compare(left.evaluate(frame), right.evaluate(frame)) < 0;
+            }
+            case "<=" -> {
+                position++;
+                right = additive();
+                return frame -> compare(left.evaluate(frame), right.evaluate(frame)) <= 0;
+            }
+            case ">" -> {
+                position++;
+                right = additive();
+                return frame -> compare(left.evaluate(frame), right.evaluate(frame)) > 0;
+            }
+            case ">=" -> {
+                position++;
+                right = additive();
+                return frame -> compare(left.evaluate(frame), right.evaluate(frame)) >= 0;
+            }
+            default -> {
+                return left;
+            }
+        }
+    }
+
+    private Expression additive() {
+        Expression left = multiplicative();
+        while (true) {
+            Expression l = left;
+            if (accept("+")) {
+                Expression r = multiplicative();
+                left = frame -> add(l.evaluate(frame), r.evaluate(frame));
+            } else if (accept("-")) {
+                Expression r = multiplicative();
+                left = frame -> number(l.evaluate(frame)).subtract(number(r.evaluate(frame)));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression multiplicative() {
+        Expression left = unary();
+        while (true) {
+            Expression l = left;
+            if (accept("*")) {
+                Expression r = unary();
+                left = frame -> number(l.evaluate(frame)).multiply(number(r.evaluate(frame)));
+            } else if (accept("/")) {
+                Expression r = unary();
+                left = frame -> divide(number(l.evaluate(frame)), number(r.evaluate(frame)));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression unary() {
+        if (accept("-")) {
+            Expression operand = unary();
+            return frame -> number(operand.evaluate(frame)).negate();
+        }
+        accept("+");
+        return primary();
+    }
+
+    private Expression primary() {
+        String token = next();
+        if (token.equals("(")) {
+            Expression inner = or();
+            expect(")");
+            return inner;
+        }
+        if (token.startsWith("'")) {
+            String literal = token.substring(1, token.length() - 1).replace("''", "'");
+            return frame -> literal;
+        }
+        if (Character.isDigit(token.charAt(0)) || token.charAt(0) == '.') {
+            BigDecimal literal = new BigDecimal(token);
+            return frame -> literal;
+        }
+        if (token.startsWith("*")) {
+            return special(token);
+        }
+        if (token.startsWith("%")) {
+            return builtIn(token);
+        }
+        Integer slot = slots.get(token);
+        if (slot == null) {
+            throw error("Undefined field " + token);
+        }
+        int index = slot;
+        return frame -> frame.values[index];
+    }
+
+    private Expression special(String token) {
+        Integer indicator = indicatorNumber(token);
+        if (indicator != null) {
+            int number = indicator;
+            return frame -> frame.indicators[number];
+        }
+        return switch (token) {
+            case "*ON" -> frame -> Boolean.TRUE;
+            case "*OFF" -> frame -> Boolean.FALSE;
+            case "*BLANK", "*BLANKS" -> frame -> "";
+            case "*ZERO", "*ZEROS" -> frame -> BigDecimal.ZERO;
+            default -> throw error("Unsupported special word " + token);
+        };
+    }
+
+    private Expression builtIn(String token) {
+        if (!token.equals("%FOUND")) {
+            throw error("Unsupported built-in function " + token);
+        }
+        if (accept("(")) {
+            String file = next();
+            expect(")");
+            Integer index = files.get(file);
+            if (index == null) {
+                throw error("%FOUND of undeclared file " + file);
+            }
+            int fileIndex = index;
+            return frame -> frame.found[fileIndex];
+        }
+        return frame -> frame.lastFile >= 0 && frame.found[frame.lastFile];
+    }
+
+    /**
+     * *IN03 -> 3, *IN(03) -> 3 (already joined by the tokenizer), *INLR -> LR; null if not an indicator
+     */
+    static Integer indicatorNumber(String token) {
+        if (token.equals("*INLR")) {
+            return Frame.LR;
+        }
+        if (token.startsWith("*IN") && token.length() > 3) {
+            String digits = token.charAt(3) == '(' ? token.substring(4, token.length() - 1) : token.substring(3);
+            if (digits.length() == 2 && Character.isDigit(digits.charAt(0)) && Character.isDigit(digits.charAt(1))) {
+                int number = Integer.parseInt(digits);
+                return number > 0 ? number : null;
+            }
+        }
+        return null;
+    }
+
+    static boolean condition(Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        throw new RpgRuntimeException("RNX0102", "Expected an indicator or condition, found " + value);
+    }
+
+    static int compare(Object left, Object right) {
+        if (left instanceof BigDecimal l && right instanceof BigDecimal r) {
+            return l.compareTo(r);
+        }
+        if (left instanceof String l && right instanceof String r) {
+            // fixed-length character fields compare as if the shorter were padded with blanks
+            return FieldDefinition.stripTrailingBlanks(l).compareTo(FieldDefinition.stripTrailingBlanks(r));
+        }
+        if (left instanceof Boolean l && right instanceof Boolean r) {
+            return Boolean.compare(l, r);
+        }
+        throw new RpgRuntimeException("RNX0102", "Cannot compare " + left + " with " + right);
+    }
+
+    private static Object add(Object left, Object right) {
+        if (left instanceof String l && right instanceof String r) {
+            return l + r;
+        }
+        return number(left).add(number(right));
+    }
+
+    private static BigDecimal number(Object value) {
+        if (value instanceof BigDecimal number) {
+            return number;
+        }
+        throw new RpgRuntimeException("RNX0102", "Expected a numeric value, found " + value);
+    }
+
+    private static BigDecimal divide(BigDecimal dividend, BigDecimal divisor) {
+        if (divisor.signum() == 0) {
+            throw new RpgRuntimeException("RNX0102", "Attempt to divide by zero");
+        }
+        return dividend.divide(divisor, DIVISION);
+    }
+
+    // ---------------------------------------------------------------- tokens
+
+    private List<String> tokenize(String text) {
+        List<String> result = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == ' ' || c == '\t') {
+                i++;
+            } else if (c == '\'') {
+                int end = i + 1;
+                while (end < text.length()) {
+                    if (text.charAt(end) == '\'') {
+                        if (end + 1 < text.length() && text.charAt(end + 1) == '\'') {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                if (end >= text.length()) {
+                    throw error("Unterminated literal: " + text);
+                }
+                result.add(text.substring(i, end + 1));
+                i = end + 1;
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < text.length() && Character.isDigit(text.charAt(i + 1)))) {
+                int end = i;
+                while (end < text.length() && (Character.isDigit(text.charAt(end)) || text.charAt(end) == '.')) {
+                    end++;
+                }
+                result.add(text.substring(i, end));
+                i = end;
+            } else if ((c == '%' || (c == '*' && expectsOperand(result)))
+                    && i + 1 < text.length() && isNameStart(text.charAt(i + 1))) {
+                int end = nameEnd(text, i + 1);
+                String word = text.substring(i, end).toUpperCase(Locale.ROOT);
+                if (word.equals("*IN") && end < text.length() && text.charAt(end) == '(') {
+                    int close = text.indexOf(')', end);
+                    if (close < 0) {
+                        throw error("Unterminated *IN( in " + text);
+                    }
+                    word = word + text.substring(end, close + 1).replace(" ", "");
+                    end = close + 1;
+                }
+                result.add(word);
+                i = end;
+            } else if (isNameStart(c)) {
+                int end = nameEnd(text, i);
+                result.add(text.substring(i, end).toUpperCase(Locale.ROOT));
+                i = end;
+            } else if ((c == '<' || c == '>') && i + 1 < text.length()
+                    && (text.charAt(i + 1) == '=' || (c == '<' && text.charAt(i + 1) == '>'))) {
+                result.add(text.substring(i, i + 2));
+                i += 2;
+            } else if ("=<>+-*/()".indexOf(c) >= 0) {
+                result.add(String.valueOf(c));
+                i++;
+            } else {
+                throw error("Unexpected character '" + c + "' in " + text);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A '*' where an operand is expected starts a special word (*IN03), otherwise it multiplies
+     */
+    private static boolean expectsOperand(List<String> previous) {
+        if (previous.isEmpty()) {
+            return true;
+        }
+        String last = previous.get(previous.size() - 1);
+        return switch (last) {
+            case "=", "<>", "<", ">", "<=", ">=", "+", "-", "*", "/", "(", "AND", "OR", "NOT" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isNameStart(char c) {
+        return Character.isLetter(c) || c == '_' || c == '#' || c == '@' || c == '$';
+    }
+
+    private static int nameEnd(String text, int from) {
+        int end = from;
+        while (end < text.length() && (isNameStart(text.charAt(end)) || Character.isDigit(text.charAt(end)))) {
+            end++;
+        }
+        return end;
+    }
+
+    private String peek() {
+        return position < tokens.size() ? tokens.get(position) : null;
+    }
+
+    private String next() {
+        if (position >= tokens.size()) {
+            throw error("Unexpected end of expression");
+        }
+        return tokens.get(position++);
+    }
+
+    private boolean accept(String token) {
+        if (token.equals(peek())) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw error("Expected '" + token + "'");
+        }
+    }
+
+    private RpgCompileException error(String message) {
+        return new RpgCompileException(program, line, message);
+    }
+}
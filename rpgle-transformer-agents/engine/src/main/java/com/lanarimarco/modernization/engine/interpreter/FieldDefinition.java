@@ -0,0 +1,77 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import com.lanarimarco.modernization.engine.schema.DdsField;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Program variable defined by an externally described file field
+ *
+ * Numeric values are BigDecimal with the field's scale, character values are
+ * String without trailing blanks (RPG compares fixed-length fields as if padded,
+ * so trailing blanks never matter).
+ *
+ * @param numeric  numeric (packed, zoned, binary, display Y/S) or character
+ * @param length   digits or characters
+ * @param decimals decimal positions, 0 for character fields
+ */
+public record FieldDefinition(String name, boolean numeric, int length, int decimals) {
+
+    public static FieldDefinition of(DdsField field) {
+        return new FieldDefinition(field.name(), field.isNumeric(), field.length(), Math.max(field.decimals(), 0));
+    }
+
+    /**
+     * Initial value: *ZEROS or *BLANKS
+     */
+    public Object initialValue() {
+        return numeric ? BigDecimal.ZERO.setScale(decimals) : "";
+    }
+
+    /**
+     * Value as stored by EVAL into this field
+     *
+     * Numbers are truncated to the decimal positions (no half-adjust); a result with
+     * more integer digits than the field raises RNX0103. Strings are truncated to the
+     * field length.
+     */
+    public Object coerce(Object value) {
+        return coerce(value, false);
+    }
+
+    /**
+     * @param halfAdjust round half up instead of truncating, as EVAL(H)
+     */
+    public Object coerce(Object value, boolean halfAdjust) {
+        if (numeric) {
+            BigDecimal number;
+            if (value instanceof BigDecimal decimal) {
+                number = decimal;
+            } else if (value instanceof Long || value instanceof Integer) {
+                number = BigDecimal.valueOf(((Number) value).longValue());
+            } else {
+                throw new RpgRuntimeException("RNX0102", "Cannot assign '" + value + "' to numeric field " + name);
+            }
+            BigDecimal scaled = number.setScale(decimals, halfAdjust ? RoundingMode.HALF_UP : RoundingMode.DOWN);
+            if (scaled.precision() - scaled.scale() > length - decimals && scaled.signum() != 0) {
+                throw new RpgRuntimeException("RNX0103", "Value " + number + " too large for " + name
+                        + " (" + length + "," + decimals + ")");
+            }
+            return scaled;
+        }
+        if (!(value instanceof String text)) {
+            throw new RpgRuntimeException("RNX0102", "Cannot assign " + value + " to character field " + name);
+        }
+        String truncated = text.length() > length ? text.substring(0, length) : text;
+        return stripTrailingBlanks(truncated);
+    }
+
+    static String stripTrailingBlanks(String text) {
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return end == text.length() ? text : text.substring(0, end);
+    }
+}
@@ -0,0 +1,35 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+/**
+ * Storage of one program run: field values by slot, indicators and file status
+ */
+final class Frame implements ProgramState {
+
+    static final int LR = 100;
+
+    final CompiledProgram program;
+    final RecordStore store;
+    final Display display;
+    final Object[] values;
+    final boolean[] indicators = new boolean[LR + 1];
+    final boolean[] found;
+    int lastFile = -1;
+
+    Frame(CompiledProgram program, RecordStore store, Display display) {
+        this.program = program;
+        this.store = store;
+        this.display = display;
+        this.values = program.initialValues();
+        this.found = new boolean[program.fileCount()];
+    }
+
+    @Override
+    public Object value(String name) {
+        return values[program.slot(name)];
+    }
+
+    @Override
+    public boolean indicator(int number) {
+        return indicators[number];
+    }
+}
@@ -0,0 +1,141 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import com.lanarimarco.modernization.engine.schema.DdsField;
+import com.lanarimarco.modernization.engine.schema.PhysicalFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Record store held in hash maps, one per file, keyed by the file's single key field
+ *
+ * Records are loaded up front ({@link #put}, {@link #loadCsv}) and only read while
+ * programs run
+ */
+public final class InMemoryRecordStore implements RecordStore {
+
+    private final Map<String, Map<Object, Map<String, Object>>> files = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, Object> chain(String file, Object key) {
+        Map<Object, Map<String, Object>> records = files.get(file);
+        return records != null ? records.get(normalizeKey(key)) : null;
+    }
+
+    /**
+     * Adds or replaces a record; values are coerced to the file's field definitions
+     */
+    public void put(PhysicalFile file, Map<String, Object> record) {
+        if (file.keyFields().size() != 1) {
+            throw new IllegalArgumentException("File " + file.name() + " must have exactly one key field, has "
+                    + file.keyFields());
+        }
+        Map<String, Object> values = new HashMap<>();
+        for (DdsField field : file.fields()) {
+            FieldDefinition definition = FieldDefinition.of(field);
+            Object value = record.get(field.name());
+            values.put(field.name(), value != null ? definition.coerce(value) : definition.initialValue());
+        }
+        Object key = values.get(file.keyFields().get(0));
+        files.computeIfAbsent(file.name(), name -> new HashMap<>()).put(normalizeKey(key), Map.copyOf(values));
+    }
+
+    /**
+     * Loads a comma separated file with a header of DDS field names, e.g.
+     * CUSTNO,CUSTNAME,...,LASTORDER; values may be double quoted
+     *
+     * @return number of records loaded
+     */
+    public int loadCsv(PhysicalFile file, Path csv) {
+        Map<String, DdsField> fields = new HashMap<>();
+        file.fields().forEach(field -> fields.put(field.name(), field));
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return 0;
+            }
+            List<String> columns = splitCsv(header);
+            for (int i = 0; i < columns.size(); i++) {
+                String column = columns.get(i).trim().toUpperCase(Locale.ROOT);
+                if (!fields.containsKey(column)) {
+                    throw new IllegalArgumentException(csv + ": column " + column + " is not a field of " + file.name());
+                }
+                columns.set(i, column);
+            }
+
+            int count = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> values = splitCsv(line);
+                Map<String, Object> record = new HashMap<>();
+                for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                    DdsField field = fields.get(columns.get(i));
+                    String value = values.get(i);
+                    record.put(field.name(), field.isNumeric()
+                            ? (value.isBlank() ? BigDecimal.ZERO : new BigDecimal(value.trim()))
+                            : value);
+                }
+                put(file, record);
+                count++;
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + csv, e);
+        }
+    }
+
+    /**
+     * Numeric keys compare by value (1001 = 1001.0), character keys ignore trailing blanks
+     */
+    static Object normalizeKey(Object key) {
+        if (key instanceof BigDecimal number) {
+            return number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+        }
+        if (key instanceof String text) {
+            return FieldDefinition.stripTrailingBlanks(text);
+        }
+        return key;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,195 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Expected results for the equivalence suite, obtained by running the original RPG
+ * inquiry program instead of writing them by hand
+ *
+ * Each inquiry is one run of a CUST001-style program with a scripted user: enter the
+ * customer number on PROMPT, then F3 on every following screen. The second screen
+ * decides the outcome: DETAIL is a found customer (200); PROMPT with the error
+ * indicator is a rejected request, 400 or 404 according to PMSG.
+ *
+ * Rows use the layout of customer-inquiry-test-cases.csv in the equivalence suite
+ */
+public final class InquiryOracle {
+
+    public static final String HEADER = "test_case_id,customer_id,expected_name,expected_address,expected_city,"
+            + "expected_state,expected_zip,expected_phone,expected_balance,expected_credit_limit,"
+            + "expected_last_order,expected_status_code";
+
+    /** Largest customer number the 5Y 0 prompt field accepts */
+    public static final long MAX_CUSTOMER_NUMBER = 99_999;
+
+    private static final String DETAIL_FORMAT = "DETAIL";
+    private static final String CUSTOMER_NUMBER_FIELD = "PCUSTNO";
+    private static final String MESSAGE_FIELD = "PMSG";
+    private static final int ERROR_INDICATOR = 90;
+    private static final Map<String, Integer> MESSAGE_STATUS = Map.of(
+            "Customer number required", 400,
+            "Customer not found", 404);
+
+    /** Displayed fields, then record fields the DETAIL screen does not show */
+    private static final String[] DETAIL_FIELDS = {"DCUSTNAME", "DADDR1", "DCITY", "DSTATE", "DZIP", "DPHONE", "DBALANCE"};
+    private static final String[] RECORD_FIELDS = {"CREDITLIM", "LASTORDER"};
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    private final CompiledProgram program;
+    private final RecordStore store;
+
+    public InquiryOracle(CompiledProgram program, RecordStore store) {
+        this.program = program;
+        this.store = store;
+    }
+
+    /**
+     * CSV row (without line separator) for one inquiry
+     */
+    public String expectedRow(String testCaseId, long customerNumber) {
+        StringBuilder row = new StringBuilder(160);
+        appendRow(row, testCaseId, customerNumber);
+        return row.toString();
+    }
+
+    /**
+     * Writes the header and one row per customer number in [from, to], test case ids
+     * prefix + customer number. Inquiries run on the given number of threads; rows keep
+     * their order
+     *
+     * @return number of rows written
+     */
+    public long write(Path output, String prefix, long from, long to, int parallelism) {
+        if (from < 0 || to > MAX_CUSTOMER_NUMBER || from > to) {
+            throw new IllegalArgumentException("Customer numbers must be within 0-" + MAX_CUSTOMER_NUMBER
+                    + ", got " + from + "-" + to);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            // bounded window of chunks in flight, written in submission order
+            Deque<Future<String>> pending = new ArrayDeque<>();
+            for (long start = from; start <= to; start += CHUNK_SIZE) {
+                long chunkStart = start;
+                long chunkEnd = Math.min(to, start + CHUNK_SIZE - 1);
+                pending.add(executor.submit(() -> chunk(prefix, chunkStart, chunkEnd)));
+                if (pending.size() >= parallelism * 2) {
+                    writer.write(pending.poll().get());
+                }
+            }
+            while (!pending.isEmpty()) {
+                writer.write(pending.poll().get());
+            }
+            return to - from + 1;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write " + output, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing " + output, e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String chunk(String prefix, long from, long to) {
+        StringBuilder rows = new StringBuilder((int) (to - from + 1) * 160);
+        for (long customerNumber = from; customerNumber <= to; customerNumber++) {
+            appendRow(rows, prefix + customerNumber, customerNumber);
+            rows.append(System.lineSeparator());
+        }
+        return rows.toString();
+    }
+
+    private void appendRow(StringBuilder row, String testCaseId, long customerNumber) {
+        InquiryDisplay display = new InquiryDisplay(BigDecimal.valueOf(customerNumber));
+        program.run(store, display);
+        if (display.outcome == null) {
+            throw new IllegalStateException(program.getName() + " ended before answering inquiry " + customerNumber);
+        }
+
+        appendValue(row, testCaseId).append(',').append(customerNumber);
+        Object[] values = display.values;
+        for (int i = 0; i < DETAIL_FIELDS.length + RECORD_FIELDS.length; i++) {
+            row.append(',');
+            if (values != null) {
+                appendValue(row, values[i]);
+            }
+        }
+        row.append(',').append(display.outcome);
+    }
+
+    private static StringBuilder appendValue(StringBuilder row, Object value) {
+        String text = value instanceof BigDecimal number ? number.toPlainString() : String.valueOf(value);
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0) {
+            return row.append('"').append(text.replace("\"", "\"\"")).append('"');
+        }
+        return row.append(text);
+    }
+
+    /**
+     * Scripted user for one inquiry, capturing the screen that answers it
+     */
+    private static final class InquiryDisplay implements Display {
+
+        private static final Response EXIT = Response.press("F3");
+
+        private final BigDecimal customerNumber;
+        private int screens;
+        private Integer outcome;
+        private Object[] values;
+
+        private InquiryDisplay(BigDecimal customerNumber) {
+            this.customerNumber = customerNumber;
+        }
+
+        @Override
+        public Response exfmt(Screen screen, ProgramState state) {
+            screens++;
+            if (screens == 1) {
+                return Response.enter(Map.of(CUSTOMER_NUMBER_FIELD, customerNumber));
+            }
+            if (screens == 2) {
+                answer(screen, state);
+            }
+            return EXIT;
+        }
+
+        private void answer(Screen screen, ProgramState state) {
+            if (screen.format().equals(DETAIL_FORMAT)) {
+                outcome = 200;
+                values = new Object[DETAIL_FIELDS.length + RECORD_FIELDS.length];
+                for (int i = 0; i < DETAIL_FIELDS.length; i++) {
+                    values[i] = screen.field(DETAIL_FIELDS[i]);
+                }
+                for (int i = 0; i < RECORD_FIELDS.length; i++) {
+                    values[DETAIL_FIELDS.length + i] = state.value(RECORD_FIELDS[i]);
+                }
+                return;
+            }
+            Object message = screen.field(MESSAGE_FIELD);
+            Integer status = screen.indicator(ERROR_INDICATOR) ? MESSAGE_STATUS.get(String.valueOf(message)) : null;
+            if (status == null) {
+                throw new IllegalStateException("Unexpected " + screen.format() + " screen for customer "
+                        + customerNumber + ": " + message);
+            }
+            outcome = status;
+        }
+    }
+}
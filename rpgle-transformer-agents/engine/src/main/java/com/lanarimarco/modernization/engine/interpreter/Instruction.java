@@ -0,0 +1,13 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+/**
+ * One compiled calculation
+ */
+@FunctionalInterface
+interface Instruction {
+
+    /**
+     * @return index of the next instruction to run
+     */
+    int execute(Frame frame, int pc);
+}
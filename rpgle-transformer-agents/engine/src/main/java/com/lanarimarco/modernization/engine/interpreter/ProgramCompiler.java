@@ -0,0 +1,579 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import com.lanarimarco.modernization.engine.lexer.Dialect;
+import com.lanarimarco.modernization.engine.lexer.LexedSource;
+import com.lanarimarco.modernization.engine.lexer.TokenStream;
+import com.lanarimarco.modernization.engine.lexer.TokenType;
+import com.lanarimarco.modernization.engine.library.MemberType;
+import com.lanarimarco.modernization.engine.library.SourceLibrary;
+import com.lanarimarco.modernization.engine.library.SourceMember;
+import com.lanarimarco.modernization.engine.schema.DdsField;
+import com.lanarimarco.modernization.engine.schema.PhysicalFile;
+import com.lanarimarco.modernization.engine.schema.PhysicalFileParser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiles a fixed-form RPG IV program into a flat list of instructions with resolved
+ * jumps and field slots, so a run does no parsing and no name lookups
+ *
+ * Supported subset (enough for inquiry programs like CUST001):
+ * <ul>
+ *   <li>F-specs: externally described DISK physical files and WORKSTN display files</li>
+ *   <li>D-specs: standalone fields (S)</li>
+ *   <li>C-specs: EVAL, IF/ELSEIF/ELSE/ENDIF, DOW/DOU/ENDDO/END, ITER, LEAVE, CHAIN,
+ *       EXFMT, SETON, SETOFF, RETURN, with conditioning indicators and CHAIN's
+ *       not-found indicator</li>
+ * </ul>
+ * Anything else is rejected at compile time rather than interpreted approximately
+ */
+public final class ProgramCompiler {
+
+    private final String program;
+    private final LexedSource source;
+    private final TokenStream tokens;
+    private final Map<String, PhysicalFile> databaseFiles;
+    private final Map<String, DisplayFile> displayFiles;
+
+    private final List<FieldDefinition> fields = new ArrayList<>();
+    private final Map<String, Integer> slots = new LinkedHashMap<>();
+    private final Map<String, Integer> fileIndexes = new LinkedHashMap<>();
+    private final Map<String, DisplayFile.RecordFormat> formats = new HashMap<>();
+
+    private final List<Instruction> code = new ArrayList<>();
+    private final List<Integer> codeLines = new ArrayList<>();
+    private final Deque<Block> blocks = new ArrayDeque<>();
+
+    private ProgramCompiler(String program, LexedSource source, Map<String, PhysicalFile> databaseFiles,
+                            Map<String, DisplayFile> displayFiles) {
+        this.program = program;
+        this.source = source;
+        this.tokens = source.getTokens();
+        this.databaseFiles = databaseFiles;
+        this.displayFiles = displayFiles;
+    }
+
+    /**
+     * Compiles a program of the library, with the physical and display files it declares
+     */
+    public static CompiledProgram compile(SourceLibrary library, String programName) {
+        SourceMember member = library.get(programName)
+                .filter(candidate -> candidate.type() == MemberType.PROGRAM)
+                .orElseThrow(() -> new IllegalArgumentException("No program " + programName + " in " + library.getRoot()));
+
+        Map<String, PhysicalFile> databaseFiles = new HashMap<>();
+        Map<String, DisplayFile> displayFiles = new HashMap<>();
+        for (String reference : member.references()) {
+            library.get(reference).ifPresent(file -> {
+                if (file.type() == MemberType.PHYSICAL_FILE) {
+                    databaseFiles.put(file.name(), PhysicalFileParser.parse(file.name(), LexedSource.lex(file.path(), Dialect.DDS)));
+                } else if (file.type() == MemberType.DISPLAY_FILE) {
+                    displayFiles.put(file.name(), DisplayFileParser.parse(file.name(), LexedSource.lex(file.path(), Dialect.DDS)));
+                }
+            });
+        }
+        return compile(member.name(), LexedSource.lex(member.path(), Dialect.RPG), databaseFiles, displayFiles);
+    }
+
+    static CompiledProgram compile(String program, LexedSource source, Map<String, PhysicalFile> databaseFiles,
+                                   Map<String, DisplayFile> displayFiles) {
+        return new ProgramCompiler(program, source, databaseFiles, displayFiles).compile();
+    }
+
+    private CompiledProgram compile() {
+        int lineCount = source.getSource().lineCount();
+        for (int line = 0; line < lineCount; line++) {
+            int formType = tokens.find(line, TokenType.FORM_TYPE);
+            if (tokens.find(line, TokenType.FREE_FORM) >= 0) {
+                throw error(line, "Free-form calculations are not supported");
+            }
+            if (formType < 0 || tokens.find(line, TokenType.COMMENT) >= 0) {
+                continue;
+            }
+            switch (tokens.text(formType).toUpperCase(Locale.ROOT)) {
+                case "H" -> {
+                    // control options do not change the supported operations
+                }
+                case "F" -> fileSpec(line);
+                case "D" -> definitionSpec(line);
+                case "C" -> calculationSpec(line);
+                default -> throw error(line, tokens.text(formType) + "-specs are not supported");
+            }
+        }
+        if (!blocks.isEmpty()) {
+            throw error(lineCount - 1, blocks.peek().opcode + " without ENDxx");
+        }
+        int[] sourceLines = codeLines.stream().mapToInt(Integer::intValue).toArray();
+        return new CompiledProgram(program, code.toArray(new Instruction[0]), sourceLines, fields, slots,
+                fileIndexes.size());
+    }
+
+    // ---------------------------------------------------------------- declarations
+
+    private void fileSpec(int line) {
+        String file = upper(line, TokenType.NAME);
+        String format = upper(line, TokenType.FILE_FORMAT);
+        String device = upper(line, TokenType.DEVICE);
+        if (file == null) {
+            return;
+        }
+        if (!"E".equals(format)) {
+            throw error(line, "Program described file " + file + " is not supported");
+        }
+        if ("DISK".equals(device)) {
+            PhysicalFile physicalFile = databaseFiles.get(file);
+            if (physicalFile == null) {
+                throw error(line, "Physical file " + file + " not found");
+            }
+            for (DdsField field : physicalFile.fields()) {
+                if (field.reference()) {
+                    throw error(line, "Reference field " + file + "." + field.name() + " is not supported");
+                }
+                declare(line, FieldDefinition.of(field));
+            }
+            fileIndexes.put(file, fileIndexes.size());
+        } else if ("WORKSTN".equals(device)) {
+            DisplayFile displayFile = displayFiles.get(file);
+            if (displayFile == null) {
+                throw error(line, "Display file " + file + " not found");
+            }
+            for (DisplayFile.RecordFormat recordFormat : displayFile.formats().values()) {
+                recordFormat.fields().forEach(field -> declare(line, field.definition()));
+                formats.put(recordFormat.name(), recordFormat);
+            }
+        } else {
+            throw error(line, "Device " + device + " of " + file + " is not supported");
+        }
+    }
+
+    private void definitionSpec(int line) {
+        String name = upper(line, TokenType.NAME);
+        String type = upper(line, TokenType.DEFINITION_TYPE);
+        if (!"S".equals(type) || tokens.find(line, TokenType.FROM_POSITION) >= 0) {
+            throw error(line, "Only standalone fields (S) are supported on D-specs");
+        }
+        String dataType = upper(line, TokenType.DATA_TYPE);
+        String decimals = upper(line, TokenType.DECIMALS);
+        String length = upper(line, TokenType.LENGTH);
+        if (length == null) {
+            throw error(line, "Standalone field " + name + " needs a length");
+        }
+        boolean numeric = decimals != null || (dataType != null && "PSBI".contains(dataType));
+        if (dataType != null && !"APSB".contains(dataType)) {
+            throw error(line, "Data type " + dataType + " is not supported");
+        }
+        declare(line, new FieldDefinition(name, numeric, Integer.parseInt(length),
+                decimals != null ? Integer.parseInt(decimals) : 0));
+    }
+
+    /**
+     * A name defined by several files is one field, as for externally described files in RPG
+     */
+    private void declare(int line, FieldDefinition field) {
+        Integer existing = slots.get(field.name());
+        if (existing == null) {
+            slots.put(field.name(), fields.size());
+            fields.add(field);
+        } else if (fields.get(existing).numeric() != field.numeric()) {
+            throw error(line, "Field " + field.name() + " defined both numeric and character");
+        }
+    }
+
+    // ---------------------------------------------------------------- calculations
+
+    private void calculationSpec(int line) {
+        int opcodeToken = tokens.find(line, TokenType.OPCODE);
+        if (opcodeToken < 0) {
+            return;
+        }
+        String opcode = tokens.text(opcodeToken).toUpperCase(Locale.ROOT);
+        String extender = upper(line, TokenType.OPCODE_EXTENDER);
+        Conditioning conditioning = conditioning(line);
+        if (conditioning != null && isStructured(opcode)) {
+            throw error(line, "Conditioning indicators on " + opcode + " are not supported");
+        }
+
+        Instruction instruction = switch (opcode) {
+            case "EVAL" -> eval(line, extender);
+            case "IF" -> openBlock(line, opcode);
+            case "ELSEIF" -> elseIf(line);
+            case "ELSE" -> elseBranch(line);
+            case "ENDIF" -> closeBlock(line, "IF");
+            case "DOW", "DOU" -> openBlock(line, opcode);
+            case "ENDDO" -> closeBlock(line, "DO");
+            case "END" -> closeBlock(line, null);
+            case "ITER" -> loopJump(line, true);
+            case "LEAVE" -> loopJump(line, false);
+            case "CHAIN" -> chain(line);
+            case "EXFMT" -> exfmt(line);
+            case "SETON", "SETOFF" -> setIndicators(line, opcode.equals("SETON"));
+            case "RETURN" -> (frame, pc) -> CompiledProgram.RETURN;
+            default -> throw error(line, "Operation " + opcode + " is not supported");
+        };
+        if (extender != null && !opcode.equals("EVAL") && !opcode.equals("CHAIN")) {
+            throw error(line, "Operation extender " + extender + " on " + opcode + " is not supported");
+        }
+        if (instruction != null) {
+            emit(line, conditioning != null ? conditioning.wrap(instruction) : instruction);
+        }
+    }
+
+    private Instruction eval(int line, String extender) {
+        if (extender != null && !extender.equals("H")) {
+            throw error(line, "EVAL(" + extender + ") is not supported");
+        }
+        boolean halfAdjust = extender != null;
+        ExpressionCompiler.Assignment assignment = expressions(line).compileAssignment(operand(line, TokenType.EXTENDED_FACTOR2));
+        Expression value = assignment.value();
+        if (assignment.slot() < 0) {
+            int indicator = assignment.indicator();
+            return (frame, pc) -> {
+                frame.indicators[indicator] = ExpressionCompiler.condition(value.evaluate(frame));
+                return pc + 1;
+            };
+        }
+        int slot = assignment.slot();
+        FieldDefinition field = fields.get(slot);
+        return (frame, pc) -> {
+            frame.values[slot] = field.coerce(value.evaluate(frame), halfAdjust);
+            return pc + 1;
+        };
+    }
+
+    private Instruction chain(int line) {
+        String file = upper(line, TokenType.FACTOR2);
+        Integer fileIndex = file != null ? fileIndexes.get(file) : null;
+        if (fileIndex == null) {
+            throw error(line, "CHAIN to undeclared file " + file);
+        }
+        PhysicalFile physicalFile = databaseFiles.get(file);
+        if (physicalFile.keyFields().size() != 1) {
+            throw error(line, "CHAIN supports files with one key field; " + file + " has " + physicalFile.keyFields());
+        }
+        Expression key = expressions(line).compile(operand(line, TokenType.FACTOR1));
+        String[] names = physicalFile.fields().stream().map(DdsField::name).toArray(String[]::new);
+        int[] recordSlots = new int[names.length];
+        FieldDefinition[] definitions = new FieldDefinition[names.length];
+        for (int i = 0; i < names.length; i++) {
+            recordSlots[i] = slots.get(names[i]);
+            definitions[i] = fields.get(recordSlots[i]);
+        }
+        int notFound = resultingIndicator(line, 71);
+        int index = fileIndex;
+        return (frame, pc) -> {
+            Map<String, Object> record = frame.store.chain(file, key.evaluate(frame));
+            frame.found[index] = record != null;
+            frame.lastFile = index;
+            if (notFound > 0) {
+                frame.indicators[notFound] = record == null;
+            }
+            if (record != null) {
+                for (int i = 0; i < recordSlots.length; i++) {
+                    Object value = record.get(names[i]);
+                    if (value != null) {
+                        frame.values[recordSlots[i]] = definitions[i].coerce(value);
+                    }
+                }
+            }
+            return pc + 1;
+        };
+    }
+
+    private Instruction exfmt(int line) {
+        String formatName = upper(line, TokenType.FACTOR2);
+        DisplayFile.RecordFormat format = formatName != null ? formats.get(formatName) : null;
+        if (format == null) {
+            throw error(line, "EXFMT of undeclared record format " + formatName);
+        }
+        List<DisplayFile.DisplayField> outputs = format.fields().stream().filter(DisplayFile.DisplayField::isOutput).toList();
+        List<DisplayFile.DisplayField> inputs = format.fields().stream().filter(DisplayFile.DisplayField::isInput).toList();
+        String[] outputNames = outputs.stream().map(field -> field.definition().name()).toArray(String[]::new);
+        int[] outputSlots = outputs.stream().mapToInt(field -> slots.get(field.definition().name())).toArray();
+        String[] inputNames = inputs.stream().map(field -> field.definition().name()).toArray(String[]::new);
+        int[] inputSlots = inputs.stream().mapToInt(field -> slots.get(field.definition().name())).toArray();
+        FieldDefinition[] inputDefinitions = inputs.stream().map(field -> fields.get(slots.get(field.definition().name())))
+                .toArray(FieldDefinition[]::new);
+        Map<String, DisplayFile.FunctionKey> keys = format.functionKeys();
+        int[] responseIndicators = keys.values().stream().mapToInt(DisplayFile.FunctionKey::indicator)
+                .filter(indicator -> indicator > 0).distinct().toArray();
+
+        return (frame, pc) -> {
+            Map<String, Object> written = new HashMap<>(outputSlots.length * 2);
+            for (int i = 0; i < outputSlots.length; i++) {
+                written.put(outputNames[i], frame.values[outputSlots[i]]);
+            }
+            BitSet on = new BitSet(Frame.LR);
+            for (int indicator = 1; indicator < Frame.LR; indicator++) {
+                if (frame.indicators[indicator]) {
+                    on.set(indicator);
+                }
+            }
+            Response response = frame.display.exfmt(new Screen(format.name(), written, on), frame);
+
+            DisplayFile.FunctionKey key = null;
+            if (!Response.ENTER.equals(response.key())) {
+                key = keys.get(response.key());
+                if (key == null) {
+                    throw new RpgRuntimeException("CPD9801", "Key " + response.key() + " not valid for " + format.name());
+                }
+            }
+            for (int indicator : responseIndicators) {
+                frame.indicators[indicator] = key != null && key.indicator() == indicator;
+            }
+            if (key == null || key.returnsData()) {
+                for (int i = 0; i < inputSlots.length; i++) {
+                    Object value = response.inputs().get(inputNames[i]);
+                    if (value != null) {
+                        frame.values[inputSlots[i]] = inputDefinitions[i].coerce(value);
+                    }
+                }
+            }
+            return pc + 1;
+        };
+    }
+
+    private Instruction setIndicators(int line, boolean value) {
+        int[] indicators = new int[3];
+        int count = 0;
+        for (int token = tokens.lineStart(line); token < tokens.lineEnd(line); token++) {
+            if (tokens.type(token) == TokenType.INDICATOR && tokens.column(token) >= 71) {
+                indicators[count++] = indicatorNumber(line, tokens.text(token));
+            }
+        }
+        int[] targets = Arrays.copyOf(indicators, count);
+        return (frame, pc) -> {
+            for (int indicator : targets) {
+                frame.indicators[indicator] = value;
+            }
+            return pc + 1;
+        };
+    }
+
+    // ---------------------------------------------------------------- structure
+
+    private Instruction openBlock(int line, String opcode) {
+        Expression condition = expressions(line).compile(operand(line, TokenType.EXTENDED_FACTOR2));
+        Block block = new Block(opcode, code.size());
+        blocks.push(block);
+        if (opcode.equals("DOU")) {
+            // tested at ENDDO, after the body has run once
+            block.untilCondition = condition;
+            return null;
+        }
+        Branch branch = new Branch(condition);
+        block.pendingBranch = branch;
+        return branch;
+    }
+
+    private Instruction elseIf(int line) {
+        Block block = currentBlock(line, "IF", "ELSEIF");
+        if (block.pendingBranch == null) {
+            throw error(line, "ELSEIF after ELSE");
+        }
+        Jump toEnd = new Jump();
+        emit(line, toEnd);
+        block.exits.add(toEnd);
+        block.pendingBranch.target = code.size();
+        Branch branch = new Branch(expressions(line).compile(operand(line, TokenType.EXTENDED_FACTOR2)));
+        block.pendingBranch = branch;
+        return branch;
+    }
+
+    private Instruction elseBranch(int line) {
+        Block block = currentBlock(line, "IF", "ELSE");
+        if (block.pendingBranch == null) {
+            throw error(line, "Second ELSE");
+        }
+        Jump toEnd = new Jump();
+        emit(line, toEnd);
+        block.exits.add(toEnd);
+        block.pendingBranch.target = code.size();
+        block.pendingBranch = null;
+        return null;
+    }
+
+    private Instruction closeBlock(int line, String kind) {
+        if (blocks.isEmpty()) {
+            throw error(line, "END without a matching IF or DO");
+        }
+        Block block = blocks.pop();
+        if (kind != null && !block.opcode.startsWith(kind)) {
+            throw error(line, "END" + kind + " closes " + block.opcode);
+        }
+        if (block.isLoop()) {
+            int test = code.size();
+            block.iterations.forEach(jump -> jump.target = block.opcode.equals("DOU") ? test : block.start);
+            if (block.opcode.equals("DOU")) {
+                Branch repeat = new Branch(block.untilCondition);
+                repeat.target = block.start;
+                emit(line, repeat);
+            } else {
+                Jump loop = new Jump();
+                loop.target = block.start;
+                emit(line, loop);
+            }
+        }
+        int end = code.size();
+        if (block.pendingBranch != null) {
+            block.pendingBranch.target = end;
+        }
+        block.exits.forEach(jump -> jump.target = end);
+        return null;
+    }
+
+    private Instruction loopJump(int line, boolean iterate) {
+        Block loop = blocks.stream().filter(Block::isLoop).findFirst()
+                .orElseThrow(() -> error(line, (iterate ? "ITER" : "LEAVE") + " outside a loop"));
+        Jump jump = new Jump();
+        (iterate ? loop.iterations : loop.exits).add(jump);
+        return jump;
+    }
+
+    private Block currentBlock(int line, String opcode, String operation) {
+        Block block = blocks.peek();
+        if (block == null || !block.opcode.equals(opcode)) {
+            throw error(line, operation + " without " + opcode);
+        }
+        return block;
+    }
+
+    private void emit(int line, Instruction instruction) {
+        code.add(instruction);
+        codeLines.add(line);
+    }
+
+    private static boolean isStructured(String opcode) {
+        return switch (opcode) {
+            case "IF", "ELSEIF", "ELSE", "ENDIF", "DOW", "DOU", "ENDDO", "END" -> true;
+            default -> false;
+        };
+    }
+
+    // ---------------------------------------------------------------- operands
+
+    private Conditioning conditioning(int line) {
+        int token = tokens.find(line, TokenType.INDICATOR);
+        if (token < 0 || tokens.column(token) > 11) {
+            return null;
+        }
+        String text = tokens.text(token).toUpperCase(Locale.ROOT);
+        boolean negated = text.startsWith("N");
+        return new Conditioning(indicatorNumber(line, negated ? text.substring(1).trim() : text), negated);
+    }
+
+    /**
+     * Resulting indicator starting in the given column (71 = CHAIN not found), 0 if blank
+     */
+    private int resultingIndicator(int line, int column) {
+        for (int token = tokens.lineStart(line); token < tokens.lineEnd(line); token++) {
+            if (tokens.type(token) == TokenType.INDICATOR && tokens.column(token) >= column
+                    && tokens.column(token) <= column + 1) {
+                return indicatorNumber(line, tokens.text(token));
+            }
+        }
+        return 0;
+    }
+
+    private int indicatorNumber(int line, String text) {
+        String indicator = text.trim().toUpperCase(Locale.ROOT);
+        if (indicator.equals("LR")) {
+            return Frame.LR;
+        }
+        try {
+            int number = Integer.parseInt(indicator);
+            if (number >= 1 && number <= 99) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw error(line, "Unsupported indicator " + text);
+    }
+
+    private String operand(int line, TokenType type) {
+        int token = tokens.find(line, type);
+        if (token < 0) {
+            throw error(line, "Missing " + type.name().toLowerCase(Locale.ROOT).replace('_', ' '));
+        }
+        return tokens.text(token);
+    }
+
+    private String upper(int line, TokenType type) {
+        int token = tokens.find(line, type);
+        return token >= 0 ? tokens.text(token).toUpperCase(Locale.ROOT) : null;
+    }
+
+    private ExpressionCompiler expressions(int line) {
+        return new ExpressionCompiler(slots, fileIndexes, program, line);
+    }
+
+    private RpgCompileException error(int line, String message) {
+        return new RpgCompileException(program, line, message);
+    }
+
+    /**
+     * Open IF or DO group; jumps are patched when the group closes
+     */
+    private static final class Block {
+
+        private final String opcode;
+        private final int start;
+        private final List<Jump> exits = new ArrayList<>();
+        private final List<Jump> iterations = new ArrayList<>();
+        private Branch pendingBranch;
+        private Expression untilCondition;
+
+        private Block(String opcode, int start) {
+            this.opcode = opcode;
+            this.start = start;
+        }
+
+        private boolean isLoop() {
+            return opcode.startsWith("DO");
+        }
+    }
+
+    /**
+     * Continues with the next instruction when the condition is true, jumps otherwise
+     */
+    private static final class Branch implements Instruction {
+
+        private final Expression condition;
+        private int target = -1;
+
+        private Branch(Expression condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public int execute(Frame frame, int pc) {
+            return ExpressionCompiler.condition(condition.evaluate(frame)) ? pc + 1 : target;
+        }
+    }
+
+    private static final class Jump implements Instruction {
+
+        private int target = -1;
+
+        @Override
+        public int execute(Frame frame, int pc) {
+            return target;
+        }
+    }
+
+    private record Conditioning(int indicator, boolean negated) {
+
+        private Instruction wrap(Instruction instruction) {
+            return (frame, pc) -> frame.indicators[indicator] != negated ? instruction.execute(frame, pc) : pc + 1;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+/**
+ * Read-only view of a running program, handed to the display on every EXFMT
+ *
+ * Values are live: read them during {@link Display#exfmt}, not after it returns
+ */
+public interface ProgramState {
+
+    /**
+     * Current value of a program field (BigDecimal or String)
+     *
+     * @throws IllegalArgumentException if the program has no such field
+     */
+    Object value(String name);
+
+    boolean indicator(int number);
+}
@@ -0,0 +1,20 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import java.util.Map;
+
+/**
+ * Keyed access to the records of externally described database files
+ *
+ * Implementations must be safe for concurrent reads: one compiled program is run
+ * on many threads against the same store
+ */
+public interface RecordStore {
+
+    /**
+     * CHAIN: the record with the given key, as field name -> value, or null when not found
+     *
+     * @param file file name as written on the F-spec, upper case
+     * @param key  BigDecimal for numeric keys, String without trailing blanks otherwise
+     */
+    Map<String, Object> chain(String file, Object key);
+}
@@ -0,0 +1,22 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import java.util.Map;
+
+/**
+ * What the workstation user sent back for an EXFMT: the key pressed and the input fields typed
+ *
+ * @param key    ENTER or F1..F24
+ * @param inputs input capable fields, numeric values as BigDecimal; fields not present keep their value
+ */
+public record Response(String key, Map<String, Object> inputs) {
+
+    public static final String ENTER = "ENTER";
+
+    public static Response enter(Map<String, Object> inputs) {
+        return new Response(ENTER, inputs);
+    }
+
+    public static Response press(String key) {
+        return new Response(key, Map.of());
+    }
+}
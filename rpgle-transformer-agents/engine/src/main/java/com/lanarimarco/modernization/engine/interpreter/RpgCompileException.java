@@ -0,0 +1,11 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+/**
+ * Source outside the supported RPGLE subset, or referring to undefined names
+ */
+public class RpgCompileException extends RuntimeException {
+
+    public RpgCompileException(String program, int line, String message) {
+        super(program + " line " + (line + 1) + ": " + message);
+    }
+}
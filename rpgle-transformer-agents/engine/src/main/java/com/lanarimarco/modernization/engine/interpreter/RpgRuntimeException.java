@@ -0,0 +1,34 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+/**
+ * Runtime error of an interpreted program, with the RPG message id where one applies
+ * (e.g. RNX0103 result too large for the target field)
+ */
+public class RpgRuntimeException extends RuntimeException {
+
+    private final String messageId;
+    private final String detail;
+
+    public RpgRuntimeException(String messageId, String message) {
+        super(messageId + ": " + message);
+        this.messageId = messageId;
+        this.detail = message;
+    }
+
+    private RpgRuntimeException(RpgRuntimeException cause, String location) {
+        super(cause.messageId + ": " + location + ": " + cause.detail, cause);
+        this.messageId = cause.messageId;
+        this.detail = location + ": " + cause.detail;
+    }
+
+    /**
+     * The same error, with the program and source line where it happened
+     */
+    RpgRuntimeException at(String program, int line) {
+        return new RpgRuntimeException(this, program + " line " + (line + 1));
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+}
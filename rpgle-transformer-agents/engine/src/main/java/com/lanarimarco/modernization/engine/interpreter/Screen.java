@@ -0,0 +1,20 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Record format written by EXFMT: output capable fields and the indicators that were on
+ *
+ * @param indicators *IN01..*IN99 that were on when the format was written
+ */
+public record Screen(String format, Map<String, Object> fields, BitSet indicators) {
+
+    public Object field(String name) {
+        return fields.get(name);
+    }
+
+    public boolean indicator(int number) {
+        return indicators.get(number);
+    }
+}
@@ -0,0 +1,45 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in for the 5250 user: answers each EXFMT with the next scripted response and
+ * keeps the screens written (the transcript)
+ *
+ * When the script runs out the fallback response is used; without one the run fails
+ * rather than looping forever
+ */
+public final class ScriptedDisplay implements Display {
+
+    private final List<Response> script;
+    private final Response fallback;
+    private final List<Screen> transcript = new ArrayList<>();
+    private int next;
+
+    public ScriptedDisplay(List<Response> script) {
+        this(script, null);
+    }
+
+    public ScriptedDisplay(List<Response> script, Response fallback) {
+        this.script = List.copyOf(script);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Response exfmt(Screen screen, ProgramState state) {
+        transcript.add(screen);
+        if (next < script.size()) {
+            return script.get(next++);
+        }
+        if (fallback == null) {
+            throw new RpgRuntimeException("CPF5001", "Display script exhausted at screen " + transcript.size()
+                    + " (" + screen.format() + ")");
+        }
+        return fallback;
+    }
+
+    public List<Screen> getTranscript() {
+        return transcript;
+    }
+}
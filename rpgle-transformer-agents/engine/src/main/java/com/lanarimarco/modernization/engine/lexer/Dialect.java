@@ -0,0 +1,19 @@
+package com.lanarimarco.modernization.engine.lexer;
+
+import com.lanarimarco.modernization.engine.library.MemberType;
+
+/**
+ * Source language of a member, selects the specification layouts
+ */
+public enum Dialect {
+
+    /** RPG IV (RPGLE) programs and copybooks */
+    RPG,
+
+    /** DDS physical, logical and display files (A-specs) */
+    DDS;
+
+    public static Dialect of(MemberType type) {
+        return type.isDds() ? DDS : RPG;
+    }
+}
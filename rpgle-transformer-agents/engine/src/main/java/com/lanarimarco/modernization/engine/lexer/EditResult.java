@@ -0,0 +1,16 @@
+package com.lanarimarco.modernization.engine.lexer;
+
+/**
+ * Outcome of {@link LexedSource#edit}
+ *
+ * @param source       the edited member
+ * @param fromLine     first re-lexed line
+ * @param toLine       end (exclusive) of the re-lexed lines; tokens of every other
+ *                     line are unchanged apart from their position
+ */
+public record EditResult(LexedSource source, int fromLine, int toLine) {
+
+    public int relexedLineCount() {
+        return toLine - fromLine;
+    }
+}
@@ -0,0 +1,375 @@
+package com.lanarimarco.modernization.engine.lexer;
+
+/**
+ * Splits one source line into tokens by column position
+ *
+ * RPG IV fixed form (H, F, D, P, C specs; I and O are kept as UNPARSED),
+ * /FREE blocks, **FREE members and compile-time data; DDS A-specs.
+ * Stateless: the only context between lines is the {@link LineState}.
+ *
+ * Works on byte offsets of the {@link SourceText}; nothing is allocated per line.
+ */
+final class FixedFormLexer {
+
+    /** Right margin of the specification area; columns 81+ are comments */
+    private static final int LAST_COLUMN = 80;
+
+    /** C-spec operations whose factor 2 extends to column 80 */
+    private static final String[] EXTENDED_FACTOR2_OPCODES = {
+            "EVAL", "EVALR", "EVAL-CORR", "IF", "ELSEIF", "DOW", "DOU", "WHEN", "FOR",
+            "CALLP", "RETURN", "ON-ERROR", "SORTA", "XML-INTO", "XML-SAX", "DATA-INTO"
+    };
+
+    private FixedFormLexer() {
+    }
+
+    /**
+     * Tokenize a line
+     *
+     * @return the state the next line starts in
+     */
+    static LineState lexLine(SourceText source, int line, LineState state, Dialect dialect,
+                             TokenStream.Builder out) {
+        out.beginLine(line);
+        int start = source.lineStart(line);
+        int end = source.lineEnd(line);
+
+        if (dialect == Dialect.DDS) {
+            lexDds(source, line, start, end, out);
+            return LineState.FIXED;
+        }
+        return switch (state) {
+            case FIXED -> lexFixed(source, line, start, end, out);
+            case FREE_BLOCK -> lexFreeBlock(source, line, start, end, out);
+            case FULLY_FREE -> lexFullyFree(source, line, start, end, out);
+            case COMPILE_TIME_DATA -> lexCompileTimeData(source, line, start, end, out);
+        };
+    }
+
+    // ---------------------------------------------------------------- RPG
+
+    private static LineState lexFixed(SourceText source, int line, int start, int end, TokenStream.Builder out) {
+        if (end - start >= 2 && source.byteAt(start) == '*' && source.byteAt(start + 1) == '*') {
+            add(source, TokenType.DIRECTIVE, start, end, line, out);
+            return line == 0 && source.regionStartsWithIgnoreCase(start, end, "**FREE")
+                    ? LineState.FULLY_FREE
+                    : LineState.COMPILE_TIME_DATA;
+        }
+        if (end - start < 6) {
+            return LineState.FIXED;
+        }
+
+        byte formType = SourceText.toUpper(source.byteAt(start + 5));
+        byte column7 = end - start > 6 ? source.byteAt(start + 6) : (byte) ' ';
+        if (column7 == '*') {
+            add(source, TokenType.COMMENT, start + 6, end, line, out);
+            return LineState.FIXED;
+        }
+        if (column7 == '/' && isBlank(formType)) {
+            int directiveEnd = column(start, end, LAST_COLUMN);
+            add(source, TokenType.DIRECTIVE, start + 6, directiveEnd, line, out);
+            return source.regionStartsWithIgnoreCase(start + 6, directiveEnd, "/FREE")
+                    ? LineState.FREE_BLOCK
+                    : LineState.FIXED;
+        }
+
+        switch (formType) {
+            case 'H' -> {
+                field(source, TokenType.FORM_TYPE, start, end, 6, 6, line, out);
+                keywords(source, start, end, 7, line, out);
+            }
+            case 'F' -> lexFileSpec(source, line, start, end, out);
+            case 'D' -> lexDefinitionSpec(source, line, start, end, out);
+            case 'P' -> {
+                field(source, TokenType.FORM_TYPE, start, end, 6, 6, line, out);
+                field(source, TokenType.NAME, start, end, 7, 21, line, out);
+                field(source, TokenType.BEGIN_END, start, end, 24, 24, line, out);
+                keywords(source, start, end, 44, line, out);
+            }
+            case 'C' -> lexCalculationSpec(source, line, start, end, out);
+            case ' ', '\t' -> {
+                // free-form statement in columns 8-80 of a fixed-form member
+                if (isBlank(column7)) {
+                    addFreeForm(source, start + 7, column(start, end, LAST_COLUMN), line, out);
+                }
+            }
+            default -> {
+                field(source, TokenType.FORM_TYPE, start, end, 6, 6, line, out);
+                field(source, TokenType.UNPARSED, start, end, 7, LAST_COLUMN, line, out);
+            }
+        }
+        return LineState.FIXED;
+    }
+
+    private static void lexFileSpec(SourceText source, int line, int start, int end, TokenStream.Builder out) {
+        field(source, TokenType.FORM_TYPE, start, end, 6, 6, line, out);
+        field(source, TokenType.NAME, start, end, 7, 16, line, out);
+        field(source, TokenType.FILE_TYPE, start, end, 17, 17, line, out);
+        field(source, TokenType.FILE_DESIGNATION, start, end, 18, 18, line, out);
+        field(source, TokenType.END_OF_FILE, start, end, 19, 19, line, out);
+        field(source, TokenType.FILE_ADDITION, start, end, 20, 20, line, out);
+        field(source, TokenType.SEQUENCE, start, end, 21, 21, line, out);
+        field(source, TokenType.FILE_FORMAT, start, end, 22, 22, line, out);
+        field(source, TokenType.RECORD_LENGTH, start, end, 23, 27, line, out);
+        field(source, TokenType.LIMITS_PROCESSING, start, end, 28, 28, line, out);
+        field(source, TokenType.KEY_LENGTH, start, end, 29, 33, line, out);
+        field(source, TokenType.RECORD_ADDRESS_TYPE, start, end, 34, 34, line, out);
+        field(source, TokenType.FILE_ORGANIZATION, start, end, 35, 35, line, out);
+        field(source, TokenType.DEVICE, start, end, 36, 42, line, out);
+        keywords(source, start, end, 44, line, out);
+    }
+
+    private static void lexDefinitionSpec(SourceText source, int line, int start, int end,
+                                          TokenStream.Builder out) {
+        field(source, TokenType.FORM_TYPE, start, end, 6, 6, line, out);
+        field(source, TokenType.NAME, start, end, 7, 21, line, out);
+        field(source, TokenType.EXTERNAL, start, end, 22, 22, line, out);
+        field(source, TokenType.DATA_STRUCTURE_TYPE, start, end, 23, 23, line, out);
+        field(source, TokenType.DEFINITION_TYPE, start, end, 24, 25, line, out);
+        field(source, TokenType.FROM_POSITION, start, end, 26, 32, line, out);
+        field(source, TokenType.LENGTH, start, end, 33, 39, line, out);
+        field(source, TokenType.DATA_TYPE, start, end, 40, 40, line, out);
+        field(source, TokenType.DECIMALS, start, end, 41, 42, line, out);
+        keywords(source, start, end, 44, line, out);
+    }
+
+    private static void lexCalculationSpec(SourceText source, int line, int start, int end,
+                                           TokenStream.Builder out) {
+        field(source, TokenType.FORM_TYPE, start, end, 6, 6, line, out);
+        field(source, TokenType.CONTROL_LEVEL, start, end, 7, 8, line, out);
+        field(source, TokenType.INDICATOR, start, end, 9, 11, line, out);
+        field(source, TokenType.FACTOR1, start, end, 12, 25, line, out);
+
+        boolean extendedFactor2 = false;
+        int opcodeStart = trimStart(source, Math.min(start + 25, end), column(start, end, 35));
+        int opcodeEnd = trimEnd(source, opcodeStart, column(start, end, 35));
+        if (opcodeStart < opcodeEnd) {
+            int nameEnd = opcodeStart;
+            while (nameEnd < opcodeEnd && source.byteAt(nameEnd) != '(') {
+                nameEnd++;
+            }
+            out.add(TokenType.OPCODE, opcodeStart, nameEnd, line);
+            if (nameEnd < opcodeEnd) {
+                int extenderEnd = source.byteAt(opcodeEnd - 1) == ')' ? opcodeEnd - 1 : opcodeEnd;
+                add(source, TokenType.OPCODE_EXTENDER, nameEnd + 1, extenderEnd, line, out);
+            }
+            for (String opcode : EXTENDED_FACTOR2_OPCODES) {
+                if (source.regionEqualsIgnoreCase(opcodeStart, nameEnd, opcode)) {
+                    extendedFactor2 = true;
+                    break;
+                }
+            }
+        }
+
+        if (extendedFactor2) {
+            field(source, TokenType.EXTENDED_FACTOR2, start, end, 36, LAST_COLUMN, line, out);
+            return;
+        }
+        field(source, TokenType.FACTOR2, start, end, 36, 49, line, out);
+        field(source, TokenType.RESULT, start, end, 50, 63, line, out);
+        field(source, TokenType.LENGTH, start, end, 64, 68, line, out);
+        field(source, TokenType.DECIMALS, start, end, 69, 70, line, out);
+        field(source, TokenType.INDICATOR, start, end, 71, 72, line, out);
+        field(source, TokenType.INDICATOR, start, end, 73, 74, line, out);
+        field(source, TokenType.INDICATOR, start, end, 75, 76, line, out);
+    }
+
+    private static LineState lexFreeBlock(SourceText source, int line, int start, int end,
+                                          TokenStream.Builder out) {
+        int contentStart = trimStart(source, Math.min(start + 6, end), end);
+        if (contentStart < end && source.byteAt(contentStart) == '/'
+                && source.regionStartsWithIgnoreCase(contentStart, end, "/END-FREE")) {
+            add(source, TokenType.DIRECTIVE, contentStart, column(start, end, LAST_COLUMN), line, out);
+            return LineState.FIXED;
+        }
+        addFreeForm(source, contentStart, column(start, end, LAST_COLUMN), line, out);
+        return LineState.FREE_BLOCK;
+    }
+
+    private static LineState lexFullyFree(SourceText source, int line, int start, int end,
+                                          TokenStream.Builder out) {
+        if (end - start >= 2 && source.byteAt(start) == '*' && source.byteAt(start + 1) == '*') {
+            add(source, TokenType.DIRECTIVE, start, end, line, out);
+            return LineState.COMPILE_TIME_DATA;
+        }
+        addFreeForm(source, start, end, line, out);
+        return LineState.FULLY_FREE;
+    }
+
+    private static LineState lexCompileTimeData(SourceText source, int line, int start, int end,
+                                                TokenStream.Builder out) {
+        boolean header = end - start >= 2 && source.byteAt(start) == '*' && source.byteAt(start + 1) == '*';
+        int dataEnd = trimEnd(source, start, end);
+        if (start < dataEnd) {
+            out.add(header ? TokenType.DIRECTIVE : TokenType.DATA, start, dataEnd, line);
+        }
+        return LineState.COMPILE_TIME_DATA;
+    }
+
+    /**
+     * Free-form text: a // comment, a /directive or a statement
+     */
+    private static void addFreeForm(SourceText source, int start, int end, int line, TokenStream.Builder out) {
+        start = trimStart(source, start, end);
+        end = trimEnd(source, start, end);
+        if (start == end) {
+            return;
+        }
+        byte first = source.byteAt(start);
+        byte second = end - start > 1 ? source.byteAt(start + 1) : (byte) ' ';
+        if (first == '/' && second == '/') {
+            out.add(TokenType.COMMENT, start, end, line);
+        } else if (first == '/' && Character.isLetter(second)) {
+            out.add(TokenType.DIRECTIVE, start, end, line);
+        } else {
+            out.add(TokenType.FREE_FORM, start, end, line);
+        }
+    }
+
+    // ---------------------------------------------------------------- DDS
+
+    private static void lexDds(SourceText source, int line, int start, int end, TokenStream.Builder out) {
+        if (end - start < 7) {
+            field(source, TokenType.FORM_TYPE, start, end, 6, 6, line, out);
+            return;
+        }
+        if (source.byteAt(start + 6) == '*') {
+            add(source, TokenType.COMMENT, start + 6, end, line, out);
+            return;
+        }
+        field(source, TokenType.FORM_TYPE, start, end, 6, 6, line, out);
+        field(source, TokenType.INDICATOR_RELATION, start, end, 7, 7, line, out);
+        field(source, TokenType.INDICATOR, start, end, 8, 10, line, out);
+        field(source, TokenType.INDICATOR, start, end, 11, 13, line, out);
+        field(source, TokenType.INDICATOR, start, end, 14, 16, line, out);
+        field(source, TokenType.NAME_TYPE, start, end, 17, 17, line, out);
+        field(source, TokenType.NAME, start, end, 19, 28, line, out);
+        field(source, TokenType.REFERENCE, start, end, 29, 29, line, out);
+        field(source, TokenType.LENGTH, start, end, 30, 34, line, out);
+        field(source, TokenType.DATA_TYPE, start, end, 35, 35, line, out);
+        field(source, TokenType.DECIMALS, start, end, 36, 37, line, out);
+        field(source, TokenType.USAGE, start, end, 38, 38, line, out);
+        field(source, TokenType.LINE, start, end, 39, 41, line, out);
+        field(source, TokenType.POSITION, start, end, 42, 44, line, out);
+        keywords(source, start, end, 45, line, out);
+    }
+
+    // ---------------------------------------------------------------- shared
+
+    /**
+     * Keyword area from the given column to column 80:
+     * KEYWORD [KEYWORD_PARAMETERS] and quoted CONSTANTs, e.g. CA03(03 'Exit') or 'Customer:'
+     *
+     * A keyword continued on the next line (+ or -) yields its parameters up to the line end
+     */
+    private static void keywords(SourceText source, int lineStart, int lineEnd, int fromColumn, int line,
+                                 TokenStream.Builder out) {
+        int i = Math.min(lineStart + fromColumn - 1, lineEnd);
+        int end = column(lineStart, lineEnd, LAST_COLUMN);
+        while (i < end) {
+            byte b = source.byteAt(i);
+            if (b == '\'') {
+                int close = closingQuote(source, i + 1, end);
+                out.add(TokenType.CONSTANT, i + 1, close, line);
+                i = close + 1;
+            } else if (isNameChar(b)) {
+                int nameEnd = i;
+                while (nameEnd < end && isNameChar(source.byteAt(nameEnd))) {
+                    nameEnd++;
+                }
+                out.add(TokenType.KEYWORD, i, nameEnd, line);
+                i = nameEnd;
+                if (i < end && source.byteAt(i) == '(') {
+                    int close = closingParenthesis(source, i + 1, end);
+                    add(source, TokenType.KEYWORD_PARAMETERS, i + 1, close, line, out);
+                    i = close + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static int closingQuote(SourceText source, int from, int end) {
+        int i = from;
+        while (i < end) {
+            if (source.byteAt(i) == '\'') {
+                if (i + 1 < end && source.byteAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+        return end;
+    }
+
+    private static int closingParenthesis(SourceText source, int from, int end) {
+        int depth = 1;
+        int i = from;
+        while (i < end) {
+            byte b = source.byteAt(i);
+            if (b == '\'') {
+                i = closingQuote(source, i + 1, end);
+            } else if (b == '(') {
+                depth++;
+            } else if (b == ')' && --depth == 0) {
+                return i;
+            }
+            i++;
+        }
+        return end;
+    }
+
+    /**
+     * Token for columns [fromColumn, toColumn] of the line, trimmed; nothing if blank
+     */
+    private static void field(SourceText source, TokenType type, int lineStart, int lineEnd,
+                              int fromColumn, int toColumn, int line, TokenStream.Builder out) {
+        int start = lineStart + fromColumn - 1;
+        if (start >= lineEnd) {
+            return;
+        }
+        add(source, type, start, column(lineStart, lineEnd, toColumn), line, out);
+    }
+
+    private static void add(SourceText source, TokenType type, int start, int end, int line,
+                            TokenStream.Builder out) {
+        start = trimStart(source, start, end);
+        end = trimEnd(source, start, end);
+        if (start < end) {
+            out.add(type, start, end, line);
+        }
+    }
+
+    /**
+     * Offset after the given 1-based column, bounded by the line end
+     */
+    private static int column(int lineStart, int lineEnd, int column) {
+        return Math.min(lineStart + column, lineEnd);
+    }
+
+    private static int trimStart(SourceText source, int start, int end) {
+        while (start < end && isBlank(source.byteAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(SourceText source, int start, int end) {
+        while (end > start && isBlank(source.byteAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static boolean isNameChar(byte b) {
+        return (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z') || (b >= '0' && b <= '9')
+                || b == '_' || b == '#' || b == '@' || b == '$';
+    }
+}
@@ -0,0 +1,114 @@
+package com.lanarimarco.modernization.engine.lexer;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * A source member with its tokens
+ *
+ * Immutable: {@link #edit} returns a new snapshot and leaves this one valid, so
+ * readers on other threads never see a half-updated token stream.
+ *
+ * Usage:
+ *   LexedSource member = LexedSource.lex(Path.of("source-rpgle/programs/CUST001.rpgle"), Dialect.RPG);
+ *   TokenStream tokens = member.getTokens();
+ *   for (int token = 0; token < tokens.size(); token++) {
+ *       if (tokens.type(token) == TokenType.OPCODE && tokens.is(token, "CHAIN")) { ... }
+ *   }
+ */
+public final class LexedSource {
+
+    private final SourceText source;
+    private final Dialect dialect;
+    private final TokenStream tokens;
+    /** State at the start of each line; [lineCount] is the state after the last line */
+    private final LineState[] lineStates;
+
+    private LexedSource(SourceText source, Dialect dialect, TokenStream tokens, LineState[] lineStates) {
+        this.source = source;
+        this.dialect = dialect;
+        this.tokens = tokens;
+        this.lineStates = lineStates;
+    }
+
+    /**
+     * Memory-map and lex a member
+     */
+    public static LexedSource lex(Path file, Dialect dialect) {
+        return lex(SourceText.map(file), dialect);
+    }
+
+    public static LexedSource lex(SourceText source, Dialect dialect) {
+        int lineCount = source.lineCount();
+        TokenStream.Builder builder = new TokenStream.Builder(lineCount);
+        LineState[] states = new LineState[lineCount + 1];
+        LineState state = LineState.FIXED;
+        for (int line = 0; line < lineCount; line++) {
+            states[line] = state;
+            state = FixedFormLexer.lexLine(source, line, state, dialect, builder);
+        }
+        states[lineCount] = state;
+        return new LexedSource(source, dialect, builder.build(source), states);
+    }
+
+    public SourceText getSource() {
+        return source;
+    }
+
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    public TokenStream getTokens() {
+        return tokens;
+    }
+
+    public EditResult edit(int fromLine, int toLine, String replacement) {
+        return edit(fromLine, toLine, replacement.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Replace lines [fromLine, toLine) and re-lex only what the edit can affect
+     *
+     * Lexing starts at the first replaced line and stops at the first line after the
+     * replacement whose start state matches the previous lexing of that line, e.g.
+     * editing one C-spec re-lexes one line, inserting /FREE re-lexes up to the
+     * existing /END-FREE. Tokens of all other lines are reused, moved by the line and
+     * byte delta of the edit.
+     *
+     * @param replacement whole lines (empty to delete)
+     */
+    public EditResult edit(int fromLine, int toLine, byte[] replacement) {
+        SourceText edited = source.replaceLines(fromLine, toLine, replacement);
+        int oldLineCount = source.lineCount();
+        int newLineCount = edited.lineCount();
+        int lineDelta = newLineCount - oldLineCount;
+        int byteDelta = edited.length() - source.length();
+        int firstReusableLine = toLine + lineDelta;
+
+        TokenStream.Builder builder = new TokenStream.Builder(newLineCount);
+        LineState[] states = new LineState[newLineCount + 1];
+        builder.copy(tokens, 0, fromLine, 0, 0);
+        System.arraycopy(lineStates, 0, states, 0, fromLine);
+
+        LineState state = lineStates[fromLine];
+        int line = fromLine;
+        while (line < newLineCount) {
+            // line 0 is special (**FREE), so a line moved there is always re-lexed
+            if (line >= firstReusableLine && line > 0 && state == lineStates[line - lineDelta]) {
+                builder.copy(tokens, line - lineDelta, oldLineCount, lineDelta, byteDelta);
+                System.arraycopy(lineStates, line - lineDelta, states, line, newLineCount - line);
+                state = lineStates[oldLineCount];
+                break;
+            }
+            states[line] = state;
+            state = FixedFormLexer.lexLine(edited, line, state, dialect, builder);
+            line++;
+        }
+        int relexedEnd = line;
+        states[newLineCount] = state;
+
+        return new EditResult(new LexedSource(edited, dialect, builder.build(edited), states),
+                fromLine, relexedEnd);
+    }
+}
@@ -0,0 +1,21 @@
+package com.lanarimarco.modernization.engine.lexer;
+
+/**
+ * Lexer mode at the start of a line
+ *
+ * Fixed-form lines lex independently; the mode is the only context carried from
+ * one line to the next, which is what makes incremental re-lexing possible
+ */
+enum LineState {
+
+    FIXED,
+
+    /** Between /FREE and /END-FREE */
+    FREE_BLOCK,
+
+    /** Whole member is free-form (**FREE on the first line) */
+    FULLY_FREE,
+
+    /** After the first ** line: compile-time arrays and tables */
+    COMPILE_TIME_DATA
+}
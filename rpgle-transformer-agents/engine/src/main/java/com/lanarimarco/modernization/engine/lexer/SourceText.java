@@ -0,0 +1,215 @@
+package com.lanarimarco.modernization.engine.lexer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only source bytes with a line index
+ *
+ * Lines are addressed by byte offsets, so a member can be scanned column by column
+ * without creating a String per line. Columns are byte columns: exact for the
+ * single-byte encodings IBM i members are exported in.
+ *
+ * Line ends exclude the terminator (LF or CR LF).
+ */
+public final class SourceText {
+
+    private final ByteBuffer bytes;
+    private final int[] lineStarts;
+    private final int[] lineEnds;
+    private final int lineCount;
+
+    private SourceText(ByteBuffer bytes, int[] lineStarts, int[] lineEnds, int lineCount) {
+        this.bytes = bytes;
+        this.lineStarts = lineStarts;
+        this.lineEnds = lineEnds;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * Map a source member into memory
+     *
+     * @throws IllegalArgumentException if the file is 2 GB or larger
+     */
+    public static SourceText map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Source member too large to map: " + file);
+            }
+            return index(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static SourceText of(byte[] source) {
+        return index(ByteBuffer.wrap(source));
+    }
+
+    public static SourceText of(String source) {
+        return of(source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SourceText index(ByteBuffer bytes) {
+        LineIndex index = new LineIndex(Math.max(16, bytes.limit() / 64));
+        index.scan(bytes, 0, bytes.limit(), 0);
+        return new SourceText(bytes, index.starts, index.ends, index.count);
+    }
+
+    public int length() {
+        return bytes.limit();
+    }
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    public int lineStart(int line) {
+        return lineStarts[line];
+    }
+
+    public int lineEnd(int line) {
+        return lineEnds[line];
+    }
+
+    /**
+     * Byte at an absolute offset
+     */
+    public byte byteAt(int offset) {
+        return bytes.get(offset);
+    }
+
+    /**
+     * Line containing the offset
+     */
+    public int lineOf(int offset) {
+        int line = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+        return line >= 0 ? line : -line - 2;
+    }
+
+    /**
+     * Decoded text of a byte range; allocates, meant for the tokens a caller keeps
+     */
+    public String text(int start, int end) {
+        byte[] region = new byte[end - start];
+        bytes.get(start, region);
+        return new String(region, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * True when the byte range equals the ASCII text, ignoring case
+     */
+    public boolean regionEqualsIgnoreCase(int start, int end, String text) {
+        if (end - start != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (toUpper(bytes.get(start + i)) != toUpper((byte) text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * True when the byte range starts with the ASCII text, ignoring case
+     */
+    public boolean regionStartsWithIgnoreCase(int start, int end, String text) {
+        return end - start >= text.length() && regionEqualsIgnoreCase(start, start + text.length(), text);
+    }
+
+    /**
+     * Copy of this text with lines [fromLine, toLine) replaced
+     *
+     * Only the replaced region is re-indexed; line offsets after it are shifted.
+     *
+     * @param replacement whole lines; a missing final line terminator is added
+     */
+    public SourceText replaceLines(int fromLine, int toLine, byte[] replacement) {
+        if (fromLine < 0 || toLine > lineCount || fromLine > toLine) {
+            throw new IndexOutOfBoundsException("Lines [" + fromLine + ", " + toLine + ") of " + lineCount);
+        }
+        int from = fromLine < lineCount ? lineStarts[fromLine] : length();
+        int to = toLine < lineCount ? lineStarts[toLine] : length();
+
+        boolean terminatePrevious = from == length() && from > 0 && bytes.get(from - 1) != '\n'
+                && replacement.length > 0;
+        boolean terminateReplacement = replacement.length > 0 && replacement[replacement.length - 1] != '\n';
+        int insertLength = replacement.length + (terminatePrevious ? 1 : 0) + (terminateReplacement ? 1 : 0);
+
+        byte[] result = new byte[from + insertLength + (length() - to)];
+        bytes.get(0, result, 0, from);
+        int position = from;
+        if (terminatePrevious) {
+            result[position++] = '\n';
+        }
+        System.arraycopy(replacement, 0, result, position, replacement.length);
+        position += replacement.length;
+        if (terminateReplacement) {
+            result[position++] = '\n';
+        }
+        bytes.get(to, result, position, length() - to);
+
+        ByteBuffer buffer = ByteBuffer.wrap(result);
+        LineIndex index = new LineIndex(lineCount + 16);
+        System.arraycopy(lineStarts, 0, index.starts, 0, fromLine);
+        System.arraycopy(lineEnds, 0, index.ends, 0, fromLine);
+        index.count = fromLine;
+        int replacementStart = from + (terminatePrevious ? 1 : 0);
+        index.scan(buffer, replacementStart, from + insertLength, replacementStart);
+        int delta = insertLength - (to - from);
+        for (int line = toLine; line < lineCount; line++) {
+            index.add(lineStarts[line] + delta, lineEnds[line] + delta);
+        }
+        return new SourceText(buffer, index.starts, index.ends, index.count);
+    }
+
+    static byte toUpper(byte b) {
+        return b >= 'a' && b <= 'z' ? (byte) (b - 32) : b;
+    }
+
+    /**
+     * Growable line start/end arrays
+     */
+    private static final class LineIndex {
+
+        private int[] starts;
+        private int[] ends;
+        private int count;
+
+        private LineIndex(int capacity) {
+            starts = new int[capacity];
+            ends = new int[capacity];
+        }
+
+        private void scan(ByteBuffer bytes, int from, int to, int lineStart) {
+            for (int i = from; i < to; i++) {
+                if (bytes.get(i) == '\n') {
+                    int end = i > lineStart && bytes.get(i - 1) == '\r' ? i - 1 : i;
+                    add(lineStart, end);
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < to) {
+                add(lineStart, to);
+            }
+        }
+
+        private void add(int start, int end) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.lanarimarco.modernization.engine.lexer;
+
+import java.util.Arrays;
+
+/**
+ * Tokens of a source member, stored column-wise in primitive arrays
+ *
+ * A token is an index; its type, byte range and line are read through the index,
+ * so lexing allocates no object per token. Use {@link #text(int)} only for the
+ * tokens a caller keeps.
+ */
+public final class TokenStream {
+
+    private final SourceText source;
+    private final byte[] types;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] lines;
+    private final int size;
+    private final int[] lineFirstToken;
+
+    private TokenStream(SourceText source, Builder builder) {
+        this.source = source;
+        this.types = builder.types;
+        this.starts = builder.starts;
+        this.ends = builder.ends;
+        this.lines = builder.lines;
+        this.size = builder.size;
+        this.lineFirstToken = Arrays.copyOf(builder.lineFirstToken, source.lineCount() + 1);
+        this.lineFirstToken[source.lineCount()] = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public TokenType type(int token) {
+        return TokenType.of(types[token]);
+    }
+
+    public int start(int token) {
+        return starts[token];
+    }
+
+    public int end(int token) {
+        return ends[token];
+    }
+
+    public int line(int token) {
+        return lines[token];
+    }
+
+    /**
+     * 1-based source column of the first byte of the token
+     */
+    public int column(int token) {
+        return starts[token] - source.lineStart(lines[token]) + 1;
+    }
+
+    public String text(int token) {
+        return source.text(starts[token], ends[token]);
+    }
+
+    /**
+     * Compare without allocating, ignoring case
+     */
+    public boolean is(int token, String text) {
+        return source.regionEqualsIgnoreCase(starts[token], ends[token], text);
+    }
+
+    /**
+     * Index of the first token on the line; equals {@link #lineEnd(int)} when the line has none
+     */
+    public int lineStart(int line) {
+        return lineFirstToken[line];
+    }
+
+    /**
+     * Index after the last token on the line
+     */
+    public int lineEnd(int line) {
+        return lineFirstToken[line + 1];
+    }
+
+    /**
+     * First token of the given type on the line, or -1
+     */
+    public int find(int line, TokenType type) {
+        for (int token = lineStart(line); token < lineEnd(line); token++) {
+            if (types[token] == type.ordinal()) {
+                return token;
+            }
+        }
+        return -1;
+    }
+
+    SourceText getSource() {
+        return source;
+    }
+
+    /**
+     * Appends tokens line by line
+     */
+    static final class Builder {
+
+        private byte[] types;
+        private int[] starts;
+        private int[] ends;
+        private int[] lines;
+        private int size;
+        private int[] lineFirstToken;
+
+        Builder(int lineCount) {
+            int capacity = Math.max(16, lineCount * 4);
+            types = new byte[capacity];
+            starts = new int[capacity];
+            ends = new int[capacity];
+            lines = new int[capacity];
+            lineFirstToken = new int[lineCount + 1];
+        }
+
+        /**
+         * Must be called for every line, in order, before its tokens are added
+         */
+        void beginLine(int line) {
+            lineFirstToken[line] = size;
+        }
+
+        void add(TokenType type, int start, int end, int line) {
+            ensureCapacity(size + 1);
+            types[size] = (byte) type.ordinal();
+            starts[size] = start;
+            ends[size] = end;
+            lines[size] = line;
+            size++;
+        }
+
+        /**
+         * Copy the tokens of lines [fromLine, toLine) of another stream, moved by a line and byte delta
+         */
+        void copy(TokenStream from, int fromLine, int toLine, int lineDelta, int byteDelta) {
+            int first = from.lineStart(fromLine);
+            int count = from.lineStart(toLine) - first;
+            ensureCapacity(size + count);
+            System.arraycopy(from.types, first, types, size, count);
+            for (int i = 0; i < count; i++) {
+                starts[size + i] = from.starts[first + i] + byteDelta;
+                ends[size + i] = from.ends[first + i] + byteDelta;
+                lines[size + i] = from.lines[first + i] + lineDelta;
+            }
+            for (int line = fromLine; line < toLine; line++) {
+                lineFirstToken[line + lineDelta] = from.lineStart(line) - first + size;
+            }
+            size += count;
+        }
+
+        TokenStream build(SourceText source) {
+            return new TokenStream(source, this);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > types.length) {
+                int newCapacity = Math.max(capacity, types.length * 2);
+                types = Arrays.copyOf(types, newCapacity);
+                starts = Arrays.copyOf(starts, newCapacity);
+                ends = Arrays.copyOf(ends, newCapacity);
+                lines = Arrays.copyOf(lines, newCapacity);
+            }
+        }
+    }
+}
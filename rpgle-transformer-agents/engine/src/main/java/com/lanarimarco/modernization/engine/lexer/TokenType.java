@@ -0,0 +1,115 @@
+package com.lanarimarco.modernization.engine.lexer;
+
+/**
+ * Token types, named after the specification columns they come from
+ *
+ * Column ranges are 1-based and inclusive, as in the IBM reference
+ */
+public enum TokenType {
+
+    // Common
+    /** Column 6: H, F, D, I, C, O, P (RPG) or A (DDS) */
+    FORM_TYPE,
+    /** '*' in column 7, or a free-form '//' line */
+    COMMENT,
+    /** /COPY, /INCLUDE, /FREE, /END-FREE, /IF ..., **FREE, **CTDATA */
+    DIRECTIVE,
+    /** Compile-time data after ** */
+    DATA,
+    /** Free-form statement (trimmed line, not tokenized further) */
+    FREE_FORM,
+    /** Specification type the lexer has no layout for (I and O specs), columns 7-80 */
+    UNPARSED,
+    /** Keyword name in a keyword area, e.g. DSPATR, EDTCDE, CA03, INZ */
+    KEYWORD,
+    /** Text between the parentheses of the preceding keyword */
+    KEYWORD_PARAMETERS,
+    /** Quoted literal in a keyword area, without the quotes */
+    CONSTANT,
+    /** File (F 7-16), definition or procedure (D/P 7-21) or DDS record/field name (19-28) */
+    NAME,
+    /** Indicator with optional N prefix: C 9-11 and 71-76, DDS 8-16 */
+    INDICATOR,
+    /** Length: D 33-39, C 64-68, DDS 30-34 */
+    LENGTH,
+    /** Decimal positions: D 41-42, C 69-70, DDS 36-37 */
+    DECIMALS,
+    /** Data type: D 40, DDS 35 */
+    DATA_TYPE,
+
+    // F-spec
+    /** Column 17: I, O, U, C */
+    FILE_TYPE,
+    /** Column 18: P, S, R, T, F */
+    FILE_DESIGNATION,
+    /** Column 19 */
+    END_OF_FILE,
+    /** Column 20 */
+    FILE_ADDITION,
+    /** Column 21 */
+    SEQUENCE,
+    /** Column 22: E (externally described) or F */
+    FILE_FORMAT,
+    /** Columns 23-27 */
+    RECORD_LENGTH,
+    /** Column 28 */
+    LIMITS_PROCESSING,
+    /** Columns 29-33 */
+    KEY_LENGTH,
+    /** Column 34: K for keyed access */
+    RECORD_ADDRESS_TYPE,
+    /** Column 35 */
+    FILE_ORGANIZATION,
+    /** Columns 36-42: DISK, WORKSTN, PRINTER, ... */
+    DEVICE,
+
+    // D-spec
+    /** Column 22: E */
+    EXTERNAL,
+    /** Column 23: S or U */
+    DATA_STRUCTURE_TYPE,
+    /** Columns 24-25: C, DS, PR, PI, S */
+    DEFINITION_TYPE,
+    /** Columns 26-32 */
+    FROM_POSITION,
+
+    // P-spec
+    /** Column 24: B or E */
+    BEGIN_END,
+
+    // C-spec
+    /** Columns 7-8: L0-L9, LR, SR, AN, OR */
+    CONTROL_LEVEL,
+    /** Columns 12-25 */
+    FACTOR1,
+    /** Columns 26-35, without the extender */
+    OPCODE,
+    /** Operation extender, e.g. N in CHAIN(N), without the parentheses */
+    OPCODE_EXTENDER,
+    /** Columns 36-49 */
+    FACTOR2,
+    /** Columns 36-80 for EVAL, IF, DOW, CALLP, ... */
+    EXTENDED_FACTOR2,
+    /** Columns 50-63 */
+    RESULT,
+
+    // DDS A-spec
+    /** Column 7: A (and) or O (or) before the indicators */
+    INDICATOR_RELATION,
+    /** Column 17: R (record), K (key), S/O (select/omit), J (join) */
+    NAME_TYPE,
+    /** Column 29: R (field defined by reference) */
+    REFERENCE,
+    /** Column 38: I, O, B, H, M, P */
+    USAGE,
+    /** Columns 39-41 */
+    LINE,
+    /** Columns 42-44 */
+    POSITION;
+
+    private static final TokenType[] VALUES = values();
+
+    static TokenType of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
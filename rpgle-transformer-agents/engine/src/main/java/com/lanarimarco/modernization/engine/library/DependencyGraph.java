@@ -0,0 +1,136 @@
+package com.lanarimarco.modernization.engine.library;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dependency graph of the members of a source library
+ *
+ * Edges point from a member to the library members it refers to. Program-to-program
+ * edges (CALL) that would close a cycle are dropped, so programs can always be
+ * ordered callees first.
+ */
+public final class DependencyGraph {
+
+    private final SourceLibrary library;
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final List<SourceMember> programOrder = new ArrayList<>();
+
+    private DependencyGraph(SourceLibrary library) {
+        this.library = library;
+    }
+
+    public static DependencyGraph build(SourceLibrary library) {
+        DependencyGraph graph = new DependencyGraph(library);
+        for (SourceMember member : library.getMembers()) {
+            Set<String> resolved = new TreeSet<>();
+            for (String reference : member.references()) {
+                if (!reference.equals(member.name()) && library.get(reference).isPresent()) {
+                    resolved.add(reference);
+                }
+            }
+            graph.dependencies.put(member.name(), resolved);
+        }
+        graph.orderPrograms();
+        return graph;
+    }
+
+    /**
+     * Direct dependencies of a member that are part of the library
+     */
+    public Set<String> getDependencies(String memberName) {
+        return Collections.unmodifiableSet(dependencies.getOrDefault(memberName, Set.of()));
+    }
+
+    /**
+     * Programs called by a program (acyclic)
+     */
+    public Set<String> getCalledPrograms(String programName) {
+        Set<String> called = new TreeSet<>();
+        for (String dependency : getDependencies(programName)) {
+            if (library.get(dependency).orElseThrow().type() == MemberType.PROGRAM) {
+                called.add(dependency);
+            }
+        }
+        return called;
+    }
+
+    /**
+     * All programs, every program after the programs it calls
+     */
+    public List<SourceMember> getProgramsInDependencyOrder() {
+        return Collections.unmodifiableList(programOrder);
+    }
+
+    /**
+     * Hash of the member's own source and of every file and copybook it depends on,
+     * directly or transitively (e.g. program -> logical file -> physical file)
+     *
+     * Called programs are not included; their changes reach callers through the
+     * pipeline task fingerprints instead.
+     */
+    public String getFingerprint(String memberName) {
+        return fingerprints.computeIfAbsent(memberName, this::computeFingerprint);
+    }
+
+    private String computeFingerprint(String memberName) {
+        Set<String> closure = new TreeSet<>();
+        collectNonProgramDependencies(memberName, closure);
+        StringBuilder input = new StringBuilder(library.get(memberName).orElseThrow().contentHash());
+        for (String dependency : closure) {
+            input.append('\n').append(dependency).append('=')
+                    .append(library.get(dependency).orElseThrow().contentHash());
+        }
+        return SourceLibrary.sha256(input.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void collectNonProgramDependencies(String memberName, Set<String> closure) {
+        for (String dependency : getDependencies(memberName)) {
+            if (library.get(dependency).orElseThrow().type() != MemberType.PROGRAM && closure.add(dependency)) {
+                collectNonProgramDependencies(dependency, closure);
+            }
+        }
+    }
+
+    /**
+     * Depth-first post-order over CALL edges; an edge back to a program still on the
+     * stack would close a cycle and is removed
+     */
+    private void orderPrograms() {
+        Set<String> done = new HashSet<>();
+        Set<String> onStack = new LinkedHashSet<>();
+        for (SourceMember member : library.getMembers()) {
+            if (member.type() == MemberType.PROGRAM) {
+                visit(member.name(), done, onStack);
+            }
+        }
+    }
+
+    private void visit(String programName, Set<String> done, Set<String> onStack) {
+        if (done.contains(programName)) {
+            return;
+        }
+        onStack.add(programName);
+        Set<String> edges = dependencies.get(programName);
+        for (String callee : new ArrayList<>(getCalledPrograms(programName))) {
+            if (onStack.contains(callee)) {
+                edges.remove(callee);
+            } else {
+                visit(callee, done, onStack);
+            }
+        }
+        onStack.remove(programName);
+        done.add(programName);
+        programOrder.add(library.get(programName).orElseThrow());
+    }
+}
@@ -0,0 +1,136 @@
+package com.lanarimarco.modernization.engine.library;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the members a source member refers to
+ *
+ * RPGLE:
+ * - F-spec file names (columns 7-16) and free-form DCL-F
+ * - /COPY and /INCLUDE members (LIB/FILE,MEMBER or plain MEMBER)
+ * - CALL / CALLP / EXTPGM program literals
+ * DDS:
+ * - PFILE, JFILE (logical files), REF and REFFLD (field reference files)
+ *
+ * Only what is needed for dependency ordering; not a full parser
+ */
+public final class DependencyScanner {
+
+    // optional sequence number area (columns 1-5) before the directive
+    private static final Pattern COPY_DIRECTIVE = Pattern.compile(
+            "^.{0,5}\\s*/(?:COPY|INCLUDE)\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FREE_FILE_DECLARATION = Pattern.compile(
+            "\\bDCL-F\\s+([A-Z0-9_#@$]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PROGRAM_CALL = Pattern.compile(
+            "\\b(?:CALLP?|EXTPGM)\\s*\\(?\\s*'([A-Z0-9_#@$]+)'", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DDS_FILE_KEYWORD = Pattern.compile(
+            "\\b(PFILE|JFILE|REF)\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DDS_REFFLD = Pattern.compile(
+            "\\bREFFLD\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+
+    private DependencyScanner() {
+    }
+
+    public static Set<String> scan(MemberType type, byte[] source) {
+        String text = new String(source, StandardCharsets.UTF_8);
+        Set<String> references = new LinkedHashSet<>();
+        for (String line : text.split("\\R")) {
+            if (type.isDds()) {
+                scanDdsLine(line, references);
+            } else {
+                scanRpgLine(line, references);
+            }
+        }
+        return references;
+    }
+
+    private static void scanRpgLine(String line, Set<String> references) {
+        if (isComment(line)) {
+            return;
+        }
+
+        Matcher copy = COPY_DIRECTIVE.matcher(line);
+        if (copy.find()) {
+            references.add(copyMember(copy.group(1)));
+            return;
+        }
+
+        // Fixed-form F-spec: form type in column 6, file name in columns 7-16, file type in column 17
+        if (line.length() > 16 && Character.toUpperCase(line.charAt(5)) == 'F'
+                && "IOUC".indexOf(Character.toUpperCase(line.charAt(16))) >= 0) {
+            String fileName = line.substring(6, 16).trim();
+            if (!fileName.isEmpty()) {
+                references.add(fileName.toUpperCase(Locale.ROOT));
+            }
+            return;
+        }
+
+        Matcher freeFile = FREE_FILE_DECLARATION.matcher(line);
+        if (freeFile.find()) {
+            references.add(freeFile.group(1).toUpperCase(Locale.ROOT));
+        }
+        Matcher call = PROGRAM_CALL.matcher(line);
+        while (call.find()) {
+            references.add(call.group(1).toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static void scanDdsLine(String line, Set<String> references) {
+        if (isComment(line)) {
+            return;
+        }
+        Matcher keyword = DDS_FILE_KEYWORD.matcher(line);
+        while (keyword.find()) {
+            for (String file : keyword.group(2).trim().split("\\s+")) {
+                addQualifiedFile(file, references);
+            }
+        }
+        Matcher refField = DDS_REFFLD.matcher(line);
+        while (refField.find()) {
+            // REFFLD(field [library/]file)
+            String[] parts = refField.group(1).trim().split("\\s+");
+            if (parts.length > 1) {
+                addQualifiedFile(parts[1], references);
+            }
+        }
+    }
+
+    /**
+     * Comment lines: '*' in column 7 (fixed form) or '//' free-form comments
+     */
+    private static boolean isComment(String line) {
+        return (line.length() > 6 && line.charAt(6) == '*') || line.stripLeading().startsWith("//");
+    }
+
+    /**
+     * LIB/FILE,MEMBER, FILE,MEMBER or MEMBER -> MEMBER
+     */
+    private static String copyMember(String operand) {
+        String member = operand;
+        int comma = member.lastIndexOf(',');
+        if (comma >= 0) {
+            member = member.substring(comma + 1);
+        }
+        int slash = member.lastIndexOf('/');
+        if (slash >= 0) {
+            member = member.substring(slash + 1);
+        }
+        return member.replace("'", "").replace("\"", "").toUpperCase(Locale.ROOT);
+    }
+
+    private static void addQualifiedFile(String operand, Set<String> references) {
+        String file = operand.replace("'", "");
+        int slash = file.lastIndexOf('/');
+        if (slash >= 0) {
+            file = file.substring(slash + 1);
+        }
+        if (!file.isEmpty() && !file.startsWith("*")) {
+            references.add(file.toUpperCase(Locale.ROOT));
+        }
+    }
+}
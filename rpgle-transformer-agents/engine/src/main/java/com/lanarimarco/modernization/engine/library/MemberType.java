@@ -0,0 +1,59 @@
+package com.lanarimarco.modernization.engine.library;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Source member types of an IBM i source library
+ *
+ * Each type lives in its own directory under source-rpgle/, as described in
+ * the project README
+ */
+public enum MemberType {
+
+    PROGRAM("programs", List.of(".rpgle", ".sqlrpgle")),
+    PHYSICAL_FILE("dds/physical-files", List.of(".dds", ".pf")),
+    LOGICAL_FILE("dds/logical-files", List.of(".dds", ".lf")),
+    DISPLAY_FILE("dds/display-files", List.of(".dds", ".dspf")),
+    COPYBOOK("copybooks", List.of(".rpgleinc", ".rpgle", ".cpy"));
+
+    private final String directory;
+    private final List<String> extensions;
+
+    MemberType(String directory, List<String> extensions) {
+        this.directory = directory;
+        this.extensions = extensions;
+    }
+
+    /**
+     * Directory of this member type, relative to the library root
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    public boolean isDds() {
+        return this == PHYSICAL_FILE || this == LOGICAL_FILE || this == DISPLAY_FILE;
+    }
+
+    public boolean isDatabaseFile() {
+        return this == PHYSICAL_FILE || this == LOGICAL_FILE;
+    }
+
+    /**
+     * Member name for a source file of this type, or null when the extension does not match
+     *
+     * Member names are upper case, as on IBM i: CUST001.rpgle -> CUST001
+     */
+    public String memberName(Path file) {
+        String fileName = file.getFileName().toString();
+        String lowerCase = fileName.toLowerCase(Locale.ROOT);
+        for (String extension : extensions) {
+            if (lowerCase.endsWith(extension)) {
+                return fileName.substring(0, fileName.length() - extension.length()).toUpperCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.lanarimarco.modernization.engine.library;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * All source members of a library (source-rpgle/ layout), keyed by member name
+ *
+ * Members are read and hashed in parallel; a library with thousands of members
+ * is scanned in one pass.
+ */
+public final class SourceLibrary {
+
+    private final Path root;
+    private final Map<String, SourceMember> members;
+
+    private SourceLibrary(Path root, Map<String, SourceMember> members) {
+        this.root = root;
+        this.members = members;
+    }
+
+    /**
+     * Scan every member type directory under the library root
+     *
+     * @param root library root, e.g. source-rpgle/
+     * @throws IllegalStateException if two members of different types share a name
+     */
+    public static SourceLibrary scan(Path root) {
+        Map<String, SourceMember> members = new TreeMap<>();
+        for (MemberType type : MemberType.values()) {
+            Path directory = root.resolve(type.getDirectory());
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(Files::isRegularFile)
+                        .filter(file -> type.memberName(file) != null)
+                        .parallel()
+                        .map(file -> read(type, file))
+                        .toList()
+                        .forEach(member -> {
+                            SourceMember previous = members.putIfAbsent(member.name(), member);
+                            if (previous != null && previous.type() != member.type()) {
+                                throw new IllegalStateException("Member name " + member.name()
+                                        + " used by " + previous.path() + " and " + member.path());
+                            }
+                        });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new SourceLibrary(root, members);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public Optional<SourceMember> get(String name) {
+        return Optional.ofNullable(members.get(name));
+    }
+
+    public Collection<SourceMember> getMembers() {
+        return members.values();
+    }
+
+    private static SourceMember read(MemberType type, Path file) {
+        try {
+            byte[] source = Files.readAllBytes(file);
+            return new SourceMember(type.memberName(file), type, file, sha256(source),
+                    DependencyScanner.scan(type, source));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
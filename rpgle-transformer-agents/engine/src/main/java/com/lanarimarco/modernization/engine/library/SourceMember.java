@@ -0,0 +1,21 @@
+package com.lanarimarco.modernization.engine.library;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * One source member of the library
+ *
+ * @param name         member name (upper case, e.g. CUST001)
+ * @param type         member type
+ * @param path         source file
+ * @param contentHash  SHA-256 of the source bytes (hex)
+ * @param references   names of members this member refers to (files, copybooks, called programs);
+ *                     references to members outside the library are kept but ignored by the graph
+ */
+public record SourceMember(String name, MemberType type, Path path, String contentHash, Set<String> references) {
+
+    public SourceMember {
+        references = Set.copyOf(references);
+    }
+}
@@ -0,0 +1,172 @@
+package com.lanarimarco.modernization.engine.pipeline;
+
+import com.lanarimarco.modernization.engine.library.DependencyGraph;
+import com.lanarimarco.modernization.engine.library.SourceMember;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Runs the conversion pipeline for a whole library
+ *
+ * Tasks are (program, phase) pairs. A task waits for
+ * - the previous phase of the same program
+ * - for CONVERSION: the CONVERSION of every program it calls
+ * and otherwise runs as soon as a worker of the work-stealing pool is free,
+ * so phases of independent programs run in parallel.
+ *
+ * A task whose fingerprint (program source + file/copybook dependencies +
+ * executor version + prerequisite fingerprints) matches the result cache is
+ * skipped. A failed task blocks everything that depends on it, not the run.
+ */
+public class ConversionOrchestrator {
+
+    private final DependencyGraph graph;
+    private final PhaseExecutor executor;
+    private final ResultCache cache;
+    private final int parallelism;
+    private final boolean force;
+
+    /**
+     * @param parallelism number of tasks executed concurrently
+     * @param force       ignore the result cache and run every selected task
+     */
+    public ConversionOrchestrator(DependencyGraph graph, PhaseExecutor executor, ResultCache cache,
+                                  int parallelism, boolean force) {
+        this.graph = graph;
+        this.executor = executor;
+        this.cache = cache;
+        this.parallelism = parallelism;
+        this.force = force;
+    }
+
+    /**
+     * Run every phase of the programs accepted by the filter
+     *
+     * Programs outside the filter still contribute fingerprints (their CONVERSION
+     * is a prerequisite of callers) but are not executed; their tasks are reported
+     * as SKIPPED.
+     */
+    public ConversionReport run(Predicate<SourceMember> programFilter) {
+        long start = System.nanoTime();
+        Map<String, PhaseTask> tasks = plan();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        try {
+            Map<String, CompletableFuture<TaskResult>> futures = new HashMap<>();
+
+            // plan() returns tasks in dependency order, so every prerequisite future already exists
+            for (PhaseTask task : tasks.values()) {
+                List<CompletableFuture<TaskResult>> prerequisites = prerequisiteKeys(task).stream()
+                        .map(futures::get)
+                        .toList();
+                boolean run = programFilter.test(task.program());
+                CompletableFuture<TaskResult> future = CompletableFuture
+                        .allOf(prerequisites.toArray(CompletableFuture[]::new))
+                        .thenApplyAsync(ignored -> run
+                                ? runTask(task, prerequisites)
+                                : new TaskResult(task, TaskOutcome.SKIPPED, 0, null), pool);
+                futures.put(task.getKey(), future);
+            }
+
+            return new ConversionReport(
+                    futures.values().stream().map(CompletableFuture::join).toList(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public ConversionReport run() {
+        return run(program -> true);
+    }
+
+    private TaskResult runTask(PhaseTask task, List<CompletableFuture<TaskResult>> prerequisites) {
+        for (CompletableFuture<TaskResult> prerequisite : prerequisites) {
+            TaskResult result = prerequisite.join();
+            if (!result.outcome().isSuccessful()) {
+                return new TaskResult(task, TaskOutcome.BLOCKED, 0, result.task().getKey());
+            }
+        }
+
+        if (!force && cache.isUpToDate(task)) {
+            return new TaskResult(task, TaskOutcome.CACHED, 0, null);
+        }
+
+        long start = System.nanoTime();
+        try {
+            executor.execute(task);
+            cache.recordSuccess(task);
+            return new TaskResult(task, TaskOutcome.EXECUTED, (System.nanoTime() - start) / 1_000_000, null);
+        } catch (Exception e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            try {
+                cache.invalidate(task);
+            } catch (RuntimeException invalidation) {
+                // reported with the task rather than escaping the future and aborting the run
+                error += "; cache entry not invalidated: "
+                        + invalidation.getClass().getSimpleName() + ": " + invalidation.getMessage();
+            }
+            return new TaskResult(task, TaskOutcome.FAILED, (System.nanoTime() - start) / 1_000_000, error);
+        }
+    }
+
+    /**
+     * All tasks with their fingerprints, in dependency order
+     */
+    private Map<String, PhaseTask> plan() {
+        Map<String, PhaseTask> tasks = new LinkedHashMap<>();
+        for (SourceMember program : graph.getProgramsInDependencyOrder()) {
+            for (Phase phase : Phase.values()) {
+                StringBuilder input = new StringBuilder()
+                        .append(phase.name()).append('\n')
+                        .append(executor.version(phase)).append('\n')
+                        .append(graph.getFingerprint(program.name()));
+                PhaseTask partial = new PhaseTask(program, phase, null);
+                for (String key : prerequisiteKeys(partial)) {
+                    input.append('\n').append(key).append('=').append(tasks.get(key).fingerprint());
+                }
+                PhaseTask task = new PhaseTask(program, phase, sha256(input.toString()));
+                tasks.put(task.getKey(), task);
+            }
+        }
+        return tasks;
+    }
+
+    private List<String> prerequisiteKeys(PhaseTask task) {
+        List<String> keys = new ArrayList<>();
+        Phase previous = task.phase().getPrerequisite();
+        if (previous != null) {
+            keys.add(new PhaseTask(task.program(), previous, null).getKey());
+        }
+        if (task.phase() == Phase.CONVERSION) {
+            Set<String> callees = graph.getCalledPrograms(task.program().name());
+            for (SourceMember program : graph.getProgramsInDependencyOrder()) {
+                if (callees.contains(program.name())) {
+                    keys.add(new PhaseTask(program, Phase.CONVERSION, null).getKey());
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static String sha256(String input) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.lanarimarco.modernization.engine.pipeline;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of one orchestrator run
+ */
+public record ConversionReport(List<TaskResult> results, long elapsedMillis) {
+
+    public ConversionReport {
+        results = results.stream()
+                .sorted(Comparator.comparing((TaskResult result) -> result.task().program().name())
+                        .thenComparing(result -> result.task().phase()))
+                .toList();
+    }
+
+    public Map<TaskOutcome, Long> countByOutcome() {
+        Map<TaskOutcome, Long> counts = new EnumMap<>(TaskOutcome.class);
+        for (TaskOutcome outcome : TaskOutcome.values()) {
+            counts.put(outcome, 0L);
+        }
+        results.forEach(result -> counts.merge(result.outcome(), 1L, Long::sum));
+        return counts;
+    }
+
+    public boolean isSuccessful() {
+        return results.stream().allMatch(result -> result.outcome().isSuccessful());
+    }
+
+    public List<TaskResult> failures() {
+        return results.stream()
+                .filter(result -> result.outcome() == TaskOutcome.FAILED)
+                .toList();
+    }
+}
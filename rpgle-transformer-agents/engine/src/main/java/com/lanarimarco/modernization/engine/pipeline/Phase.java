@@ -0,0 +1,67 @@
+package com.lanarimarco.modernization.engine.pipeline;
+
+import java.util.List;
+
+/**
+ * The seven phases of the conversion pipeline, in order
+ *
+ * Mirrors scripts/run-*.sh: each phase has a workspace directory under
+ * work-in-progress/{PROGRAM}/, an agent directory under agents/ and the
+ * agent files copied into the workspace next to the generated PROMPT.md.
+ * Each phase requires the previous one, as in the master pipeline prompt.
+ */
+public enum Phase {
+
+    ANALYSIS(1, "Analysis", "01-analysis", "01-analysis-agent", List.of("*.md")),
+    DATABASE(2, "Database Layer", "02-database", "02-database-agent", List.of("*.java", "*.md")),
+    CONVERSION(3, "Conversion", "03-conversion", "03-conversion-agent", List.of("*.java", "*.md")),
+    UI(4, "UI", "04-ui", "04-ui-agent", List.of("*.md", "*.tsx")),
+    TESTING(5, "Testing", "05-testing", "05-testing-agent", List.of("*.md", "*.java")),
+    REVIEW(6, "Review", "06-review", "06-review-agent", List.of("*.md")),
+    INTEGRATION(7, "Integration", "07-integration", "07-integration-agent", List.of("*.md"));
+
+    private final int number;
+    private final String title;
+    private final String workspaceDirectory;
+    private final String agentDirectory;
+    private final List<String> agentFilePatterns;
+
+    Phase(int number, String title, String workspaceDirectory, String agentDirectory,
+          List<String> agentFilePatterns) {
+        this.number = number;
+        this.title = title;
+        this.workspaceDirectory = workspaceDirectory;
+        this.agentDirectory = agentDirectory;
+        this.agentFilePatterns = agentFilePatterns;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getWorkspaceDirectory() {
+        return workspaceDirectory;
+    }
+
+    public String getAgentDirectory() {
+        return agentDirectory;
+    }
+
+    /**
+     * Glob patterns of the agent files copied into the workspace (PROMPT.md excluded)
+     */
+    public List<String> getAgentFilePatterns() {
+        return agentFilePatterns;
+    }
+
+    /**
+     * Phase that must complete first, or null for the first phase
+     */
+    public Phase getPrerequisite() {
+        return ordinal() == 0 ? null : values()[ordinal() - 1];
+    }
+}
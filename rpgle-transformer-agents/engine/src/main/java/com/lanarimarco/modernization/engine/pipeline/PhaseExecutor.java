@@ -0,0 +1,21 @@
+package com.lanarimarco.modernization.engine.pipeline;
+
+/**
+ * Runs one phase of one program
+ *
+ * Implementations must be thread-safe: the orchestrator runs independent
+ * tasks concurrently.
+ */
+public interface PhaseExecutor {
+
+    /**
+     * Version of what the executor does for a phase (e.g. hash of the agent templates);
+     * part of the task fingerprint, so changing it invalidates cached results
+     */
+    String version(Phase phase);
+
+    /**
+     * @throws Exception to mark the task failed; dependent tasks are then not run
+     */
+    void execute(PhaseTask task) throws Exception;
+}
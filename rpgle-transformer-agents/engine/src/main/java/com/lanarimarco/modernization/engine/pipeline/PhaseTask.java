@@ -0,0 +1,18 @@
+package com.lanarimarco.modernization.engine.pipeline;
+
+import com.lanarimarco.modernization.engine.library.SourceMember;
+
+/**
+ * One phase of one program
+ *
+ * @param program     the program being converted
+ * @param phase       the pipeline phase
+ * @param fingerprint hash of everything the phase result depends on; unchanged
+ *                    fingerprint means the cached result is still valid
+ */
+public record PhaseTask(SourceMember program, Phase phase, String fingerprint) {
+
+    public String getKey() {
+        return program.name() + "/" + phase.getWorkspaceDirectory();
+    }
+}
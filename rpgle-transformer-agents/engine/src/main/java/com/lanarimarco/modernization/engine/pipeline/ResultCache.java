@@ -0,0 +1,83 @@
+package com.lanarimarco.modernization.engine.pipeline;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Properties;
+
+/**
+ * Persistent record of successfully completed tasks
+ *
+ * One small properties file per task ({cacheDir}/{PROGRAM}/{NN-phase}.properties)
+ * holding the fingerprint the task ran with. Files are written to a temporary
+ * name and moved into place, so concurrent tasks and interrupted runs never leave
+ * a half-written entry.
+ */
+public class ResultCache {
+
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String COMPLETED_AT = "completedAt";
+
+    private final Path directory;
+
+    public ResultCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * True when the task last completed with the same fingerprint
+     */
+    public boolean isUpToDate(PhaseTask task) {
+        Path entry = entry(task);
+        if (!Files.isRegularFile(entry)) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(entry)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            // unreadable entry: treat as a miss and let the task run again
+            return false;
+        }
+        return task.fingerprint().equals(properties.getProperty(FINGERPRINT));
+    }
+
+    public void recordSuccess(PhaseTask task) {
+        Properties properties = new Properties();
+        properties.setProperty(FINGERPRINT, task.fingerprint());
+        properties.setProperty(COMPLETED_AT, Instant.now().toString());
+
+        Path entry = entry(task);
+        try {
+            Files.createDirectories(entry.getParent());
+            Path temporary = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporary)) {
+                properties.store(writer, task.getKey());
+            }
+            Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Forget the task, e.g. after it failed
+     */
+    public void invalidate(PhaseTask task) {
+        try {
+            Files.deleteIfExists(entry(task));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path entry(PhaseTask task) {
+        return directory.resolve(task.program().name())
+                .resolve(task.phase().getWorkspaceDirectory() + ".properties");
+    }
+}
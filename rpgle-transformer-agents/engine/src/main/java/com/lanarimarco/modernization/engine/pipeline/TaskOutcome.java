@@ -0,0 +1,30 @@
+package com.lanarimarco.modernization.engine.pipeline;
+
+/**
+ * What happened to a task in a run
+ */
+public enum TaskOutcome {
+
+    /** Executed and succeeded */
+    EXECUTED,
+
+    /** Skipped: cached result with the same fingerprint */
+    CACHED,
+
+    /** Executed and failed */
+    FAILED,
+
+    /** Not run because a prerequisite failed or was blocked */
+    BLOCKED,
+
+    /** Not run because the program is outside the run's program filter */
+    SKIPPED;
+
+    /**
+     * True when dependants may run; a skipped task lets them run against whatever
+     * its program's workspace already holds
+     */
+    public boolean isSuccessful() {
+        return this == EXECUTED || this == CACHED || this == SKIPPED;
+    }
+}
@@ -0,0 +1,12 @@
+package com.lanarimarco.modernization.engine.pipeline;
+
+/**
+ * Result of one task in a run
+ *
+ * @param task           the task
+ * @param outcome        what happened
+ * @param durationMillis execution time (0 unless executed)
+ * @param error          failure message (FAILED) or the blocking task key (BLOCKED), else null
+ */
+public record TaskResult(PhaseTask task, TaskOutcome outcome, long durationMillis, String error) {
+}
@@ -0,0 +1,121 @@
+package com.lanarimarco.modernization.engine.pipeline;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Prepares phase workspaces exactly like scripts/run-*.sh
+ *
+ * For each task:
+ * 1. Clean work-in-progress/{PROGRAM}/{NN-phase}/
+ * 2. Copy the phase's agent files (templates, checklists, guides)
+ * 3. Generate PROMPT.md: "# Phase N: Title - Program: PROGRAM" + agents/{NN-agent}/PROMPT.md
+ * Integration also creates final-output/docs/{PROGRAM}/
+ */
+public class WorkspacePhaseExecutor implements PhaseExecutor {
+
+    private static final String PROMPT_FILE = "PROMPT.md";
+
+    private final Path projectRoot;
+    private final Map<Phase, String> versions = new EnumMap<>(Phase.class);
+
+    /**
+     * @param projectRoot rpgle-transformer-agents/ (contains agents/ and work-in-progress/)
+     */
+    public WorkspacePhaseExecutor(Path projectRoot) {
+        this.projectRoot = projectRoot;
+        for (Phase phase : Phase.values()) {
+            versions.put(phase, hashAgentFiles(phase));
+        }
+    }
+
+    @Override
+    public String version(Phase phase) {
+        return versions.get(phase);
+    }
+
+    @Override
+    public void execute(PhaseTask task) throws IOException {
+        String program = task.program().name();
+        Phase phase = task.phase();
+
+        Path workDir = projectRoot.resolve("work-in-progress").resolve(program).resolve(phase.getWorkspaceDirectory());
+        deleteRecursively(workDir);
+        Files.createDirectories(workDir);
+
+        for (Path agentFile : agentFiles(phase)) {
+            Files.copy(agentFile, workDir.resolve(agentFile.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        String prompt = "# Phase " + phase.getNumber() + ": " + phase.getTitle() + " - Program: " + program + "\n\n"
+                + Files.readString(agentDirectory(phase).resolve(PROMPT_FILE)) + "\n";
+        Files.writeString(workDir.resolve(PROMPT_FILE), prompt);
+
+        if (phase == Phase.INTEGRATION) {
+            Files.createDirectories(projectRoot.resolve("final-output").resolve("docs").resolve(program));
+        }
+    }
+
+    private Path agentDirectory(Phase phase) {
+        return projectRoot.resolve("agents").resolve(phase.getAgentDirectory());
+    }
+
+    private List<Path> agentFiles(Phase phase) {
+        List<Path> files = new ArrayList<>();
+        for (String pattern : phase.getAgentFilePatterns()) {
+            try (DirectoryStream<Path> matches = Files.newDirectoryStream(agentDirectory(phase), pattern)) {
+                for (Path file : matches) {
+                    if (!file.getFileName().toString().equals(PROMPT_FILE)) {
+                        files.add(file);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        files.sort(Comparator.comparing(Path::getFileName));
+        return files;
+    }
+
+    private String hashAgentFiles(Phase phase) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            List<Path> files = new ArrayList<>(agentFiles(phase));
+            files.add(agentDirectory(phase).resolve(PROMPT_FILE));
+            for (Path file : files) {
+                digest.update(file.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(file));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
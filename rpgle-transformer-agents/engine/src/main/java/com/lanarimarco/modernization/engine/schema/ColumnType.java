@@ -0,0 +1,14 @@
+package com.lanarimarco.modernization.engine.schema;
+
+/**
+ * SQL and Java representation of a DDS field
+ *
+ * @param sqlType    column type for the Flyway DDL, e.g. DECIMAL(9,2)
+ * @param javaType   simple Java type name, e.g. BigDecimal
+ * @param javaImport import needed for the Java type, or null for java.lang types
+ * @param length     @Column length for character columns, else 0
+ * @param precision  @Column precision for numeric columns, else 0
+ * @param scale      @Column scale for numeric columns
+ */
+public record ColumnType(String sqlType, String javaType, String javaImport, int length, int precision, int scale) {
+}
@@ -0,0 +1,43 @@
+package com.lanarimarco.modernization.engine.schema;
+
+/**
+ * Field of a physical file record format
+ *
+ * @param name           DDS field name (column name)
+ * @param dataType       DDS data type: A, P, S, B, F, H, L, T, Z, G, ... (blank resolved to A or P)
+ * @param length         digits or characters; 0 for date/time types
+ * @param decimals       decimal positions, -1 for non-numeric fields
+ * @param text           TEXT keyword, or null
+ * @param columnHeading  COLHDG lines joined with a blank, or null
+ * @param variableLength VARLEN keyword present
+ * @param reference      'R' in column 29: definition comes from a referenced field
+ * @param referenceField REFFLD field name (defaults to the field's own name)
+ * @param referenceFile  REFFLD file, or null to use the file-level REF
+ */
+public record DdsField(String name, char dataType, int length, int decimals, String text, String columnHeading,
+                       boolean variableLength, boolean reference, String referenceField, String referenceFile) {
+
+    public boolean isNumeric() {
+        return decimals >= 0;
+    }
+
+    /**
+     * Length notation as written in DDS and in the database agent documents, e.g. 5P 0 or 30A
+     */
+    public String describe() {
+        if (length == 0) {
+            return String.valueOf(dataType);
+        }
+        return isNumeric() ? length + String.valueOf(dataType) + " " + decimals : length + String.valueOf(dataType);
+    }
+
+    /**
+     * Copy with the definition taken from the referenced field; own TEXT/COLHDG win
+     */
+    DdsField resolvedFrom(DdsField definition) {
+        return new DdsField(name, definition.dataType, definition.length, definition.decimals,
+                text != null ? text : definition.text,
+                columnHeading != null ? columnHeading : definition.columnHeading,
+                definition.variableLength, false, null, null);
+    }
+}
@@ -0,0 +1,138 @@
+package com.lanarimarco.modernization.engine.schema;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * JPA entity source for a physical file
+ *
+ * Same shape as the hand-written entities (e.g. entities/Customer.java): Lombok
+ * accessors and builder, @Column with the DDS name and size, equality on the key.
+ * Composite keys get an @Embeddable {Entity}Id class, as type-mappings.md suggests.
+ */
+final class EntityWriter {
+
+    private EntityWriter() {
+    }
+
+    static String idClassName(MappedTable table) {
+        return table.entityName() + "Id";
+    }
+
+    static String writeEntity(MappedTable table, String packageName) {
+        PhysicalFile file = table.file();
+        boolean composite = table.hasCompositeKey();
+        List<MappedTable.Column> fields = composite
+                ? table.columns().stream().filter(column -> !column.key()).toList()
+                : table.columns();
+
+        StringBuilder java = new StringBuilder();
+        java.append("package ").append(packageName).append(";\n\n")
+                .append("import jakarta.persistence.*;\n")
+                .append("import lombok.*;\n\n")
+                .append(imports(fields))
+                .append("/**\n")
+                .append(" * JPA Entity for ")
+                .append(file.text() != null ? file.text() + " (" + file.name() + ")" : file.name()).append('\n')
+                .append(" *\n")
+                .append(" * Source: ").append(file.name()).append(".dds physical file, record format ")
+                .append(file.recordFormat()).append('\n')
+                .append(" * Generated by scripts/generate-schema.sh; do not edit\n")
+                .append(" */\n")
+                .append("@Entity\n")
+                .append("@Table(name = \"").append(file.name()).append("\")\n")
+                .append("@Getter\n")
+                .append("@Setter\n")
+                .append("@NoArgsConstructor\n")
+                .append("@AllArgsConstructor\n")
+                .append("@Builder\n")
+                .append("@ToString\n")
+                .append("@EqualsAndHashCode(onlyExplicitlyIncluded = true)\n")
+                .append("public class ").append(table.entityName()).append(" implements Serializable {\n\n")
+                .append("    private static final long serialVersionUID = 1L;\n");
+
+        if (composite) {
+            java.append('\n')
+                    .append("    /**\n")
+                    .append("     * Primary Key\n")
+                    .append("     * Source: ").append(String.join(", ", file.keyFields())).append('\n')
+                    .append("     */\n")
+                    .append("    @EmbeddedId\n")
+                    .append("    @EqualsAndHashCode.Include\n")
+                    .append("    private ").append(idClassName(table)).append(" id;\n");
+        }
+        for (MappedTable.Column column : fields) {
+            java.append('\n');
+            appendField(java, column, !composite && column.key());
+        }
+        java.append("}\n");
+        return java.toString();
+    }
+
+    static String writeIdClass(MappedTable table, String packageName) {
+        List<MappedTable.Column> keys = table.keyColumns();
+        StringBuilder java = new StringBuilder();
+        java.append("package ").append(packageName).append(";\n\n")
+                .append("import jakarta.persistence.*;\n")
+                .append("import lombok.*;\n\n")
+                .append(imports(keys))
+                .append("/**\n")
+                .append(" * Composite primary key of ").append(table.entityName())
+                .append(" (").append(table.file().name()).append(")\n")
+                .append(" *\n")
+                .append(" * Source: K ").append(String.join(", K ", table.file().keyFields())).append('\n')
+                .append(" * Generated by scripts/generate-schema.sh; do not edit\n")
+                .append(" */\n")
+                .append("@Embeddable\n")
+                .append("@Getter\n")
+                .append("@Setter\n")
+                .append("@NoArgsConstructor\n")
+                .append("@AllArgsConstructor\n")
+                .append("@EqualsAndHashCode\n")
+                .append("@ToString\n")
+                .append("public class ").append(idClassName(table)).append(" implements Serializable {\n\n")
+                .append("    private static final long serialVersionUID = 1L;\n");
+        for (MappedTable.Column column : keys) {
+            java.append('\n');
+            appendField(java, column, false);
+        }
+        java.append("}\n");
+        return java.toString();
+    }
+
+    private static void appendField(StringBuilder java, MappedTable.Column column, boolean id) {
+        DdsField field = column.field();
+        ColumnType type = column.type();
+        java.append("    /**\n")
+                .append("     * ").append(column.description()).append(id ? " - Primary Key" : "").append('\n')
+                .append("     * Source: ").append(field.name()).append(" (").append(field.describe()).append(")\n")
+                .append("     */\n");
+        if (id) {
+            java.append("    @Id\n");
+        }
+        java.append("    @Column(name = \"").append(field.name()).append('"');
+        if (type.length() > 0) {
+            java.append(", length = ").append(type.length());
+        }
+        if (type.precision() > 0) {
+            java.append(", precision = ").append(type.precision()).append(", scale = ").append(type.scale());
+        }
+        if (column.key()) {
+            java.append(", nullable = false");
+        }
+        java.append(")\n");
+        if (id) {
+            java.append("    @EqualsAndHashCode.Include\n");
+        }
+        java.append("    private ").append(type.javaType()).append(' ').append(column.property()).append(";\n");
+    }
+
+    private static String imports(List<MappedTable.Column> columns) {
+        TreeSet<String> imports = new TreeSet<>();
+        imports.add("java.io.Serializable");
+        columns.stream().map(column -> column.type().javaImport()).filter(i -> i != null).forEach(imports::add);
+        StringBuilder java = new StringBuilder();
+        imports.forEach(i -> java.append("import ").append(i).append(";\n"));
+        return java.append('\n').toString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.lanarimarco.modernization.engine.schema;
+
+import java.util.List;
+
+/**
+ * A physical file with every field mapped to SQL and Java, input of the writers
+ *
+ * @param file       the resolved physical file (no reference fields left)
+ * @param entityName Java entity class name
+ * @param columns    columns in record order
+ */
+record MappedTable(PhysicalFile file, String entityName, List<Column> columns) {
+
+    List<Column> keyColumns() {
+        return file.keyFields().stream()
+                .map(key -> columns.stream().filter(column -> column.field().name().equals(key)).findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException(
+                                "Key field " + key + " is not a field of " + file.name())))
+                .toList();
+    }
+
+    boolean hasCompositeKey() {
+        return file.keyFields().size() > 1;
+    }
+
+    /**
+     * @param property Java property name
+     * @param key      part of the primary key
+     */
+    record Column(DdsField field, ColumnType type, String property, boolean key) {
+
+        /**
+         * Description used in comments: TEXT, else COLHDG, else the field name
+         */
+        String description() {
+            if (field.text() != null) {
+                return field.text();
+            }
+            return field.columnHeading() != null ? field.columnHeading() : field.name();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.lanarimarco.modernization.engine.schema;
+
+import java.util.Locale;
+
+/**
+ * Flyway CREATE TABLE migration for a physical file
+ *
+ * Same layout as the hand-written V1__create_custmast.sql: header with the DDS
+ * origin, one commented column per DDS field, key fields as primary key.
+ */
+final class MigrationWriter {
+
+    private MigrationWriter() {
+    }
+
+    static String fileName(int version, PhysicalFile file) {
+        return "V" + version + "__create_" + file.name().toLowerCase(Locale.ROOT) + ".sql";
+    }
+
+    static String write(MappedTable table, int version) {
+        PhysicalFile file = table.file();
+        StringBuilder sql = new StringBuilder();
+        sql.append("-- ===========================================================================\n")
+                .append("-- Flyway Migration: ").append(fileName(version, file)).append('\n')
+                .append("-- Table: ").append(file.name());
+        if (file.text() != null) {
+            sql.append(" (").append(file.text()).append(')');
+        }
+        sql.append('\n')
+                .append("--\n")
+                .append("-- Generated from DDS physical file ").append(file.name())
+                .append(", record format ").append(file.recordFormat()).append('\n')
+                .append("-- Do not edit: change the DDS and run scripts/generate-schema.sh\n")
+                .append("-- ===========================================================================\n\n")
+                .append("CREATE TABLE ").append(file.name()).append(" (\n");
+
+        boolean hasKey = !file.keyFields().isEmpty();
+        for (int i = 0; i < table.columns().size(); i++) {
+            MappedTable.Column column = table.columns().get(i);
+            sql.append("    -- ").append(column.field().name()).append(" (").append(column.field().describe())
+                    .append(") - ").append(column.description()).append('\n')
+                    .append("    ").append(column.field().name()).append(' ').append(column.type().sqlType());
+            if (column.key()) {
+                sql.append(" NOT NULL");
+            }
+            boolean last = i == table.columns().size() - 1 && !hasKey;
+            sql.append(last ? "\n" : ",\n");
+            if (!last) {
+                sql.append('\n');
+            }
+        }
+
+        if (hasKey) {
+            if (!file.unique()) {
+                sql.append("    -- DDS key is not UNIQUE; the primary key assumes key values are unique in the data\n");
+            }
+            sql.append("    PRIMARY KEY (").append(String.join(", ", file.keyFields())).append(")\n");
+        }
+        sql.append(");\n");
+        return sql.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.lanarimarco.modernization.engine.schema;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Parsed DDS physical file
+ *
+ * @param name          file name (table name)
+ * @param recordFormat  record format name (R)
+ * @param text          file or record format TEXT keyword, or null
+ * @param unique        UNIQUE keyword present
+ * @param referenceFile file-level REF file, or null
+ * @param fields        fields in record order
+ * @param keyFields     key field names (K) in key order
+ */
+public record PhysicalFile(String name, String recordFormat, String text, boolean unique, String referenceFile,
+                           List<DdsField> fields, List<String> keyFields) {
+
+    public PhysicalFile {
+        fields = List.copyOf(fields);
+        keyFields = List.copyOf(keyFields);
+    }
+
+    public Optional<DdsField> field(String fieldName) {
+        return fields.stream().filter(field -> field.name().equals(fieldName)).findFirst();
+    }
+
+    public boolean isKeyField(String fieldName) {
+        return keyFields.contains(fieldName);
+    }
+
+    PhysicalFile withFields(List<DdsField> resolvedFields) {
+        return new PhysicalFile(name, recordFormat, text, unique, referenceFile, resolvedFields, keyFields);
+    }
+}
@@ -0,0 +1,219 @@
+package com.lanarimarco.modernization.engine.schema;
+
+import com.lanarimarco.modernization.engine.lexer.LexedSource;
+import com.lanarimarco.modernization.engine.lexer.TokenStream;
+import com.lanarimarco.modernization.engine.lexer.TokenType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds a {@link PhysicalFile} from the tokens of a DDS physical file
+ *
+ * Supported: one record format, field definitions (length, type, decimals, R
+ * reference), K key fields and the keywords UNIQUE, REF, TEXT, COLHDG, VARLEN,
+ * REFFLD. Other keywords (EDTCDE, CHECK, ...) do not affect the schema and are ignored.
+ */
+public final class PhysicalFileParser {
+
+    private PhysicalFileParser() {
+    }
+
+    public static PhysicalFile parse(String fileName, LexedSource source) {
+        TokenStream tokens = source.getTokens();
+        Builder file = new Builder(fileName);
+        FieldBuilder field = null;
+
+        for (int line = 0; line < source.getSource().lineCount(); line++) {
+            if (tokens.lineStart(line) == tokens.lineEnd(line) || tokens.find(line, TokenType.COMMENT) >= 0) {
+                continue;
+            }
+            int nameType = tokens.find(line, TokenType.NAME_TYPE);
+            int name = tokens.find(line, TokenType.NAME);
+
+            if (nameType >= 0 && tokens.is(nameType, "R")) {
+                field = finish(field, file);
+                file.recordFormat = name >= 0 ? tokens.text(name).toUpperCase(Locale.ROOT) : null;
+                keywords(tokens, line, file, null);
+            } else if (nameType >= 0 && tokens.is(nameType, "K")) {
+                field = finish(field, file);
+                if (name >= 0) {
+                    file.keyFields.add(tokens.text(name).toUpperCase(Locale.ROOT));
+                }
+            } else if (nameType >= 0) {
+                // S/O select/omit and J join lines belong to logical files
+                field = finish(field, file);
+            } else if (name >= 0) {
+                field = finish(field, file);
+                field = new FieldBuilder(tokens.text(name).toUpperCase(Locale.ROOT));
+                field.length = intValue(tokens, tokens.find(line, TokenType.LENGTH), 0);
+                field.decimals = intValue(tokens, tokens.find(line, TokenType.DECIMALS), -1);
+                int dataType = tokens.find(line, TokenType.DATA_TYPE);
+                field.dataType = dataType >= 0 ? Character.toUpperCase(tokens.text(dataType).charAt(0)) : ' ';
+                field.reference = tokens.find(line, TokenType.REFERENCE) >= 0;
+                keywords(tokens, line, file, field);
+            } else {
+                // keyword continuation line: applies to the current field, or to the file before the first field
+                keywords(tokens, line, file, field);
+            }
+        }
+        finish(field, file);
+        return file.build();
+    }
+
+    private static void keywords(TokenStream tokens, int line, Builder file, FieldBuilder field) {
+        for (int token = tokens.lineStart(line); token < tokens.lineEnd(line); token++) {
+            if (tokens.type(token) != TokenType.KEYWORD) {
+                continue;
+            }
+            String keyword = tokens.text(token).toUpperCase(Locale.ROOT);
+            String parameters = token + 1 < tokens.lineEnd(line) && tokens.type(token + 1) == TokenType.KEYWORD_PARAMETERS
+                    ? tokens.text(token + 1)
+                    : "";
+            if (field == null) {
+                switch (keyword) {
+                    case "UNIQUE" -> file.unique = true;
+                    case "REF" -> file.referenceFile = unqualified(firstWord(parameters));
+                    case "TEXT" -> file.text = quoted(parameters);
+                    default -> {
+                    }
+                }
+            } else {
+                switch (keyword) {
+                    case "TEXT" -> field.text = quoted(parameters);
+                    case "COLHDG" -> field.columnHeading = String.join(" ", quotedList(parameters));
+                    case "VARLEN" -> field.variableLength = true;
+                    case "REFFLD" -> {
+                        String[] parts = parameters.trim().split("\\s+");
+                        field.reference = true;
+                        field.referenceField = unqualified(parts[0]).toUpperCase(Locale.ROOT);
+                        field.referenceFile = parts.length > 1 ? unqualified(parts[1]) : null;
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+    }
+
+    private static FieldBuilder finish(FieldBuilder field, Builder file) {
+        if (field != null) {
+            file.fields.add(field.build());
+        }
+        return null;
+    }
+
+    private static int intValue(TokenStream tokens, int token, int missing) {
+        if (token < 0) {
+            return missing;
+        }
+        try {
+            return Integer.parseInt(tokens.text(token).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number '" + tokens.text(token) + "' on line "
+                    + (tokens.line(token) + 1), e);
+        }
+    }
+
+    private static String firstWord(String parameters) {
+        String trimmed = parameters.trim();
+        int blank = trimmed.indexOf(' ');
+        return blank >= 0 ? trimmed.substring(0, blank) : trimmed;
+    }
+
+    /**
+     * LIB/FILE or *LIBL/FILE -> FILE
+     */
+    private static String unqualified(String name) {
+        int slash = name.lastIndexOf('/');
+        return (slash >= 0 ? name.substring(slash + 1) : name).toUpperCase(Locale.ROOT);
+    }
+
+    private static String quoted(String parameters) {
+        List<String> values = quotedList(parameters);
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * 'Customer' 'Number' -> [Customer, Number]; '' inside a literal is a quote
+     */
+    private static List<String> quotedList(String parameters) {
+        List<String> values = new ArrayList<>();
+        int i = 0;
+        while ((i = parameters.indexOf('\'', i)) >= 0) {
+            StringBuilder value = new StringBuilder();
+            i++;
+            while (i < parameters.length()) {
+                char c = parameters.charAt(i);
+                if (c == '\'') {
+                    if (i + 1 < parameters.length() && parameters.charAt(i + 1) == '\'') {
+                        value.append('\'');
+                        i += 2;
+                        continue;
+                    }
+                    break;
+                }
+                value.append(c);
+                i++;
+            }
+            values.add(value.toString().trim());
+            i++;
+        }
+        return values;
+    }
+
+    private static final class Builder {
+
+        private final String name;
+        private String recordFormat;
+        private String text;
+        private boolean unique;
+        private String referenceFile;
+        private final List<DdsField> fields = new ArrayList<>();
+        private final List<String> keyFields = new ArrayList<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        private PhysicalFile build() {
+            if (recordFormat == null) {
+                throw new IllegalArgumentException("Physical file " + name + " has no record format (R)");
+            }
+            return new PhysicalFile(name, recordFormat, text, unique, referenceFile, fields, keyFields);
+        }
+    }
+
+    private static final class FieldBuilder {
+
+        private final String name;
+        private char dataType;
+        private int length;
+        private int decimals;
+        private String text;
+        private String columnHeading;
+        private boolean variableLength;
+        private boolean reference;
+        private String referenceField;
+        private String referenceFile;
+
+        private FieldBuilder(String name) {
+            this.name = name;
+        }
+
+        private DdsField build() {
+            char type = dataType;
+            if (type == ' ' && !reference) {
+                // DDS default for physical files: packed when decimals are given, else character
+                type = decimals >= 0 ? 'P' : 'A';
+            }
+            int fieldDecimals = decimals;
+            if (decimals < 0 && "PSBF".indexOf(type) >= 0) {
+                fieldDecimals = 0;
+            }
+            return new DdsField(name, type, length, fieldDecimals, text, columnHeading, variableLength,
+                    reference, reference ? (referenceField != null ? referenceField : name) : null, referenceFile);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.lanarimarco.modernization.engine.schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of one generator run
+ *
+ * @param generated     physical files whose migration and entity were (re)written
+ * @param unchanged     physical files skipped because their DDS and references did not change
+ * @param failed        physical file -> error; their previous output is left in place
+ * @param warnings      notes that did not stop generation, e.g. files without key
+ * @param elapsedMillis wall-clock time of the run
+ */
+public record SchemaGenerationReport(List<String> generated, List<String> unchanged, Map<String, String> failed,
+                                     List<String> warnings, long elapsedMillis) {
+
+    public boolean isSuccessful() {
+        return failed.isEmpty();
+    }
+}
@@ -0,0 +1,275 @@
+package com.lanarimarco.modernization.engine.schema;
+
+import com.lanarimarco.modernization.engine.lexer.Dialect;
+import com.lanarimarco.modernization.engine.lexer.LexedSource;
+import com.lanarimarco.modernization.engine.library.DependencyGraph;
+import com.lanarimarco.modernization.engine.library.MemberType;
+import com.lanarimarco.modernization.engine.library.SourceLibrary;
+import com.lanarimarco.modernization.engine.library.SourceMember;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates Flyway migrations and JPA entities for every physical file of a library
+ *
+ * One pass over the library: physical files are parsed with the fixed-form lexer,
+ * reference fields (R, REF, REFFLD) are resolved against the other physical files,
+ * and each file yields V{n}__create_{file}.sql plus {Entity}.java. Files are
+ * processed in parallel.
+ *
+ * Incremental: a manifest records each file's migration version and fingerprint
+ * (its DDS, the DDS of the files it references, the generator settings). Files
+ * with an unchanged fingerprint and existing output are skipped; a file keeps its
+ * version number for life, new files get the next free one.
+ *
+ * A changed DDS rewrites its create migration in place, which suits a schema that
+ * has not been deployed yet. Once a migration has run somewhere, changes belong
+ * in a new, hand-written ALTER migration.
+ */
+public class SchemaGenerator {
+
+    /** Bump when the generated output changes, so every file is regenerated */
+    static final String GENERATOR_VERSION = "1";
+
+    private static final String VERSION_SUFFIX = ".version";
+    private static final String FINGERPRINT_SUFFIX = ".fingerprint";
+
+    private final SourceLibrary library;
+    private final Path migrationDirectory;
+    private final Path javaSourceRoot;
+    private final String entityPackage;
+    private final SchemaNaming naming;
+    private final TypeMapper typeMapper;
+    private final int firstVersion;
+    private final Path manifestFile;
+    private final String settingsFingerprint;
+
+    private final Map<String, PhysicalFile> parsed = new ConcurrentHashMap<>();
+
+    /**
+     * @param migrationDirectory Flyway location, e.g. src/main/resources/db/migration
+     * @param javaSourceRoot     source root the entity package is created under, e.g. src/main/java
+     * @param firstVersion       migration version given to the first new file
+     * @param manifestFile       generator state, kept outside the migration directory
+     */
+    public SchemaGenerator(SourceLibrary library, Path migrationDirectory, Path javaSourceRoot, String entityPackage,
+                           SchemaNaming naming, TypeMapper typeMapper, int firstVersion, Path manifestFile) {
+        this.library = library;
+        this.migrationDirectory = migrationDirectory;
+        this.javaSourceRoot = javaSourceRoot;
+        this.entityPackage = entityPackage;
+        this.naming = naming;
+        this.typeMapper = typeMapper;
+        this.firstVersion = firstVersion;
+        this.manifestFile = manifestFile;
+        this.settingsFingerprint = GENERATOR_VERSION + '\n' + entityPackage + '\n'
+                + typeMapper.describe() + '\n' + naming.describe();
+    }
+
+    public SchemaGenerationReport generate(boolean force) {
+        long start = System.nanoTime();
+        DependencyGraph graph = DependencyGraph.build(library);
+        Properties manifest = loadManifest();
+
+        List<SourceMember> physicalFiles = library.getMembers().stream()
+                .filter(member -> member.type() == MemberType.PHYSICAL_FILE)
+                .toList();
+        Map<String, Integer> versions = assignVersions(physicalFiles, manifest);
+
+        List<String> generated = Collections.synchronizedList(new ArrayList<>());
+        List<String> unchanged = Collections.synchronizedList(new ArrayList<>());
+        List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+        Map<String, String> failed = new ConcurrentHashMap<>();
+        Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+        physicalFiles.parallelStream().forEach(member -> {
+            String name = member.name();
+            String fingerprint = sha256(settingsFingerprint + '\n' + graph.getFingerprint(name));
+            int version = versions.get(name);
+            boolean upToDate = fingerprint.equals(manifest.getProperty(name + FINGERPRINT_SUFFIX))
+                    && Files.exists(migrationDirectory.resolve(MigrationWriter.fileName(version, member(name))));
+            if (upToDate && !force) {
+                unchanged.add(name);
+                fingerprints.put(name, fingerprint);
+                return;
+            }
+            try {
+                generate(name, version, warnings);
+                generated.add(name);
+                fingerprints.put(name, fingerprint);
+            } catch (RuntimeException e) {
+                failed.put(name, e.getMessage());
+            }
+        });
+
+        Properties updated = new Properties();
+        versions.forEach((name, version) -> updated.setProperty(name + VERSION_SUFFIX, String.valueOf(version)));
+        fingerprints.forEach((name, fingerprint) -> updated.setProperty(name + FINGERPRINT_SUFFIX, fingerprint));
+        saveManifest(updated);
+
+        return new SchemaGenerationReport(sorted(generated), sorted(unchanged), new TreeMap<>(failed),
+                sorted(warnings), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void generate(String name, int version, List<String> warnings) {
+        PhysicalFile file = resolve(name, new LinkedHashSet<>());
+        Map<String, String> properties = naming.propertyNames(file);
+        List<MappedTable.Column> columns = file.fields().stream()
+                .map(field -> new MappedTable.Column(field, typeMapper.map(field), properties.get(field.name()),
+                        file.isKeyField(field.name())))
+                .toList();
+        MappedTable table = new MappedTable(file, naming.entityName(file), columns);
+        // fails on a K field that is not a field of the record format
+        table.keyColumns();
+
+        write(migrationDirectory.resolve(MigrationWriter.fileName(version, file)),
+                MigrationWriter.write(table, version));
+
+        if (file.keyFields().isEmpty()) {
+            warnings.add(name + ": no key fields (K), entity not generated");
+            return;
+        }
+        Path packageDirectory = javaSourceRoot.resolve(entityPackage.replace('.', '/'));
+        write(packageDirectory.resolve(table.entityName() + ".java"), EntityWriter.writeEntity(table, entityPackage));
+        if (table.hasCompositeKey()) {
+            write(packageDirectory.resolve(EntityWriter.idClassName(table) + ".java"),
+                    EntityWriter.writeIdClass(table, entityPackage));
+        }
+    }
+
+    /**
+     * Physical file with every reference field replaced by its definition
+     *
+     * @param resolving files on the current reference chain, to report cycles
+     */
+    private PhysicalFile resolve(String name, Set<String> resolving) {
+        if (!resolving.add(name)) {
+            throw new IllegalArgumentException("Circular field reference: " + String.join(" -> ", resolving)
+                    + " -> " + name);
+        }
+        PhysicalFile file = member(name);
+        List<DdsField> fields = new ArrayList<>();
+        for (DdsField field : file.fields()) {
+            if (!field.reference()) {
+                fields.add(field);
+                continue;
+            }
+            String referenceFile = field.referenceFile() != null ? field.referenceFile() : file.referenceFile();
+            if (referenceFile == null) {
+                throw new IllegalArgumentException(name + "." + field.name()
+                        + " is a reference field but the file has no REF and the field no REFFLD file");
+            }
+            if (library.get(referenceFile).filter(m -> m.type() == MemberType.PHYSICAL_FILE).isEmpty()) {
+                throw new IllegalArgumentException(name + "." + field.name() + " references " + referenceFile
+                        + ", which is not a physical file of the library");
+            }
+            PhysicalFile referenced = referenceFile.equals(name) ? file.withFields(fields)
+                    : resolve(referenceFile, new LinkedHashSet<>(resolving));
+            DdsField definition = referenced.field(field.referenceField())
+                    .orElseThrow(() -> new IllegalArgumentException(name + "." + field.name() + " references "
+                            + referenceFile + "." + field.referenceField() + ", which does not exist"));
+            fields.add(field.resolvedFrom(definition));
+        }
+        return file.withFields(fields);
+    }
+
+    private PhysicalFile member(String name) {
+        return parsed.computeIfAbsent(name, key -> {
+            SourceMember member = library.get(key).orElseThrow();
+            return PhysicalFileParser.parse(key, LexedSource.lex(member.path(), Dialect.DDS));
+        });
+    }
+
+    /**
+     * Existing files keep their version; new files are numbered after the highest one, in name order
+     */
+    private Map<String, Integer> assignVersions(List<SourceMember> physicalFiles, Properties manifest) {
+        Map<String, Integer> versions = new TreeMap<>();
+        int next = firstVersion;
+        for (String key : manifest.stringPropertyNames()) {
+            if (key.endsWith(VERSION_SUFFIX)) {
+                next = Math.max(next, Integer.parseInt(manifest.getProperty(key)) + 1);
+            }
+        }
+        for (SourceMember member : physicalFiles) {
+            String version = manifest.getProperty(member.name() + VERSION_SUFFIX);
+            if (version != null) {
+                versions.put(member.name(), Integer.parseInt(version));
+            }
+        }
+        for (SourceMember member : physicalFiles) {
+            if (!versions.containsKey(member.name())) {
+                versions.put(member.name(), next++);
+            }
+        }
+        return versions;
+    }
+
+    private Properties loadManifest() {
+        Properties manifest = new Properties();
+        if (Files.isRegularFile(manifestFile)) {
+            try (Reader reader = Files.newBufferedReader(manifestFile)) {
+                manifest.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return manifest;
+    }
+
+    private void saveManifest(Properties manifest) {
+        try {
+            Files.createDirectories(manifestFile.toAbsolutePath().getParent());
+            Path temporary = Files.createTempFile(manifestFile.toAbsolutePath().getParent(), "schema", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporary)) {
+                manifest.store(writer, "Schema generator state: migration version and DDS fingerprint per file");
+            }
+            Files.move(temporary, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(Path file, String content) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.writeString(temporary, content);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> sorted(List<String> values) {
+        return values.stream().sorted().toList();
+    }
+
+    private static String sha256(String input) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
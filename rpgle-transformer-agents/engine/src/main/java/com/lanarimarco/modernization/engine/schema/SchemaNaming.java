@@ -0,0 +1,122 @@
+package com.lanarimarco.modernization.engine.schema;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Java names for generated entities, following agents/02-database-agent/naming-conventions.md
+ *
+ * Defaults are derived deterministically:
+ * - Entity: PascalCase of the file name (CUSTMAST -> Custmast)
+ * - Property: camelCase of TEXT, else COLHDG, else the field name
+ *   (TEXT('Customer Number') -> customerNumber)
+ *
+ * A properties file overrides them with business names:
+ *   CUSTMAST=Customer
+ *   CUSTMAST.ADDR1=address1
+ */
+public final class SchemaNaming {
+
+    private static final Set<String> JAVA_KEYWORDS = Set.of(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
+            "continue", "default", "do", "double", "else", "enum", "extends", "final", "finally", "float",
+            "for", "goto", "if", "implements", "import", "instanceof", "int", "interface", "long", "native",
+            "new", "package", "private", "protected", "public", "return", "short", "static", "strictfp",
+            "super", "switch", "synchronized", "this", "throw", "throws", "transient", "try", "void",
+            "volatile", "while", "record", "var", "yield", "true", "false", "null");
+
+    private final Map<String, String> overrides;
+
+    public SchemaNaming(Properties overrides) {
+        this.overrides = new TreeMap<>();
+        overrides.stringPropertyNames().forEach(key ->
+                this.overrides.put(key.toUpperCase(Locale.ROOT), overrides.getProperty(key).trim()));
+    }
+
+    public static SchemaNaming defaults() {
+        return new SchemaNaming(new Properties());
+    }
+
+    public static SchemaNaming load(Path file) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new SchemaNaming(properties);
+    }
+
+    public String entityName(PhysicalFile file) {
+        String override = overrides.get(file.name());
+        return override != null ? override : pascalCase(file.name());
+    }
+
+    /**
+     * Property name per field name, in record order; unique within the entity
+     */
+    public Map<String, String> propertyNames(PhysicalFile file) {
+        Map<String, String> names = new LinkedHashMap<>();
+        Set<String> used = new HashSet<>();
+        for (DdsField field : file.fields()) {
+            String override = overrides.get(file.name() + "." + field.name());
+            String name = override != null ? override : derivePropertyName(field);
+            String unique = name;
+            for (int suffix = 2; !used.add(unique); suffix++) {
+                unique = name + suffix;
+            }
+            names.put(field.name(), unique);
+        }
+        return names;
+    }
+
+    /**
+     * Stable text of all overrides, part of the generator fingerprint
+     */
+    public String describe() {
+        return overrides.toString();
+    }
+
+    private static String derivePropertyName(DdsField field) {
+        for (String source : new String[]{field.text(), field.columnHeading(), field.name()}) {
+            if (source != null) {
+                String name = camelCase(source);
+                if (!name.isEmpty()) {
+                    return JAVA_KEYWORDS.contains(name) ? name + "Value" : name;
+                }
+            }
+        }
+        return "field";
+    }
+
+    static String camelCase(String text) {
+        StringBuilder name = new StringBuilder();
+        for (String word : text.split("[^A-Za-z0-9]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String lower = word.toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                name.append(Character.isDigit(lower.charAt(0)) ? "f" + lower : lower);
+            } else {
+                name.append(Character.toUpperCase(lower.charAt(0))).append(lower.substring(1));
+            }
+        }
+        return name.toString();
+    }
+
+    static String pascalCase(String text) {
+        String camel = camelCase(text);
+        return camel.isEmpty() ? camel : Character.toUpperCase(camel.charAt(0)) + camel.substring(1);
+    }
+}
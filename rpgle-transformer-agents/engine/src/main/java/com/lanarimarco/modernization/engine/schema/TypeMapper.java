@@ -0,0 +1,64 @@
+package com.lanarimarco.modernization.engine.schema;
+
+/**
+ * DDS data types to SQL column and Java types
+ *
+ * Follows agents/02-database-agent/type-mappings.md:
+ * - Packed/zoned with decimals: DECIMAL(p,s) / BigDecimal
+ * - Packed/zoned/binary without decimals: INTEGER / Integer up to 9 digits,
+ *   BIGINT / Long up to 18, DECIMAL(p,0) / BigDecimal beyond
+ * - Alphanumeric: VARCHAR(n) / String; CHAR(n) for VARLEN-less codes up to
+ *   fixedCharMaxLength (e.g. STATE 2A -> CHAR(2), as in V1__create_custmast.sql)
+ * - L, T, Z: DATE, TIME, TIMESTAMP / LocalDate, LocalTime, LocalDateTime
+ */
+public final class TypeMapper {
+
+    private static final String BIG_DECIMAL = "java.math.BigDecimal";
+
+    private final int fixedCharMaxLength;
+
+    /**
+     * @param fixedCharMaxLength alphanumeric fields up to this length become CHAR, longer ones VARCHAR
+     */
+    public TypeMapper(int fixedCharMaxLength) {
+        this.fixedCharMaxLength = fixedCharMaxLength;
+    }
+
+    public ColumnType map(DdsField field) {
+        int length = field.length();
+        int decimals = field.decimals();
+        return switch (field.dataType()) {
+            case 'P', 'S', 'B' -> decimals > 0
+                    ? new ColumnType("DECIMAL(" + length + "," + decimals + ")", "BigDecimal", BIG_DECIMAL, 0,
+                    length, decimals)
+                    : wholeNumber(length);
+            case 'F' -> new ColumnType("DOUBLE", "Double", null, 0, 0, 0);
+            case 'A', 'G' -> field.variableLength() || length > fixedCharMaxLength
+                    ? new ColumnType("VARCHAR(" + length + ")", "String", null, length, 0, 0)
+                    : new ColumnType("CHAR(" + length + ")", "String", null, length, 0, 0);
+            case 'H' -> new ColumnType("VARBINARY(" + length + ")", "byte[]", null, length, 0, 0);
+            case 'L' -> new ColumnType("DATE", "LocalDate", "java.time.LocalDate", 0, 0, 0);
+            case 'T' -> new ColumnType("TIME", "LocalTime", "java.time.LocalTime", 0, 0, 0);
+            case 'Z' -> new ColumnType("TIMESTAMP", "LocalDateTime", "java.time.LocalDateTime", 0, 0, 0);
+            default -> throw new IllegalArgumentException("Unsupported DDS data type '" + field.dataType()
+                    + "' for field " + field.name());
+        };
+    }
+
+    /**
+     * Settings that change the mapping, part of the generator fingerprint
+     */
+    public String describe() {
+        return "fixedCharMaxLength=" + fixedCharMaxLength;
+    }
+
+    private static ColumnType wholeNumber(int digits) {
+        if (digits <= 9) {
+            return new ColumnType("INTEGER", "Integer", null, 0, digits, 0);
+        }
+        if (digits <= 18) {
+            return new ColumnType("BIGINT", "Long", null, 0, digits, 0);
+        }
+        return new ColumnType("DECIMAL(" + digits + ",0)", "BigDecimal", BIG_DECIMAL, 0, digits, 0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import com.lanarimarco.modernization.engine.lexer.Dialect;
+import com.lanarimarco.modernization.engine.lexer.LexedSource;
+import com.lanarimarco.modernization.engine.library.SourceLibrary;
+import com.lanarimarco.modernization.engine.schema.PhysicalFile;
+import com.lanarimarco.modernization.engine.schema.PhysicalFileParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark: CUST001 inquiries per second through the interpreter
+ *
+ * Every even customer number exists, so half the inquiries show DETAIL and half
+ * end with 'Customer not found'. The full 0-99999 range is answered ten times.
+ *
+ * Not part of the regular build. Run with:
+ *   mvn test -Dtest=InquiryOracleBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Inquiry Oracle Benchmark")
+class InquiryOracleBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Measure inquiries per second on one thread and on all cores")
+    void benchmarkInquiries() throws IOException {
+        SourceLibrary library = SourceLibrary.scan(Path.of("..", "source-rpgle"));
+        CompiledProgram cust001 = ProgramCompiler.compile(library, "CUST001");
+        PhysicalFile custmast = PhysicalFileParser.parse("CUSTMAST",
+                LexedSource.lex(library.get("CUSTMAST").orElseThrow().path(), Dialect.DDS));
+        InMemoryRecordStore store = new InMemoryRecordStore();
+        for (int number = 2; number <= InquiryOracle.MAX_CUSTOMER_NUMBER; number += 2) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("CUSTNO", BigDecimal.valueOf(number));
+            record.put("CUSTNAME", "Customer " + number);
+            record.put("BALANCE", new BigDecimal("1500.50"));
+            store.put(custmast, record);
+        }
+        InquiryOracle oracle = new InquiryOracle(cust001, store);
+        Path output = directory.resolve("expected.csv");
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            oracle.write(output, "ORACLE_", 0, InquiryOracle.MAX_CUSTOMER_NUMBER, cores);
+        }
+        for (int parallelism : new int[]{1, cores}) {
+            long inquiries = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                inquiries += oracle.write(output, "ORACLE_", 0, InquiryOracle.MAX_CUSTOMER_NUMBER, parallelism);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d thread(s): %,d inquiries in %.2f s = %,.0f inquiries/s%n",
+                    parallelism, inquiries, seconds, inquiries / seconds);
+        }
+
+        assertThat(Files.readAllLines(output)).hasSize((int) InquiryOracle.MAX_CUSTOMER_NUMBER + 2);
+    }
+}
@@ -0,0 +1,231 @@
+package com.lanarimarco.modernization.engine.interpreter;
+
+import com.lanarimarco.modernization.engine.lexer.Dialect;
+import com.lanarimarco.modernization.engine.lexer.LexedSource;
+import com.lanarimarco.modernization.engine.library.SourceLibrary;
+import com.lanarimarco.modernization.engine.schema.PhysicalFile;
+import com.lanarimarco.modernization.engine.schema.PhysicalFileParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the RPG interpreter and the equivalence oracle
+ *
+ * Runs the original CUST001.rpgle, CUSTMAST.dds and CUSTDSP.dds from source-rpgle/
+ * over the records of the equivalence suite's test data
+ */
+@DisplayName("Program Interpreter Tests")
+class ProgramInterpreterTest {
+
+    private static final Path SOURCE_LIBRARY = Path.of("..", "source-rpgle");
+
+    private static CompiledProgram cust001;
+    private static InMemoryRecordStore store;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void compileCust001() {
+        SourceLibrary library = SourceLibrary.scan(SOURCE_LIBRARY);
+        cust001 = ProgramCompiler.compile(library, "CUST001");
+
+        PhysicalFile custmast = PhysicalFileParser.parse("CUSTMAST",
+                LexedSource.lex(library.get("CUSTMAST").orElseThrow().path(), Dialect.DDS));
+        store = new InMemoryRecordStore();
+        store.put(custmast, customer(1001, "ACME Corporation", "123 Main Street", "Springfield", "62701",
+                "217-555-0100", "1500.50", "10000.00", 20251201));
+        store.put(custmast, customer(1002, "Global Industries Inc", "456 Oak Avenue", "Chicago", "60601",
+                "312-555-0200", "2750.00", "25000.00", 20251215));
+        store.put(custmast, customer(1003, "Tech Solutions LLC", "789 Elm Boulevard", "Naperville", "60540",
+                "630-555-0300", "500.25", "5000.00", 20251220));
+    }
+
+    @Test
+    @DisplayName("Should show DETAIL for an existing customer")
+    void shouldShowDetailForExistingCustomer() {
+        // Given
+        ScriptedDisplay display = new ScriptedDisplay(List.of(
+                Response.enter(Map.of("PCUSTNO", BigDecimal.valueOf(1001))),
+                Response.press("F3"),
+                Response.press("F3")));
+
+        // When
+        cust001.run(store, display);
+
+        // Then
+        List<Screen> screens = display.getTranscript();
+        assertThat(screens).extracting(Screen::format).containsExactly("PROMPT", "DETAIL", "PROMPT");
+        Screen detail = screens.get(1);
+        assertThat(detail.field("DCUSTNO")).isEqualTo(new BigDecimal("1001"));
+        assertThat(detail.field("DCUSTNAME")).isEqualTo("ACME Corporation");
+        assertThat(detail.field("DZIP")).isEqualTo(new BigDecimal("62701"));
+        assertThat(detail.field("DBALANCE")).isEqualTo(new BigDecimal("1500.50"));
+        assertThat(detail.indicator(90)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should set *IN90 and PMSG for a missing or zero customer number")
+    void shouldReportErrorsOnPrompt() {
+        // Given
+        ScriptedDisplay display = new ScriptedDisplay(List.of(
+                Response.enter(Map.of("PCUSTNO", BigDecimal.valueOf(9999))),
+                Response.enter(Map.of("PCUSTNO", BigDecimal.ZERO)),
+                Response.press("F3")));
+
+        // When
+        cust001.run(store, display);
+
+        // Then
+        List<Screen> screens = display.getTranscript();
+        assertThat(screens).hasSize(3);
+        assertThat(screens.get(1).field("PMSG")).isEqualTo("Customer not found");
+        assertThat(screens.get(1).indicator(90)).isTrue();
+        assertThat(screens.get(2).field("PMSG")).isEqualTo("Customer number required");
+    }
+
+    @Test
+    @DisplayName("Should end on F3 and fail when the script runs out")
+    void shouldEndOnF3() {
+        // Given
+        ScriptedDisplay exit = new ScriptedDisplay(List.of(Response.press("F3")));
+        ScriptedDisplay endless = new ScriptedDisplay(List.of(Response.enter(Map.of("PCUSTNO", BigDecimal.ONE))));
+
+        // When
+        cust001.run(store, exit);
+
+        // Then
+        assertThat(exit.getTranscript()).hasSize(1);
+        assertThatThrownBy(() -> cust001.run(store, endless))
+                .isInstanceOf(RpgRuntimeException.class)
+                .hasMessageContaining("script exhausted");
+    }
+
+    @Test
+    @DisplayName("Should reproduce the hand-written expected results of the equivalence suite")
+    void shouldReproduceEquivalenceTestCases() {
+        // Given
+        InquiryOracle oracle = new InquiryOracle(cust001, store);
+
+        // When / Then
+        assertThat(oracle.expectedRow("POSITIVE_1001", 1001)).isEqualTo(
+                "POSITIVE_1001,1001,ACME Corporation,123 Main Street,Springfield,IL,62701,217-555-0100,"
+                        + "1500.50,10000.00,20251201,200");
+        assertThat(oracle.expectedRow("POSITIVE_1003", 1003)).isEqualTo(
+                "POSITIVE_1003,1003,Tech Solutions LLC,789 Elm Boulevard,Naperville,IL,60540,630-555-0300,"
+                        + "500.25,5000.00,20251220,200");
+        assertThat(oracle.expectedRow("NEGATIVE_NOT_FOUND", 9999)).isEqualTo("NEGATIVE_NOT_FOUND,9999,,,,,,,,,,404");
+        assertThat(oracle.expectedRow("NEGATIVE_ZERO", 0)).isEqualTo("NEGATIVE_ZERO,0,,,,,,,,,,400");
+    }
+
+    @Test
+    @DisplayName("Should write one ordered row per customer number in parallel")
+    void shouldWriteOracleFile() throws IOException {
+        // Given
+        Path output = directory.resolve("expected.csv");
+
+        // When
+        long rows = new InquiryOracle(cust001, store).write(output, "ORACLE_", 0, 25_000, 4);
+
+        // Then
+        List<String> lines = Files.readAllLines(output);
+        assertThat(rows).isEqualTo(25_001);
+        assertThat(lines).hasSize(25_002);
+        assertThat(lines.get(0)).isEqualTo(InquiryOracle.HEADER);
+        assertThat(lines.get(1)).isEqualTo("ORACLE_0,0,,,,,,,,,,400");
+        assertThat(lines.get(1003)).startsWith("ORACLE_1002,1002,Global Industries Inc,").endsWith(",200");
+        assertThat(lines.get(25_001)).isEqualTo("ORACLE_25000,25000,,,,,,,,,,404");
+        assertThat(lines.stream().filter(line -> line.endsWith(",200"))).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should run DOU, ITER, LEAVE, SETON and conditioned calculations")
+    void shouldRunStructuredOperations() throws IOException {
+        // Given
+        SourceLibrary library = library(
+                "     D Count           S              5P 0",
+                "     D Total           S              7P 0",
+                "     C                   DoU       Count >= 10",
+                "     C                   Eval      Count = Count + 1",
+                "     C                   If        Count = 3",
+                "     C                   Iter",
+                "     C                   EndIf",
+                "     C                   If        Count = 8",
+                "     C                   Leave",
+                "     C                   EndIf",
+                "     C                   Eval      Total = Total + Count",
+                "     C                   EndDo",
+                "     C                   SetOn                                        50",
+                "     C   50              Eval      RESULT = Total * 2",
+                "     C  N50              Eval      RESULT = -1",
+                "     C                   ExFmt     SHOW",
+                "     C                   Eval      *INLR = *On");
+        CompiledProgram program = ProgramCompiler.compile(library, "TEST01");
+        ScriptedDisplay display = new ScriptedDisplay(List.of(Response.enter(Map.of())));
+
+        // When
+        program.run(new InMemoryRecordStore(), display);
+
+        // Then
+        // 1 + 2 + 4 + 5 + 6 + 7 = 25, doubled
+        assertThat(display.getTranscript().get(0).field("RESULT")).isEqualTo(new BigDecimal("50"));
+        assertThat(display.getTranscript().get(0).indicator(50)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject operations outside the supported subset")
+    void shouldRejectUnsupportedOperations() throws IOException {
+        // Given
+        SourceLibrary library = library(
+                "     C                   Read      SHOW",
+                "     C                   Eval      *INLR = *On");
+
+        // When / Then
+        assertThatThrownBy(() -> ProgramCompiler.compile(library, "TEST01"))
+                .isInstanceOf(RpgCompileException.class)
+                .hasMessageContaining("line 3")
+                .hasMessageContaining("READ is not supported");
+    }
+
+    private SourceLibrary library(String... calculations) throws IOException {
+        Path programs = Files.createDirectories(directory.resolve("programs"));
+        Path displays = Files.createDirectories(directory.resolve("dds/display-files"));
+        Files.writeString(displays.resolve("TESTDSP.dds"), String.join("\n",
+                "     A                                      CA03(03 'Exit')",
+                "     A          R SHOW",
+                "     A            RESULT         7Y 0O  1  2",
+                ""));
+        StringBuilder source = new StringBuilder("      * Test program\n     FTESTDSP   CF   E             WORKSTN\n");
+        for (String line : calculations) {
+            source.append(line).append('\n');
+        }
+        Files.writeString(programs.resolve("TEST01.rpgle"), source.toString());
+        return SourceLibrary.scan(directory);
+    }
+
+    private static Map<String, Object> customer(int number, String name, String address, String city, String zip,
+                                                String phone, String balance, String creditLimit, int lastOrder) {
+        return Map.of(
+                "CUSTNO", BigDecimal.valueOf(number),
+                "CUSTNAME", name,
+                "ADDR1", address,
+                "CITY", city,
+                "STATE", "IL",
+                "ZIP", new BigDecimal(zip),
+                "PHONE", phone,
+                "BALANCE", new BigDecimal(balance),
+                "CREDITLIM", new BigDecimal(creditLimit),
+                "LASTORDER", BigDecimal.valueOf(lastOrder));
+    }
+}
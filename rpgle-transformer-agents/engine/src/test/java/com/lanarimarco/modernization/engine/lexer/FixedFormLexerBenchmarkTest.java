@@ -0,0 +1,84 @@
+package com.lanarimarco.modernization.engine.lexer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark: lexing throughput over a memory-mapped member
+ *
+ * The member is CUST001-style F/D/C specs and comments repeated to one million lines.
+ *
+ * Not part of the regular build. Run with:
+ *   mvn test -Dtest=FixedFormLexerBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Fixed-Form Lexer Benchmark")
+class FixedFormLexerBenchmarkTest {
+
+    private static final int LINES = 1_000_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    private static final List<String> BLOCK = List.of(
+            "      * Read customer master",
+            "     FCUSTMAST  IF   E           K DISK",
+            "     D Count           S              5P 0 INZ(0)",
+            "     C     PCUSTNO       Chain     CUSTMAST",
+            "     C                   If        %Found(CUSTMAST)",
+            "     C                   Eval      DCUSTNAME = CUSTNAME",
+            "     C                   EndIf",
+            "");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Measure lines per second for a full lex and for single-line edits")
+    void benchmarkLexer() throws IOException {
+        Path file = directory.resolve("BENCH.rpgle");
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            for (int line = 0; line < LINES; line++) {
+                writer.write(BLOCK.get(line % BLOCK.size()));
+                writer.write('\n');
+            }
+        }
+
+        LexedSource lexed = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            lexed = LexedSource.lex(file, Dialect.RPG);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            lexed = LexedSource.lex(file, Dialect.RPG);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9 / MEASURED_ITERATIONS;
+
+        String editedLine = "     C                   Eval      DCUSTNO = CUSTNO";
+        EditResult edit = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            edit = lexed.edit(LINES / 2, LINES / 2 + 1, editedLine);
+        }
+        long editStart = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            edit = lexed.edit(LINES / 2, LINES / 2 + 1, editedLine);
+        }
+        double editMillis = (System.nanoTime() - editStart) / 1e6 / MEASURED_ITERATIONS;
+
+        System.out.printf("Full lex:    %,d lines, %,d tokens, %.1f ms (%,.0f lines/s)%n",
+                LINES, lexed.getTokens().size(), seconds * 1000, LINES / seconds);
+        System.out.printf("Single edit: %d line(s) re-lexed, %.1f ms (token arrays copied, not re-lexed)%n", edit.relexedLineCount(), editMillis);
+
+        assertThat(edit.relexedLineCount()).isEqualTo(1);
+        assertThat(lexed.getTokens().size()).isGreaterThan(LINES);
+    }
+}
@@ -0,0 +1,251 @@
+package com.lanarimarco.modernization.engine.lexer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the fixed-form lexer and incremental re-lexing
+ *
+ * Sample lines are taken from CUST001.rpgle, CUSTMAST.dds and CUSTDSP.dds
+ */
+@DisplayName("Lexed Source Tests")
+class LexedSourceTest {
+
+    private static final String CUST001 = String.join("\n",
+            "      * Program: CUST001 - Customer Inquiry",
+            "     FCUSTMAST  IF   E           K DISK",
+            "     FCUSTDSP   CF   E             WORKSTN",
+            "     D Count           S              5P 0 INZ(0)",
+            "     C                   DoW       *IN03 = *Off",
+            "     C     PCUSTNO       Chain     CUSTMAST",
+            "     C                   If        %Found(CUSTMAST)",
+            "     C                   Eval      DCUSTNO = CUSTNO",
+            "     C                   EndIf",
+            "     C                   EndDo",
+            "");
+
+    @Test
+    @DisplayName("Should tokenize F-specs by column")
+    void shouldTokenizeFileSpecs() {
+        // When
+        List<String> tokens = tokensOf(lex(CUST001, Dialect.RPG), 1);
+
+        // Then
+        assertThat(tokens).containsExactly(
+                "FORM_TYPE:F", "NAME:CUSTMAST", "FILE_TYPE:I", "FILE_DESIGNATION:F",
+                "FILE_FORMAT:E", "RECORD_ADDRESS_TYPE:K", "DEVICE:DISK");
+    }
+
+    @Test
+    @DisplayName("Should tokenize D-specs with keywords")
+    void shouldTokenizeDefinitionSpecs() {
+        // When
+        List<String> tokens = tokensOf(lex(CUST001, Dialect.RPG), 3);
+
+        // Then
+        assertThat(tokens).containsExactly(
+                "FORM_TYPE:D", "NAME:Count", "DEFINITION_TYPE:S", "LENGTH:5", "DATA_TYPE:P", "DECIMALS:0",
+                "KEYWORD:INZ", "KEYWORD_PARAMETERS:0");
+    }
+
+    @Test
+    @DisplayName("Should tokenize C-specs with factors and extended factor 2")
+    void shouldTokenizeCalculationSpecs() {
+        // When
+        LexedSource source = lex(CUST001, Dialect.RPG);
+
+        // Then
+        assertThat(tokensOf(source, 5)).containsExactly(
+                "FORM_TYPE:C", "FACTOR1:PCUSTNO", "OPCODE:Chain", "FACTOR2:CUSTMAST");
+        assertThat(tokensOf(source, 4)).containsExactly(
+                "FORM_TYPE:C", "OPCODE:DoW", "EXTENDED_FACTOR2:*IN03 = *Off");
+        assertThat(tokensOf(source, 6)).containsExactly(
+                "FORM_TYPE:C", "OPCODE:If", "EXTENDED_FACTOR2:%Found(CUSTMAST)");
+        assertThat(tokensOf(source, 0)).containsExactly("COMMENT:* Program: CUST001 - Customer Inquiry");
+    }
+
+    @Test
+    @DisplayName("Should split opcode extenders and resulting indicators")
+    void shouldTokenizeOpcodeExtenderAndIndicators() {
+        // Given
+        String line = "     C  N90PCUSTNO       CHAIN(N)  CUSTMAST                           99";
+
+        // When
+        List<String> tokens = tokensOf(lex(line, Dialect.RPG), 0);
+
+        // Then
+        assertThat(tokens).containsExactly(
+                "FORM_TYPE:C", "INDICATOR:N90", "FACTOR1:PCUSTNO", "OPCODE:CHAIN", "OPCODE_EXTENDER:N",
+                "FACTOR2:CUSTMAST", "INDICATOR:99");
+    }
+
+    @Test
+    @DisplayName("Should tokenize DDS fields, constants, indicators and keywords")
+    void shouldTokenizeDds() {
+        // Given
+        String dds = String.join("\n",
+                "     A*  Record Format: PROMPT",
+                "     A                                      CA03(03 'Exit')",
+                "     A          R PROMPT",
+                "     A                                  1  2'CUST001'",
+                "     A            PCUSTNO        5Y 0B  4 20EDTCDE(Z)",
+                "     A  90        PMSG          50A  O  5  9COLOR(RED)",
+                "     A            CUSTNO         5P 0       COLHDG('Customer' 'Number')",
+                "     A          K CUSTNO");
+
+        // When
+        LexedSource source = lex(dds, Dialect.DDS);
+
+        // Then
+        assertThat(tokensOf(source, 0)).containsExactly("COMMENT:*  Record Format: PROMPT");
+        assertThat(tokensOf(source, 1)).containsExactly(
+                "FORM_TYPE:A", "KEYWORD:CA03", "KEYWORD_PARAMETERS:03 'Exit'");
+        assertThat(tokensOf(source, 2)).containsExactly("FORM_TYPE:A", "NAME_TYPE:R", "NAME:PROMPT");
+        assertThat(tokensOf(source, 3)).containsExactly(
+                "FORM_TYPE:A", "LINE:1", "POSITION:2", "CONSTANT:CUST001");
+        assertThat(tokensOf(source, 4)).containsExactly(
+                "FORM_TYPE:A", "NAME:PCUSTNO", "LENGTH:5", "DATA_TYPE:Y", "DECIMALS:0", "USAGE:B",
+                "LINE:4", "POSITION:20", "KEYWORD:EDTCDE", "KEYWORD_PARAMETERS:Z");
+        assertThat(tokensOf(source, 5)).containsExactly(
+                "FORM_TYPE:A", "INDICATOR:90", "NAME:PMSG", "LENGTH:50", "DATA_TYPE:A", "USAGE:O",
+                "LINE:5", "POSITION:9", "KEYWORD:COLOR", "KEYWORD_PARAMETERS:RED");
+        assertThat(tokensOf(source, 6)).contains("KEYWORD:COLHDG", "KEYWORD_PARAMETERS:'Customer' 'Number'");
+        assertThat(tokensOf(source, 7)).containsExactly("FORM_TYPE:A", "NAME_TYPE:K", "NAME:CUSTNO");
+    }
+
+    @Test
+    @DisplayName("Should switch modes for /FREE blocks, **FREE and compile-time data")
+    void shouldTrackFreeFormModes() {
+        // Given
+        String mixed = String.join("\n",
+                "      /FREE",
+                "         chain pcustno custmast; // read customer",
+                "      /END-FREE",
+                "     C                   Iter",
+                "**CTDATA MESSAGES",
+                "Customer not found");
+        String fullyFree = String.join("\n",
+                "**FREE",
+                "dcl-f CUSTMAST keyed;",
+                "// main loop",
+                "/copy QRPGLESRC,CUSTPR");
+
+        // When
+        LexedSource mixedSource = lex(mixed, Dialect.RPG);
+        LexedSource freeSource = lex(fullyFree, Dialect.RPG);
+
+        // Then
+        assertThat(tokensOf(mixedSource, 0)).containsExactly("DIRECTIVE:/FREE");
+        assertThat(tokensOf(mixedSource, 1)).containsExactly("FREE_FORM:chain pcustno custmast; // read customer");
+        assertThat(tokensOf(mixedSource, 2)).containsExactly("DIRECTIVE:/END-FREE");
+        assertThat(tokensOf(mixedSource, 3)).containsExactly("FORM_TYPE:C", "OPCODE:Iter");
+        assertThat(tokensOf(mixedSource, 4)).containsExactly("DIRECTIVE:**CTDATA MESSAGES");
+        assertThat(tokensOf(mixedSource, 5)).containsExactly("DATA:Customer not found");
+        assertThat(tokensOf(freeSource, 1)).containsExactly("FREE_FORM:dcl-f CUSTMAST keyed;");
+        assertThat(tokensOf(freeSource, 2)).containsExactly("COMMENT:// main loop");
+        assertThat(tokensOf(freeSource, 3)).containsExactly("DIRECTIVE:/copy QRPGLESRC,CUSTPR");
+    }
+
+    @Test
+    @DisplayName("Should give the same tokens for a memory-mapped file with CRLF line ends")
+    void shouldLexMemoryMappedFile(@TempDir Path directory) throws Exception {
+        // Given
+        Path file = directory.resolve("CUST001.rpgle");
+        Files.writeString(file, CUST001.replace("\n", "\r\n"));
+
+        // When
+        LexedSource mapped = LexedSource.lex(file, Dialect.RPG);
+
+        // Then
+        assertThat(allTokens(mapped)).isEqualTo(allTokens(lex(CUST001, Dialect.RPG)));
+    }
+
+    @Test
+    @DisplayName("Should re-lex only the edited line")
+    void shouldRelexOnlyEditedLine() {
+        // Given
+        LexedSource source = lex(CUST001, Dialect.RPG);
+
+        // When
+        EditResult result = source.edit(5, 6, "     C     PCUSTNO       Chain(N)  CUSTMAST");
+
+        // Then
+        assertThat(result.fromLine()).isEqualTo(5);
+        assertThat(result.relexedLineCount()).isEqualTo(1);
+        assertThat(tokensOf(result.source(), 5)).contains("OPCODE:Chain", "OPCODE_EXTENDER:N");
+        assertThat(allTokens(result.source())).isEqualTo(allTokens(relexed(result.source())));
+        assertThat(tokensOf(source, 5)).doesNotContain("OPCODE_EXTENDER:N");
+    }
+
+    @Test
+    @DisplayName("Should shift following tokens when lines are inserted or deleted")
+    void shouldShiftTokensAfterInsertAndDelete() {
+        // Given
+        LexedSource source = lex(CUST001, Dialect.RPG);
+
+        // When
+        EditResult inserted = source.edit(3, 3, "     D Total           S              9P 2\n     D Flag            S               N\n");
+        EditResult deleted = inserted.source().edit(0, 1, "");
+
+        // Then
+        assertThat(inserted.relexedLineCount()).isEqualTo(2);
+        assertThat(tokensOf(inserted.source(), 7)).containsExactly(
+                "FORM_TYPE:C", "FACTOR1:PCUSTNO", "OPCODE:Chain", "FACTOR2:CUSTMAST");
+        assertThat(allTokens(inserted.source())).isEqualTo(allTokens(relexed(inserted.source())));
+        assertThat(allTokens(deleted.source())).isEqualTo(allTokens(relexed(deleted.source())));
+    }
+
+    @Test
+    @DisplayName("Should re-lex until the lexer state converges after inserting /FREE")
+    void shouldRelexUntilStateConverges() {
+        // Given
+        String withFreeBlock = CUST001.replace("     C                   EndIf\n",
+                "     C                   EndIf\n      /END-FREE\n");
+        LexedSource source = lex(withFreeBlock, Dialect.RPG);
+
+        // When: a /FREE line before the If turns the following C-specs into free-form lines
+        EditResult result = source.edit(6, 6, "      /FREE");
+
+        // Then: re-lexing stops after /END-FREE (line 10)
+        assertThat(result.fromLine()).isEqualTo(6);
+        assertThat(result.toLine()).isEqualTo(11);
+        assertThat(tokensOf(result.source(), 7)).containsExactly(
+                "FREE_FORM:If        %Found(CUSTMAST)");
+        assertThat(allTokens(result.source())).isEqualTo(allTokens(relexed(result.source())));
+    }
+
+    private static LexedSource lex(String text, Dialect dialect) {
+        return LexedSource.lex(SourceText.of(text), dialect);
+    }
+
+    private static LexedSource relexed(LexedSource source) {
+        return LexedSource.lex(source.getSource(), source.getDialect());
+    }
+
+    private static List<String> tokensOf(LexedSource source, int line) {
+        TokenStream tokens = source.getTokens();
+        List<String> result = new ArrayList<>();
+        for (int token = tokens.lineStart(line); token < tokens.lineEnd(line); token++) {
+            result.add(tokens.type(token) + ":" + tokens.text(token));
+        }
+        return result;
+    }
+
+    private static List<String> allTokens(LexedSource source) {
+        TokenStream tokens = source.getTokens();
+        List<String> result = new ArrayList<>();
+        for (int token = 0; token < tokens.size(); token++) {
+            result.add(tokens.line(token) + "@" + tokens.column(token) + " " + tokens.type(token)
+                    + ":" + tokens.text(token));
+        }
+        return result;
+    }
+}
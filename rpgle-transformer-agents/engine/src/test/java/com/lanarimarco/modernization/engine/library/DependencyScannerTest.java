@@ -0,0 +1,78 @@
+package com.lanarimarco.modernization.engine.library;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for DependencyScanner against fixed-form and free-form RPGLE and DDS
+ */
+@DisplayName("Dependency Scanner Tests")
+class DependencyScannerTest {
+
+    @Test
+    @DisplayName("Should find the files, copybooks and programs a program uses")
+    void shouldScanProgramReferences() {
+        // Given: CUST001-style fixed-form F-specs, a /COPY and a CALL
+        String source = String.join("\n",
+                "     FCUSTMAST  IF   E           K DISK",
+                "     FCUSTDSP   CF   E             WORKSTN",
+                "      /COPY QRPGLESRC,CUSTPR",
+                "     C                   CALL      'CUST002'",
+                "     C*                  CALL      'OLDPGM'",
+                "       dcl-f ORDHDR keyed;",
+                "       // callp OLDPGM2();");
+
+        // When
+        var references = DependencyScanner.scan(MemberType.PROGRAM, source.getBytes(StandardCharsets.UTF_8));
+
+        // Then: commented-out lines are ignored
+        assertThat(references).containsExactlyInAnyOrder("CUSTMAST", "CUSTDSP", "CUSTPR", "CUST002", "ORDHDR");
+    }
+
+    @Test
+    @DisplayName("Should find the physical file a logical file is built over")
+    void shouldScanLogicalFileReferences() {
+        // Given
+        String source = String.join("\n",
+                "     A          R CUSTL1R                   PFILE(CUSTMAST)",
+                "     A            CUSTNO    R               REFFLD(CUSTNO CUSTREF)",
+                "     A*         R IGNORED                   PFILE(OLDFILE)");
+
+        // When
+        var references = DependencyScanner.scan(MemberType.LOGICAL_FILE, source.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(references).containsExactlyInAnyOrder("CUSTMAST", "CUSTREF");
+    }
+
+    @Test
+    @DisplayName("Should order programs after the programs they call and include file changes in fingerprints")
+    void shouldBuildDependencyGraph(@TempDir Path root) throws Exception {
+        // Given: CUST001 calls CUST002, both read CUSTMAST
+        Files.createDirectories(root.resolve("programs"));
+        Files.createDirectories(root.resolve("dds/physical-files"));
+        Files.writeString(root.resolve("programs/CUST001.rpgle"),
+                "     FCUSTMAST  IF   E           K DISK\n     C                   CALL      'CUST002'\n");
+        Files.writeString(root.resolve("programs/CUST002.rpgle"), "     FCUSTMAST  IF   E           K DISK\n");
+        Files.writeString(root.resolve("dds/physical-files/CUSTMAST.dds"), "     A          R CUSTREC\n");
+
+        // When
+        DependencyGraph graph = DependencyGraph.build(SourceLibrary.scan(root));
+        String fingerprint = graph.getFingerprint("CUST001");
+        Files.writeString(root.resolve("dds/physical-files/CUSTMAST.dds"), "     A          R CUSTREC2\n");
+        DependencyGraph changed = DependencyGraph.build(SourceLibrary.scan(root));
+
+        // Then
+        assertThat(graph.getProgramsInDependencyOrder()).extracting(SourceMember::name)
+                .containsExactly("CUST002", "CUST001");
+        assertThat(graph.getCalledPrograms("CUST001")).containsExactly("CUST002");
+        assertThat(changed.getFingerprint("CUST001")).isNotEqualTo(fingerprint);
+    }
+}
@@ -0,0 +1,271 @@
+package com.lanarimarco.modernization.engine.pipeline;
+
+import com.lanarimarco.modernization.engine.library.DependencyGraph;
+import com.lanarimarco.modernization.engine.library.SourceLibrary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for ConversionOrchestrator scheduling and incremental re-runs
+ *
+ * A recording executor stands in for the workspace executor; the library is
+ * CUST001 calling CUST002, plus an independent CUST003, all over CUSTMAST.
+ */
+@DisplayName("Conversion Orchestrator Tests")
+class ConversionOrchestratorTest {
+
+    private static final int TASKS_PER_PROGRAM = Phase.values().length;
+
+    @TempDir
+    Path root;
+
+    private RecordingExecutor executor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(root.resolve("programs"));
+        Files.createDirectories(root.resolve("dds/physical-files"));
+        writeProgram("CUST001", "     FCUSTMAST  IF   E           K DISK\n     C                   CALL      'CUST002'\n");
+        writeProgram("CUST002", "     FCUSTMAST  IF   E           K DISK\n");
+        writeProgram("CUST003", "     FCUSTMAST  IF   E           K DISK\n");
+        Files.writeString(root.resolve("dds/physical-files/CUSTMAST.dds"), "     A          R CUSTREC\n");
+        executor = new RecordingExecutor();
+    }
+
+    @Test
+    @DisplayName("Should run every phase once, in order, and callees' conversion before callers'")
+    void shouldRunAllTasksInDependencyOrder() {
+        // When
+        ConversionReport report = run(false);
+
+        // Then
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(report.countByOutcome().get(TaskOutcome.EXECUTED)).isEqualTo(3L * TASKS_PER_PROGRAM);
+        for (String program : List.of("CUST001", "CUST002", "CUST003")) {
+            List<Phase> phases = executor.executed.stream()
+                    .filter(task -> task.program().name().equals(program))
+                    .map(PhaseTask::phase)
+                    .toList();
+            assertThat(phases).containsExactly(Phase.values());
+        }
+        assertThat(executor.indexOf("CUST002", Phase.CONVERSION))
+                .isLessThan(executor.indexOf("CUST001", Phase.CONVERSION));
+    }
+
+    @Test
+    @DisplayName("Should run tasks of independent programs concurrently")
+    void shouldRunInParallel() {
+        // When
+        run(false);
+
+        // Then
+        assertThat(executor.maxConcurrent.get()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Should skip everything on a second run with unchanged sources")
+    void shouldSkipUnchangedTasks() {
+        // Given
+        run(false);
+        executor.executed.clear();
+
+        // When
+        ConversionReport report = run(false);
+
+        // Then
+        assertThat(executor.executed).isEmpty();
+        assertThat(report.countByOutcome().get(TaskOutcome.CACHED)).isEqualTo(3L * TASKS_PER_PROGRAM);
+    }
+
+    @Test
+    @DisplayName("Should re-run a changed callee and its callers from conversion onwards")
+    void shouldRerunChangedProgramAndCallers() throws IOException {
+        // Given
+        run(false);
+        executor.executed.clear();
+        writeProgram("CUST002", "     FCUSTMAST  IF   E           K DISK\n     C                   EVAL      X = 1\n");
+
+        // When
+        run(false);
+
+        // Then: CUST002 re-runs completely, CUST001 only from conversion, CUST003 not at all
+        assertThat(executor.executed).filteredOn(task -> task.program().name().equals("CUST002"))
+                .hasSize(TASKS_PER_PROGRAM);
+        assertThat(executor.executed).filteredOn(task -> task.program().name().equals("CUST001"))
+                .extracting(PhaseTask::phase)
+                .containsExactly(Phase.CONVERSION, Phase.UI, Phase.TESTING, Phase.REVIEW, Phase.INTEGRATION);
+        assertThat(executor.executed).noneMatch(task -> task.program().name().equals("CUST003"));
+    }
+
+    @Test
+    @DisplayName("Should re-run every program using a changed file")
+    void shouldRerunProgramsUsingChangedFile() throws IOException {
+        // Given
+        run(false);
+        executor.executed.clear();
+        Files.writeString(root.resolve("dds/physical-files/CUSTMAST.dds"), "     A          R CUSTREC2\n");
+
+        // When
+        run(false);
+
+        // Then
+        assertThat(executor.executed).hasSize(3 * TASKS_PER_PROGRAM);
+    }
+
+    @Test
+    @DisplayName("Should block dependants of a failed task and retry it on the next run")
+    void shouldBlockDependantsOfFailedTask() {
+        // Given
+        executor.failing.add("CUST002/03-conversion");
+
+        // When
+        ConversionReport report = run(false);
+
+        // Then
+        assertThat(report.isSuccessful()).isFalse();
+        assertThat(report.failures()).extracting(result -> result.task().getKey())
+                .containsExactly("CUST002/03-conversion");
+        assertThat(outcomeOf(report, "CUST001/03-conversion")).isEqualTo(TaskOutcome.BLOCKED);
+        assertThat(outcomeOf(report, "CUST002/04-ui")).isEqualTo(TaskOutcome.BLOCKED);
+        assertThat(outcomeOf(report, "CUST001/02-database")).isEqualTo(TaskOutcome.EXECUTED);
+        assertThat(outcomeOf(report, "CUST003/07-integration")).isEqualTo(TaskOutcome.EXECUTED);
+
+        // When: the failure is fixed
+        executor.failing.clear();
+        executor.executed.clear();
+        ConversionReport retry = run(false);
+
+        // Then: only the failed and blocked tasks run
+        assertThat(retry.isSuccessful()).isTrue();
+        assertThat(executor.executed).hasSize(2 * (TASKS_PER_PROGRAM - Phase.CONVERSION.ordinal()));
+    }
+
+    @Test
+    @DisplayName("Should run everything again when forced")
+    void shouldRunEverythingWhenForced() {
+        // Given
+        run(false);
+        executor.executed.clear();
+
+        // When
+        run(true);
+
+        // Then
+        assertThat(executor.executed).hasSize(3 * TASKS_PER_PROGRAM);
+    }
+
+    @Test
+    @DisplayName("Should report programs outside the filter as skipped, not cached")
+    void shouldReportFilteredProgramsAsSkipped() {
+        // When
+        ConversionReport report = orchestrator(new ResultCache(root.resolve(".cache")), false)
+                .run(program -> program.name().equals("CUST001"));
+
+        // Then: CUST001 still runs after its callee, which was never converted
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(executor.executed).allMatch(task -> task.program().name().equals("CUST001"))
+                .hasSize(TASKS_PER_PROGRAM);
+        assertThat(report.countByOutcome().get(TaskOutcome.EXECUTED)).isEqualTo(TASKS_PER_PROGRAM);
+        assertThat(report.countByOutcome().get(TaskOutcome.SKIPPED)).isEqualTo(2L * TASKS_PER_PROGRAM);
+        assertThat(report.countByOutcome().get(TaskOutcome.CACHED)).isZero();
+        assertThat(outcomeOf(report, "CUST002/03-conversion")).isEqualTo(TaskOutcome.SKIPPED);
+    }
+
+    @Test
+    @DisplayName("Should record a cache invalidation failure against the failed task and finish the run")
+    void shouldReportInvalidationFailure() {
+        // Given
+        executor.failing.add("CUST002/03-conversion");
+        ResultCache cache = new ResultCache(root.resolve(".cache")) {
+            @Override
+            public void invalidate(PhaseTask task) {
+                throw new UncheckedIOException(new IOException("cache directory is read-only"));
+            }
+        };
+
+        // When
+        ConversionReport report = orchestrator(cache, false).run();
+
+        // Then
+        assertThat(report.failures()).singleElement().satisfies(failure -> {
+            assertThat(failure.task().getKey()).isEqualTo("CUST002/03-conversion");
+            assertThat(failure.error()).startsWith("IllegalStateException: conversion failed")
+                    .contains("cache entry not invalidated")
+                    .contains("cache directory is read-only");
+        });
+        assertThat(outcomeOf(report, "CUST001/03-conversion")).isEqualTo(TaskOutcome.BLOCKED);
+        assertThat(outcomeOf(report, "CUST003/07-integration")).isEqualTo(TaskOutcome.EXECUTED);
+    }
+
+    private ConversionReport run(boolean force) {
+        return orchestrator(new ResultCache(root.resolve(".cache")), force).run();
+    }
+
+    private ConversionOrchestrator orchestrator(ResultCache cache, boolean force) {
+        DependencyGraph graph = DependencyGraph.build(SourceLibrary.scan(root));
+        return new ConversionOrchestrator(graph, executor, cache, 4, force);
+    }
+
+    private TaskOutcome outcomeOf(ConversionReport report, String key) {
+        return report.results().stream()
+                .filter(result -> result.task().getKey().equals(key))
+                .findFirst()
+                .orElseThrow()
+                .outcome();
+    }
+
+    private void writeProgram(String name, String source) throws IOException {
+        Files.writeString(root.resolve("programs").resolve(name + ".rpgle"), source);
+    }
+
+    private static class RecordingExecutor implements PhaseExecutor {
+
+        private final List<PhaseTask> executed = new CopyOnWriteArrayList<>();
+        private final Set<String> failing = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+        @Override
+        public String version(Phase phase) {
+            return "1";
+        }
+
+        @Override
+        public void execute(PhaseTask task) throws Exception {
+            maxConcurrent.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                executed.add(task);
+                if (failing.contains(task.getKey())) {
+                    throw new IllegalStateException("conversion failed");
+                }
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        private int indexOf(String program, Phase phase) {
+            for (int i = 0; i < executed.size(); i++) {
+                PhaseTask task = executed.get(i);
+                if (task.program().name().equals(program) && task.phase() == phase) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
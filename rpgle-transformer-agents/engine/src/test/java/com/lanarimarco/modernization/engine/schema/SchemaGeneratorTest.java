@@ -0,0 +1,226 @@
+package com.lanarimarco.modernization.engine.schema;
+
+import com.lanarimarco.modernization.engine.library.SourceLibrary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for SchemaGenerator: DDS physical files to Flyway DDL and JPA entities
+ *
+ * CUSTMAST is the real CUSTMAST.dds; ORDHDR and ORDLIN reference it and each other.
+ */
+@DisplayName("Schema Generator Tests")
+class SchemaGeneratorTest {
+
+    private static final String CUSTMAST = String.join("\n",
+            "     A          R CUSTREC",
+            "     A            CUSTNO         5P 0       COLHDG('Customer' 'Number')",
+            "     A                                      TEXT('Customer Number')",
+            "     A            CUSTNAME      30A         COLHDG('Customer' 'Name')",
+            "     A                                      TEXT('Customer Name')",
+            "     A            STATE          2A         COLHDG('State')",
+            "     A                                      TEXT('State Code')",
+            "     A            BALANCE        9P 2       COLHDG('Account' 'Balance')",
+            "     A                                      TEXT('Account Balance')",
+            "     A            LASTORDER      8P 0       COLHDG('Last' 'Order Date')",
+            "     A          K CUSTNO",
+            "");
+
+    private static final String ORDHDR = String.join("\n",
+            "     A                                      UNIQUE",
+            "     A                                      REF(CUSTMAST)",
+            "     A          R ORDHDRR                   TEXT('Order Header')",
+            "     A            ORDNO         10S 0       TEXT('Order Number')",
+            "     A            CUSTNO    R",
+            "     A            ORDDATE         L         TEXT('Order Date')",
+            "     A            ORDTOTAL  R               REFFLD(BALANCE CUSTMAST)",
+            "     A                                      TEXT('Order Total')",
+            "     A            NOTES        200A         VARLEN TEXT('Notes')",
+            "     A          K ORDNO",
+            "");
+
+    private static final String ORDLIN = String.join("\n",
+            "     A                                      UNIQUE",
+            "     A          R ORDLINR",
+            "     A            ORDNO     R               REFFLD(ORDNO ORDHDR)",
+            "     A            LINENO         3P 0       TEXT('Line Number')",
+            "     A            QTY            7P 3       TEXT('Quantity')",
+            "     A          K ORDNO",
+            "     A          K LINENO",
+            "");
+
+    @TempDir
+    Path root;
+
+    private Path physicalFiles;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        physicalFiles = Files.createDirectories(root.resolve("source-rpgle/dds/physical-files"));
+        writeDds("CUSTMAST", CUSTMAST);
+    }
+
+    @Test
+    @DisplayName("Should generate CUSTMAST migration and Customer entity following type-mappings.md")
+    void shouldGenerateMigrationAndEntity() throws IOException {
+        // When
+        SchemaGenerationReport report = generator().generate(false);
+
+        // Then
+        assertThat(report.generated()).containsExactly("CUSTMAST");
+        String ddl = migration("V1__create_custmast.sql");
+        assertThat(ddl).contains(
+                "CREATE TABLE CUSTMAST (",
+                "    -- CUSTNO (5P 0) - Customer Number\n    CUSTNO INTEGER NOT NULL,",
+                "    CUSTNAME VARCHAR(30),",
+                "    STATE CHAR(2),",
+                "    BALANCE DECIMAL(9,2),",
+                "    -- LASTORDER (8P 0) - Last Order Date\n    LASTORDER INTEGER,",
+                "    PRIMARY KEY (CUSTNO)\n);");
+
+        String entity = entity("Customer");
+        assertThat(entity).contains(
+                "@Table(name = \"CUSTMAST\")",
+                "public class Customer implements Serializable {",
+                "    @Id\n    @Column(name = \"CUSTNO\", precision = 5, scale = 0, nullable = false)\n"
+                        + "    @EqualsAndHashCode.Include\n    private Integer customerNumber;",
+                "    @Column(name = \"STATE\", length = 2)\n    private String state;",
+                "    @Column(name = \"BALANCE\", precision = 9, scale = 2)\n    private BigDecimal balance;",
+                "import java.math.BigDecimal;");
+    }
+
+    @Test
+    @DisplayName("Should resolve REF and REFFLD fields and generate an @EmbeddedId for composite keys")
+    void shouldResolveReferencesAndCompositeKeys() throws IOException {
+        // Given
+        writeDds("ORDHDR", ORDHDR);
+        writeDds("ORDLIN", ORDLIN);
+
+        // When
+        SchemaGenerationReport report = generator().generate(false);
+
+        // Then
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(report.generated()).containsExactly("CUSTMAST", "ORDHDR", "ORDLIN");
+        assertThat(migration("V2__create_ordhdr.sql")).contains(
+                "    ORDNO BIGINT NOT NULL,",
+                "    -- CUSTNO (5P 0) - Customer Number\n    CUSTNO INTEGER,",
+                "    ORDDATE DATE,",
+                "    -- ORDTOTAL (9P 2) - Order Total\n    ORDTOTAL DECIMAL(9,2),",
+                "    NOTES VARCHAR(200),")
+                .doesNotContain("not UNIQUE");
+        assertThat(entity("Ordhdr")).contains("private LocalDate orderDate;", "import java.time.LocalDate;");
+        assertThat(migration("V3__create_ordlin.sql")).contains(
+                "    ORDNO BIGINT NOT NULL,", "    QTY DECIMAL(7,3)", "PRIMARY KEY (ORDNO, LINENO)");
+        assertThat(entity("Ordlin")).contains("    @EmbeddedId\n    @EqualsAndHashCode.Include\n    private OrdlinId id;")
+                .doesNotContain("private Long orderNumber;");
+        assertThat(entity("OrdlinId")).contains("@Embeddable", "private Long orderNumber;", "private Integer lineNumber;");
+    }
+
+    @Test
+    @DisplayName("Should regenerate only files whose DDS or referenced DDS changed, keeping version numbers")
+    void shouldRegenerateOnlyChangedFiles() throws IOException {
+        // Given
+        writeDds("ORDHDR", ORDHDR);
+        writeDds("ORDLIN", ORDLIN);
+        generator().generate(false);
+
+        // When: nothing changed
+        SchemaGenerationReport unchanged = generator().generate(false);
+
+        // Then
+        assertThat(unchanged.generated()).isEmpty();
+        assertThat(unchanged.unchanged()).containsExactly("CUSTMAST", "ORDHDR", "ORDLIN");
+
+        // When: ORDLIN changes
+        writeDds("ORDLIN", ORDLIN.replace("7P 3", "9P 3"));
+        SchemaGenerationReport changed = generator().generate(false);
+
+        // Then
+        assertThat(changed.generated()).containsExactly("ORDLIN");
+        assertThat(migration("V3__create_ordlin.sql")).contains("QTY DECIMAL(9,3)");
+
+        // When: CUSTMAST changes; ORDHDR references it, ORDLIN references ORDHDR
+        writeDds("CUSTMAST", CUSTMAST.replace(" 9P 2", "11P 2"));
+        SchemaGenerationReport referenced = generator().generate(false);
+
+        // Then
+        assertThat(referenced.generated()).containsExactly("CUSTMAST", "ORDHDR", "ORDLIN");
+        assertThat(migration("V2__create_ordhdr.sql")).contains("ORDTOTAL DECIMAL(11,2)");
+    }
+
+    @Test
+    @DisplayName("Should give new files the next free version")
+    void shouldNumberNewFilesAfterExistingOnes() throws IOException {
+        // Given
+        writeDds("ORDLIN", ORDLIN.replace("REFFLD(ORDNO ORDHDR)", "REFFLD(CUSTNO CUSTMAST)"));
+        generator().generate(false);
+
+        // When: ORDHDR sorts before ORDLIN but is added later
+        writeDds("ORDHDR", ORDHDR);
+        generator().generate(false);
+
+        // Then
+        assertThat(migrationDirectory().resolve("V2__create_ordlin.sql")).exists();
+        assertThat(migrationDirectory().resolve("V3__create_ordhdr.sql")).exists();
+    }
+
+    @Test
+    @DisplayName("Should report unresolved references and keyless files without stopping the run")
+    void shouldReportFailuresAndWarnings() throws IOException {
+        // Given
+        writeDds("ORDLIN", ORDLIN.replace("REFFLD(ORDNO ORDHDR)", "REFFLD(ORDNO MISSING)"));
+        writeDds("AUDITLOG", "     A          R AUDITR\n     A            MSG           80A\n");
+
+        // When
+        SchemaGenerationReport report = generator().generate(false);
+
+        // Then
+        assertThat(report.generated()).containsExactly("AUDITLOG", "CUSTMAST");
+        assertThat(report.failed()).containsOnlyKeys("ORDLIN");
+        assertThat(report.failed().get("ORDLIN")).contains("MISSING");
+        assertThat(report.warnings()).containsExactly("AUDITLOG: no key fields (K), entity not generated");
+        assertThat(migration("V1__create_auditlog.sql")).doesNotContain("PRIMARY KEY");
+        assertThat(entityFile("Auditlog")).doesNotExist();
+    }
+
+    private SchemaGenerator generator() {
+        Properties names = new Properties();
+        names.setProperty("CUSTMAST", "Customer");
+        names.setProperty("CUSTMAST.BALANCE", "balance");
+        names.setProperty("CUSTMAST.STATE", "state");
+        names.setProperty("ORDLIN.ORDNO", "orderNumber");
+        return new SchemaGenerator(SourceLibrary.scan(root.resolve("source-rpgle")), migrationDirectory(),
+                root.resolve("java"), "com.example.entities", new SchemaNaming(names), new TypeMapper(2), 1,
+                root.resolve("schema-manifest.properties"));
+    }
+
+    private Path migrationDirectory() {
+        return root.resolve("db/migration");
+    }
+
+    private String migration(String fileName) throws IOException {
+        return Files.readString(migrationDirectory().resolve(fileName));
+    }
+
+    private Path entityFile(String className) {
+        return root.resolve("java/com/example/entities").resolve(className + ".java");
+    }
+
+    private String entity(String className) throws IOException {
+        return Files.readString(entityFile(className));
+    }
+
+    private void writeDds(String name, String source) throws IOException {
+        Files.writeString(physicalFiles.resolve(name + ".dds"), source);
+    }
+}
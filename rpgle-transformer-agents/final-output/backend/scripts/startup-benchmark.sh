@@ -0,0 +1,118 @@
+#!/bin/bash
+# Startup benchmark for the modernization backend
+# Measures time from process launch to the first successful GET /api/customers/{customerNumber}
+# for every build variant found in target/:
+#   jar      - executable fat jar (JIT, no AOT)           target/*-exec.jar or target/*.jar
+#   aot      - AOT-processed thin jar                     mvn -Pfast-start package
+#   aot-cds  - AOT thin jar + class-data-sharing archive  mvn -Pfast-start package
+#   native   - GraalVM native image                       mvn -Pnative native:compile
+#
+# Usage: ./startup-benchmark.sh [RUNS] [CUSTOMER_NUMBER]
+# Results: target/startup-benchmark/results.csv (one row per run) and a median summary on stdout
+
+RUNS=${1:-5}
+CUSTOMER_NUMBER=${2:-10001}
+PORT=${PORT:-18080}
+PROFILES=${PROFILES:-dev}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+BACKEND_DIR="$(dirname "$SCRIPT_DIR")"
+TARGET_DIR="$BACKEND_DIR/target"
+RESULTS_DIR="$TARGET_DIR/startup-benchmark"
+RESULTS_FILE="$RESULTS_DIR/results.csv"
+URL="http://localhost:$PORT/api/customers/$CUSTOMER_NUMBER"
+
+ARTIFACT="modernization-backend-1.0.0"
+APP_ARGS="--server.port=$PORT --spring.profiles.active=$PROFILES"
+
+mkdir -p "$RESULTS_DIR"
+echo "variant,run,millis" > "$RESULTS_FILE"
+
+# variant name -> launch command
+declare -A COMMANDS
+VARIANTS=()
+
+if [ -f "$TARGET_DIR/$ARTIFACT-exec.jar" ]; then
+    COMMANDS[jar]="java -jar $TARGET_DIR/$ARTIFACT-exec.jar $APP_ARGS"
+    VARIANTS+=(jar)
+elif [ -f "$TARGET_DIR/$ARTIFACT.jar" ] && [ ! -d "$TARGET_DIR/lib" ]; then
+    COMMANDS[jar]="java -jar $TARGET_DIR/$ARTIFACT.jar $APP_ARGS"
+    VARIANTS+=(jar)
+fi
+if [ -f "$TARGET_DIR/$ARTIFACT.jar" ] && [ -d "$TARGET_DIR/lib" ]; then
+    COMMANDS[aot]="java -Dspring.aot.enabled=true -jar $TARGET_DIR/$ARTIFACT.jar $APP_ARGS"
+    VARIANTS+=(aot)
+    if [ -f "$TARGET_DIR/modernization-backend.jsa" ]; then
+        COMMANDS[aot-cds]="java -Dspring.aot.enabled=true -XX:SharedArchiveFile=$TARGET_DIR/modernization-backend.jsa -Xlog:cds=off -jar $TARGET_DIR/$ARTIFACT.jar $APP_ARGS"
+        VARIANTS+=(aot-cds)
+    fi
+fi
+if [ -x "$TARGET_DIR/modernization-backend" ]; then
+    COMMANDS[native]="$TARGET_DIR/modernization-backend $APP_ARGS"
+    VARIANTS+=(native)
+fi
+
+if [ ${#VARIANTS[@]} -eq 0 ]; then
+    echo "No build found in $TARGET_DIR. Build first, e.g.: mvn -Pfast-start package -DskipTests"
+    exit 1
+fi
+
+now_millis() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Prints the time-to-first-successful-GET in ms, or nothing on timeout
+measure() {
+    local command=$1
+    local start deadline elapsed=""
+    start=$(now_millis)
+    deadline=$(( start + TIMEOUT_SECONDS * 1000 ))
+
+    $command > "$RESULTS_DIR/last-run.log" 2>&1 &
+    local app_pid=$!
+
+    while [ "$(now_millis)" -lt "$deadline" ]; do
+        if curl -sf -o /dev/null "$URL"; then
+            elapsed=$(( $(now_millis) - start ))
+            break
+        fi
+        if ! kill -0 "$app_pid" 2>/dev/null; then
+            break
+        fi
+        sleep 0.02
+    done
+
+    kill "$app_pid" 2>/dev/null
+    while kill -0 "$app_pid" 2>/dev/null; do
+        sleep 0.1
+    done
+    echo "$elapsed"
+}
+
+echo "========================================="
+echo "Startup benchmark: GET $URL"
+echo "Variants: ${VARIANTS[*]}, runs: $RUNS, profiles: $PROFILES"
+echo "========================================="
+
+for variant in "${VARIANTS[@]}"; do
+    for run in $(seq 1 "$RUNS"); do
+        millis=$(measure "${COMMANDS[$variant]}")
+        if [ -z "$millis" ]; then
+            echo "✗ $variant run $run: no successful GET (see $RESULTS_DIR/last-run.log)"
+            exit 1
+        fi
+        echo "$variant,$run,$millis" >> "$RESULTS_FILE"
+        echo "  $variant run $run: ${millis} ms"
+    done
+done
+
+echo ""
+echo "Median time to first successful GET:"
+for variant in "${VARIANTS[@]}"; do
+    median=$(grep "^$variant," "$RESULTS_FILE" | cut -d, -f3 | sort -n \
+        | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }')
+    printf "  %-8s %6s ms\n" "$variant" "$median"
+done
+echo ""
+echo "✓ Results written to $RESULTS_FILE"
@@ -0,0 +1,39 @@
+package com.lanarimarco.modernization.config;
+
+import com.lanarimarco.modernization.logging.AccessLogFilter;
+import com.lanarimarco.modernization.logging.AccessLogWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Access Log Configuration
+ *
+ * Registers the sampled, asynchronous access log for the /api endpoints.
+ * Replaces per-request INFO logging in controllers and services.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AccessLogWriter accessLogWriter(
+            @Value("${access-log.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${access-log.flush-interval-ms:100}") long flushIntervalMillis) {
+        return new AccessLogWriter(bufferCapacity, flushIntervalMillis);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(
+            AccessLogWriter accessLogWriter,
+            @Value("${access-log.success-sample-rate:0.01}") double successSampleRate) {
+        FilterRegistrationBean<AccessLogFilter> registration =
+                new FilterRegistrationBean<>(new AccessLogFilter(accessLogWriter, successSampleRate));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
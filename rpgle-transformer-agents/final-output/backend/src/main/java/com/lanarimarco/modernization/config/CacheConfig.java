@@ -0,0 +1,79 @@
+package com.lanarimarco.modernization.config;
+
+import com.lanarimarco.modernization.entities.Customer;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+/**
+ * Hibernate Second-Level Cache Configuration
+ *
+ * Caches the Customer entity and the CUSTMAST lookup queries in an in-process
+ * JCache (Ehcache 3) cache manager. Sizes and TTLs come from the active profile;
+ * the TTL bounds how long a change made outside this application (e.g. by RPG
+ * programs writing CUSTMAST directly) can stay invisible.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "customer.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+
+    public static final String CUSTOMER_ENTITY_REGION = Customer.class.getName();
+    public static final String CUSTOMER_QUERY_REGION = "customer-queries";
+
+    /** Must outlive every cached query result, so it never expires */
+    public static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+    public static final String DEFAULT_QUERY_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+
+    private static final long UPDATE_TIMESTAMPS_MAX_ENTRIES = 1_000;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${customer.cache.entity.max-entries:10000}") long entityMaxEntries,
+            @Value("${customer.cache.entity.ttl:10m}") Duration entityTtl,
+            @Value("${customer.cache.query.max-entries:10000}") long queryMaxEntries,
+            @Value("${customer.cache.query.ttl:5m}") Duration queryTtl) {
+        // own provider instance so separate application contexts never share cache managers
+        EhcacheCachingProvider provider = new EhcacheCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        createCache(cacheManager, CUSTOMER_ENTITY_REGION, entityMaxEntries, entityTtl);
+        createCache(cacheManager, CUSTOMER_QUERY_REGION, queryMaxEntries, queryTtl);
+        createCache(cacheManager, DEFAULT_QUERY_REGION, queryMaxEntries, queryTtl);
+        createCache(cacheManager, UPDATE_TIMESTAMPS_REGION, UPDATE_TIMESTAMPS_MAX_ENTRIES, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, long maxEntries, Duration ttl) {
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ttl != null
+                        ? ExpiryPolicyBuilder.timeToLiveExpiration(ttl)
+                        : ExpiryPolicyBuilder.noExpiration());
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(builder));
+    }
+}
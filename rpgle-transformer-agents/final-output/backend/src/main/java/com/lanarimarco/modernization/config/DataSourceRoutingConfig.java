@@ -0,0 +1,82 @@
+package com.lanarimarco.modernization.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/Write DataSource Routing Configuration
+ *
+ * Primary pool: spring.datasource.* (spring.datasource.hikari.*)
+ * Replica pool: datasource.replica.* (datasource.replica.hikari.*)
+ *
+ * Read-only work goes to the replica while ReplicaLagMonitor reports it usable,
+ * everything else to the primary. Disabled unless datasource.routing.enabled=true.
+ *
+ * With the second-level cache enabled (customer.cache.enabled, see CacheConfig),
+ * read-only JPA transactions stay on the primary: whatever they load is put in the
+ * cache, and a row read from the lagging replica right after a write would stay there
+ * for the cache TTL instead of at most max-lag. Only work that bypasses the cache
+ * (DataSourceRoutingContext.readOnly, e.g. the JDBC inquiry fast path) uses the replica.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${datasource.replica.lag-query:}") String lagQuery,
+            @Value("${datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${datasource.replica.lag-check-interval:2s}") Duration checkInterval) {
+        return new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLag, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            @Value("${customer.cache.enabled:true}") boolean cacheEnabled) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, !cacheEnabled));
+    }
+}
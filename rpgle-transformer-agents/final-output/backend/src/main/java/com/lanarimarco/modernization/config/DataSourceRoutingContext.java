@@ -0,0 +1,42 @@
+package com.lanarimarco.modernization.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks non-transactional JDBC work as read-only so ReadWriteRoutingDataSource
+ * may send it to the read replica
+ *
+ * Transactional work does not need this: @Transactional(readOnly = true) is
+ * detected from the transaction itself.
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {
+    }
+
+    /**
+     * Run the given work with read-only routing
+     *
+     * @param work the work; must only read
+     * @return the work's result
+     */
+    public static <T> T readOnly(Supplier<T> work) {
+        Boolean previous = READ_ONLY.get();
+        READ_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                READ_ONLY.remove();
+            } else {
+                READ_ONLY.set(previous);
+            }
+        }
+    }
+
+    public static boolean isReadOnly() {
+        return READ_ONLY.get() != null;
+    }
+}
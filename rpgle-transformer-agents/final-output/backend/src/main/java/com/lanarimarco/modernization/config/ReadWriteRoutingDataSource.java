@@ -0,0 +1,46 @@
+package com.lanarimarco.modernization.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes read-only work to the read replica and everything else to the primary
+ *
+ * Read-only means work wrapped in DataSourceRoutingContext.readOnly and, unless
+ * read-only transactions are kept on the primary, a @Transactional(readOnly = true)
+ * transaction. Must sit behind a LazyConnectionDataSourceProxy so the lookup happens
+ * on first statement, after the transaction is set up.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final boolean readOnlyTransactionsToReplica;
+
+    /**
+     * @param readOnlyTransactionsToReplica whether read-only transactions may use the replica;
+     *                                      false keeps them on the primary
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor,
+                                      boolean readOnlyTransactionsToReplica) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.readOnlyTransactionsToReplica = readOnlyTransactionsToReplica;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = DataSourceRoutingContext.isReadOnly()
+                || (readOnlyTransactionsToReplica && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        return readOnly && replicaLagMonitor.isReplicaUsable() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
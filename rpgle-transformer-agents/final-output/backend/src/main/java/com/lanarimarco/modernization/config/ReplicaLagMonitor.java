@@ -0,0 +1,89 @@
+package com.lanarimarco.modernization.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically checks whether the read replica is reachable and close enough to the primary
+ *
+ * With a lag query configured, the replica is usable while the reported lag (in seconds)
+ * is at most max-lag; without one, only connectivity is checked. While the replica is
+ * not usable, ReadWriteRoutingDataSource sends read-only work to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        refresh();
+        scheduler.scheduleWithFixedDelay(this::refresh,
+                checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Check the replica now and update the routing decision
+     */
+    public void refresh() {
+        boolean usable;
+        String reason;
+        try {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                usable = Boolean.TRUE.equals(replicaJdbcTemplate.execute(
+                        (ConnectionCallback<Boolean>) connection -> connection.isValid(VALIDATION_TIMEOUT_SECONDS)));
+                reason = usable ? "reachable" : "connection not valid";
+            } else {
+                Number lagSeconds = replicaJdbcTemplate.queryForObject(lagQuery, Number.class);
+                usable = lagSeconds != null && lagSeconds.doubleValue() * 1000 <= maxLag.toMillis();
+                reason = "lag " + lagSeconds + "s, max " + maxLag.toSeconds() + "s";
+            }
+        } catch (DataAccessException ex) {
+            usable = false;
+            reason = ex.getMessage();
+        }
+
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Read replica usable again ({}), routing read-only work to replica", reason);
+            } else {
+                log.warn("Read replica not usable ({}), routing read-only work to primary", reason);
+            }
+        }
+        replicaUsable = usable;
+    }
+}
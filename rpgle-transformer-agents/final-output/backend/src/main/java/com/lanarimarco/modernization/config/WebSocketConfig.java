@@ -0,0 +1,33 @@
+package com.lanarimarco.modernization.config;
+
+import com.lanarimarco.modernization.controllers.CustomerInquirySessionHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocket Configuration for Customer Inquiry Sessions
+ *
+ * Registers the persistent CUST001 inquiry session endpoint. Allowed origins
+ * follow the REST CORS configuration (see WebConfig); the origin is checked once
+ * at handshake instead of on every lookup.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final CustomerInquirySessionHandler customerInquirySessionHandler;
+
+    @Value("${cors.allowed-origins:http://localhost:3000,http://localhost:5173}")
+    private String allowedOrigins;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(customerInquirySessionHandler, CustomerInquirySessionHandler.PATH)
+                .setAllowedOrigins(allowedOrigins.split(","));
+    }
+}
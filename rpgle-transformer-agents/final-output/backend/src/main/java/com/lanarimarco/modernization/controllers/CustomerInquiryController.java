@@ -46,11 +46,11 @@ public class CustomerInquiryController {
      */
     @GetMapping("/{customerNumber}")
     public ResponseEntity<CustomerDTO> getCustomer(@PathVariable Integer customerNumber) {
-        log.info("REST API: Get customer request for customer number: {}", customerNumber);
+        // Per-request outcome and timing go to the access log (see AccessLogConfig)
+        log.debug("REST API: Get customer request for customer number: {}", customerNumber);
 
         CustomerDTO customer = customerInquiryService.getCustomerByNumber(customerNumber);
 
-        log.info("REST API: Successfully retrieved customer: {}", customerNumber);
         return ResponseEntity.ok(customer);
     }
 
@@ -65,7 +65,7 @@ public class CustomerInquiryController {
      */
     @ExceptionHandler(CustomerNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleCustomerNotFound(CustomerNotFoundException ex) {
-        log.warn("Customer not found exception: {}", ex.getMessage());
+        log.debug("Customer not found exception: {}", ex.getMessage());
 
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("error", "Customer not found");
@@ -89,7 +89,7 @@ public class CustomerInquiryController {
      */
     @ExceptionHandler(CustomerValidationException.class)
     public ResponseEntity<Map<String, Object>> handleValidationError(CustomerValidationException ex) {
-        log.warn("Validation exception: {}", ex.getMessage());
+        log.debug("Validation exception: {}", ex.getMessage());
 
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("error", "Validation failed");
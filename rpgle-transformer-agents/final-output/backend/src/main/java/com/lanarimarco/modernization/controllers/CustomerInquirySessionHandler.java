@@ -0,0 +1,173 @@
+package com.lanarimarco.modernization.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lanarimarco.modernization.dtos.CustomerDTO;
+import com.lanarimarco.modernization.dtos.InquiryRequest;
+import com.lanarimarco.modernization.dtos.InquiryResponse;
+import com.lanarimarco.modernization.exceptions.CustomerNotFoundException;
+import com.lanarimarco.modernization.exceptions.CustomerValidationException;
+import com.lanarimarco.modernization.logging.AccessLogEntry;
+import com.lanarimarco.modernization.logging.AccessLogWriter;
+import com.lanarimarco.modernization.services.CustomerInquiryService;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket Handler for Customer Inquiry Sessions
+ *
+ * Endpoint: /api/inquiry-session (see WebSocketConfig)
+ * Not under /api/customers, where GET /api/customers/{customerNumber} would take the handshake
+ *
+ * Keeps one connection per operator for the CUST001 interactive loop:
+ *   ExFmt PROMPT -> CHAIN CUSTMAST -> ExFmt DETAIL
+ * Each text frame carries one InquiryRequest; each lookup is answered with one
+ * InquiryResponse, either a DETAIL payload or a PROMPT with the PMSG error.
+ * Frames of one session are handled in order, so responses arrive in request order.
+ *
+ * Inquiry requests are tiny and operators leave screens open, so each session gets
+ * a small message size limit and an idle timeout.
+ * Lookups are written to the access log like REST calls (method WS)
+ */
+@Component
+@Slf4j
+public class CustomerInquirySessionHandler extends TextWebSocketHandler {
+
+    public static final String PATH = "/api/inquiry-session";
+    private static final String ACCESS_LOG_METHOD = "WS";
+
+    private final CustomerInquiryService customerInquiryService;
+    private final ObjectMapper objectMapper;
+    private final AccessLogWriter accessLogWriter;
+    private final double successSampleRate;
+    private final int maxTextMessageSize;
+    private final Duration idleTimeout;
+
+    public CustomerInquirySessionHandler(
+            CustomerInquiryService customerInquiryService,
+            ObjectMapper objectMapper,
+            ObjectProvider<AccessLogWriter> accessLogWriter,
+            @Value("${access-log.success-sample-rate:0.01}") double successSampleRate,
+            @Value("${customer.inquiry.session.max-text-message-size:1024}") int maxTextMessageSize,
+            @Value("${customer.inquiry.session.idle-timeout:30m}") Duration idleTimeout) {
+        this.customerInquiryService = customerInquiryService;
+        this.objectMapper = objectMapper;
+        this.accessLogWriter = accessLogWriter.getIfAvailable();
+        this.successSampleRate = successSampleRate;
+        this.maxTextMessageSize = maxTextMessageSize;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        session.setTextMessageSizeLimit(maxTextMessageSize);
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            Session standardSession = nativeSession.getNativeSession(Session.class);
+            if (standardSession != null) {
+                standardSession.setMaxIdleTimeout(idleTimeout.toMillis());
+            }
+        }
+        log.debug("Inquiry session opened: {}", session.getId());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        long startNanos = System.nanoTime();
+
+        InquiryResponse response;
+        try {
+            response = inquire(objectMapper.readValue(message.getPayload(), InquiryRequest.class));
+        } catch (JsonProcessingException ex) {
+            log.debug("Unreadable inquiry request on session {}: {}", session.getId(), ex.getOriginalMessage());
+            response = prompt(null, null, HttpStatus.BAD_REQUEST, "Validation failed",
+                    "Request must be {\"customerNumber\": <number>}");
+        }
+
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+        logAccess(session, response, startNanos);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("Inquiry session {} transport error: {}", session.getId(), exception.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        log.debug("Inquiry session closed: {} ({})", session.getId(), status);
+    }
+
+    /**
+     * Process one lookup
+     *
+     * Same outcomes as CustomerInquiryController:
+     * - found: DETAIL (200)
+     * - "Customer number required" etc.: PROMPT (400)
+     * - %Found(CUSTMAST) = false: PROMPT "Customer not found" (404)
+     * - unexpected error: PROMPT (500)
+     */
+    private InquiryResponse inquire(InquiryRequest request) {
+        String requestId = request.getRequestId();
+        Integer customerNumber = request.getCustomerNumber();
+        try {
+            CustomerDTO customer = customerInquiryService.getCustomerByNumber(customerNumber);
+            return InquiryResponse.builder()
+                    .requestId(requestId)
+                    .format(InquiryResponse.FORMAT_DETAIL)
+                    .status(HttpStatus.OK.value())
+                    .customerNumber(customerNumber)
+                    .customer(customer)
+                    .build();
+        } catch (CustomerValidationException ex) {
+            return prompt(requestId, customerNumber, HttpStatus.BAD_REQUEST, "Validation failed", ex.getMessage());
+        } catch (CustomerNotFoundException ex) {
+            return prompt(requestId, customerNumber, HttpStatus.NOT_FOUND, "Customer not found", ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("Unexpected error in customer inquiry session", ex);
+            return prompt(requestId, customerNumber, HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error",
+                    "An unexpected error occurred while processing your request");
+        }
+    }
+
+    private static InquiryResponse prompt(String requestId, Integer customerNumber, HttpStatus status,
+                                          String error, String message) {
+        return InquiryResponse.builder()
+                .requestId(requestId)
+                .format(InquiryResponse.FORMAT_PROMPT)
+                .status(status.value())
+                .customerNumber(customerNumber)
+                .error(error)
+                .message(message)
+                .build();
+    }
+
+    private void logAccess(WebSocketSession session, InquiryResponse response, long startNanos) {
+        if (accessLogWriter == null) {
+            return;
+        }
+        if (response.getStatus() >= 400 || ThreadLocalRandom.current().nextDouble() < successSampleRate) {
+            accessLogWriter.publish(new AccessLogEntry(
+                    System.currentTimeMillis(),
+                    response.getRequestId() != null ? response.getRequestId() : session.getId(),
+                    ACCESS_LOG_METHOD,
+                    PATH,
+                    response.getCustomerNumber() != null ? response.getCustomerNumber().toString() : null,
+                    response.getStatus(),
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+        }
+    }
+}
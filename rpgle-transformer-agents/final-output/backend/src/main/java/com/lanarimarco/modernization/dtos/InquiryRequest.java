@@ -0,0 +1,25 @@
+package com.lanarimarco.modernization.dtos;
+
+import lombok.*;
+
+/**
+ * One lookup sent over an inquiry session
+ *
+ * Equivalent of the operator keying PCUSTNO on the PROMPT screen and pressing Enter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryRequest {
+
+    /**
+     * Client-chosen id, echoed in the response so lookups can be correlated
+     */
+    private String requestId;
+
+    /**
+     * Customer Number (PCUSTNO)
+     */
+    private Integer customerNumber;
+}
@@ -0,0 +1,50 @@
+package com.lanarimarco.modernization.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * Result of one lookup pushed over an inquiry session
+ *
+ * Mirrors the CUST001 screen flow:
+ * - DETAIL: customer found, customer carries the DETAIL screen fields
+ * - PROMPT: PROMPT screen redisplayed with *IN90 on and message as PMSG
+ *
+ * status carries the HTTP status GET /api/customers/{customerNumber} would have returned
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InquiryResponse {
+
+    public static final String FORMAT_DETAIL = "DETAIL";
+    public static final String FORMAT_PROMPT = "PROMPT";
+
+    private String requestId;
+
+    /**
+     * Record format to display: DETAIL or PROMPT
+     */
+    private String format;
+
+    private int status;
+
+    private Integer customerNumber;
+
+    /**
+     * DETAIL screen fields (DETAIL only)
+     */
+    private CustomerDTO customer;
+
+    /**
+     * Error category, as in the REST error responses (PROMPT only)
+     */
+    private String error;
+
+    /**
+     * PMSG error message (PROMPT only)
+     */
+    private String message;
+}
@@ -2,6 +2,7 @@ package com.lanarimarco.modernization.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.io.Serializable;
 
@@ -13,9 +14,14 @@ import java.io.Serializable;
  *
  * Source: CUSTMAST.dds physical file
  * Program: CUST001 - Customer Inquiry
+ *
+ * Cached in the Hibernate second-level cache (see CacheConfig) so a repeated
+ * CHAIN does not cost a round trip to DB2
  */
 @Entity
 @Table(name = "CUSTMAST")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,28 @@
+package com.lanarimarco.modernization.logging;
+
+import lombok.Value;
+
+/**
+ * One API request as captured by {@link AccessLogFilter}
+ *
+ * Immutable so it can be handed from the request thread to the
+ * background {@link AccessLogWriter} without copying
+ */
+@Value
+public class AccessLogEntry {
+
+    long timestampMillis;
+    String requestId;
+    String method;
+    String path;
+    String customerNumber;
+    int status;
+    long durationMicros;
+
+    public String getOutcome() {
+        if (status >= 500) {
+            return "ERROR";
+        }
+        return status >= 400 ? "REJECTED" : "OK";
+    }
+}
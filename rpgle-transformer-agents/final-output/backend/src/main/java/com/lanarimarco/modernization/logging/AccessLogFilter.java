@@ -0,0 +1,69 @@
+package com.lanarimarco.modernization.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captures request id, customer number, outcome and duration of every API call
+ *
+ * Failed requests (status 4xx/5xx) are always logged; successful ones are sampled
+ * at the configured rate. The request thread only builds the entry and publishes it
+ * to the {@link AccessLogWriter}.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private final AccessLogWriter accessLogWriter;
+    private final double successSampleRate;
+
+    public AccessLogFilter(AccessLogWriter accessLogWriter, double successSampleRate) {
+        this.accessLogWriter = accessLogWriter;
+        this.successSampleRate = successSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startNanos = System.nanoTime();
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isBlank()) {
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            if (status >= 400 || ThreadLocalRandom.current().nextDouble() < successSampleRate) {
+                accessLogWriter.publish(new AccessLogEntry(
+                        System.currentTimeMillis(),
+                        requestId,
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        customerNumber(request),
+                        status,
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String customerNumber(HttpServletRequest request) {
+        Map<String, String> uriVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return uriVariables != null ? uriVariables.get("customerNumber") : null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.lanarimarco.modernization.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer for the API access log
+ *
+ * Request threads only publish entries into an {@link AccessLogRingBuffer};
+ * formatting and appender I/O happen on a single daemon thread that drains the
+ * buffer to the "access-log" logger as key=value lines.
+ */
+@Slf4j
+public class AccessLogWriter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access-log");
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    private final AccessLogRingBuffer buffer;
+    private final long idleParkNanos;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private long reportedDrops;
+
+    public AccessLogWriter(int bufferCapacity, long flushIntervalMillis) {
+        this.buffer = new AccessLogRingBuffer(bufferCapacity);
+        this.idleParkNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.writerThread = new Thread(this::run, "access-log-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    public void start() {
+        writerThread.start();
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Queue an entry for writing; never blocks the caller
+     *
+     * @return false if the buffer was full and the entry was dropped
+     */
+    public boolean publish(AccessLogEntry entry) {
+        return buffer.offer(entry);
+    }
+
+    private void run() {
+        while (running) {
+            if (buffer.drain(this::write, DRAIN_BATCH_SIZE) == 0) {
+                reportDrops();
+                LockSupport.parkNanos(idleParkNanos);
+            }
+        }
+        while (buffer.drain(this::write, DRAIN_BATCH_SIZE) > 0) {
+            // flush what is left on shutdown
+        }
+        reportDrops();
+    }
+
+    private void write(AccessLogEntry entry) {
+        ACCESS_LOG.info("timestamp={} requestId={} method={} path={} customerNumber={} status={} outcome={} durationUs={}",
+                Instant.ofEpochMilli(entry.getTimestampMillis()),
+                entry.getRequestId(),
+                entry.getMethod(),
+                entry.getPath(),
+                entry.getCustomerNumber(),
+                entry.getStatus(),
+                entry.getOutcome(),
+                entry.getDurationMicros());
+    }
+
+    private void reportDrops() {
+        long dropped = buffer.droppedCount();
+        if (dropped > reportedDrops) {
+            log.warn("Access log buffer full, dropped {} entries", dropped - reportedDrops);
+            reportedDrops = dropped;
+        }
+    }
+}
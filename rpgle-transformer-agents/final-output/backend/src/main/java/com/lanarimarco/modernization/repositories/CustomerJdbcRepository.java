@@ -0,0 +1,54 @@
+package com.lanarimarco.modernization.repositories;
+
+import com.lanarimarco.modernization.config.DataSourceRoutingContext;
+import com.lanarimarco.modernization.dtos.CustomerDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC read path for single-key customer inquiries
+ *
+ * Executes one prepared statement on an autocommit connection and maps the row
+ * straight into CustomerDTO: no transaction, no EntityManager, no managed entity.
+ * Runs as read-only work, so it is served by the read replica when routing is enabled.
+ *
+ * RPGLE equivalent: C     PCUSTNO       Chain     CUSTMAST
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomerJdbcRepository {
+
+    private static final String SELECT_BY_CUSTOMER_NUMBER =
+            "SELECT CUSTNO, CUSTNAME, ADDR1, CITY, STATE, ZIP, PHONE, BALANCE "
+                    + "FROM CUSTMAST WHERE CUSTNO = ?";
+
+    private static final RowMapper<CustomerDTO> CUSTOMER_DTO_MAPPER = (rs, rowNum) -> CustomerDTO.builder()
+            .customerNumber(rs.getObject(1, Integer.class))
+            .customerName(rs.getString(2))
+            .address1(rs.getString(3))
+            .city(rs.getString(4))
+            .state(rs.getString(5))
+            .zipCode(rs.getObject(6, Integer.class))
+            .phoneNumber(rs.getString(7))
+            .balance(rs.getBigDecimal(8))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Find the inquiry view of a customer by customer number
+     *
+     * @param customerNumber the customer number (primary key)
+     * @return the customer, or empty if no row matches
+     */
+    public Optional<CustomerDTO> findCustomerDTOByCustomerNumber(Integer customerNumber) {
+        List<CustomerDTO> rows = DataSourceRoutingContext.readOnly(() ->
+                jdbcTemplate.query(SELECT_BY_CUSTOMER_NUMBER, CUSTOMER_DTO_MAPPER, customerNumber));
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+}
@@ -1,8 +1,13 @@
 package com.lanarimarco.modernization.repositories;
 
+import com.lanarimarco.modernization.config.CacheConfig;
 import com.lanarimarco.modernization.entities.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -13,6 +18,11 @@ import java.util.Optional;
  * Supports the CUST001 Customer Inquiry program
  *
  * Spring Data JPA automatically implements this interface at runtime
+ *
+ * Lookup queries are cached in the Hibernate query cache; Hibernate invalidates
+ * them whenever CUSTMAST is written through JPA. They run read-only; with the cache
+ * enabled routing keeps them on the primary, so the replica's lag cannot end up in
+ * the cache (see DataSourceRoutingConfig)
  */
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Integer> {
@@ -26,6 +36,11 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
      * @param customerNumber the customer number to search for
      * @return Optional containing the customer if found, empty otherwise
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.CUSTOMER_QUERY_REGION)
+    })
+    @Transactional(readOnly = true)
     Optional<Customer> findByCustomerNumber(Integer customerNumber);
 
     /**
@@ -36,5 +51,10 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
      * @param customerNumber the customer number to check
      * @return true if customer exists, false otherwise
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.CUSTOMER_QUERY_REGION)
+    })
+    @Transactional(readOnly = true)
     boolean existsByCustomerNumber(Integer customerNumber);
 }
@@ -4,26 +4,37 @@ import com.lanarimarco.modernization.dtos.CustomerDTO;
 import com.lanarimarco.modernization.entities.Customer;
 import com.lanarimarco.modernization.exceptions.CustomerNotFoundException;
 import com.lanarimarco.modernization.exceptions.CustomerValidationException;
+import com.lanarimarco.modernization.repositories.CustomerJdbcRepository;
 import com.lanarimarco.modernization.repositories.CustomerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service for Customer Inquiry Operations
  *
  * Implements the business logic from RPGLE program CUST001
  * Provides customer lookup functionality
+ *
+ * Not transactional: a single-key inquiry is one SELECT, so it does not need
+ * a transaction, a bound connection or an EntityManager (see CustomerJdbcRepository)
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
 public class CustomerInquiryService {
 
     private final CustomerRepository customerRepository;
 
+    private final CustomerJdbcRepository customerJdbcRepository;
+
+    /**
+     * When true, inquiries read through CustomerJdbcRepository instead of JPA
+     */
+    @Value("${customer.inquiry.direct-lookup.enabled:true}")
+    private boolean directLookupEnabled;
+
     /**
      * Get customer by customer number
      *
@@ -40,7 +51,7 @@ public class CustomerInquiryService {
      * @throws CustomerNotFoundException if customer not found in database
      */
     public CustomerDTO getCustomerByNumber(Integer customerNumber) {
-        log.info("Processing customer inquiry for customer number: {}", customerNumber);
+        log.debug("Processing customer inquiry for customer number: {}", customerNumber);
 
         // Validate customer number
         // RPGLE: If PCUSTNO = 0
@@ -48,9 +59,17 @@ public class CustomerInquiryService {
 
         // Read customer master
         // RPGLE: C     PCUSTNO       Chain     CUSTMAST
+        if (directLookupEnabled) {
+            return customerJdbcRepository.findCustomerDTOByCustomerNumber(customerNumber)
+                    .orElseThrow(() -> {
+                        log.debug("Customer not found: {}", customerNumber);
+                        return new CustomerNotFoundException(customerNumber);
+                    });
+        }
+
         Customer customer = customerRepository.findByCustomerNumber(customerNumber)
                 .orElseThrow(() -> {
-                    log.warn("Customer not found: {}", customerNumber);
+                    log.debug("Customer not found: {}", customerNumber);
                     return new CustomerNotFoundException(customerNumber);
                 });
 
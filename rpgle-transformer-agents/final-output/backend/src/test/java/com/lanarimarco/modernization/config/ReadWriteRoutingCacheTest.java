@@ -0,0 +1,141 @@
+package com.lanarimarco.modernization.config;
+
+import com.lanarimarco.modernization.entities.Customer;
+import com.lanarimarco.modernization.repositories.CustomerRepository;
+import com.lanarimarco.modernization.services.CustomerInquiryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Routing tests for DataSourceRoutingConfig with the second-level cache enabled
+ *
+ * Same setup as ReadWriteRoutingTest: the customer carries a different name in the
+ * primary and in the replica. Here the replica never receives the writes, as if it
+ * lagged forever, so any replica row that reached the cache would show up as stale.
+ */
+@SpringBootTest(properties = {
+        "datasource.routing.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:replicacachedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=DB2",
+        "datasource.replica.driver-class-name=org.h2.Driver",
+        "datasource.replica.username=sa",
+        "datasource.replica.password=",
+        "datasource.replica.lag-query=SELECT LAG_SECONDS FROM REPLICA_LAG",
+        "datasource.replica.max-lag=5s",
+        "datasource.replica.lag-check-interval=1h",
+        "spring.sql.init.mode=never",
+        "customer.cache.enabled=true",
+        "access-log.enabled=false"
+})
+@ActiveProfiles("test")
+@DisplayName("Read/Write Routing Tests with Second-Level Cache")
+class ReadWriteRoutingCacheTest {
+
+    private static final Integer TEST_CUSTOMER_NUMBER = 12345;
+
+    @Autowired
+    private CustomerInquiryService customerInquiryService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        replica.execute("CREATE TABLE IF NOT EXISTS CUSTMAST (CUSTNO INTEGER PRIMARY KEY, CUSTNAME VARCHAR(30), "
+                + "ADDR1 VARCHAR(30), CITY VARCHAR(20), STATE VARCHAR(2), ZIP INTEGER, PHONE VARCHAR(12), "
+                + "BALANCE DECIMAL(9,2), CREDITLIM DECIMAL(9,2), LASTORDER INTEGER)");
+        replica.execute("CREATE TABLE IF NOT EXISTS REPLICA_LAG (LAG_SECONDS INTEGER)");
+        replica.update("DELETE FROM REPLICA_LAG");
+        replica.update("INSERT INTO REPLICA_LAG (LAG_SECONDS) VALUES (0)");
+
+        primary.update("INSERT INTO CUSTMAST (CUSTNO, CUSTNAME) VALUES (?, ?)", TEST_CUSTOMER_NUMBER, "FROM PRIMARY");
+        replica.update("INSERT INTO CUSTMAST (CUSTNO, CUSTNAME) VALUES (?, ?)", TEST_CUSTOMER_NUMBER, "FROM REPLICA");
+
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        replicaLagMonitor.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.update("DELETE FROM CUSTMAST");
+        replica.update("DELETE FROM CUSTMAST");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Should load cached JPA inquiries from the primary")
+    void testJpaLookup_RoutedToPrimary() {
+        // Given
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", false);
+
+        // When / Then
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+        assertThat(customerInquiryService.getCustomerByNumber(TEST_CUSTOMER_NUMBER).getCustomerName())
+                .isEqualTo("FROM PRIMARY");
+    }
+
+    @Test
+    @DisplayName("Should still serve JDBC fast path inquiries, which bypass the cache, from the replica")
+    void testDirectLookup_RoutedToReplica() {
+        // Given
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", true);
+
+        // When / Then
+        assertThat(customerInquiryService.getCustomerByNumber(TEST_CUSTOMER_NUMBER).getCustomerName())
+                .isEqualTo("FROM REPLICA");
+    }
+
+    @Test
+    @DisplayName("Should not cache the replica's old row after a write evicts the entry")
+    void testReadAfterWrite_NotStaleFromReplica() {
+        // Given - the customer is cached, then changed through JPA, which evicts it
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", false);
+        customerInquiryService.getCustomerByNumber(TEST_CUSTOMER_NUMBER);
+        Customer customer = customerRepository.findById(TEST_CUSTOMER_NUMBER).orElseThrow();
+        customer.setCustomerName("UPDATED");
+        customerRepository.save(customer);
+
+        // When - reloaded into the cache, then served from it
+        String reloaded = customerInquiryService.getCustomerByNumber(TEST_CUSTOMER_NUMBER).getCustomerName();
+        String cached = customerInquiryService.getCustomerByNumber(TEST_CUSTOMER_NUMBER).getCustomerName();
+
+        // Then
+        assertThat(reloaded).isEqualTo("UPDATED");
+        assertThat(cached).isEqualTo("UPDATED");
+        assertThat(replica.queryForObject("SELECT CUSTNAME FROM CUSTMAST WHERE CUSTNO = ?", String.class,
+                TEST_CUSTOMER_NUMBER)).isEqualTo("FROM REPLICA");
+    }
+}
@@ -0,0 +1,160 @@
+package com.lanarimarco.modernization.config;
+
+import com.lanarimarco.modernization.entities.Customer;
+import com.lanarimarco.modernization.repositories.CustomerRepository;
+import com.lanarimarco.modernization.services.CustomerInquiryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Routing tests for DataSourceRoutingConfig
+ *
+ * Two H2 databases stand in for the DB2 primary and read replica. The same customer
+ * carries a different name in each, so every read shows which database served it.
+ * REPLICA_LAG on the replica stands in for the HADR lag query.
+ */
+@SpringBootTest(properties = {
+        "datasource.routing.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=DB2",
+        "datasource.replica.driver-class-name=org.h2.Driver",
+        "datasource.replica.username=sa",
+        "datasource.replica.password=",
+        "datasource.replica.lag-query=SELECT LAG_SECONDS FROM REPLICA_LAG",
+        "datasource.replica.max-lag=5s",
+        "datasource.replica.lag-check-interval=1h",
+        "spring.sql.init.mode=never",
+        "customer.cache.enabled=false",
+        "access-log.enabled=false"
+})
+@ActiveProfiles("test")
+@DisplayName("Read/Write Routing Tests")
+class ReadWriteRoutingTest {
+
+    private static final Integer TEST_CUSTOMER_NUMBER = 12345;
+
+    @Autowired
+    private CustomerInquiryService customerInquiryService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        // Hibernate only creates the schema on the primary
+        replica.execute("CREATE TABLE IF NOT EXISTS CUSTMAST (CUSTNO INTEGER PRIMARY KEY, CUSTNAME VARCHAR(30), "
+                + "ADDR1 VARCHAR(30), CITY VARCHAR(20), STATE VARCHAR(2), ZIP INTEGER, PHONE VARCHAR(12), "
+                + "BALANCE DECIMAL(9,2), CREDITLIM DECIMAL(9,2), LASTORDER INTEGER)");
+        replica.execute("CREATE TABLE IF NOT EXISTS REPLICA_LAG (LAG_SECONDS INTEGER)");
+        replica.update("DELETE FROM REPLICA_LAG");
+        replica.update("INSERT INTO REPLICA_LAG (LAG_SECONDS) VALUES (0)");
+
+        primary.update("INSERT INTO CUSTMAST (CUSTNO, CUSTNAME) VALUES (?, ?)", TEST_CUSTOMER_NUMBER, "FROM PRIMARY");
+        replica.update("INSERT INTO CUSTMAST (CUSTNO, CUSTNAME) VALUES (?, ?)", TEST_CUSTOMER_NUMBER, "FROM REPLICA");
+
+        replicaLagMonitor.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.update("DELETE FROM CUSTMAST");
+        replica.update("DELETE FROM CUSTMAST");
+    }
+
+    @Test
+    @DisplayName("Should serve JDBC fast path inquiries from the replica")
+    void testDirectLookup_RoutedToReplica() {
+        // Given
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", true);
+
+        // When / Then
+        assertThat(customerInquiryService.getCustomerByNumber(TEST_CUSTOMER_NUMBER).getCustomerName())
+                .isEqualTo("FROM REPLICA");
+    }
+
+    @Test
+    @DisplayName("Should serve read-only JPA inquiries from the replica")
+    void testJpaLookup_RoutedToReplica() {
+        // Given
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", false);
+
+        // When / Then
+        assertThat(customerInquiryService.getCustomerByNumber(TEST_CUSTOMER_NUMBER).getCustomerName())
+                .isEqualTo("FROM REPLICA");
+    }
+
+    @Test
+    @DisplayName("Should send writes to the primary")
+    void testSave_RoutedToPrimary() {
+        // Given
+        Customer customer = customerRepository.findById(TEST_CUSTOMER_NUMBER).orElseThrow();
+        customer.setCity("Springfield");
+
+        // When
+        customerRepository.save(customer);
+
+        // Then
+        assertThat(primary.queryForObject("SELECT CITY FROM CUSTMAST WHERE CUSTNO = ?", String.class,
+                TEST_CUSTOMER_NUMBER)).isEqualTo("Springfield");
+        assertThat(replica.queryForObject("SELECT CITY FROM CUSTMAST WHERE CUSTNO = ?", String.class,
+                TEST_CUSTOMER_NUMBER)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags")
+    void testReplicaLagging_FallsBackToPrimary() {
+        // Given
+        replica.update("UPDATE REPLICA_LAG SET LAG_SECONDS = 30");
+        replicaLagMonitor.refresh();
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", true);
+
+        // When / Then
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(customerInquiryService.getCustomerByNumber(TEST_CUSTOMER_NUMBER).getCustomerName())
+                .isEqualTo("FROM PRIMARY");
+    }
+
+    @Test
+    @DisplayName("Should route back to the replica once it catches up")
+    void testReplicaCaughtUp_RoutedToReplicaAgain() {
+        // Given
+        replica.update("UPDATE REPLICA_LAG SET LAG_SECONDS = 30");
+        replicaLagMonitor.refresh();
+        replica.update("UPDATE REPLICA_LAG SET LAG_SECONDS = 1");
+        replicaLagMonitor.refresh();
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", true);
+
+        // When / Then
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+        assertThat(customerInquiryService.getCustomerByNumber(TEST_CUSTOMER_NUMBER).getCustomerName())
+                .isEqualTo("FROM REPLICA");
+    }
+}
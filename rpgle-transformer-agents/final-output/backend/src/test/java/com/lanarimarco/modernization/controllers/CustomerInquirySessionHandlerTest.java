@@ -0,0 +1,178 @@
+package com.lanarimarco.modernization.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lanarimarco.modernization.dtos.CustomerDTO;
+import com.lanarimarco.modernization.dtos.InquiryRequest;
+import com.lanarimarco.modernization.dtos.InquiryResponse;
+import com.lanarimarco.modernization.exceptions.CustomerNotFoundException;
+import com.lanarimarco.modernization.exceptions.CustomerValidationException;
+import com.lanarimarco.modernization.services.CustomerInquiryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.math.BigDecimal;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for CustomerInquirySessionHandler
+ *
+ * Opens a real WebSocket connection to /api/inquiry-session
+ * Mocks the service layer
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Customer Inquiry Session Integration Tests")
+class CustomerInquirySessionHandlerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private CustomerInquiryService customerInquiryService;
+
+    private WebSocketSession session;
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+    private static final Integer VALID_CUSTOMER_NUMBER = 12345;
+    private static final Integer NONEXISTENT_CUSTOMER_NUMBER = 99999;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        session = new StandardWebSocketClient()
+                .execute(new TextWebSocketHandler() {
+                    @Override
+                    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                        received.add(message.getPayload());
+                    }
+                }, "ws://localhost:" + port + CustomerInquirySessionHandler.PATH)
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        session.close();
+    }
+
+    @Test
+    @DisplayName("Should push DETAIL payload when customer found")
+    void testLookup_Found() throws Exception {
+        // Given
+        when(customerInquiryService.getCustomerByNumber(VALID_CUSTOMER_NUMBER)).thenReturn(CustomerDTO.builder()
+                .customerNumber(VALID_CUSTOMER_NUMBER)
+                .customerName("John Doe")
+                .balance(new BigDecimal("1250.75"))
+                .build());
+
+        // When
+        InquiryResponse response = lookup("r1", VALID_CUSTOMER_NUMBER);
+
+        // Then
+        assertThat(response.getRequestId()).isEqualTo("r1");
+        assertThat(response.getFormat()).isEqualTo(InquiryResponse.FORMAT_DETAIL);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getCustomer().getCustomerName()).isEqualTo("John Doe");
+        assertThat(response.getMessage()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should push PROMPT with PMSG when customer not found")
+    void testLookup_NotFound() throws Exception {
+        // Given
+        when(customerInquiryService.getCustomerByNumber(NONEXISTENT_CUSTOMER_NUMBER))
+                .thenThrow(new CustomerNotFoundException(NONEXISTENT_CUSTOMER_NUMBER));
+
+        // When
+        InquiryResponse response = lookup("r2", NONEXISTENT_CUSTOMER_NUMBER);
+
+        // Then
+        assertThat(response.getFormat()).isEqualTo(InquiryResponse.FORMAT_PROMPT);
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getError()).isEqualTo("Customer not found");
+        assertThat(response.getMessage()).isEqualTo("Customer not found: 99999");
+        assertThat(response.getCustomer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should push PROMPT with PMSG when customer number invalid")
+    void testLookup_ValidationError() throws Exception {
+        // Given
+        when(customerInquiryService.getCustomerByNumber(0))
+                .thenThrow(new CustomerValidationException("Customer number required"));
+
+        // When
+        InquiryResponse response = lookup("r3", 0);
+
+        // Then
+        assertThat(response.getFormat()).isEqualTo(InquiryResponse.FORMAT_PROMPT);
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getMessage()).isEqualTo("Customer number required");
+    }
+
+    @Test
+    @DisplayName("Should push PROMPT and keep the session open on unreadable request")
+    void testLookup_UnreadableRequest() throws Exception {
+        // When
+        session.sendMessage(new TextMessage("not json"));
+        InquiryResponse response = next();
+
+        // Then
+        assertThat(response.getFormat()).isEqualTo(InquiryResponse.FORMAT_PROMPT);
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(session.isOpen()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should answer back-to-back lookups on one connection in order")
+    void testLookup_BackToBack() throws Exception {
+        // Given
+        when(customerInquiryService.getCustomerByNumber(anyInt())).thenAnswer(invocation -> CustomerDTO.builder()
+                .customerNumber(invocation.getArgument(0))
+                .build());
+
+        // When
+        for (int i = 1; i <= 20; i++) {
+            send("r" + i, i);
+        }
+
+        // Then
+        for (int i = 1; i <= 20; i++) {
+            InquiryResponse response = next();
+            assertThat(response.getRequestId()).isEqualTo("r" + i);
+            assertThat(response.getCustomer().getCustomerNumber()).isEqualTo(i);
+        }
+        verify(customerInquiryService, times(20)).getCustomerByNumber(anyInt());
+    }
+
+    private InquiryResponse lookup(String requestId, Integer customerNumber) throws Exception {
+        send(requestId, customerNumber);
+        return next();
+    }
+
+    private void send(String requestId, Integer customerNumber) throws Exception {
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(
+                new InquiryRequest(requestId, customerNumber))));
+    }
+
+    private InquiryResponse next() throws Exception {
+        String payload = received.poll(10, TimeUnit.SECONDS);
+        assertThat(payload).as("response within 10s").isNotNull();
+        return objectMapper.readValue(payload, InquiryResponse.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.lanarimarco.modernization.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AccessLogRingBuffer
+ *
+ * Tests ordering, overflow behaviour and concurrent producers
+ */
+@DisplayName("Access Log Ring Buffer Tests")
+class AccessLogRingBufferTest {
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two")
+    void testCapacity_RoundedUp() {
+        assertThat(new AccessLogRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThat(new AccessLogRingBuffer(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should drain entries in publish order")
+    void testDrain_FifoOrder() {
+        // Given
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(entry("req-" + i));
+        }
+
+        // When
+        List<String> drained = new ArrayList<>();
+        int count = buffer.drain(entry -> drained.add(entry.getRequestId()), 100);
+
+        // Then
+        assertThat(count).isEqualTo(5);
+        assertThat(drained).containsExactly("req-0", "req-1", "req-2", "req-3", "req-4");
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop and count entries when full instead of blocking")
+    void testOffer_DropsWhenFull() {
+        // Given
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(entry("req-" + i))).isTrue();
+        }
+
+        // When
+        boolean accepted = buffer.offer(entry("overflow"));
+
+        // Then
+        assertThat(accepted).isFalse();
+        assertThat(buffer.droppedCount()).isEqualTo(1);
+
+        // And space is reusable after a drain
+        buffer.drain(entry -> { }, 2);
+        assertThat(buffer.offer(entry("req-4"))).isTrue();
+        assertThat(buffer.offer(entry("req-5"))).isTrue();
+        List<String> drained = new ArrayList<>();
+        buffer.drain(entry -> drained.add(entry.getRequestId()), 100);
+        assertThat(drained).containsExactly("req-2", "req-3", "req-4", "req-5");
+    }
+
+    @Test
+    @DisplayName("Should not lose or duplicate entries with concurrent producers")
+    void testOffer_ConcurrentProducers() throws Exception {
+        // Given
+        int producers = 4;
+        int perProducer = 20_000;
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        // When
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    AccessLogEntry entry = entry(producer + "-" + i);
+                    while (!buffer.offer(entry)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<String> seen = new HashSet<>();
+        List<String> duplicates = new ArrayList<>();
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            buffer.drain(entry -> {
+                if (!seen.add(entry.getRequestId())) {
+                    duplicates.add(entry.getRequestId());
+                }
+            }, 256);
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(duplicates).isEmpty();
+        assertThat(seen).hasSize(producers * perProducer);
+    }
+
+    private static AccessLogEntry entry(String requestId) {
+        return new AccessLogEntry(0L, requestId, "GET", "/api/customers/1", "1", 200, 10L);
+    }
+}
@@ -0,0 +1,143 @@
+package com.lanarimarco.modernization.repositories;
+
+import com.lanarimarco.modernization.config.CacheConfig;
+import com.lanarimarco.modernization.entities.Customer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Cache tests for CustomerRepository
+ *
+ * Runs without a surrounding test transaction so every repository call commits,
+ * then checks that the second-level and query caches serve repeated reads and
+ * never return stale data after writes through the repository
+ */
+@DataJpaTest
+@Import(CacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Customer Cache Consistency Tests")
+class CustomerCacheConsistencyTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private static final Integer TEST_CUSTOMER_NUMBER = 12345;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.save(Customer.builder()
+                .customerNumber(TEST_CUSTOMER_NUMBER)
+                .customerName("John Doe")
+                .city("Springfield")
+                .balance(new BigDecimal("1250.75"))
+                .build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the query and entity caches")
+    void testFindByCustomerNumber_CacheHit() {
+        // When
+        customerRepository.findByCustomerNumber(TEST_CUSTOMER_NUMBER);
+        customerRepository.findByCustomerNumber(TEST_CUSTOMER_NUMBER);
+
+        // Then - only the first lookup reached the database
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve findById from the entity cache")
+    void testFindById_EntityCacheHit() {
+        // Given - cache warmed
+        customerRepository.findById(TEST_CUSTOMER_NUMBER);
+        statistics.clear();
+
+        // When
+        customerRepository.findById(TEST_CUSTOMER_NUMBER);
+        customerRepository.findById(TEST_CUSTOMER_NUMBER);
+
+        // Then
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return updated values after an update through the repository")
+    void testFindByCustomerNumber_AfterUpdate() {
+        // Given - cache warmed
+        assertThat(customerRepository.findByCustomerNumber(TEST_CUSTOMER_NUMBER))
+                .get().extracting(Customer::getBalance).isEqualTo(new BigDecimal("1250.75"));
+
+        // When
+        Customer customer = customerRepository.findById(TEST_CUSTOMER_NUMBER).orElseThrow();
+        customer.setBalance(new BigDecimal("99.99"));
+        customer.setCity("Chicago");
+        customerRepository.save(customer);
+
+        // Then
+        Customer reloaded = customerRepository.findByCustomerNumber(TEST_CUSTOMER_NUMBER).orElseThrow();
+        assertThat(reloaded.getBalance()).isEqualByComparingTo("99.99");
+        assertThat(reloaded.getCity()).isEqualTo("Chicago");
+    }
+
+    @Test
+    @DisplayName("Should not report a deleted customer as existing")
+    void testExistsByCustomerNumber_AfterDelete() {
+        // Given - cache warmed
+        assertThat(customerRepository.existsByCustomerNumber(TEST_CUSTOMER_NUMBER)).isTrue();
+        assertThat(customerRepository.existsByCustomerNumber(TEST_CUSTOMER_NUMBER)).isTrue();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        // When
+        customerRepository.deleteById(TEST_CUSTOMER_NUMBER);
+
+        // Then
+        assertThat(customerRepository.existsByCustomerNumber(TEST_CUSTOMER_NUMBER)).isFalse();
+        assertThat(customerRepository.findByCustomerNumber(TEST_CUSTOMER_NUMBER)).isEmpty();
+        assertThat(customerRepository.findById(TEST_CUSTOMER_NUMBER)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should see a customer inserted after a cached miss")
+    void testFindByCustomerNumber_AfterInsert() {
+        // Given - negative result cached
+        assertThat(customerRepository.findByCustomerNumber(54321)).isEmpty();
+        assertThat(customerRepository.existsByCustomerNumber(54321)).isFalse();
+
+        // When
+        customerRepository.save(Customer.builder()
+                .customerNumber(54321)
+                .customerName("Jane Smith")
+                .build());
+
+        // Then
+        assertThat(customerRepository.findByCustomerNumber(54321)).isPresent();
+        assertThat(customerRepository.existsByCustomerNumber(54321)).isTrue();
+    }
+}
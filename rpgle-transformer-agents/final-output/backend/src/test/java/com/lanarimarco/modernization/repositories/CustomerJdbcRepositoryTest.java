@@ -0,0 +1,101 @@
+package com.lanarimarco.modernization.repositories;
+
+import com.lanarimarco.modernization.dtos.CustomerDTO;
+import com.lanarimarco.modernization.entities.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Repository tests for CustomerJdbcRepository
+ *
+ * Verifies the JDBC fast path maps CUSTMAST columns the same way
+ * CustomerInquiryService maps the JPA entity
+ */
+@DataJpaTest
+@Import(CustomerJdbcRepository.class)
+@DisplayName("Customer JDBC Repository Tests")
+class CustomerJdbcRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CustomerJdbcRepository customerJdbcRepository;
+
+    private static final Integer TEST_CUSTOMER_NUMBER = 12345;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(Customer.builder()
+                .customerNumber(TEST_CUSTOMER_NUMBER)
+                .customerName("John Doe")
+                .address1("123 Main Street")
+                .city("Springfield")
+                .state("IL")
+                .zipCode(62701)
+                .phoneNumber("555-1234")
+                .balance(new BigDecimal("1250.75"))
+                .creditLimit(new BigDecimal("5000.00"))
+                .lastOrderDate(20251215)
+                .build());
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should map every inquiry column into CustomerDTO")
+    void testFindCustomerDTO_Found() {
+        // When
+        Optional<CustomerDTO> result = customerJdbcRepository.findCustomerDTOByCustomerNumber(TEST_CUSTOMER_NUMBER);
+
+        // Then
+        assertThat(result).contains(CustomerDTO.builder()
+                .customerNumber(TEST_CUSTOMER_NUMBER)
+                .customerName("John Doe")
+                .address1("123 Main Street")
+                .city("Springfield")
+                .state("IL")
+                .zipCode(62701)
+                .phoneNumber("555-1234")
+                .balance(new BigDecimal("1250.75"))
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should return empty when no row matches")
+    void testFindCustomerDTO_NotFound() {
+        // When
+        Optional<CustomerDTO> result = customerJdbcRepository.findCustomerDTOByCustomerNumber(99999);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep null optional columns as null")
+    void testFindCustomerDTO_NullOptionalFields() {
+        // Given
+        entityManager.persist(Customer.builder()
+                .customerNumber(777)
+                .customerName("Sparse Customer")
+                .build());
+        entityManager.flush();
+
+        // When
+        CustomerDTO result = customerJdbcRepository.findCustomerDTOByCustomerNumber(777).orElseThrow();
+
+        // Then
+        assertThat(result.getCustomerName()).isEqualTo("Sparse Customer");
+        assertThat(result.getZipCode()).isNull();
+        assertThat(result.getBalance()).isNull();
+    }
+}
@@ -0,0 +1,72 @@
+package com.lanarimarco.modernization.services;
+
+import com.lanarimarco.modernization.dtos.CustomerDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark: JDBC fast path vs. the previous transactional JPA path
+ *
+ * The JPA path is wrapped in a read-only TransactionTemplate to reproduce the
+ * former class-level @Transactional(readOnly = true) on CustomerInquiryService.
+ *
+ * Not part of the regular build. Run with:
+ *   mvn test -Dtest=CustomerInquiryBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Customer Inquiry Benchmark")
+class CustomerInquiryBenchmarkTest {
+
+    private static final Integer CUSTOMER_NUMBER = 10001;
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    @Autowired
+    private CustomerInquiryService customerInquiryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Compare JDBC fast path with transactional JPA path")
+    void benchmarkInquiryPaths() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", false);
+        Supplier<CustomerDTO> jpaPath = () -> readOnly.execute(status ->
+                customerInquiryService.getCustomerByNumber(CUSTOMER_NUMBER));
+        double jpaNanos = measure(jpaPath);
+
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", true);
+        Supplier<CustomerDTO> jdbcPath = () -> customerInquiryService.getCustomerByNumber(CUSTOMER_NUMBER);
+        double jdbcNanos = measure(jdbcPath);
+
+        System.out.printf("Transactional JPA path: %,.0f ns/op%n", jpaNanos);
+        System.out.printf("JDBC fast path:         %,.0f ns/op (%.2fx)%n", jdbcNanos, jpaNanos / jdbcNanos);
+
+        assertThat(jdbcPath.get()).isEqualTo(jpaPath.get());
+    }
+
+    private static double measure(Supplier<CustomerDTO> inquiry) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertThat(inquiry.get()).isNotNull();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            inquiry.get();
+        }
+        return (double) (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+}
@@ -4,6 +4,7 @@ import com.lanarimarco.modernization.dtos.CustomerDTO;
 import com.lanarimarco.modernization.entities.Customer;
 import com.lanarimarco.modernization.exceptions.CustomerNotFoundException;
 import com.lanarimarco.modernization.exceptions.CustomerValidationException;
+import com.lanarimarco.modernization.repositories.CustomerJdbcRepository;
 import com.lanarimarco.modernization.repositories.CustomerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -33,6 +35,9 @@ class CustomerInquiryServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerJdbcRepository customerJdbcRepository;
+
     @InjectMocks
     private CustomerInquiryService customerInquiryService;
 
@@ -263,4 +268,52 @@ class CustomerInquiryServiceTest {
         assertThat(result.getBalance()).isEqualByComparingTo(preciseBalance);
         assertThat(result.getBalance().scale()).isEqualTo(2);
     }
+
+    @Test
+    @DisplayName("Should read through the JDBC fast path when direct lookup is enabled")
+    void testGetCustomerByNumber_DirectLookup() {
+        // Given
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", true);
+        CustomerDTO expected = CustomerDTO.builder()
+                .customerNumber(VALID_CUSTOMER_NUMBER)
+                .customerName("John Doe")
+                .balance(new BigDecimal("1250.75"))
+                .build();
+        when(customerJdbcRepository.findCustomerDTOByCustomerNumber(VALID_CUSTOMER_NUMBER))
+                .thenReturn(Optional.of(expected));
+
+        // When
+        CustomerDTO result = customerInquiryService.getCustomerByNumber(VALID_CUSTOMER_NUMBER);
+
+        // Then
+        assertThat(result).isEqualTo(expected);
+        verify(customerRepository, never()).findByCustomerNumber(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should keep not-found semantics on the JDBC fast path")
+    void testGetCustomerByNumber_DirectLookupNotFound() {
+        // Given
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", true);
+        when(customerJdbcRepository.findCustomerDTOByCustomerNumber(NONEXISTENT_CUSTOMER_NUMBER))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> customerInquiryService.getCustomerByNumber(NONEXISTENT_CUSTOMER_NUMBER))
+                .isInstanceOf(CustomerNotFoundException.class)
+                .hasMessage("Customer not found: " + NONEXISTENT_CUSTOMER_NUMBER);
+    }
+
+    @Test
+    @DisplayName("Should validate before touching the JDBC fast path")
+    void testGetCustomerByNumber_DirectLookupValidation() {
+        // Given
+        ReflectionTestUtils.setField(customerInquiryService, "directLookupEnabled", true);
+
+        // When & Then
+        assertThatThrownBy(() -> customerInquiryService.getCustomerByNumber(INVALID_CUSTOMER_NUMBER))
+                .isInstanceOf(CustomerValidationException.class)
+                .hasMessage("Customer number required");
+        verifyNoInteractions(customerJdbcRepository);
+    }
 }
@@ -5,9 +5,9 @@
  * Maps to CUSTDSP.dds display file with PROMPT and DETAIL record formats
  */
 
-import React, { useState, FormEvent, KeyboardEvent } from 'react';
+import React, { useState, useEffect, useRef, FormEvent, KeyboardEvent } from 'react';
 import { Customer, CustomerSearchState } from '../../types';
-import { getCustomerByNumber } from '../../services/api';
+import { CustomerInquirySession, getCustomerByNumber, openCustomerInquirySession } from '../../services/api';
 import './CustomerInquiry.css';
 
 /**
@@ -27,6 +27,18 @@ export const CustomerInquiry: React.FC = () => {
   const [customer, setCustomer] = useState<Customer | null>(null);
   const [errorMessage, setErrorMessage] = useState<string>('');
 
+  // One inquiry session per screen, like the 5250 job staying on CUST001
+  const sessionRef = useRef<CustomerInquirySession | null>(null);
+
+  useEffect(() => {
+    const session = openCustomerInquirySession();
+    sessionRef.current = session;
+    return () => {
+      sessionRef.current = null;
+      session.close();
+    };
+  }, []);
+
   /**
    * Handle form submission
    * Maps to: User pressing Enter on PROMPT screen
@@ -69,9 +81,11 @@ export const CustomerInquiry: React.FC = () => {
     setSearchState('loading');
 
     try {
-      // Call API: GET /api/customers/{customerNumber}
+      // Call API: inquiry session, or GET /api/customers/{customerNumber} without one
       // RPGLE: C     PCUSTNO       Chain     CUSTMAST
-      const data = await getCustomerByNumber(custNo);
+      const data = sessionRef.current
+        ? await sessionRef.current.lookup(custNo)
+        : await getCustomerByNumber(custNo);
 
       // Customer found
       // RPGLE: If %Found(CUSTMAST)
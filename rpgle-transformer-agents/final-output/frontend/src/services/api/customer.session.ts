@@ -0,0 +1,110 @@
+/**
+ * Customer Inquiry Session
+ *
+ * Keeps one WebSocket connection open for back-to-back lookups
+ * Maps to CustomerInquirySessionHandler.java (/api/inquiry-session)
+ *
+ * Lookups fall back to GET /api/customers/{customerNumber} while the
+ * connection is not open, or when the server does not answer within
+ * LOOKUP_TIMEOUT_MS; a closed connection is reopened on the next lookup
+ */
+
+import { Customer, InquirySessionResponse } from '../../types';
+import { getCustomerByNumber } from './customer.service';
+
+// Get API base URL from environment variable
+const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080';
+const SESSION_URL = `${API_BASE_URL.replace(/^http/, 'ws')}/api/inquiry-session`;
+
+// How long a lookup waits for its session response before retrying over REST
+const LOOKUP_TIMEOUT_MS = 5000;
+
+interface PendingLookup {
+  customerNumber: number;
+  resolve: (customer: Customer) => void;
+  reject: (error: Error) => void;
+  timer: ReturnType<typeof setTimeout>;
+}
+
+export interface CustomerInquirySession {
+  lookup: (customerNumber: number) => Promise<Customer>;
+  close: () => void;
+}
+
+/**
+ * Open an inquiry session
+ *
+ * @returns CustomerInquirySession whose lookup resolves with the DETAIL
+ *          customer or rejects with the PMSG error message
+ */
+export const openCustomerInquirySession = (): CustomerInquirySession => {
+  const pending = new Map<string, PendingLookup>();
+  let socket: WebSocket | null = null;
+  let nextRequestId = 1;
+  let closed = false;
+
+  const connect = () => {
+    const ws = new WebSocket(SESSION_URL);
+
+    ws.onmessage = (event: MessageEvent) => {
+      const response: InquirySessionResponse = JSON.parse(event.data);
+      const waiting = response.requestId ? pending.get(response.requestId) : undefined;
+      if (!waiting) {
+        return;
+      }
+      pending.delete(response.requestId as string);
+      clearTimeout(waiting.timer);
+
+      // RPGLE: If %Found(CUSTMAST) -> ExFmt DETAIL, else PMSG on PROMPT
+      if (response.format === 'DETAIL' && response.customer) {
+        waiting.resolve(response.customer);
+      } else {
+        waiting.reject(new Error(response.message || 'An error occurred while fetching customer data'));
+      }
+    };
+
+    ws.onclose = () => {
+      // Lookups still waiting on this connection are retried over REST
+      pending.forEach((waiting) => {
+        clearTimeout(waiting.timer);
+        getCustomerByNumber(waiting.customerNumber).then(waiting.resolve, waiting.reject);
+      });
+      pending.clear();
+      if (socket === ws) {
+        socket = null;
+      }
+    };
+
+    socket = ws;
+  };
+
+  const lookup = (customerNumber: number): Promise<Customer> => {
+    if (!closed && (socket === null || socket.readyState === WebSocket.CLOSED)) {
+      connect();
+    }
+    if (socket === null || socket.readyState !== WebSocket.OPEN) {
+      return getCustomerByNumber(customerNumber);
+    }
+
+    const requestId = String(nextRequestId++);
+    const openSocket = socket;
+    return new Promise<Customer>((resolve, reject) => {
+      // Connected but silent server: give up on the session response and retry over REST
+      const timer = setTimeout(() => {
+        if (pending.delete(requestId)) {
+          getCustomerByNumber(customerNumber).then(resolve, reject);
+        }
+      }, LOOKUP_TIMEOUT_MS);
+      pending.set(requestId, { customerNumber, resolve, reject, timer });
+      openSocket.send(JSON.stringify({ requestId, customerNumber }));
+    });
+  };
+
+  const close = () => {
+    closed = true;
+    socket?.close();
+  };
+
+  connect();
+  return { lookup, close };
+};
@@ -1 +1,3 @@
 export { customerService, getCustomerByNumber } from './customer.service';
+export { openCustomerInquirySession } from './customer.session';
+export type { CustomerInquirySession } from './customer.session';
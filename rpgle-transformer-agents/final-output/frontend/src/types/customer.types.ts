@@ -29,6 +29,21 @@ export interface CustomerErrorResponse {
   customerNumber?: number;
 }
 
+/**
+ * Inquiry Session Response
+ * One lookup result pushed over the inquiry session WebSocket
+ * Maps to InquiryResponse.java: DETAIL when found, PROMPT with PMSG message otherwise
+ */
+export interface InquirySessionResponse {
+  requestId?: string;
+  format: 'DETAIL' | 'PROMPT';
+  status: number;
+  customerNumber?: number;
+  customer?: Customer;
+  error?: string;
+  message?: string;
+}
+
 /**
  * Customer Search State
  * Tracks the current state of the customer search operation
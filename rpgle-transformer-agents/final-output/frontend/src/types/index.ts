@@ -1 +1 @@
-export type { Customer, CustomerErrorResponse, CustomerSearchState } from './customer.types';
+export type { Customer, CustomerErrorResponse, CustomerSearchState, InquirySessionResponse } from './customer.types';
@@ -0,0 +1,22 @@
+#!/bin/bash
+# Generate the expected results of the equivalence suite by interpreting
+# the original RPG program (default CUST001) over a CSV extract of its
+# database file, one inquiry per customer number.
+#
+# Usage: ./generate-oracle.sh --records FILE [--customers FROM-TO] [--output FILE] [--parallelism N]
+# Output defaults to work-in-progress/equivalence/{PROGRAM}-expected.csv
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(dirname "$SCRIPT_DIR")"
+ENGINE_JAR="$PROJECT_ROOT/engine/target/conversion-engine.jar"
+
+if [ ! -f "$ENGINE_JAR" ]; then
+    echo "Building conversion engine..."
+    mvn -B -q -f "$PROJECT_ROOT/engine/pom.xml" package -DskipTests
+    if [ $? -ne 0 ]; then
+        echo "❌ Error building the conversion engine. Aborting."
+        exit 1
+    fi
+fi
+
+java -cp "$ENGINE_JAR" com.lanarimarco.modernization.engine.GenerateOracle --project-root "$PROJECT_ROOT" "$@"
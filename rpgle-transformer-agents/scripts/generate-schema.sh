@@ -0,0 +1,22 @@
+#!/bin/bash
+# Generate Flyway migrations and JPA entities for every DDS physical file
+# in source-rpgle/dds/physical-files. Only files whose DDS (or referenced
+# DDS) changed since the last run are regenerated.
+#
+# Usage: ./generate-schema.sh [--migrations DIR] [--java DIR] [--package NAME] [--force]
+# Output defaults to work-in-progress/generated-schema/
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(dirname "$SCRIPT_DIR")"
+ENGINE_JAR="$PROJECT_ROOT/engine/target/conversion-engine.jar"
+
+if [ ! -f "$ENGINE_JAR" ]; then
+    echo "Building conversion engine..."
+    mvn -B -q -f "$PROJECT_ROOT/engine/pom.xml" package -DskipTests
+    if [ $? -ne 0 ]; then
+        echo "❌ Error building the conversion engine. Aborting."
+        exit 1
+    fi
+fi
+
+java -cp "$ENGINE_JAR" com.lanarimarco.modernization.engine.GenerateSchema --project-root "$PROJECT_ROOT" "$@"
@@ -0,0 +1,22 @@
+#!/bin/bash
+# Set up all 7 phases for every program in source-rpgle/programs
+# Phases of independent programs run in parallel; phases whose inputs
+# (program source, files, copybooks, called programs, agent files) did not
+# change since the last run are skipped.
+#
+# Usage: ./run-library-pipeline.sh [--programs A,B] [--parallelism N] [--force]
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(dirname "$SCRIPT_DIR")"
+ENGINE_JAR="$PROJECT_ROOT/engine/target/conversion-engine.jar"
+
+if [ ! -f "$ENGINE_JAR" ]; then
+    echo "Building conversion engine..."
+    mvn -B -q -f "$PROJECT_ROOT/engine/pom.xml" package -DskipTests
+    if [ $? -ne 0 ]; then
+        echo "❌ Error building the conversion engine. Aborting."
+        exit 1
+    fi
+fi
+
+java -jar "$ENGINE_JAR" --project-root "$PROJECT_ROOT" "$@"
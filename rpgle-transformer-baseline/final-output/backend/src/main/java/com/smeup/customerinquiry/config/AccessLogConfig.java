@@ -0,0 +1,29 @@
+package com.smeup.customerinquiry.config;
+
+import com.smeup.customerinquiry.logging.AccessLogFilter;
+import com.smeup.customerinquiry.logging.AccessLogWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AccessLogWriter accessLogWriter(AccessLogProperties properties) {
+        return new AccessLogWriter(properties.getBufferCapacity(), properties.getFlushIntervalMs());
+    }
+
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLogWriter accessLogWriter,
+                                                                   AccessLogProperties properties) {
+        FilterRegistrationBean<AccessLogFilter> registration =
+                new FilterRegistrationBean<>(new AccessLogFilter(accessLogWriter, properties.getSuccessSampleRate()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
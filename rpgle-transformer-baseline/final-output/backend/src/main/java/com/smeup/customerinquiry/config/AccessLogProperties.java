@@ -0,0 +1,26 @@
+package com.smeup.customerinquiry.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Fraction of successful requests written to the access log; 4xx/5xx are always written.
+     */
+    private double successSampleRate = 0.01;
+
+    /**
+     * Entries waiting for the writer thread; further entries are dropped (and counted) when full.
+     */
+    private int bufferCapacity = 8192;
+
+    /**
+     * How long the writer thread sleeps when the buffer is empty.
+     */
+    private long flushIntervalMs = 100;
+}
@@ -0,0 +1,47 @@
+package com.smeup.customerinquiry.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * When false, PUT /api/customers/{customerNumber} updates synchronously in its own transaction.
+     */
+    private boolean enabled = false;
+
+    /**
+     * ACCEPTED answers 202 as soon as the update is queued (lost if the instance dies before the flush);
+     * COMMITTED answers 200 only after the batch containing the update has committed.
+     */
+    private AckMode ackMode = AckMode.COMMITTED;
+
+    /**
+     * Maximum number of distinct customers waiting to be flushed.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * A flush starts as soon as this many customers are pending...
+     */
+    private int batchSize = 500;
+
+    /**
+     * ...or when the oldest pending update has waited this long.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * How long a request may wait for queue space (and, in COMMITTED mode, for its commit).
+     */
+    private Duration ackTimeout = Duration.ofSeconds(5);
+
+    public enum AckMode {
+        ACCEPTED,
+        COMMITTED
+    }
+}
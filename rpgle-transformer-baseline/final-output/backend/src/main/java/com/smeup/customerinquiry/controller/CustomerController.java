@@ -1,15 +1,25 @@
 package com.smeup.customerinquiry.controller;
 
+import com.smeup.customerinquiry.config.WriteBehindProperties;
+import com.smeup.customerinquiry.dto.CreditCheckBatchRequest;
+import com.smeup.customerinquiry.dto.CreditCheckResult;
 import com.smeup.customerinquiry.dto.CustomerDTO;
+import com.smeup.customerinquiry.service.CreditCheckService;
 import com.smeup.customerinquiry.service.CustomerService;
+import com.smeup.customerinquiry.service.CustomerWriteBehindQueue;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -19,40 +29,75 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CreditCheckService creditCheckService;
+    private final ObjectProvider<CustomerWriteBehindQueue> writeBehindQueue;
+    private final WriteBehindProperties writeBehindProperties;
 
     @GetMapping("/{customerNumber}")
     public ResponseEntity<CustomerDTO> getCustomer(@PathVariable Integer customerNumber) {
-        log.info("GET request for customer: {}", customerNumber);
+        log.debug("GET request for customer: {}", customerNumber);
         CustomerDTO customer = customerService.getCustomerByNumber(customerNumber);
         return ResponseEntity.ok(customer);
     }
 
     @GetMapping
     public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
-        log.info("GET request for all customers");
+        log.debug("GET request for all customers");
         List<CustomerDTO> customers = customerService.getAllCustomers();
         return ResponseEntity.ok(customers);
     }
 
     @PostMapping
     public ResponseEntity<CustomerDTO> createCustomer(@Valid @RequestBody CustomerDTO customerDTO) {
-        log.info("POST request to create customer: {}", customerDTO.getCustomerNumber());
+        log.debug("POST request to create customer: {}", customerDTO.getCustomerNumber());
         CustomerDTO createdCustomer = customerService.createCustomer(customerDTO);
         return new ResponseEntity<>(createdCustomer, HttpStatus.CREATED);
     }
 
     @PutMapping("/{customerNumber}")
-    public ResponseEntity<CustomerDTO> updateCustomer(
+    public CompletableFuture<ResponseEntity<CustomerDTO>> updateCustomer(
             @PathVariable Integer customerNumber,
             @Valid @RequestBody CustomerDTO customerDTO) {
-        log.info("PUT request to update customer: {}", customerNumber);
-        CustomerDTO updatedCustomer = customerService.updateCustomer(customerNumber, customerDTO);
-        return ResponseEntity.ok(updatedCustomer);
+        log.debug("PUT request to update customer: {}", customerNumber);
+
+        CustomerWriteBehindQueue queue = writeBehindQueue.getIfAvailable();
+        if (queue == null) {
+            CustomerDTO updatedCustomer = customerService.updateCustomer(customerNumber, customerDTO);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(updatedCustomer));
+        }
+
+        customerDTO.setCustomerNumber(customerNumber);
+        CompletableFuture<CustomerDTO> committed = queue.submit(customerNumber, customerDTO);
+        if (writeBehindProperties.getAckMode() == WriteBehindProperties.AckMode.ACCEPTED) {
+            return CompletableFuture.completedFuture(ResponseEntity.accepted().body(customerDTO));
+        }
+
+        // copy() so a timeout here does not complete the future shared with coalesced callers
+        return committed.copy()
+                .completeOnTimeout(null, writeBehindProperties.getAckTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(updatedCustomer -> updatedCustomer != null
+                        ? ResponseEntity.ok(updatedCustomer)
+                        : ResponseEntity.accepted().body(customerDTO));
+    }
+
+    @GetMapping("/{customerNumber}/credit-check")
+    public ResponseEntity<CreditCheckResult> checkCredit(
+            @PathVariable Integer customerNumber,
+            @RequestParam @Positive(message = "Amount must be positive") BigDecimal amount) {
+        log.debug("GET credit check for customer: {}", customerNumber);
+        return ResponseEntity.ok(creditCheckService.checkCredit(customerNumber, amount));
+    }
+
+    @PostMapping("/credit-check")
+    public ResponseEntity<List<CreditCheckResult>> checkCredit(
+            @Valid @RequestBody CreditCheckBatchRequest batchRequest) {
+        log.debug("POST credit check for {} orders", batchRequest.getChecks().size());
+        return ResponseEntity.ok(creditCheckService.checkCredit(batchRequest.getChecks()));
     }
 
     @DeleteMapping("/{customerNumber}")
     public ResponseEntity<Void> deleteCustomer(@PathVariable Integer customerNumber) {
-        log.info("DELETE request for customer: {}", customerNumber);
+        log.debug("DELETE request for customer: {}", customerNumber);
         customerService.deleteCustomer(customerNumber);
         return ResponseEntity.noContent().build();
     }
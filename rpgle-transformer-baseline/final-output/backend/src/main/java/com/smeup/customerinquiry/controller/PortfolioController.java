@@ -0,0 +1,37 @@
+package com.smeup.customerinquiry.controller;
+
+import com.smeup.customerinquiry.dto.PortfolioReportDTO;
+import com.smeup.customerinquiry.model.PortfolioDimension;
+import com.smeup.customerinquiry.service.PortfolioSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/customers/portfolio")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+public class PortfolioController {
+
+    private final PortfolioSummaryService portfolioSummaryService;
+
+    @GetMapping("/by-state")
+    public ResponseEntity<PortfolioReportDTO> getByState() {
+        log.debug("GET portfolio summary by state");
+        return ResponseEntity.ok(portfolioSummaryService.getReport(PortfolioDimension.STATE));
+    }
+
+    @GetMapping("/by-city")
+    public ResponseEntity<PortfolioReportDTO> getByCity() {
+        log.debug("GET portfolio summary by city");
+        return ResponseEntity.ok(portfolioSummaryService.getReport(PortfolioDimension.CITY));
+    }
+
+    @GetMapping("/by-last-order-month")
+    public ResponseEntity<PortfolioReportDTO> getByLastOrderMonth() {
+        log.debug("GET portfolio summary by last order month");
+        return ResponseEntity.ok(portfolioSummaryService.getReport(PortfolioDimension.LAST_ORDER_MONTH));
+    }
+}
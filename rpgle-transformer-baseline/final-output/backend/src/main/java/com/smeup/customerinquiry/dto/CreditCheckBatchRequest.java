@@ -0,0 +1,22 @@
+package com.smeup.customerinquiry.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditCheckBatchRequest {
+
+    @NotEmpty(message = "At least one credit check is required")
+    @Size(max = 1000, message = "At most 1000 credit checks per request")
+    private List<@Valid CreditCheckRequest> checks;
+}
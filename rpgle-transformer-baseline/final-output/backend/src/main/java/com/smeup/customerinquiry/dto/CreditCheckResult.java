@@ -0,0 +1,26 @@
+package com.smeup.customerinquiry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditCheckResult {
+
+    private Integer customerNumber;
+    private BigDecimal amount;
+    private BigDecimal creditHeadroom;
+    private Status status;
+
+    public enum Status {
+        APPROVED,
+        DECLINED,
+        NOT_FOUND
+    }
+}
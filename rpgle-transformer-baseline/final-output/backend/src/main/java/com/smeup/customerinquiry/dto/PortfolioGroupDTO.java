@@ -0,0 +1,20 @@
+package com.smeup.customerinquiry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioGroupDTO {
+
+    private String groupKey;
+    private long customerCount;
+    private BigDecimal totalBalance;
+    private BigDecimal totalCreditLimit;
+}
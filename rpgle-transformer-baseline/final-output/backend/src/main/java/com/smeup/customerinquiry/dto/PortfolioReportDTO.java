@@ -0,0 +1,20 @@
+package com.smeup.customerinquiry.dto;
+
+import com.smeup.customerinquiry.model.PortfolioDimension;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioReportDTO {
+
+    private PortfolioDimension dimension;
+    private List<PortfolioGroupDTO> groups;
+    private PortfolioGroupDTO total;
+}
@@ -0,0 +1,8 @@
+package com.smeup.customerinquiry.exception;
+
+public class WriteBehindQueueFullException extends RuntimeException {
+
+    public WriteBehindQueueFullException(Integer customerNumber) {
+        super("Update queue is full, retry later. Customer number: " + customerNumber);
+    }
+}
@@ -0,0 +1,26 @@
+package com.smeup.customerinquiry.logging;
+
+import lombok.Value;
+
+/**
+ * One API request as captured by {@link AccessLogFilter}; immutable so it can be
+ * handed to the background {@link AccessLogWriter} without copying.
+ */
+@Value
+public class AccessLogEntry {
+
+    long timestampMillis;
+    String requestId;
+    String method;
+    String path;
+    String customerNumber;
+    int status;
+    long durationMicros;
+
+    public String getOutcome() {
+        if (status >= 500) {
+            return "ERROR";
+        }
+        return status >= 400 ? "REJECTED" : "OK";
+    }
+}
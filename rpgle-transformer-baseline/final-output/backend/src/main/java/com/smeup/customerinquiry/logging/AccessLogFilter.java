@@ -0,0 +1,95 @@
+package com.smeup.customerinquiry.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captures request id, customer number, outcome and duration of every API call.
+ * Failed requests (status 4xx/5xx) are always logged; successful ones are sampled.
+ * Asynchronous requests (write-behind PUT) are logged when the async cycle completes.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private final AccessLogWriter accessLogWriter;
+    private final double successSampleRate;
+
+    public AccessLogFilter(AccessLogWriter accessLogWriter, double successSampleRate) {
+        this.accessLogWriter = accessLogWriter;
+        this.successSampleRate = successSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startNanos = System.nanoTime();
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isBlank()) {
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && isAsyncStarted(request)) {
+                String asyncRequestId = requestId;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, asyncRequestId, response.getStatus(), startNanos);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, requestId, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        startNanos);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, String requestId, int status, long startNanos) {
+        if (status >= 400 || ThreadLocalRandom.current().nextDouble() < successSampleRate) {
+            accessLogWriter.publish(new AccessLogEntry(
+                    System.currentTimeMillis(),
+                    requestId,
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    customerNumber(request),
+                    status,
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String customerNumber(HttpServletRequest request) {
+        Map<String, String> uriVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return uriVariables != null ? uriVariables.get("customerNumber") : null;
+    }
+}
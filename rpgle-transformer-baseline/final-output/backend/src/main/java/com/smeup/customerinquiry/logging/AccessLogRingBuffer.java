@@ -0,0 +1,84 @@
+package com.smeup.customerinquiry.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring buffer: many request threads offer, one writer thread drains.
+ * Producers claim a slot with a CAS on the producer index and never block;
+ * when the buffer is full the entry is dropped and counted instead.
+ */
+public class AccessLogRingBuffer {
+
+    private final AtomicReferenceArray<AccessLogEntry> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    // written only by the draining thread
+    private volatile long consumerIndex;
+
+    public AccessLogRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Access log buffer capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Publishes an entry without blocking; returns false if the buffer was full and the entry was dropped.
+     */
+    public boolean offer(AccessLogEntry entry) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex >= capacity) {
+                dropped.increment();
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+
+        slots.setRelease((int) index & mask, entry);
+        return true;
+    }
+
+    /**
+     * Hands up to maxEntries published entries to the sink, oldest first.
+     * Must only be called from one thread at a time.
+     */
+    public int drain(Consumer<AccessLogEntry> sink, int maxEntries) {
+        long index = consumerIndex;
+        int drained = 0;
+        while (drained < maxEntries) {
+            int offset = (int) index & mask;
+            AccessLogEntry entry = slots.getAcquire(offset);
+            if (entry == null) {
+                // empty, or a producer claimed the slot but has not published yet
+                break;
+            }
+            slots.setPlain(offset, null);
+            index++;
+            consumerIndex = index;
+            sink.accept(entry);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return (int) (producerIndex.get() - consumerIndex);
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,8 @@
+package com.smeup.customerinquiry.model;
+
+public enum PortfolioDimension {
+    TOTAL,
+    STATE,
+    CITY,
+    LAST_ORDER_MONTH
+}
@@ -0,0 +1,35 @@
+package com.smeup.customerinquiry.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-aggregated customer_master totals per group, kept current by CustomerService
+ * so portfolio reports read one row per group instead of every customer.
+ */
+@Entity
+@Table(name = "customer_portfolio_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioSummary {
+
+    @EmbeddedId
+    private PortfolioSummaryId id;
+
+    @Column(name = "customer_count", nullable = false)
+    private long customerCount;
+
+    @Column(name = "total_balance", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalBalance;
+
+    @Column(name = "total_credit_limit", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalCreditLimit;
+}
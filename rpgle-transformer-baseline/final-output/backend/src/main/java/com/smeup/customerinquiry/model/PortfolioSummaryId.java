@@ -0,0 +1,28 @@
+package com.smeup.customerinquiry.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioSummaryId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 20, nullable = false)
+    private PortfolioDimension dimension;
+
+    /**
+     * State code, city name or yyyy-MM; empty when the customer has no value for the dimension.
+     */
+    @Column(name = "group_key", length = 20, nullable = false)
+    private String groupKey;
+}
@@ -0,0 +1,15 @@
+package com.smeup.customerinquiry.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection carrying only the columns a credit check needs.
+ */
+public interface CreditPosition {
+
+    Integer getCustomerNumber();
+
+    BigDecimal getAccountBalance();
+
+    BigDecimal getCreditLimit();
+}
@@ -2,8 +2,12 @@ package com.smeup.customerinquiry.repository;
 
 import com.smeup.customerinquiry.model.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,16 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
     Optional<Customer> findByCustomerNumber(Integer customerNumber);
 
     boolean existsByCustomerNumber(Integer customerNumber);
+
+    @Query("select c.customerNumber as customerNumber, c.accountBalance as accountBalance, "
+            + "c.creditLimit as creditLimit from Customer c where c.customerNumber = :customerNumber")
+    Optional<CreditPosition> findCreditPosition(@Param("customerNumber") Integer customerNumber);
+
+    @Query("select c.customerNumber as customerNumber, c.accountBalance as accountBalance, "
+            + "c.creditLimit as creditLimit from Customer c where c.customerNumber in :customerNumbers")
+    List<CreditPosition> findCreditPositions(@Param("customerNumbers") Collection<Integer> customerNumbers);
+
+    @Query("select c.customerNumber as customerNumber, c.accountBalance as accountBalance, "
+            + "c.creditLimit as creditLimit from Customer c")
+    List<CreditPosition> findAllCreditPositions();
 }
@@ -0,0 +1,20 @@
+package com.smeup.customerinquiry.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One GROUP BY row over customer_master per last-order year and month; both are null
+ * for customers that never ordered.
+ */
+public interface MonthlyPortfolioTotals {
+
+    Integer getOrderYear();
+
+    Integer getOrderMonth();
+
+    Long getCustomerCount();
+
+    BigDecimal getTotalBalance();
+
+    BigDecimal getTotalCreditLimit();
+}
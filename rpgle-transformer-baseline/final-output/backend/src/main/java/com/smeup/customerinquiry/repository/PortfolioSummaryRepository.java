@@ -0,0 +1,67 @@
+package com.smeup.customerinquiry.repository;
+
+import com.smeup.customerinquiry.model.PortfolioDimension;
+import com.smeup.customerinquiry.model.PortfolioSummary;
+import com.smeup.customerinquiry.model.PortfolioSummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface PortfolioSummaryRepository extends JpaRepository<PortfolioSummary, PortfolioSummaryId> {
+
+    @Query("select s from PortfolioSummary s where s.id.dimension = :dimension and s.customerCount > 0 "
+            + "order by s.id.groupKey")
+    List<PortfolioSummary> findGroups(@Param("dimension") PortfolioDimension dimension);
+
+    @Modifying
+    @Query("update PortfolioSummary s set s.customerCount = s.customerCount + :customerCount, "
+            + "s.totalBalance = s.totalBalance + :balance, "
+            + "s.totalCreditLimit = s.totalCreditLimit + :creditLimit "
+            + "where s.id = :id")
+    int applyDelta(@Param("id") PortfolioSummaryId id,
+                   @Param("customerCount") long customerCount,
+                   @Param("balance") BigDecimal balance,
+                   @Param("creditLimit") BigDecimal creditLimit);
+
+    /**
+     * Inserts an empty group unless it exists. PostgreSQL syntax; the H2 development database
+     * runs in PostgreSQL mode for it.
+     */
+    @Modifying
+    @Query(value = "insert into customer_portfolio_summary "
+            + "(dimension, group_key, customer_count, total_balance, total_credit_limit) "
+            + "values (:dimension, :groupKey, 0, 0, 0) on conflict do nothing", nativeQuery = true)
+    void insertEmptyGroup(@Param("dimension") String dimension, @Param("groupKey") String groupKey);
+
+    @Query("select '' as groupKey, count(c) as customerCount, "
+            + "coalesce(sum(c.accountBalance), 0) as totalBalance, "
+            + "coalesce(sum(c.creditLimit), 0) as totalCreditLimit "
+            + "from Customer c")
+    List<PortfolioTotals> aggregateTotal();
+
+    @Query("select coalesce(c.state, '') as groupKey, count(c) as customerCount, "
+            + "coalesce(sum(c.accountBalance), 0) as totalBalance, "
+            + "coalesce(sum(c.creditLimit), 0) as totalCreditLimit "
+            + "from Customer c group by coalesce(c.state, '')")
+    List<PortfolioTotals> aggregateByState();
+
+    @Query("select coalesce(c.city, '') as groupKey, count(c) as customerCount, "
+            + "coalesce(sum(c.accountBalance), 0) as totalBalance, "
+            + "coalesce(sum(c.creditLimit), 0) as totalCreditLimit "
+            + "from Customer c group by coalesce(c.city, '')")
+    List<PortfolioTotals> aggregateByCity();
+
+    @Query("select extract(year from c.lastOrderDate) as orderYear, "
+            + "extract(month from c.lastOrderDate) as orderMonth, count(c) as customerCount, "
+            + "coalesce(sum(c.accountBalance), 0) as totalBalance, "
+            + "coalesce(sum(c.creditLimit), 0) as totalCreditLimit "
+            + "from Customer c "
+            + "group by extract(year from c.lastOrderDate), extract(month from c.lastOrderDate)")
+    List<MonthlyPortfolioTotals> aggregateByLastOrderMonth();
+}
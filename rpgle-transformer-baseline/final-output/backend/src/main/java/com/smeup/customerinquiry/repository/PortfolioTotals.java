@@ -0,0 +1,17 @@
+package com.smeup.customerinquiry.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One GROUP BY row over customer_master.
+ */
+public interface PortfolioTotals {
+
+    String getGroupKey();
+
+    Long getCustomerCount();
+
+    BigDecimal getTotalBalance();
+
+    BigDecimal getTotalCreditLimit();
+}
@@ -0,0 +1,55 @@
+package com.smeup.customerinquiry.service;
+
+import com.smeup.customerinquiry.dto.CreditCheckRequest;
+import com.smeup.customerinquiry.dto.CreditCheckResult;
+import com.smeup.customerinquiry.exception.CustomerNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CreditCheckService {
+
+    private final CreditHeadroomIndex creditHeadroomIndex;
+
+    public CreditCheckResult checkCredit(Integer customerNumber, BigDecimal amount) {
+        log.debug("Checking credit for customer {} amount {}", customerNumber, amount);
+
+        long headroomCents = creditHeadroomIndex.getHeadroomCents(customerNumber)
+                .orElseThrow(() -> new CustomerNotFoundException(customerNumber));
+
+        return toResult(customerNumber, amount, headroomCents);
+    }
+
+    public List<CreditCheckResult> checkCredit(List<CreditCheckRequest> requests) {
+        log.debug("Checking credit for {} orders", requests.size());
+
+        return requests.stream()
+                .map(request -> creditHeadroomIndex.getHeadroomCents(request.getCustomerNumber())
+                        .map(headroomCents -> toResult(request.getCustomerNumber(), request.getAmount(), headroomCents))
+                        .orElseGet(() -> CreditCheckResult.builder()
+                                .customerNumber(request.getCustomerNumber())
+                                .amount(request.getAmount())
+                                .status(CreditCheckResult.Status.NOT_FOUND)
+                                .build()))
+                .collect(Collectors.toList());
+    }
+
+    private CreditCheckResult toResult(Integer customerNumber, BigDecimal amount, long headroomCents) {
+        BigDecimal creditHeadroom = BigDecimal.valueOf(headroomCents, 2);
+        return CreditCheckResult.builder()
+                .customerNumber(customerNumber)
+                .amount(amount)
+                .creditHeadroom(creditHeadroom)
+                .status(amount.compareTo(creditHeadroom) <= 0
+                        ? CreditCheckResult.Status.APPROVED
+                        : CreditCheckResult.Status.DECLINED)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.smeup.customerinquiry.service;
+
+import com.smeup.customerinquiry.repository.CreditPosition;
+import com.smeup.customerinquiry.repository.CustomerRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory credit headroom (creditLimit - accountBalance, in cents) per customer,
+ * so a credit check never loads or serializes the customer entity.
+ * <p>
+ * The index is only written by one refresher thread, which re-reads the committed row after
+ * every change. While a change is in flight (begun but not yet refreshed) the customer is
+ * answered from the database, so a check never sees a headroom older than the last commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CreditHeadroomIndex {
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final CustomerRepository customerRepository;
+
+    private final Map<Integer, Long> headroomCents = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> changesInFlight = new ConcurrentHashMap<>();
+    private final BlockingQueue<Integer> committedChanges = new LinkedBlockingQueue<>();
+    private final Thread refresher = new Thread(this::runRefresher, "credit-headroom-refresher");
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        refresher.setDaemon(true);
+        refresher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.interrupt();
+    }
+
+    /**
+     * Marks the customer as changing until the surrounding transaction completes and,
+     * if it committed, the refresher has picked up the new values.
+     * Must be called inside the transaction that changes balance, credit limit or existence.
+     */
+    public void beginChange(Integer customerNumber) {
+        changesInFlight.merge(customerNumber, 1, Integer::sum);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    committedChanges.add(customerNumber);
+                } else {
+                    endChange(customerNumber);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the headroom in cents, or empty when the customer does not exist.
+     */
+    public Optional<Long> getHeadroomCents(Integer customerNumber) {
+        if (loaded && !changesInFlight.containsKey(customerNumber)) {
+            return Optional.ofNullable(headroomCents.get(customerNumber));
+        }
+        return customerRepository.findCreditPosition(customerNumber).map(CreditHeadroomIndex::toCents);
+    }
+
+    private void runRefresher() {
+        try {
+            while (!loaded) {
+                try {
+                    customerRepository.findAllCreditPositions()
+                            .forEach(position -> headroomCents.put(position.getCustomerNumber(), toCents(position)));
+                    loaded = true;
+                    log.info("Credit headroom index loaded for {} customers", headroomCents.size());
+                } catch (RuntimeException ex) {
+                    log.warn("Loading credit headroom index failed, retrying: {}", ex.getMessage());
+                    TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MILLIS);
+                }
+            }
+
+            List<Integer> batch = new ArrayList<>();
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(committedChanges.take());
+                committedChanges.drainTo(batch);
+                while (!refresh(batch)) {
+                    TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MILLIS);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean refresh(List<Integer> customerNumbers) {
+        Set<Integer> distinctNumbers = new HashSet<>(customerNumbers);
+        Map<Integer, Long> committed = new HashMap<>();
+        try {
+            for (CreditPosition position : customerRepository.findCreditPositions(distinctNumbers)) {
+                committed.put(position.getCustomerNumber(), toCents(position));
+            }
+        } catch (RuntimeException ex) {
+            // customers stay in flight, so checks keep reading the database until a retry succeeds
+            log.warn("Refreshing credit headroom for {} customers failed, retrying: {}",
+                    distinctNumbers.size(), ex.getMessage());
+            return false;
+        }
+
+        for (Integer customerNumber : distinctNumbers) {
+            Long cents = committed.get(customerNumber);
+            if (cents == null) {
+                headroomCents.remove(customerNumber);
+            } else {
+                headroomCents.put(customerNumber, cents);
+            }
+        }
+        customerNumbers.forEach(this::endChange);
+        return true;
+    }
+
+    private void endChange(Integer customerNumber) {
+        changesInFlight.computeIfPresent(customerNumber, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    private static long toCents(CreditPosition position) {
+        BigDecimal creditLimit = position.getCreditLimit() != null ? position.getCreditLimit() : BigDecimal.ZERO;
+        BigDecimal accountBalance = position.getAccountBalance() != null ? position.getAccountBalance() : BigDecimal.ZERO;
+        return creditLimit.subtract(accountBalance)
+                .setScale(2, RoundingMode.DOWN)
+                .unscaledValue()
+                .longValueExact();
+    }
+}
@@ -9,7 +9,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,10 +20,12 @@ import java.util.stream.Collectors;
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final CreditHeadroomIndex creditHeadroomIndex;
+    private final PortfolioSummaryService portfolioSummaryService;
 
     @Transactional(readOnly = true)
     public CustomerDTO getCustomerByNumber(Integer customerNumber) {
-        log.info("Fetching customer with number: {}", customerNumber);
+        log.debug("Fetching customer with number: {}", customerNumber);
 
         Customer customer = customerRepository.findByCustomerNumber(customerNumber)
                 .orElseThrow(() -> new CustomerNotFoundException(customerNumber));
@@ -31,7 +35,7 @@ public class CustomerService {
 
     @Transactional(readOnly = true)
     public List<CustomerDTO> getAllCustomers() {
-        log.info("Fetching all customers");
+        log.debug("Fetching all customers");
 
         return customerRepository.findAll().stream()
                 .map(this::mapToDTO)
@@ -40,34 +44,60 @@ public class CustomerService {
 
     @Transactional
     public CustomerDTO createCustomer(CustomerDTO customerDTO) {
-        log.info("Creating customer: {}", customerDTO.getCustomerNumber());
+        log.debug("Creating customer: {}", customerDTO.getCustomerNumber());
 
+        creditHeadroomIndex.beginChange(customerDTO.getCustomerNumber());
+        // save() merges onto an existing row with the same number, so retract that row's totals first
+        customerRepository.findById(customerDTO.getCustomerNumber())
+                .ifPresent(portfolioSummaryService::recordRemoval);
         Customer customer = mapToEntity(customerDTO);
         Customer savedCustomer = customerRepository.save(customer);
+        portfolioSummaryService.recordAddition(savedCustomer);
 
         return mapToDTO(savedCustomer);
     }
 
     @Transactional
     public CustomerDTO updateCustomer(Integer customerNumber, CustomerDTO customerDTO) {
-        log.info("Updating customer: {}", customerNumber);
+        log.debug("Updating customer: {}", customerNumber);
 
         Customer existingCustomer = customerRepository.findByCustomerNumber(customerNumber)
                 .orElseThrow(() -> new CustomerNotFoundException(customerNumber));
 
+        creditHeadroomIndex.beginChange(customerNumber);
+        portfolioSummaryService.recordRemoval(existingCustomer);
         updateEntityFromDTO(existingCustomer, customerDTO);
         Customer updatedCustomer = customerRepository.save(existingCustomer);
+        portfolioSummaryService.recordAddition(updatedCustomer);
 
         return mapToDTO(updatedCustomer);
     }
 
+    @Transactional
+    public Map<Integer, CustomerDTO> updateCustomers(Map<Integer, CustomerDTO> updates) {
+        log.debug("Updating {} customers in one transaction", updates.size());
+
+        Map<Integer, CustomerDTO> updatedCustomers = new HashMap<>();
+        for (Customer existingCustomer : customerRepository.findAllById(updates.keySet())) {
+            creditHeadroomIndex.beginChange(existingCustomer.getCustomerNumber());
+            portfolioSummaryService.recordRemoval(existingCustomer);
+            updateEntityFromDTO(existingCustomer, updates.get(existingCustomer.getCustomerNumber()));
+            portfolioSummaryService.recordAddition(existingCustomer);
+            updatedCustomers.put(existingCustomer.getCustomerNumber(), mapToDTO(existingCustomer));
+        }
+
+        return updatedCustomers;
+    }
+
     @Transactional
     public void deleteCustomer(Integer customerNumber) {
-        log.info("Deleting customer: {}", customerNumber);
+        log.debug("Deleting customer: {}", customerNumber);
 
         Customer customer = customerRepository.findByCustomerNumber(customerNumber)
                 .orElseThrow(() -> new CustomerNotFoundException(customerNumber));
 
+        creditHeadroomIndex.beginChange(customerNumber);
+        portfolioSummaryService.recordRemoval(customer);
         customerRepository.delete(customer);
     }
 
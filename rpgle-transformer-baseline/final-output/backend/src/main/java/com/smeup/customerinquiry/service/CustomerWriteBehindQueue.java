@@ -0,0 +1,237 @@
+package com.smeup.customerinquiry.service;
+
+import com.smeup.customerinquiry.config.WriteBehindProperties;
+import com.smeup.customerinquiry.dto.CustomerDTO;
+import com.smeup.customerinquiry.exception.CustomerNotFoundException;
+import com.smeup.customerinquiry.exception.WriteBehindQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded write-behind queue for customer updates.
+ * Updates are coalesced per customer number (last write wins) and applied by a single
+ * flusher thread in one transaction per batch, so N queued updates cost one commit.
+ */
+@Service
+@ConditionalOnProperty(prefix = "customer.write-behind", name = "enabled", havingValue = "true")
+@Slf4j
+public class CustomerWriteBehindQueue {
+
+    private final CustomerService customerService;
+    private final WriteBehindProperties properties;
+
+    private final Counter acceptedCounter;
+    private final Counter coalescedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final LinkedHashMap<Integer, PendingUpdate> pending = new LinkedHashMap<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public CustomerWriteBehindQueue(CustomerService customerService,
+                                    WriteBehindProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.customerService = customerService;
+        this.properties = properties;
+        this.acceptedCounter = meterRegistry.counter("customer.write_behind.accepted");
+        this.coalescedCounter = meterRegistry.counter("customer.write_behind.coalesced");
+        this.failedCounter = meterRegistry.counter("customer.write_behind.failed");
+        this.batchSizeSummary = meterRegistry.summary("customer.write_behind.batch.size");
+        this.flushTimer = Timer.builder("customer.write_behind.flush.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("customer.write_behind.queue.depth", this, CustomerWriteBehindQueue::depth)
+                .register(meterRegistry);
+        this.flusher = new Thread(this::runFlusher, "customer-write-behind");
+    }
+
+    @PostConstruct
+    void start() {
+        log.info("Write-behind enabled: ackMode={}, capacity={}, batchSize={}, flushInterval={}",
+                properties.getAckMode(), properties.getQueueCapacity(),
+                properties.getBatchSize(), properties.getFlushInterval());
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join(properties.getAckTimeout().toMillis());
+    }
+
+    /**
+     * Queues an update. The returned future completes with the committed state once the batch
+     * holding the update commits; callers coalesced onto the same pending entry share one future.
+     */
+    public CompletableFuture<CustomerDTO> submit(Integer customerNumber, CustomerDTO customerDTO) {
+        long deadline = System.nanoTime() + properties.getAckTimeout().toNanos();
+        lock.lock();
+        try {
+            while (true) {
+                PendingUpdate existing = pending.get(customerNumber);
+                if (existing != null) {
+                    existing.customerDTO = customerDTO;
+                    coalescedCounter.increment();
+                    return existing.result;
+                }
+                if (!running) {
+                    throw new WriteBehindQueueFullException(customerNumber);
+                }
+                if (pending.size() < properties.getQueueCapacity()) {
+                    PendingUpdate update = new PendingUpdate(customerDTO, System.nanoTime());
+                    pending.put(customerNumber, update);
+                    acceptedCounter.increment();
+                    if (pending.size() == 1 || pending.size() >= properties.getBatchSize()) {
+                        notEmpty.signal();
+                    }
+                    return update.result;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new WriteBehindQueueFullException(customerNumber);
+                }
+                notFull.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteBehindQueueFullException(customerNumber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int depth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            Map<Integer, PendingUpdate> batch;
+            try {
+                batch = takeBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            flush(batch);
+        }
+    }
+
+    private Map<Integer, PendingUpdate> takeBatch() throws InterruptedException {
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        lock.lock();
+        try {
+            while (running) {
+                if (pending.isEmpty()) {
+                    notEmpty.await();
+                    continue;
+                }
+                if (pending.size() >= properties.getBatchSize()) {
+                    break;
+                }
+                long oldest = pending.values().iterator().next().enqueuedNanos;
+                long wait = oldest + intervalNanos - System.nanoTime();
+                if (wait <= 0) {
+                    break;
+                }
+                notEmpty.awaitNanos(wait);
+            }
+
+            Map<Integer, PendingUpdate> batch = new LinkedHashMap<>();
+            Iterator<Map.Entry<Integer, PendingUpdate>> it = pending.entrySet().iterator();
+            while (it.hasNext() && batch.size() < properties.getBatchSize()) {
+                Map.Entry<Integer, PendingUpdate> entry = it.next();
+                batch.put(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(Map<Integer, PendingUpdate> batch) {
+        Map<Integer, CustomerDTO> updates = new LinkedHashMap<>();
+        batch.forEach((customerNumber, update) -> updates.put(customerNumber, update.customerDTO));
+
+        long start = System.nanoTime();
+        try {
+            Map<Integer, CustomerDTO> updated = customerService.updateCustomers(updates);
+            batch.forEach((customerNumber, update) -> {
+                CustomerDTO result = updated.get(customerNumber);
+                if (result != null) {
+                    update.result.complete(result);
+                } else {
+                    fail(customerNumber, update, new CustomerNotFoundException(customerNumber));
+                }
+            });
+        } catch (RuntimeException batchFailure) {
+            // One bad row rolls back the whole batch; retry row by row to isolate it.
+            log.warn("Write-behind batch of {} updates failed, retrying individually", batch.size(), batchFailure);
+            batch.forEach((customerNumber, update) -> {
+                try {
+                    update.result.complete(customerService.updateCustomer(customerNumber, update.customerDTO));
+                } catch (RuntimeException ex) {
+                    fail(customerNumber, update, ex);
+                }
+            });
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizeSummary.record(batch.size());
+    }
+
+    private void fail(Integer customerNumber, PendingUpdate update, RuntimeException ex) {
+        failedCounter.increment();
+        log.warn("Write-behind update for customer {} failed: {}", customerNumber, ex.getMessage());
+        update.result.completeExceptionally(ex);
+    }
+
+    private static final class PendingUpdate {
+
+        private final CompletableFuture<CustomerDTO> result = new CompletableFuture<>();
+        private final long enqueuedNanos;
+        private CustomerDTO customerDTO;
+
+        private PendingUpdate(CustomerDTO customerDTO, long enqueuedNanos) {
+            this.customerDTO = customerDTO;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.smeup.customerinquiry.service;
+
+import com.smeup.customerinquiry.dto.PortfolioGroupDTO;
+import com.smeup.customerinquiry.dto.PortfolioReportDTO;
+import com.smeup.customerinquiry.model.Customer;
+import com.smeup.customerinquiry.model.PortfolioDimension;
+import com.smeup.customerinquiry.model.PortfolioSummary;
+import com.smeup.customerinquiry.model.PortfolioSummaryId;
+import com.smeup.customerinquiry.repository.MonthlyPortfolioTotals;
+import com.smeup.customerinquiry.repository.PortfolioSummaryRepository;
+import com.smeup.customerinquiry.repository.PortfolioTotals;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains customer_portfolio_summary. Writers record each customer's contribution being
+ * removed or added; the deltas are summed per group for the whole transaction and applied
+ * just before commit, so a batch of N customer updates costs one UPDATE per touched group.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioSummaryService implements SmartInitializingSingleton {
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String NO_VALUE = "";
+
+    private final PortfolioSummaryRepository portfolioSummaryRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${customer.portfolio-summary.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    /**
+     * Runs before the web server starts, so no request can change customers mid-rebuild.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (rebuildOnStartup) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> rebuild());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PortfolioReportDTO getReport(PortfolioDimension dimension) {
+        log.debug("Fetching portfolio summary by {}", dimension);
+
+        List<PortfolioGroupDTO> groups = portfolioSummaryRepository.findGroups(dimension).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+        PortfolioGroupDTO total = portfolioSummaryRepository
+                .findById(new PortfolioSummaryId(PortfolioDimension.TOTAL, NO_VALUE))
+                .map(this::mapToDTO)
+                .orElseGet(() -> PortfolioGroupDTO.builder()
+                        .customerCount(0)
+                        .totalBalance(BigDecimal.ZERO)
+                        .totalCreditLimit(BigDecimal.ZERO)
+                        .build());
+
+        return PortfolioReportDTO.builder()
+                .dimension(dimension)
+                .groups(groups)
+                .total(total)
+                .build();
+    }
+
+    /**
+     * Recomputes every group from customer_master with one GROUP BY per dimension.
+     * The grand total is a separate query because H2 has no GROUP BY ROLLUP.
+     */
+    @Transactional
+    public void rebuild() {
+        portfolioSummaryRepository.deleteAllInBatch();
+
+        List<PortfolioSummary> summaries = new ArrayList<>();
+        addAll(summaries, PortfolioDimension.TOTAL, portfolioSummaryRepository.aggregateTotal());
+        addAll(summaries, PortfolioDimension.STATE, portfolioSummaryRepository.aggregateByState());
+        addAll(summaries, PortfolioDimension.CITY, portfolioSummaryRepository.aggregateByCity());
+        for (MonthlyPortfolioTotals row : portfolioSummaryRepository.aggregateByLastOrderMonth()) {
+            String groupKey = row.getOrderYear() != null
+                    ? YearMonth.of(row.getOrderYear(), row.getOrderMonth()).format(MONTH_FORMAT)
+                    : NO_VALUE;
+            summaries.add(new PortfolioSummary(
+                    new PortfolioSummaryId(PortfolioDimension.LAST_ORDER_MONTH, groupKey),
+                    row.getCustomerCount(),
+                    row.getTotalBalance(),
+                    row.getTotalCreditLimit()));
+        }
+        portfolioSummaryRepository.saveAll(summaries);
+
+        log.info("Rebuilt portfolio summary: {} groups", summaries.size());
+    }
+
+    /**
+     * Records that the customer, with its current field values, joins the portfolio.
+     * Must be called inside the transaction that writes the customer.
+     */
+    public void recordAddition(Customer customer) {
+        record(customer, 1);
+    }
+
+    /**
+     * Records that the customer, with its current field values, leaves the portfolio.
+     * For an update, call this before changing the entity and {@link #recordAddition} after.
+     */
+    public void recordRemoval(Customer customer) {
+        record(customer, -1);
+    }
+
+    private void record(Customer customer, int sign) {
+        Map<PortfolioSummaryId, Delta> deltas = pendingDeltas();
+        BigDecimal balance = valueOrZero(customer.getAccountBalance());
+        BigDecimal creditLimit = valueOrZero(customer.getCreditLimit());
+
+        for (PortfolioSummaryId id : groupsOf(customer)) {
+            deltas.computeIfAbsent(id, key -> new Delta()).add(sign, balance, creditLimit);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<PortfolioSummaryId, Delta> pendingDeltas() {
+        Map<PortfolioSummaryId, Delta> deltas =
+                (Map<PortfolioSummaryId, Delta>) TransactionSynchronizationManager.getResource(this);
+        if (deltas != null) {
+            return deltas;
+        }
+
+        Map<PortfolioSummaryId, Delta> newDeltas = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, newDeltas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                applyDeltas(newDeltas);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PortfolioSummaryService.this);
+            }
+        });
+        return newDeltas;
+    }
+
+    private void applyDeltas(Map<PortfolioSummaryId, Delta> deltas) {
+        // fixed order so concurrent transactions lock summary rows in the same sequence
+        List<PortfolioSummaryId> ids = deltas.keySet().stream()
+                .sorted(Comparator.comparing(PortfolioSummaryId::getDimension)
+                        .thenComparing(PortfolioSummaryId::getGroupKey))
+                .collect(Collectors.toList());
+
+        for (PortfolioSummaryId id : ids) {
+            Delta delta = deltas.get(id);
+            if (delta.isZero()) {
+                continue;
+            }
+            if (applyDelta(id, delta) == 0) {
+                createGroup(id);
+                if (applyDelta(id, delta) == 0) {
+                    throw new IllegalStateException("Portfolio summary group missing after insert: " + id);
+                }
+            }
+        }
+    }
+
+    private int applyDelta(PortfolioSummaryId id, Delta delta) {
+        return portfolioSummaryRepository.applyDelta(id, delta.customerCount, delta.balance, delta.creditLimit);
+    }
+
+    /**
+     * Inserts an empty group in the writer's transaction, so applying deltas needs no second
+     * connection. If a concurrent writer inserts the same group, the insert waits for it and
+     * then does nothing; either way the row exists afterwards.
+     */
+    private void createGroup(PortfolioSummaryId id) {
+        portfolioSummaryRepository.insertEmptyGroup(id.getDimension().name(), id.getGroupKey());
+    }
+
+    private List<PortfolioSummaryId> groupsOf(Customer customer) {
+        return List.of(
+                new PortfolioSummaryId(PortfolioDimension.TOTAL, NO_VALUE),
+                new PortfolioSummaryId(PortfolioDimension.STATE, valueOrEmpty(customer.getState())),
+                new PortfolioSummaryId(PortfolioDimension.CITY, valueOrEmpty(customer.getCity())),
+                new PortfolioSummaryId(PortfolioDimension.LAST_ORDER_MONTH, customer.getLastOrderDate() != null
+                        ? customer.getLastOrderDate().format(MONTH_FORMAT)
+                        : NO_VALUE));
+    }
+
+    private void addAll(List<PortfolioSummary> summaries, PortfolioDimension dimension, List<PortfolioTotals> rows) {
+        for (PortfolioTotals row : rows) {
+            summaries.add(new PortfolioSummary(
+                    new PortfolioSummaryId(dimension, row.getGroupKey()),
+                    row.getCustomerCount(),
+                    row.getTotalBalance(),
+                    row.getTotalCreditLimit()));
+        }
+    }
+
+    private PortfolioGroupDTO mapToDTO(PortfolioSummary summary) {
+        String groupKey = summary.getId().getGroupKey();
+        return PortfolioGroupDTO.builder()
+                .groupKey(groupKey.isEmpty() ? null : groupKey)
+                .customerCount(summary.getCustomerCount())
+                .totalBalance(summary.getTotalBalance())
+                .totalCreditLimit(summary.getTotalCreditLimit())
+                .build();
+    }
+
+    private static String valueOrEmpty(String value) {
+        return value != null ? value : NO_VALUE;
+    }
+
+    private static BigDecimal valueOrZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static final class Delta {
+
+        private long customerCount;
+        private BigDecimal balance = BigDecimal.ZERO;
+        private BigDecimal creditLimit = BigDecimal.ZERO;
+
+        private void add(int sign, BigDecimal balance, BigDecimal creditLimit) {
+            this.customerCount += sign;
+            this.balance = sign > 0 ? this.balance.add(balance) : this.balance.subtract(balance);
+            this.creditLimit = sign > 0 ? this.creditLimit.add(creditLimit) : this.creditLimit.subtract(creditLimit);
+        }
+
+        private boolean isZero() {
+            return customerCount == 0 && balance.signum() == 0 && creditLimit.signum() == 0;
+        }
+    }
+}
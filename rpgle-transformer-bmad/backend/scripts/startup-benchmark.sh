@@ -0,0 +1,121 @@
+#!/bin/bash
+# Startup benchmark for the bmad backend run modes
+# Measures, against the same database:
+#   flyway   - default: Flyway validates/migrates during startup, every bean eager
+#              time from launch to the first successful GET /api/v1/customers/{id}
+#   serve    - serve profile: schema version check instead of Flyway, lazy non-critical beans
+#              time from launch to the first successful GET /api/v1/customers/{id}
+#   migrate  - migrate profile: the one-off migrate job, time from launch to exit
+# Variants are interleaved within each run, so drift in host load hits all of them alike.
+#
+# Usage: ./startup-benchmark.sh [RUNS] [CUSTOMER_ID]
+# Database: DB_URL, DB_USER, DB_PASSWORD (default: the docker-compose PostgreSQL)
+# Results: target/startup-benchmark/results.csv (one row per run) and a median summary on stdout
+
+RUNS=${1:-5}
+CUSTOMER_ID=${2:-1001}
+PORT=${PORT:-18080}
+GRPC_PORT=${GRPC_PORT:-19090}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-180}
+DB_URL=${DB_URL:-jdbc:postgresql://localhost:5432/smeup}
+DB_USER=${DB_USER:-smeup}
+DB_PASSWORD=${DB_PASSWORD:-password}
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+BACKEND_DIR="$(dirname "$SCRIPT_DIR")"
+TARGET_DIR="$BACKEND_DIR/target"
+RESULTS_DIR="$TARGET_DIR/startup-benchmark"
+RESULTS_FILE="$RESULTS_DIR/results.csv"
+URL="http://localhost:$PORT/api/v1/customers/$CUSTOMER_ID"
+
+JAR=$(ls "$TARGET_DIR"/backend-*.jar 2>/dev/null | grep -v -- '-plain' | head -1)
+if [ -z "$JAR" ]; then
+    echo "No build found in $TARGET_DIR. Build first: ./mvnw package -DskipTests"
+    exit 1
+fi
+
+APP_ARGS="--spring.datasource.url=$DB_URL --spring.datasource.username=$DB_USER"
+APP_ARGS="$APP_ARGS --spring.datasource.password=$DB_PASSWORD --spring.jpa.show-sql=false"
+APP_ARGS="$APP_ARGS --server.port=$PORT --spring.grpc.server.port=$GRPC_PORT"
+
+VARIANTS=(flyway serve migrate)
+declare -A COMMANDS
+COMMANDS[flyway]="java -jar $JAR $APP_ARGS"
+COMMANDS[serve]="java -jar $JAR $APP_ARGS --spring.profiles.active=serve"
+COMMANDS[migrate]="java -jar $JAR $APP_ARGS --spring.profiles.active=migrate"
+
+mkdir -p "$RESULTS_DIR"
+echo "variant,run,millis" > "$RESULTS_FILE"
+
+now_millis() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Prints the time to the first successful GET in ms, or nothing on timeout
+measure_ready() {
+    local command=$1
+    local start deadline elapsed=""
+    start=$(now_millis)
+    deadline=$(( start + TIMEOUT_SECONDS * 1000 ))
+
+    $command > "$RESULTS_DIR/last-run.log" 2>&1 &
+    local app_pid=$!
+
+    while [ "$(now_millis)" -lt "$deadline" ]; do
+        if curl -sf -o /dev/null "$URL"; then
+            elapsed=$(( $(now_millis) - start ))
+            break
+        fi
+        if ! kill -0 "$app_pid" 2>/dev/null; then
+            break
+        fi
+        sleep 0.02
+    done
+
+    kill "$app_pid" 2>/dev/null
+    while kill -0 "$app_pid" 2>/dev/null; do
+        sleep 0.1
+    done
+    echo "$elapsed"
+}
+
+# Prints the time until the job exits successfully in ms, or nothing on failure
+measure_exit() {
+    local command=$1
+    local start
+    start=$(now_millis)
+    if $command > "$RESULTS_DIR/last-run.log" 2>&1; then
+        echo $(( $(now_millis) - start ))
+    fi
+}
+
+echo "========================================="
+echo "Startup benchmark: GET $URL"
+echo "Variants: ${VARIANTS[*]}, runs: $RUNS"
+echo "========================================="
+
+for run in $(seq 1 "$RUNS"); do
+    for variant in "${VARIANTS[@]}"; do
+        if [ "$variant" = migrate ]; then
+            millis=$(measure_exit "${COMMANDS[$variant]}")
+        else
+            millis=$(measure_ready "${COMMANDS[$variant]}")
+        fi
+        if [ -z "$millis" ]; then
+            echo "✗ $variant run $run failed (see $RESULTS_DIR/last-run.log)"
+            exit 1
+        fi
+        echo "$variant,$run,$millis" >> "$RESULTS_FILE"
+        echo "  $variant run $run: ${millis} ms"
+    done
+done
+
+echo ""
+echo "Median time to first successful GET (flyway, serve) and to exit (migrate):"
+for variant in "${VARIANTS[@]}"; do
+    median=$(grep "^$variant," "$RESULTS_FILE" | cut -d, -f3 | sort -n \
+        | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }')
+    printf "  %-8s %6s ms\n" "$variant" "$median"
+done
+echo ""
+echo "✓ Results written to $RESULTS_FILE"
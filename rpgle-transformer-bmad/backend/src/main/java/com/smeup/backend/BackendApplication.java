@@ -1,13 +1,36 @@
 package com.smeup.backend;
 
+import com.smeup.backend.migration.SchemaMigrationApplication;
+import com.smeup.backend.service.CustomerService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-/** Main application class. */
+/**
+ * Main application class.
+ *
+ * <p>With the migrate profile active the application only applies the Flyway migrations
+ * and exits (see SchemaMigrationApplication).
+ */
 @SpringBootApplication
+@EnableScheduling
 public class BackendApplication {
 
 	public static void main(String[] args) {
+		if (SchemaMigrationApplication.isRequested(args)) {
+			System.exit(SchemaMigrationApplication.migrate(args));
+		}
 		SpringApplication.run(BackendApplication.class, args);
 	}
+
+	/**
+	 * Keeps the inquiry path eager under lazy initialization (serve profile), so the first
+	 * request does not pay for starting Hibernate.
+	 */
+	@Bean
+	static LazyInitializationExcludeFilter eagerCustomerInquiry() {
+		return LazyInitializationExcludeFilter.forBeanTypes(CustomerService.class);
+	}
 }
@@ -1,44 +1,109 @@
 package com.smeup.backend.exception;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Global exception handler for the application.
+ *
+ * <p>
+ * ProblemDetail responses are problem+json, or CBOR / Smile when the client asked for that
+ * encoding of the customer inquiry.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /** Smile, the binary JSON encoding of Jackson. */
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     private static final String TITLE_NOT_FOUND = "Customer Not Found";
     private static final String TITLE_INVALID_ID = "Invalid Customer ID";
+    private static final List<MediaType> BINARY_MEDIA_TYPES = List.of(MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
 
     /**
      * Handles CustomerNotFoundException.
      *
-     * @param ex The exception.
+     * @param ex      The exception.
+     * @param request The request, for the encoding of the response.
      * @return ProblemDetail response with 404 status.
      */
     @ExceptionHandler(CustomerNotFoundException.class)
-    public ResponseEntity<ProblemDetail> handleCustomerNotFoundException(CustomerNotFoundException ex) {
+    public ResponseEntity<ProblemDetail> handleCustomerNotFoundException(CustomerNotFoundException ex,
+            WebRequest request) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
         problemDetail.setTitle(TITLE_NOT_FOUND);
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problemDetail);
+        return problem(HttpStatus.NOT_FOUND, problemDetail, request);
     }
 
     /**
      * Handles InvalidCustomerIdException.
      *
-     * @param ex The exception.
+     * @param ex      The exception.
+     * @param request The request, for the encoding of the response.
      * @return ProblemDetail response with 400 status.
      */
     @ExceptionHandler(InvalidCustomerIdException.class)
     public ResponseEntity<ProblemDetail> handleInvalidCustomerIdException(
-            InvalidCustomerIdException ex) {
+            InvalidCustomerIdException ex, WebRequest request) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
         problemDetail.setTitle(TITLE_INVALID_ID);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problemDetail);
+        return problem(HttpStatus.BAD_REQUEST, problemDetail, request);
+    }
+
+    /**
+     * Spring only offers problem+json and problem+xml for a ProblemDetail, so a client that
+     * negotiated CBOR or Smile would get JSON errors; the binary type is set explicitly.
+     */
+    private static ResponseEntity<ProblemDetail> problem(HttpStatus status, ProblemDetail problemDetail,
+            WebRequest request) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        binaryMediaType(request.getHeader(HttpHeaders.ACCEPT)).ifPresent(response::contentType);
+        return response.body(problemDetail);
+    }
+
+    /**
+     * Returns the binary encoding preferred by an Accept header, if the client prefers one to
+     * JSON.
+     *
+     * @param accept The Accept header, may be null.
+     * @return CBOR or Smile, or empty to answer problem+json.
+     */
+    static Optional<MediaType> binaryMediaType(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return Optional.empty();
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+        // stable sort: equal quality keeps the client's order
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                break;
+            }
+            for (MediaType binary : BINARY_MEDIA_TYPES) {
+                if (binary.equalsTypeAndSubtype(mediaType)) {
+                    return Optional.of(binary);
+                }
+            }
+            if (mediaType.includes(MediaType.APPLICATION_PROBLEM_JSON)
+                    || mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
     }
 }
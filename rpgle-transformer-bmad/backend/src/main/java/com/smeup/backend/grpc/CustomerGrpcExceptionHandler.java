@@ -0,0 +1,36 @@
+package com.smeup.backend.grpc;
+
+import com.smeup.backend.exception.CustomerNotFoundException;
+import com.smeup.backend.exception.InvalidCustomerIdException;
+import io.grpc.Status;
+import io.grpc.StatusException;
+import org.springframework.grpc.server.exception.GrpcExceptionHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps customer exceptions to gRPC status codes, the gRPC counterpart of
+ * GlobalExceptionHandler.
+ *
+ * <ul>
+ * <li>CustomerNotFoundException → NOT_FOUND (REST 404)
+ * <li>InvalidCustomerIdException, IllegalArgumentException → INVALID_ARGUMENT (REST 400)
+ * </ul>
+ *
+ * <p>
+ * Other exceptions are left to the default handler, which answers UNKNOWN without details.
+ */
+@Component
+public class CustomerGrpcExceptionHandler implements GrpcExceptionHandler {
+
+    @Override
+    public StatusException handleException(Throwable exception) {
+        if (exception instanceof CustomerNotFoundException) {
+            return Status.NOT_FOUND.withDescription(exception.getMessage()).asException();
+        }
+        if (exception instanceof InvalidCustomerIdException
+                || exception instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(exception.getMessage()).asException();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,193 @@
+package com.smeup.backend.grpc;
+
+import com.smeup.backend.exception.CustomerNotFoundException;
+import com.smeup.backend.exception.InvalidCustomerIdException;
+import com.smeup.backend.grpc.proto.Customer;
+import com.smeup.backend.grpc.proto.CustomerInquiryGrpc;
+import com.smeup.backend.grpc.proto.CustomerLookupResult;
+import com.smeup.backend.grpc.proto.GetCustomerRequest;
+import com.smeup.backend.grpc.proto.GetCustomersRequest;
+import com.smeup.backend.grpc.proto.ReadCustomersRequest;
+import com.smeup.backend.mapper.CustomerProtoMapper;
+import com.smeup.backend.service.CustomerService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.springframework.grpc.server.service.GrpcService;
+
+/**
+ * gRPC service for Customer operations, next to the REST API for internal Java callers.
+ *
+ * <p>
+ * RPGLE Equivalent: CUST001 - Customer Inquiry
+ *
+ * <p>
+ * Every lookup goes through CustomerService, so validation and not-found handling are the
+ * same as on GET /api/v1/customers/{id}; CustomerGrpcExceptionHandler maps the exceptions
+ * to gRPC status codes.
+ */
+@GrpcService
+public class CustomerInquiryGrpcService extends CustomerInquiryGrpc.CustomerInquiryImplBase {
+
+    /** Largest number of ids accepted by one GetCustomers call. */
+    static final int MAX_BATCH_SIZE = 1000;
+
+    /** Records read from CUSTMAST per query while streaming ReadCustomers. */
+    static final int READ_PAGE_SIZE = 500;
+
+    private static final long LAST_CUSTOMER_ID = 99999;
+
+    private final CustomerService customerService;
+    private final CustomerProtoMapper customerProtoMapper;
+
+    public CustomerInquiryGrpcService(CustomerService customerService,
+            CustomerProtoMapper customerProtoMapper) {
+        this.customerService = customerService;
+        this.customerProtoMapper = customerProtoMapper;
+    }
+
+    /**
+     * Retrieves customer details by ID.
+     *
+     * <p>
+     * RPGLE: CHAIN (CUSTID) CUSTMAST
+     */
+    @Override
+    public void getCustomer(GetCustomerRequest request, StreamObserver<Customer> responseObserver) {
+        com.smeup.backend.entity.Customer customer =
+                customerService.findCustomerById(request.getCustomerId());
+        responseObserver.onNext(customerProtoMapper.toMessage(customer));
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Retrieves several customers, one result per requested ID in request order.
+     *
+     * <p>
+     * RPGLE: CHAIN (CUSTID) CUSTMAST for each key, testing %FOUND per key
+     */
+    @Override
+    public void getCustomers(GetCustomersRequest request,
+            StreamObserver<CustomerLookupResult> responseObserver) {
+        if (request.getCustomerIdsCount() > MAX_BATCH_SIZE) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription("At most " + MAX_BATCH_SIZE + " customer IDs per call")
+                    .asRuntimeException();
+        }
+        for (long customerId : request.getCustomerIdsList()) {
+            if (isCancelled(responseObserver)) {
+                return;
+            }
+            responseObserver.onNext(lookup(customerId));
+        }
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Streams customers in CUSTNO order from the start key on.
+     *
+     * <p>
+     * RPGLE: SETLL (CUSTID) CUSTMAST, then READ CUSTMAST until %EOF or the record limit
+     *
+     * <p>
+     * A page is only read while the transport is ready for more messages: the reads resume
+     * from the call's onReady handler, so a slow client holds back the CUSTMAST queries
+     * instead of having the whole table buffered for it.
+     */
+    @Override
+    public void readCustomers(ReadCustomersRequest request,
+            StreamObserver<Customer> responseObserver) {
+        if (request.getMaxRecords() < 0) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription("max_records must not be negative")
+                    .asRuntimeException();
+        }
+        CustomerCursor cursor = new CustomerCursor(
+                request.getStartCustomerId() == 0 ? 1 : request.getStartCustomerId(),
+                request.getMaxRecords() == 0 ? Long.MAX_VALUE : request.getMaxRecords(),
+                responseObserver);
+        if (responseObserver instanceof ServerCallStreamObserver<Customer> call) {
+            // also runs once when this method returns, if the call is ready by then
+            call.setOnReadyHandler(() -> cursor.writePages(call::isReady));
+        } else {
+            cursor.writePages(() -> true);
+        }
+    }
+
+    private CustomerLookupResult lookup(long customerId) {
+        CustomerLookupResult.Builder result = CustomerLookupResult.newBuilder()
+                .setCustomerId(customerId);
+        try {
+            return result
+                    .setCustomer(customerProtoMapper.toMessage(
+                            customerService.findCustomerById(customerId)))
+                    .build();
+        } catch (CustomerNotFoundException e) {
+            return result.setError(CustomerLookupResult.Error.NOT_FOUND).build();
+        } catch (InvalidCustomerIdException e) {
+            return result.setError(CustomerLookupResult.Error.INVALID_CUSTOMER_ID).build();
+        }
+    }
+
+    private static boolean isCancelled(StreamObserver<?> responseObserver) {
+        return responseObserver instanceof ServerCallStreamObserver<?> call && call.isCancelled();
+    }
+
+    /**
+     * Position of one ReadCustomers call in CUSTMAST, advanced a page at a time.
+     *
+     * <p>
+     * gRPC runs the onReady handlers of a call one at a time, so the state needs no locking.
+     */
+    private final class CustomerCursor {
+
+        private final StreamObserver<Customer> responseObserver;
+        private long next;
+        private long remaining;
+        private boolean completed;
+
+        private CustomerCursor(long next, long remaining, StreamObserver<Customer> responseObserver) {
+            this.next = next;
+            this.remaining = remaining;
+            this.responseObserver = responseObserver;
+        }
+
+        /**
+         * Writes pages while the transport is ready, and completes the call at %EOF or the
+         * record limit.
+         */
+        private void writePages(BooleanSupplier ready) {
+            while (!completed && ready.getAsBoolean()) {
+                if (isCancelled(responseObserver)) {
+                    return;
+                }
+                if (!writePage()) {
+                    completed = true;
+                    responseObserver.onCompleted();
+                }
+            }
+        }
+
+        /**
+         * Writes the next page.
+         *
+         * @return true if there may be more records to read
+         */
+        private boolean writePage() {
+            int pageSize = (int) Math.min(READ_PAGE_SIZE, remaining);
+            List<com.smeup.backend.entity.Customer> page =
+                    customerService.readCustomers(next, pageSize);
+            for (com.smeup.backend.entity.Customer customer : page) {
+                responseObserver.onNext(customerProtoMapper.toMessage(customer));
+            }
+            remaining -= page.size();
+            if (page.size() < pageSize) {
+                return false; // %EOF
+            }
+            next = page.get(page.size() - 1).getCustomerId() + 1;
+            return remaining > 0 && next <= LAST_CUSTOMER_ID;
+        }
+    }
+}
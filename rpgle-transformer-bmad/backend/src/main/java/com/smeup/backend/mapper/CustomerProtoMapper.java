@@ -0,0 +1,97 @@
+package com.smeup.backend.mapper;
+
+import com.smeup.backend.entity.Customer;
+import java.math.BigDecimal;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper for converting between the Customer entity and its protobuf message.
+ *
+ * <p>
+ * BALANCE and CREDITLIM (9P 2) travel as their unscaled value in hundredths, so the amounts
+ * keep the exact packed-decimal value without a decimal string on the wire.
+ */
+@Component
+public class CustomerProtoMapper {
+
+    private static final int AMOUNT_SCALE = 2;
+
+    /**
+     * Converts a Customer entity to its protobuf message.
+     *
+     * @param customer The entity to convert.
+     * @return The corresponding message, or null if input is null.
+     * @throws ArithmeticException if an amount has more than two decimals.
+     */
+    public com.smeup.backend.grpc.proto.Customer toMessage(Customer customer) {
+        if (customer == null) {
+            return null;
+        }
+
+        com.smeup.backend.grpc.proto.Customer.Builder message =
+                com.smeup.backend.grpc.proto.Customer.newBuilder()
+                        .setCustomerId(customer.getCustomerId())
+                        .setCustomerName(customer.getCustomerName());
+        if (customer.getAddressLine1() != null) {
+            message.setAddressLine1(customer.getAddressLine1());
+        }
+        if (customer.getCity() != null) {
+            message.setCity(customer.getCity());
+        }
+        if (customer.getState() != null) {
+            message.setState(customer.getState());
+        }
+        if (customer.getZipCode() != null) {
+            message.setZipCode(customer.getZipCode());
+        }
+        if (customer.getPhoneNumber() != null) {
+            message.setPhoneNumber(customer.getPhoneNumber());
+        }
+        if (customer.getAccountBalance() != null) {
+            message.setAccountBalance(toHundredths(customer.getAccountBalance()));
+        }
+        if (customer.getCreditLimit() != null) {
+            message.setCreditLimit(toHundredths(customer.getCreditLimit()));
+        }
+        if (customer.getLastOrderDate() != null) {
+            message.setLastOrderDate(customer.getLastOrderDate());
+        }
+        return message.build();
+    }
+
+    /**
+     * Converts a protobuf message to a Customer entity.
+     *
+     * @param message The message to convert.
+     * @return The corresponding Entity, or null if input is null.
+     */
+    public Customer toEntity(com.smeup.backend.grpc.proto.Customer message) {
+        if (message == null) {
+            return null;
+        }
+
+        Customer customer = new Customer();
+        customer.setCustomerId(message.getCustomerId());
+        customer.setCustomerName(message.getCustomerName());
+        customer.setAddressLine1(message.hasAddressLine1() ? message.getAddressLine1() : null);
+        customer.setCity(message.hasCity() ? message.getCity() : null);
+        customer.setState(message.hasState() ? message.getState() : null);
+        customer.setZipCode(message.hasZipCode() ? message.getZipCode() : null);
+        customer.setPhoneNumber(message.hasPhoneNumber() ? message.getPhoneNumber() : null);
+        customer.setAccountBalance(
+                message.hasAccountBalance() ? fromHundredths(message.getAccountBalance()) : null);
+        customer.setCreditLimit(
+                message.hasCreditLimit() ? fromHundredths(message.getCreditLimit()) : null);
+        customer.setLastOrderDate(message.hasLastOrderDate() ? message.getLastOrderDate() : null);
+
+        return customer;
+    }
+
+    private static long toHundredths(BigDecimal amount) {
+        return amount.movePointRight(AMOUNT_SCALE).longValueExact();
+    }
+
+    private static BigDecimal fromHundredths(long hundredths) {
+        return BigDecimal.valueOf(hundredths, AMOUNT_SCALE);
+    }
+}
@@ -0,0 +1,53 @@
+package com.smeup.backend.migration;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Migrate-only run: applies the Flyway migrations to CUSTMAST and exits.
+ *
+ * <p>
+ * Only the DataSource and Flyway are configured; there is no component scan, so neither
+ * Hibernate nor the web and gRPC servers start. Run it once per deployment, before the
+ * serving instances (serve profile), with --spring.profiles.active=migrate. The exit code
+ * is 0 once the schema is current and 1 if a migration failed.
+ */
+@SpringBootConfiguration
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, FlywayAutoConfiguration.class})
+public class SchemaMigrationApplication {
+
+    /** Profile that selects the migrate-only run. */
+    public static final String MIGRATE_PROFILE = "migrate";
+
+    /**
+     * Whether the migrate profile is active on the command line, in the system properties or
+     * in SPRING_PROFILES_ACTIVE.
+     *
+     * @param args command line arguments
+     * @return true to run the migrations instead of the service
+     */
+    public static boolean isRequested(String... args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return environment.matchesProfiles(MIGRATE_PROFILE);
+    }
+
+    /**
+     * Applies the pending migrations.
+     *
+     * @param args command line arguments, as for the service
+     * @return exit code
+     */
+    public static int migrate(String... args) {
+        SpringApplication application = new SpringApplication(SchemaMigrationApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles(MIGRATE_PROFILE);
+        return SpringApplication.exit(application.run(args));
+    }
+}
@@ -0,0 +1,166 @@
+package com.smeup.backend.migration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.flywaydb.core.api.MigrationVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Startup check that CUSTMAST is at the schema version this build expects, for instances
+ * that leave migrating to the migrate job instead of running Flyway themselves.
+ *
+ * <p>
+ * The expected version is the highest versioned migration on the classpath, taken from
+ * the file names; the current version is read from the Flyway history table with one
+ * query. Flyway is not started, so no migration is read or checksummed and no lock is
+ * taken. A database behind the application, or without a history table, fails startup;
+ * a database ahead of it is accepted, so instances of the previous release keep running
+ * while a rolling deployment migrates forward.
+ */
+public class SchemaVersionCheck implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaVersionCheck.class);
+
+    private static final String VENDOR_PLACEHOLDER = "{vendor}";
+
+    /** Flyway versioned migration file name, e.g. V2__insert_test_data.sql. */
+    private static final Pattern VERSIONED_MIGRATION = Pattern.compile("V([0-9][0-9._]*)__.*\\.sql");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<String> locations;
+    private final String table;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+
+    /**
+     * Creates the check.
+     *
+     * @param dataSource database holding CUSTMAST
+     * @param locations  Flyway migration locations (spring.flyway.locations)
+     * @param table      Flyway history table (spring.flyway.table)
+     */
+    public SchemaVersionCheck(DataSource dataSource, List<String> locations, String table) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.locations = List.copyOf(locations);
+        this.table = table;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long start = System.nanoTime();
+        MigrationVersion expected = expectedVersion();
+        MigrationVersion current = currentVersion().orElseThrow(() -> new IllegalStateException(
+                "No Flyway history table " + table + " found; run the migrate job "
+                        + "(--spring.profiles.active=migrate) before starting the service"));
+        if (current.compareTo(expected) >= 0) {
+            log.info("Schema at version {}, this build expects {} (checked in {} ms)", current, expected,
+                    (System.nanoTime() - start) / 1_000_000);
+            return;
+        }
+        throw new IllegalStateException("Schema at version " + current + " but this build expects " + expected
+                + "; run the migrate job (--spring.profiles.active=migrate) before starting the service");
+    }
+
+    /**
+     * Returns the highest versioned migration in the migration locations.
+     *
+     * @return expected schema version, {@link MigrationVersion#EMPTY} if there are no migrations
+     */
+    MigrationVersion expectedVersion() {
+        MigrationVersion expected = MigrationVersion.EMPTY;
+        for (String location : locations) {
+            if (location.contains(VENDOR_PLACEHOLDER)) {
+                location = location.replace(VENDOR_PLACEHOLDER, vendor());
+            }
+            for (Resource resource : migrations(location)) {
+                Matcher matcher = VERSIONED_MIGRATION.matcher(String.valueOf(resource.getFilename()));
+                if (matcher.matches()) {
+                    MigrationVersion version = MigrationVersion.fromVersion(matcher.group(1).replace('_', '.'));
+                    if (version.compareTo(expected) > 0) {
+                        expected = version;
+                    }
+                }
+            }
+        }
+        return expected;
+    }
+
+    /**
+     * Returns the highest version applied successfully.
+     *
+     * <p>
+     * Only a missing history table counts as "not migrated"; any other failure to read it
+     * (connection, permissions, a damaged table) is rethrown as it is.
+     *
+     * @return current schema version, empty if there is no history table
+     */
+    Optional<MigrationVersion> currentVersion() {
+        // Flyway creates the table and its columns as quoted lower-case identifiers
+        String quote = jdbcTemplate.execute((Connection connection) -> historyTableExists(connection.getMetaData())
+                ? connection.getMetaData().getIdentifierQuoteString()
+                : null);
+        if (quote == null) {
+            return Optional.empty();
+        }
+        List<String> versions = jdbcTemplate.queryForList("select " + quote + "version" + quote
+                + " from " + quote + table + quote
+                + " where " + quote + "success" + quote + " and " + quote + "version" + quote + " is not null",
+                String.class);
+        MigrationVersion current = MigrationVersion.EMPTY;
+        for (String version : versions) {
+            MigrationVersion applied = MigrationVersion.fromVersion(version);
+            if (applied.compareTo(current) > 0) {
+                current = applied;
+            }
+        }
+        return Optional.of(current);
+    }
+
+    private boolean historyTableExists(DatabaseMetaData metaData) throws SQLException {
+        Connection connection = metaData.getConnection();
+        String escape = metaData.getSearchStringEscape();
+        String pattern = escape == null ? table : table.replace(escape, escape + escape)
+                .replace("_", escape + "_").replace("%", escape + "%");
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), pattern, null)) {
+            return tables.next();
+        }
+    }
+
+    /**
+     * Resolves {vendor} in a location the way Spring Boot's Flyway auto-configuration does.
+     */
+    private String vendor() {
+        String productName = jdbcTemplate.execute((Connection connection) ->
+                connection.getMetaData().getDatabaseProductName());
+        return DatabaseDriver.fromProductName(productName).getId();
+    }
+
+    private Resource[] migrations(String location) {
+        String pattern;
+        if (location.startsWith("filesystem:")) {
+            pattern = "file:" + location.substring("filesystem:".length());
+        } else {
+            pattern = "classpath*:" + location.substring(location.startsWith("classpath:") ? "classpath:".length() : 0);
+        }
+        try {
+            return resourceResolver.getResources(pattern + "/**/V*__*.sql");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list the migrations in " + location, e);
+        }
+    }
+}
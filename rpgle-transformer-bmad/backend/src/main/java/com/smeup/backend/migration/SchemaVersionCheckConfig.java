@@ -0,0 +1,41 @@
+package com.smeup.backend.migration;
+
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Checks the schema version at startup instead of migrating when
+ * schema.version-check.enabled=true (serve profile, with spring.flyway.enabled=false).
+ *
+ * <p>
+ * The check runs before Hibernate starts, so a missing migration fails with a pointer to
+ * the migrate job rather than with a schema validation error, and stays eager under lazy
+ * initialization.
+ */
+@Configuration
+@ConditionalOnProperty(name = "schema.version-check.enabled", havingValue = "true")
+public class SchemaVersionCheckConfig {
+
+    @Bean
+    public SchemaVersionCheck schemaVersionCheck(DataSource dataSource,
+            @Value("${spring.flyway.locations:classpath:db/migration}") String[] locations,
+            @Value("${spring.flyway.table:flyway_schema_history}") String table) {
+        return new SchemaVersionCheck(dataSource, List.of(locations), table);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaVersionCheck() {
+        return new EntityManagerFactoryDependsOnPostProcessor(SchemaVersionCheck.class);
+    }
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerSchemaVersionCheck() {
+        return LazyInitializationExcludeFilter.forBeanTypes(SchemaVersionCheck.class);
+    }
+}
@@ -1,8 +1,11 @@
 package com.smeup.backend.repository;
 
 import com.smeup.backend.entity.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +49,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
    * @param customerId the customer number (CUSTNO field from DDS)
    * @return Optional containing the customer if found, empty otherwise
    */
+  @Transactional(readOnly = true)
   Optional<Customer> findByCustomerId(Long customerId);
 
   /**
@@ -59,4 +63,47 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
    */
   List<Customer> findByCustomerNameContainingIgnoreCase(String customerName);
 
+  /**
+   * Find customers from a key on, in key order.
+   *
+   * <p>RPGLE Equivalent: SETLL CUSTMAST followed by READ CUSTMAST
+   * <pre>
+   * C     CUSTNO    SETLL     CUSTMAST
+   * C               READ      CUSTMAST
+   * C               DOW       NOT %EOF(CUSTMAST)
+   * </pre>
+   *
+   * @param customerId first customer number to read (CUSTNO field)
+   * @param limit      maximum number of records
+   * @return customers with CUSTNO at or after the key, ordered by CUSTNO
+   */
+  @Transactional(readOnly = true)
+  List<Customer> findByCustomerIdGreaterThanEqualOrderByCustomerIdAsc(Long customerId, Limit limit);
+
+  /**
+   * Find the numbers of all customers.
+   *
+   * <p>Reads only the key column; used to rebuild the in-memory existence filter.
+   *
+   * @return all customer numbers (CUSTNO field)
+   */
+  @Transactional(readOnly = true)
+  @Query("select c.customerId from Customer c")
+  List<Long> findAllCustomerIds();
+
+  /**
+   * Read the CUSTMAST change counter.
+   *
+   * <p>Bumped by a database trigger for every statement that adds CUSTMAST keys, whoever
+   * the writer; used to tell whether the in-memory existence filter is still current. The
+   * counter is spread over several rows, so this is their sum.
+   *
+   * @return the counter, empty if no trigger maintains it
+   */
+  @Transactional(readOnly = true)
+  @Query(value = "select cast(sum(CHANGE_COUNT) as bigint) from CUSTMAST_CHANGE "
+      + "having every(TRIGGER_MAINTAINED)",
+      nativeQuery = true)
+  Optional<Long> findCustmastChangeCount();
+
 }
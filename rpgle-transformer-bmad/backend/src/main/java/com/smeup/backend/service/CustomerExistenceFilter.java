@@ -0,0 +1,224 @@
+package com.smeup.backend.service;
+
+import com.smeup.backend.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory set of the existing CUSTNO values, so that inquiries for customers that
+ * definitely do not exist are answered without touching the database.
+ *
+ * <p>
+ * CUSTNO is 5P 0, so the whole key space 1-99999 fits in a bitset of about 12 KB; no
+ * probabilistic structure is needed. The bitset is rebuilt from CUSTMAST at startup and
+ * then periodically; deletions only take effect at the next rebuild, which costs a
+ * database query per lookup of a deleted customer but never a wrong 404.
+ *
+ * <p>
+ * CUSTMAST is written by other writers (RPG programs, batch loads, other instances), so
+ * the filter follows the CUSTMAST_CHANGE counter, bumped by a trigger for every statement
+ * that adds a key. A poll reads it every change-poll-interval into memory and rebuilds the
+ * bitset as soon as it moves; until the rebuild succeeds, misses go to the database. A
+ * lookup itself only reads the bitset and the cached counter. A customer added by another
+ * writer can therefore be answered as not found for up to one poll interval after its
+ * commit. Without the trigger (TRIGGER_MAINTAINED false, i.e. on databases without a
+ * db/vendor trigger script) the filter stays empty and lets every lookup through; so does
+ * it until the first rebuild completes.
+ *
+ * <p>
+ * Properties:
+ * <ul>
+ * <li>customer.existence-filter.enabled - answer definite misses in memory (default true)
+ * <li>customer.existence-filter.change-poll-interval - time between reads of the change
+ * counter (default 1s); it bounds how long a customer added elsewhere may be missed
+ * <li>customer.existence-filter.refresh-interval - time between full rebuilds (default 5m);
+ * it bounds how long lookups of deleted customers still go to the database
+ * </ul>
+ *
+ * <p>
+ * Metrics: customer.existence-filter.rejections (lookups answered as not found) and
+ * customer.existence-filter.stale-misses (misses let through because CUSTMAST changed).
+ */
+@Component
+public class CustomerExistenceFilter {
+
+    /** Highest CUSTNO allowed by the DDS definition (5P 0). */
+    static final long MAX_CUSTOMER_ID = 99999;
+
+    /** Cached counter value when the counter could not be read; never matches a snapshot. */
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerExistenceFilter.class);
+
+    private final boolean enabled;
+    private final CustomerRepository customerRepository;
+    private final Counter rejections;
+    private final Counter staleMisses;
+
+    /** Existing customers; null until the first rebuild completes or without a change trigger. */
+    private volatile Snapshot snapshot;
+
+    /** CUSTMAST_CHANGE counter as last read by the poll or a rebuild. */
+    private volatile long changeCount = UNKNOWN;
+
+    /** Whether the missing change trigger has been reported; guarded by this. */
+    private boolean untriggeredLogged;
+
+    /**
+     * Creates the filter; it stays empty, and lets every lookup through, until the first
+     * rebuild.
+     *
+     * @param enabled            whether to answer definite misses in memory
+     * @param customerRepository source of the existing customer numbers
+     * @param meterRegistry      registry for the filter metrics
+     */
+    public CustomerExistenceFilter(
+            @Value("${customer.existence-filter.enabled:true}") boolean enabled,
+            CustomerRepository customerRepository,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.customerRepository = customerRepository;
+        this.rejections = Counter.builder("customer.existence-filter.rejections")
+                .description("Customer lookups answered as not found without a query")
+                .register(meterRegistry);
+        this.staleMisses = Counter.builder("customer.existence-filter.stale-misses")
+                .description("Customer lookups not in the filter that went to the database "
+                        + "because CUSTMAST changed since the last rebuild")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns false only if the customer definitely does not exist. Does not touch the
+     * database.
+     *
+     * @param customerId customer number (CUSTNO field)
+     * @return false if the customer does not exist, true if it may exist
+     */
+    public boolean mightExist(long customerId) {
+        Snapshot current = snapshot;
+        if (!enabled || current == null || customerId < 1 || customerId > MAX_CUSTOMER_ID) {
+            return true;
+        }
+        if (isSet(current.bits(), customerId)) {
+            return true;
+        }
+        if (changeCount != current.changeCount()) {
+            staleMisses.increment();
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * Reads the CUSTMAST change counter and rebuilds the bitset if CUSTMAST gained keys since
+     * the last rebuild. If the counter cannot be read, misses go to the database until it can.
+     */
+    @Scheduled(fixedDelayString = "${customer.existence-filter.change-poll-interval:1s}")
+    public synchronized void pollChanges() {
+        if (!enabled) {
+            return;
+        }
+        Optional<Long> current;
+        try {
+            current = customerRepository.findCustmastChangeCount();
+        } catch (DataAccessException e) {
+            log.debug("Could not read the CUSTMAST change counter, letting misses through", e);
+            changeCount = UNKNOWN;
+            return;
+        }
+        Snapshot last = snapshot;
+        if (current.isEmpty()) {
+            if (last != null) {
+                rebuild();
+            }
+            return;
+        }
+        changeCount = current.get();
+        if (last != null && last.changeCount() != current.get()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the bitset from CUSTMAST. On failure the previous bitset stays in use.
+     *
+     * <p>
+     * The change counter is read before the keys: a customer committed after the counter
+     * was read moves the counter past the snapshot's value, one committed before it is in
+     * the key query.
+     */
+    @Scheduled(fixedDelayString = "${customer.existence-filter.refresh-interval:5m}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        AtomicLongArray rebuilt = new AtomicLongArray(wordCount());
+        int customers = 0;
+        long readCount;
+        try {
+            Optional<Long> current = customerRepository.findCustmastChangeCount();
+            if (current.isEmpty()) {
+                if (!untriggeredLogged) {
+                    untriggeredLogged = true;
+                    log.info("CUSTMAST has no change trigger (CUSTMAST_CHANGE), the customer "
+                            + "existence filter lets every lookup through");
+                }
+                snapshot = null;
+                return;
+            }
+            readCount = current.get();
+            for (Long customerId : customerRepository.findAllCustomerIds()) {
+                if (customerId >= 1 && customerId <= MAX_CUSTOMER_ID) {
+                    set(rebuilt, customerId);
+                    customers++;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not rebuild the customer existence filter, keeping the previous one",
+                    e);
+            return;
+        }
+        snapshot = new Snapshot(rebuilt, readCount);
+        changeCount = readCount;
+        log.debug("Customer existence filter rebuilt with {} customers", customers);
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public long getRejectionCount() {
+        return (long) rejections.count();
+    }
+
+    public long getStaleMissCount() {
+        return (long) staleMisses.count();
+    }
+
+    private static int wordCount() {
+        return (int) (MAX_CUSTOMER_ID >> 6) + 1;
+    }
+
+    private static boolean isSet(AtomicLongArray bits, long customerId) {
+        return (bits.get((int) (customerId >> 6)) & (1L << customerId)) != 0;
+    }
+
+    private static void set(AtomicLongArray bits, long customerId) {
+        int word = (int) (customerId >> 6);
+        long mask = 1L << customerId;
+        bits.getAndUpdate(word, value -> value | mask);
+    }
+
+    /** Existing customers and the CUSTMAST_CHANGE counter read before they were queried. */
+    private record Snapshot(AtomicLongArray bits, long changeCount) {
+    }
+}
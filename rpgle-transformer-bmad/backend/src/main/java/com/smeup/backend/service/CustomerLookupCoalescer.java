@@ -0,0 +1,177 @@
+package com.smeup.backend.service;
+
+import com.smeup.backend.entity.Customer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent lookups of the same customer onto one database query (single flight).
+ *
+ * <p>
+ * The first caller for a CUSTNO runs the query; callers arriving while it is in flight wait
+ * for its result instead of issuing their own. A waiter gives up after the maximum wait and
+ * queries on its own, so a slow query never holds more requests than it would without
+ * coalescing. A failing query fails every waiter with the same exception; not found is an
+ * empty result, so each caller raises its own CustomerNotFoundException.
+ *
+ * <p>
+ * Waiters share the returned entity and must not modify it.
+ *
+ * <p>
+ * Properties:
+ * <ul>
+ * <li>customer.lookup.coalescing.enabled - coalesce lookups (default true)
+ * <li>customer.lookup.coalescing.max-wait - wait for an in-flight lookup (default 2s)
+ * </ul>
+ *
+ * <p>
+ * Metrics: customer.lookup.coalescing.requests (role=leader|follower),
+ * customer.lookup.coalescing.timeouts, customer.lookup.coalescing.ratio (share of lookups
+ * answered by another caller's query) and customer.lookup.coalescing.in-flight.
+ */
+@Component
+public class CustomerLookupCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerLookupCoalescer.class);
+
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final ConcurrentMap<Long, CompletableFuture<Optional<Customer>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter timeouts;
+
+    /**
+     * Creates the coalescer and registers its metrics.
+     *
+     * @param enabled       whether to coalesce lookups
+     * @param maxWait       how long a caller waits for an in-flight lookup
+     * @param meterRegistry registry for the coalescing metrics
+     */
+    public CustomerLookupCoalescer(
+            @Value("${customer.lookup.coalescing.enabled:true}") boolean enabled,
+            @Value("${customer.lookup.coalescing.max-wait:2s}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWait = maxWait;
+        this.leaders = Counter.builder("customer.lookup.coalescing.requests")
+                .description("Customer lookups that ran their own query")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("customer.lookup.coalescing.requests")
+                .description("Customer lookups that joined a query in flight")
+                .tag("role", "follower")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("customer.lookup.coalescing.timeouts")
+                .description("Joined lookups that stopped waiting and queried on their own")
+                .register(meterRegistry);
+        Gauge.builder("customer.lookup.coalescing.ratio", this,
+                        CustomerLookupCoalescer::getCoalescingRatio)
+                .description("Share of customer lookups answered by another caller's query")
+                .register(meterRegistry);
+        Gauge.builder("customer.lookup.coalescing.in-flight", inFlight, ConcurrentMap::size)
+                .description("Customer lookups currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the customer, running {@code query} unless a lookup of the same customer is
+     * already in flight.
+     *
+     * @param customerId customer number (CUSTNO field)
+     * @param query      database lookup
+     * @return customer if found
+     */
+    public Optional<Customer> lookup(Long customerId, Function<Long, Optional<Customer>> query) {
+        if (!enabled) {
+            return query.apply(customerId);
+        }
+
+        CompletableFuture<Optional<Customer>> call = new CompletableFuture<>();
+        CompletableFuture<Optional<Customer>> running = inFlight.putIfAbsent(customerId, call);
+        if (running == null) {
+            leaders.increment();
+            return lead(customerId, query, call);
+        }
+
+        followers.increment();
+        try {
+            return running.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.debug("Lookup of customer {} still running after {}, querying directly",
+                    customerId, maxWait);
+            return query.apply(customerId);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting for lookup of customer " + customerId, e);
+        }
+    }
+
+    public long getLeaderCount() {
+        return (long) leaders.count();
+    }
+
+    public long getFollowerCount() {
+        return (long) followers.count();
+    }
+
+    public long getTimeoutCount() {
+        return (long) timeouts.count();
+    }
+
+    /**
+     * Share of lookups that joined another caller's query, 0 before the first lookup.
+     */
+    public double getCoalescingRatio() {
+        double total = leaders.count() + followers.count();
+        return total == 0 ? 0 : followers.count() / total;
+    }
+
+    /**
+     * Runs the query and hands its outcome to the waiters. The call leaves the in-flight map
+     * before it completes, so later callers start a fresh query rather than reuse this result.
+     */
+    private Optional<Customer> lead(Long customerId, Function<Long, Optional<Customer>> query,
+            CompletableFuture<Optional<Customer>> call) {
+        Optional<Customer> result;
+        try {
+            result = query.apply(customerId);
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(customerId, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(customerId, call);
+        call.complete(result);
+        return result;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
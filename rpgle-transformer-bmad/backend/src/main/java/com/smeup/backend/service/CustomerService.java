@@ -4,8 +4,9 @@ import com.smeup.backend.entity.Customer;
 import com.smeup.backend.exception.CustomerNotFoundException;
 import com.smeup.backend.exception.InvalidCustomerIdException;
 import com.smeup.backend.repository.CustomerRepository;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service implementing CUST001 customer inquiry business logic.
@@ -21,17 +22,28 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * <ul>
  * <li>CHAIN CUSTMAST → findCustomerById()
+ * <li>SETLL/READ CUSTMAST → readCustomers()
  * <li>%FOUND → Optional.isPresent()
  * <li>Input validation → validateCustomerId()
  * </ul>
+ *
+ * <p>
+ * Customers that definitely do not exist are rejected without a query (see
+ * CustomerExistenceFilter); concurrent lookups of the same customer share one query (see
+ * CustomerLookupCoalescer).
  */
 @Service
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final CustomerLookupCoalescer lookupCoalescer;
+    private final CustomerExistenceFilter existenceFilter;
 
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository,
+            CustomerLookupCoalescer lookupCoalescer, CustomerExistenceFilter existenceFilter) {
         this.customerRepository = customerRepository;
+        this.lookupCoalescer = lookupCoalescer;
+        this.existenceFilter = existenceFilter;
     }
 
     /**
@@ -50,14 +62,44 @@ public class CustomerService {
      * @throws InvalidCustomerIdException if customerId is null or not positive
      * @throws CustomerNotFoundException  if customer is not found
      */
-    @Transactional(readOnly = true)
     public Customer findCustomerById(Long customerId) {
+        // not transactional: a caller waiting for a coalesced lookup must not hold a connection
         validateCustomerId(customerId);
-        return customerRepository
-                .findByCustomerId(customerId)
+        if (!existenceFilter.mightExist(customerId)) {
+            throw new CustomerNotFoundException(customerId);
+        }
+        return lookupCoalescer
+                .lookup(customerId, customerRepository::findByCustomerId)
                 .orElseThrow(() -> new CustomerNotFoundException(customerId));
     }
 
+    /**
+     * Read customers in key order - equivalent to RPGLE SETLL/READ CUSTMAST.
+     *
+     * <p>
+     * RPGLE Equivalent:
+     *
+     * <pre>
+     * C     CUSTNO    SETLL     CUSTMAST
+     * C               READ      CUSTMAST
+     * C               DOW       NOT %EOF(CUSTMAST)
+     * </pre>
+     *
+     * @param startCustomerId first customer number to read (CUSTNO field)
+     * @param maxRecords      maximum number of records to return
+     * @return customers from the key on in CUSTNO order; fewer than maxRecords at end of file
+     * @throws InvalidCustomerIdException if startCustomerId is null or not positive
+     * @throws IllegalArgumentException   if maxRecords is not positive
+     */
+    public List<Customer> readCustomers(Long startCustomerId, int maxRecords) {
+        validateCustomerId(startCustomerId);
+        if (maxRecords <= 0) {
+            throw new IllegalArgumentException("maxRecords must be positive");
+        }
+        return customerRepository.findByCustomerIdGreaterThanEqualOrderByCustomerIdAsc(
+                startCustomerId, Limit.of(maxRecords));
+    }
+
     /**
      * Validate customer ID - equivalent to RPGLE CUSTNO IFEQ *ZEROS check.
      *
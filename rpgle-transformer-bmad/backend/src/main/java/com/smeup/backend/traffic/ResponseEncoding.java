@@ -0,0 +1,71 @@
+package com.smeup.backend.traffic;
+
+import com.smeup.backend.exception.GlobalExceptionHandler;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Encoding a captured customer inquiry was answered in, as negotiated from its Accept header.
+ *
+ * <p>
+ * The replay asks for the same encoding, so a CBOR or Smile inquiry is compared with a CBOR
+ * or Smile response instead of the JSON one a request without Accept would get. Error
+ * responses (problem+json) count as JSON. The ordinal is stored in the capture log, so
+ * constants are only ever appended.
+ */
+public enum ResponseEncoding {
+
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(GlobalExceptionHandler.APPLICATION_SMILE);
+
+    private static final ResponseEncoding[] VALUES = values();
+
+    private final MediaType mediaType;
+
+    ResponseEncoding(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Returns the media type to send as Accept on replay.
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns the encoding of a response.
+     *
+     * @param contentType Content-Type of the response, may be null
+     * @return CBOR or Smile for those media types, JSON for anything else
+     */
+    public static ResponseEncoding of(String contentType) {
+        if (contentType == null) {
+            return JSON;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (ResponseEncoding encoding : VALUES) {
+                if (encoding.mediaType.isCompatibleWith(mediaType)) {
+                    return encoding;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // not negotiated by us; compared as JSON
+        }
+        return JSON;
+    }
+
+    /**
+     * Returns the encoding stored in a capture log.
+     *
+     * @throws IllegalArgumentException if the code is not a known encoding
+     */
+    static ResponseEncoding fromCode(int code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown response encoding " + code + " in traffic capture log");
+        }
+        return VALUES[code];
+    }
+}
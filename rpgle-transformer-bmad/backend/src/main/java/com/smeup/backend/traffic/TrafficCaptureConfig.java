@@ -0,0 +1,41 @@
+package com.smeup.backend.traffic;
+
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables capture of customer inquiry traffic when traffic.capture.enabled=true.
+ *
+ * <p>
+ * Properties:
+ * <ul>
+ * <li>traffic.capture.file - capture log path (default traffic-capture.bin)
+ * <li>traffic.capture.sample-rate - share of inquiries captured (default 1.0)
+ * <li>traffic.capture.queue-capacity - records buffered before dropping (default 65536)
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "traffic.capture.enabled", havingValue = "true")
+public class TrafficCaptureConfig {
+
+    @Bean(destroyMethod = "close")
+    public TrafficLogWriter trafficLogWriter(
+            @Value("${traffic.capture.file:traffic-capture.bin}") String file,
+            @Value("${traffic.capture.queue-capacity:65536}") int queueCapacity) {
+        return new TrafficLogWriter(Path.of(file), queueCapacity);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TrafficCaptureFilter> trafficCaptureFilter(
+            TrafficLogWriter trafficLogWriter,
+            @Value("${traffic.capture.sample-rate:1.0}") double sampleRate) {
+        FilterRegistrationBean<TrafficCaptureFilter> registration =
+                new FilterRegistrationBean<>(new TrafficCaptureFilter(trafficLogWriter, sampleRate));
+        registration.addUrlPatterns(TrafficCaptureFilter.PATH_PREFIX + "*");
+        return registration;
+    }
+}
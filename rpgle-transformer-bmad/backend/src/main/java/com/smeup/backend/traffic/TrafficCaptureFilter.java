@@ -0,0 +1,161 @@
+package com.smeup.backend.traffic;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32C;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Captures customer inquiries (GET /api/v1/customers/{customerId}) into a traffic log.
+ *
+ * <p>
+ * The response body is hashed while it streams to the client, without buffering it, its
+ * encoding is taken from the Content-Type, and the record is handed to the TrafficLogWriter queue; other requests, non-numeric ids and
+ * requests outside the sample pass straight through.
+ */
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+
+    static final String PATH_PREFIX = "/api/v1/customers/";
+
+    private final TrafficLogWriter trafficLog;
+    private final double sampleRate;
+
+    /**
+     * @param trafficLog capture log
+     * @param sampleRate share of inquiries to capture, between 0 and 1
+     */
+    public TrafficCaptureFilter(TrafficLogWriter trafficLog, double sampleRate) {
+        this.trafficLog = trafficLog;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || !request.getRequestURI().startsWith(request.getContextPath() + PATH_PREFIX)
+                || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long customerId;
+        try {
+            customerId = Long.parseLong(request.getRequestURI()
+                    .substring(request.getContextPath().length() + PATH_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        HashingResponseWrapper hashingResponse = new HashingResponseWrapper(response);
+        try {
+            chain.doFilter(request, hashingResponse);
+            hashingResponse.flushWriter();
+        } finally {
+            long latencyMicros = (System.nanoTime() - start) / 1_000;
+            trafficLog.offer(new TrafficRecord(
+                    trafficLog.offsetNanos(start),
+                    customerId,
+                    (int) Math.min(Integer.MAX_VALUE, latencyMicros),
+                    hashingResponse.getStatus(),
+                    hashingResponse.hash(),
+                    hashingResponse.length(),
+                    ResponseEncoding.of(hashingResponse.getContentType())));
+        }
+    }
+
+    /**
+     * Passes the body through while computing its CRC-32C and length.
+     */
+    private static final class HashingResponseWrapper extends HttpServletResponseWrapper {
+
+        private final CRC32C crc = new CRC32C();
+        private long length;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        private HashingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        crc.update(b);
+                        length++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        crc.update(b, off, len);
+                        length += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+                        Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        private void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        private int hash() {
+            flushWriter();
+            return (int) crc.getValue();
+        }
+
+        private int length() {
+            return (int) Math.min(Integer.MAX_VALUE, length);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.smeup.backend.traffic;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a binary traffic capture log written by TrafficLogWriter, one record at a time.
+ *
+ * <p>
+ * A log cut short by a crash ends at the last complete record.
+ */
+public class TrafficLogReader implements AutoCloseable {
+
+    private final DataInputStream input;
+    private final long startEpochMillis;
+    private final boolean hasEncoding;
+
+    public TrafficLogReader(Path file) {
+        try {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+            if (input.readInt() != TrafficLogFormat.MAGIC) {
+                throw new IllegalArgumentException(file + " is not a traffic capture log");
+            }
+            short version = input.readShort();
+            if (version != TrafficLogFormat.VERSION && version != TrafficLogFormat.VERSION_WITHOUT_ENCODING) {
+                throw new IllegalArgumentException("Unsupported traffic capture log version " + version);
+            }
+            this.hasEncoding = version != TrafficLogFormat.VERSION_WITHOUT_ENCODING;
+            this.startEpochMillis = input.readLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read traffic capture log " + file, e);
+        }
+    }
+
+    /**
+     * Returns the wall-clock time the capture started.
+     */
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * Returns the next record, or null at the end of the log.
+     */
+    public TrafficRecord next() {
+        try {
+            long offsetNanos = input.readLong();
+            long customerId = input.readLong();
+            int latencyMicros = input.readInt();
+            int status = Short.toUnsignedInt(input.readShort());
+            ResponseEncoding encoding = hasEncoding
+                    ? ResponseEncoding.fromCode(input.readUnsignedByte())
+                    : ResponseEncoding.JSON;
+            return new TrafficRecord(offsetNanos, customerId, latencyMicros, status, input.readInt(),
+                    input.readInt(), encoding);
+        } catch (EOFException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read traffic capture log", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            input.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
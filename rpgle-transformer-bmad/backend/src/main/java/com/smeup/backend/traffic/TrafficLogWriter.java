@@ -0,0 +1,168 @@
+package com.smeup.backend.traffic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends TrafficRecords to a binary capture log from a single background thread.
+ *
+ * <p>
+ * Request threads only offer the record to a bounded queue and never block or touch the
+ * file; when the queue is full the record is dropped and counted, so capture can never
+ * slow down or stall the endpoint. The writer flushes whenever the queue runs empty, so a
+ * crash loses at most the records still queued.
+ */
+public class TrafficLogWriter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficLogWriter.class);
+    private static final int BUFFER_RECORDS = 2048;
+    private static final long POLL_MILLIS = 100;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * TrafficLogFormat.RECORD_BYTES);
+    private final BlockingQueue<TrafficRecord> queue;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closing;
+
+    /**
+     * Creates or truncates the capture log and starts the writer thread.
+     *
+     * @param file          capture log path
+     * @param queueCapacity records that may wait for the writer before new ones are dropped
+     */
+    public TrafficLogWriter(Path file, int queueCapacity) {
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(TrafficLogFormat.MAGIC)
+                    .putShort(TrafficLogFormat.VERSION)
+                    .putLong(System.currentTimeMillis());
+            flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create traffic capture log " + file, e);
+        }
+        this.writer = new Thread(this::run, "traffic-capture-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Capturing customer inquiry traffic to {}", file.toAbsolutePath());
+    }
+
+    /**
+     * Returns nanoseconds since the capture started, for TrafficRecord.offsetNanos.
+     */
+    public long offsetNanos(long nanoTime) {
+        return nanoTime - startNanos;
+    }
+
+    /**
+     * Queues the record without blocking.
+     *
+     * @return false if the record was dropped because the writer is behind or closed
+     */
+    public boolean offer(TrafficRecord record) {
+        if (closing || !queue.offer(record)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes the queued records and closes the log.
+     */
+    @Override
+    public void close() {
+        closing = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close traffic capture log " + file, e);
+        }
+        log.info("Traffic capture closed: {} requests written, {} dropped", written.get(), dropped.get());
+    }
+
+    private void run() {
+        List<TrafficRecord> batch = new ArrayList<>(BUFFER_RECORDS);
+        try {
+            while (!closing || !queue.isEmpty()) {
+                TrafficRecord first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BUFFER_RECORDS - 1);
+                write(batch);
+                batch.clear();
+                if (queue.isEmpty()) {
+                    flushBuffer();
+                }
+            }
+            flushBuffer();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Traffic capture stopped, cannot write {}: {}", file, e.getMessage());
+            closing = true;
+        }
+    }
+
+    private void write(List<TrafficRecord> batch) throws IOException {
+        for (TrafficRecord record : batch) {
+            if (buffer.remaining() < TrafficLogFormat.RECORD_BYTES) {
+                flushBuffer();
+            }
+            buffer.putLong(record.offsetNanos())
+                    .putLong(record.customerId())
+                    .putInt(record.latencyMicros())
+                    .putShort((short) record.status())
+                    .put((byte) record.encoding().ordinal())
+                    .putInt(record.bodyHash())
+                    .putInt(record.bodyLength());
+        }
+        written.addAndGet(batch.size());
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
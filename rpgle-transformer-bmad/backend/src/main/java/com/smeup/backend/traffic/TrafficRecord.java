@@ -0,0 +1,22 @@
+package com.smeup.backend.traffic;
+
+/**
+ * One captured customer inquiry (GET /api/v1/customers/{customerId}).
+ *
+ * @param offsetNanos   time the request arrived, relative to the start of the capture
+ * @param customerId    requested customer number
+ * @param latencyMicros time spent serving the request
+ * @param status        HTTP status code of the response
+ * @param bodyHash      CRC-32C of the response body
+ * @param bodyLength    length of the response body in bytes
+ * @param encoding      encoding of the response body
+ */
+public record TrafficRecord(
+        long offsetNanos,
+        long customerId,
+        int latencyMicros,
+        int status,
+        int bodyHash,
+        int bodyLength,
+        ResponseEncoding encoding) {
+}
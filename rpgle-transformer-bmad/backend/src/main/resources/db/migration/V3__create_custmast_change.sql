@@ -0,0 +1,22 @@
+-- ===========================================================================
+-- Flyway Migration: V3__create_custmast_change.sql
+-- Table: CUSTMAST_CHANGE (change marker for CUSTMAST)
+--
+-- Purpose: One-row counter of the statements that added CUSTMAST keys, read by
+-- the in-memory customer existence filter before it answers "not found".
+-- A miss is only trusted while CHANGE_COUNT is the value read before the
+-- filter's last rebuild, so customers written by other writers (RPG programs,
+-- batch loads, other instances) never get a false 404.
+--
+-- The counter is maintained by a database trigger (db/vendor/{vendor}); where
+-- no trigger is installed TRIGGER_MAINTAINED stays FALSE and the filter lets
+-- every lookup through to CUSTMAST.
+-- ===========================================================================
+
+CREATE TABLE CUSTMAST_CHANGE (
+    ID INTEGER NOT NULL PRIMARY KEY,
+    CHANGE_COUNT BIGINT NOT NULL,
+    TRIGGER_MAINTAINED BOOLEAN NOT NULL
+);
+
+INSERT INTO CUSTMAST_CHANGE (ID, CHANGE_COUNT, TRIGGER_MAINTAINED) VALUES (1, 0, FALSE);
@@ -0,0 +1,15 @@
+-- ===========================================================================
+-- Flyway Migration: V4__stripe_custmast_change.sql
+-- Table: CUSTMAST_CHANGE (change marker for CUSTMAST)
+--
+-- Purpose: Spread the change counter over 16 rows. The trigger bumps the row
+-- of its connection (ID 1-16), so concurrent CUSTMAST writers rarely wait on
+-- the same row lock; the counter is the sum of CHANGE_COUNT and is only valid
+-- while every row is TRIGGER_MAINTAINED.
+-- ===========================================================================
+
+INSERT INTO CUSTMAST_CHANGE (ID, CHANGE_COUNT, TRIGGER_MAINTAINED) VALUES
+    (2, 0, FALSE), (3, 0, FALSE), (4, 0, FALSE), (5, 0, FALSE),
+    (6, 0, FALSE), (7, 0, FALSE), (8, 0, FALSE), (9, 0, FALSE),
+    (10, 0, FALSE), (11, 0, FALSE), (12, 0, FALSE), (13, 0, FALSE),
+    (14, 0, FALSE), (15, 0, FALSE), (16, 0, FALSE);
@@ -0,0 +1,178 @@
+package com.smeup.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.smeup.backend.dto.ApiResponse;
+import com.smeup.backend.dto.CustomerDTO;
+import com.smeup.backend.entity.Customer;
+import com.smeup.backend.exception.CustomerNotFoundException;
+import com.smeup.backend.exception.GlobalExceptionHandler;
+import com.smeup.backend.exception.InvalidCustomerIdException;
+import com.smeup.backend.mapper.CustomerMapper;
+import com.smeup.backend.service.CustomerService;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Content negotiation tests for the binary encodings of the customer inquiry.
+ *
+ * <p>
+ * Batch clients may ask for CBOR (application/cbor) or Smile (application/x-jackson-smile)
+ * instead of JSON. Both the ApiResponse of a found customer and the ProblemDetail of an
+ * error must come back in the requested encoding, with BALANCE and CREDITLIM (9P 2)
+ * decoding to the exact same BigDecimal.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomerController - Binary Content Negotiation")
+class CustomerControllerContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Mock
+    private CustomerService customerService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CustomerController(customerService, new CustomerMapper()))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Accept: application/cbor - Should return ApiResponse in CBOR with exact amounts")
+    void shouldReturnCustomerAsCbor() throws Exception {
+        // Given
+        given(customerService.findCustomerById(12345L)).willReturn(customer());
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/customers/{id}", 12345L).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertExactCustomer(decode(new CBORMapper(), body));
+    }
+
+    @Test
+    @DisplayName("Accept: application/x-jackson-smile - Should return ApiResponse in Smile with exact amounts")
+    void shouldReturnCustomerAsSmile() throws Exception {
+        // Given
+        given(customerService.findCustomerById(12345L)).willReturn(customer());
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/customers/{id}", 12345L).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertExactCustomer(decode(new SmileMapper(), body));
+    }
+
+    @Test
+    @DisplayName("Accept: application/cbor - Should return 404 ProblemDetail in CBOR")
+    void shouldReturnNotFoundProblemAsCbor() throws Exception {
+        // Given
+        given(customerService.findCustomerById(99999L)).willThrow(new CustomerNotFoundException(99999L));
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/customers/{id}", 99999L).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        ProblemDetail problem = new CBORMapper().readValue(body, ProblemDetail.class);
+        assertThat(problem.getStatus()).isEqualTo(404);
+        assertThat(problem.getTitle()).isEqualTo("Customer Not Found");
+        assertThat(problem.getDetail()).contains("99999");
+    }
+
+    @Test
+    @DisplayName("Accept: application/x-jackson-smile - Should return 400 ProblemDetail in Smile")
+    void shouldReturnBadRequestProblemAsSmile() throws Exception {
+        // Given
+        given(customerService.findCustomerById(0L))
+                .willThrow(new InvalidCustomerIdException("Customer ID must be a positive number"));
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/customers/{id}", 0L).accept(SMILE))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        ProblemDetail problem = new SmileMapper().readValue(body, ProblemDetail.class);
+        assertThat(problem.getStatus()).isEqualTo(400);
+        assertThat(problem.getTitle()).isEqualTo("Invalid Customer ID");
+    }
+
+    @Test
+    @DisplayName("No Accept header - Should keep returning JSON")
+    void shouldDefaultToJson() throws Exception {
+        given(customerService.findCustomerById(12345L)).willReturn(customer());
+
+        mockMvc.perform(get("/api/v1/customers/{id}", 12345L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("No Accept header - Should keep returning problem+json for errors")
+    void shouldDefaultToProblemJson() throws Exception {
+        given(customerService.findCustomerById(99999L)).willThrow(new CustomerNotFoundException(99999L));
+
+        mockMvc.perform(get("/api/v1/customers/{id}", 99999L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+
+    private static ApiResponse<CustomerDTO> decode(ObjectMapper mapper, byte[] body) {
+        return mapper.readValue(body, new TypeReference<ApiResponse<CustomerDTO>>() { });
+    }
+
+    private static void assertExactCustomer(ApiResponse<CustomerDTO> response) {
+        CustomerDTO dto = response.getData();
+        assertThat(dto.customerId()).isEqualTo(12345L);
+        assertThat(dto.customerName()).isEqualTo("ACME Corporation");
+        // equals, not compareTo: value and scale of the 9P 2 fields survive the round trip
+        assertThat(dto.accountBalance()).isEqualTo(new BigDecimal("-1234567.89"));
+        assertThat(dto.creditLimit()).isEqualTo(new BigDecimal("5000.00"));
+        assertThat(dto.lastOrderDate()).isEqualTo(20251215);
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer();
+        customer.setCustomerId(12345L);
+        customer.setCustomerName("ACME Corporation");
+        customer.setAddressLine1("123 Main St");
+        customer.setCity("New York");
+        customer.setState("NY");
+        customer.setZipCode(10001);
+        customer.setPhoneNumber("555-0100");
+        customer.setAccountBalance(new BigDecimal("-1234567.89"));
+        customer.setCreditLimit(new BigDecimal("5000.00"));
+        customer.setLastOrderDate(20251215);
+        return customer;
+    }
+}
@@ -0,0 +1,122 @@
+package com.smeup.backend.datagen;
+
+import com.smeup.backend.equivalence.CustmastRow;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes generated CUSTMAST records as CSV with a header of DDS field names, the format of
+ * a legacy extract (see CsvCustmastExtractReader).
+ *
+ * <p>Chunks of consecutive keys are generated and formatted in parallel; a bounded window
+ * of chunks is kept in flight and written in key order, so the file is identical whatever
+ * the parallelism and memory does not grow with the row count.
+ */
+public final class CustmastCsvWriter {
+
+  public static final String HEADER =
+      "CUSTNO,CUSTNAME,ADDR1,CITY,STATE,ZIP,PHONE,BALANCE,CREDITLIM,LASTORDER";
+
+  static final int CHUNK_ROWS = 10_000;
+
+  private CustmastCsvWriter() {
+  }
+
+  /**
+   * Writes the records of customer numbers first to last, inclusive.
+   *
+   * @param generator Record generator
+   * @param first First CUSTNO
+   * @param last Last CUSTNO
+   * @param output CSV file, gzip compressed if it ends in .gz
+   * @param parallelism Formatting threads
+   * @return Number of rows written
+   */
+  public static long write(
+      CustmastGenerator generator, long first, long last, Path output, int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1, got " + parallelism);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try (OutputStream file = open(output)) {
+      file.write((HEADER + "\n").getBytes(StandardCharsets.US_ASCII));
+      Deque<Future<byte[]>> window = new ArrayDeque<>();
+      for (long chunkFirst = first; chunkFirst <= last; chunkFirst += CHUNK_ROWS) {
+        long chunkStart = chunkFirst;
+        long chunkEnd = Math.min(last, chunkFirst + CHUNK_ROWS - 1);
+        window.add(executor.submit(() -> format(generator, chunkStart, chunkEnd)));
+        if (window.size() >= parallelism * 2) {
+          file.write(window.poll().get());
+        }
+      }
+      while (!window.isEmpty()) {
+        file.write(window.poll().get());
+      }
+      return Math.max(0, last - first + 1);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write " + output, e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to generate CUSTMAST rows", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("CUSTMAST generation interrupted", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Formats the records of a key range as CSV lines without header.
+   */
+  static byte[] format(CustmastGenerator generator, long first, long last) {
+    StringBuilder csv = new StringBuilder((int) (last - first + 1) * 128);
+    for (long custno = first; custno <= last; custno++) {
+      appendRow(csv, generator.row(custno));
+    }
+    return csv.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Appends one CSV line; null fields are empty. Generated values never contain commas
+   * or quotes, so no quoting is needed.
+   */
+  static void appendRow(StringBuilder csv, CustmastRow row) {
+    csv.append(row.custno()).append(',');
+    append(csv, row.custname()).append(',');
+    append(csv, row.addr1()).append(',');
+    append(csv, row.city()).append(',');
+    append(csv, row.state()).append(',');
+    append(csv, row.zip()).append(',');
+    append(csv, row.phone()).append(',');
+    append(csv, row.balance() != null ? row.balance().toPlainString() : null).append(',');
+    append(csv, row.creditlim() != null ? row.creditlim().toPlainString() : null).append(',');
+    append(csv, row.lastorder()).append('\n');
+  }
+
+  private static StringBuilder append(StringBuilder csv, Object value) {
+    return value != null ? csv.append(value) : csv;
+  }
+
+  private static OutputStream open(Path output) throws IOException {
+    Path parent = output.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    OutputStream file = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16);
+    return output.getFileName().toString().endsWith(".gz")
+        ? new GZIPOutputStream(file, 1 << 16)
+        : file;
+  }
+}
@@ -0,0 +1,62 @@
+package com.smeup.backend.datagen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Generates a synthetic CUSTMAST data set on demand, for load and scale testing.
+ *
+ * <p>Runs only when a row count is given, e.g. the full DDS key space into PostgreSQL:
+ * {@code mvn test -Dtest=CustmastDataGenerationTest -Ddatagen.rows=99999
+ * -Ddatagen.jdbc-url=jdbc:postgresql://host/db -Ddatagen.jdbc-user=...
+ * -Ddatagen.jdbc-password=...}
+ * or to a CSV extract with {@code -Ddatagen.csv=target/custmast.csv.gz}.
+ * Optional: datagen.first (first CUSTNO, default 1), datagen.seed (default 1),
+ * datagen.parallelism (default: available processors).
+ */
+@EnabledIfSystemProperty(named = "datagen.rows", matches = "\\d+")
+class CustmastDataGenerationTest {
+
+  @Test
+  @DisplayName("Generate synthetic CUSTMAST data")
+  void generate() {
+    long rows = Long.getLong("datagen.rows");
+    long first = Long.getLong("datagen.first", 1);
+    long last = first + rows - 1;
+    int parallelism = Integer.getInteger("datagen.parallelism",
+        Runtime.getRuntime().availableProcessors());
+    CustmastGenerator generator = new CustmastGenerator(Long.getLong("datagen.seed", 1));
+    String csv = System.getProperty("datagen.csv");
+    String jdbcUrl = System.getProperty("datagen.jdbc-url");
+    assertThat(csv != null || jdbcUrl != null)
+        .as("Set datagen.csv and/or datagen.jdbc-url")
+        .isTrue();
+    if (last > CustmastGenerator.MAX_DDS_CUSTOMER_NUMBER) {
+      System.out.println("CUSTNO above " + CustmastGenerator.MAX_DDS_CUSTOMER_NUMBER
+          + " exceeds the DDS key (5P 0); scale experiment only");
+    }
+
+    if (csv != null) {
+      long start = System.nanoTime();
+      CustmastCsvWriter.write(generator, first, last, Path.of(csv), parallelism);
+      report("Wrote", rows, csv, start);
+    }
+    if (jdbcUrl != null) {
+      long start = System.nanoTime();
+      long loaded = new CustmastDatabaseLoader(jdbcUrl, System.getProperty("datagen.jdbc-user"),
+          System.getProperty("datagen.jdbc-password"), parallelism).load(generator, first, last);
+      assertThat(loaded).isEqualTo(rows);
+      report("Loaded", rows, jdbcUrl, start);
+    }
+  }
+
+  private static void report(String action, long rows, String target, long startNanos) {
+    long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+    System.out.printf("%s %d CUSTMAST rows into %s in %d ms (%d rows/s)%n",
+        action, rows, target, millis, rows * 1000 / millis);
+  }
+}
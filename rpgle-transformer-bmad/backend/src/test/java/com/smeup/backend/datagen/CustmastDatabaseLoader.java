@@ -0,0 +1,124 @@
+package com.smeup.backend.datagen;
+
+import com.smeup.backend.equivalence.CustmastRow;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+
+/**
+ * Loads generated CUSTMAST records straight into the database.
+ *
+ * <p>Each worker opens its own connection and loads chunks of consecutive keys, one
+ * transaction per chunk. On PostgreSQL a chunk is streamed with COPY FROM STDIN, which
+ * avoids per-row statement overhead; other databases (H2 in tests) get a JDBC batch
+ * INSERT. The table must not already contain the generated keys.
+ */
+public class CustmastDatabaseLoader {
+
+  private static final String COLUMNS =
+      "CUSTNO, CUSTNAME, ADDR1, CITY, STATE, ZIP, PHONE, BALANCE, CREDITLIM, LASTORDER";
+  private static final String COPY_SQL =
+      "COPY CUSTMAST (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+  private static final String INSERT_SQL =
+      "INSERT INTO CUSTMAST (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final String url;
+  private final String user;
+  private final String password;
+  private final int parallelism;
+
+  public CustmastDatabaseLoader(String url, String user, String password, int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1, got " + parallelism);
+    }
+    this.url = url;
+    this.user = user;
+    this.password = password;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Loads the records of customer numbers first to last, inclusive.
+   *
+   * @return Number of rows loaded
+   */
+  public long load(CustmastGenerator generator, long first, long last) {
+    AtomicLong nextChunk = new AtomicLong(first);
+    AtomicLong loaded = new AtomicLong();
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      List<Future<?>> workers = new ArrayList<>(parallelism);
+      for (int i = 0; i < parallelism; i++) {
+        workers.add(executor.submit(() -> {
+          try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            long chunkFirst;
+            while ((chunkFirst = nextChunk.getAndAdd(CustmastCsvWriter.CHUNK_ROWS)) <= last) {
+              long chunkLast = Math.min(last, chunkFirst + CustmastCsvWriter.CHUNK_ROWS - 1);
+              loaded.addAndGet(loadChunk(connection, generator, chunkFirst, chunkLast));
+              connection.commit();
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to load CUSTMAST: " + e.getCause().getMessage(),
+          e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("CUSTMAST load interrupted", e);
+    } finally {
+      executor.shutdownNow();
+    }
+    return loaded.get();
+  }
+
+  private static long loadChunk(
+      Connection connection, CustmastGenerator generator, long first, long last)
+      throws SQLException, IOException {
+    if (connection.isWrapperFor(BaseConnection.class)) {
+      StringBuilder csv = new StringBuilder((int) (last - first + 1) * 128);
+      for (long custno = first; custno <= last; custno++) {
+        CustmastCsvWriter.appendRow(csv, generator.row(custno));
+      }
+      return new CopyManager(connection.unwrap(BaseConnection.class))
+          .copyIn(COPY_SQL, new StringReader(csv.toString()));
+    }
+
+    try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+      for (long custno = first; custno <= last; custno++) {
+        CustmastRow row = generator.row(custno);
+        insert.setLong(1, row.custno());
+        insert.setString(2, row.custname());
+        insert.setString(3, row.addr1());
+        insert.setString(4, row.city());
+        insert.setString(5, row.state());
+        insert.setObject(6, row.zip(), Types.INTEGER);
+        insert.setString(7, row.phone());
+        insert.setBigDecimal(8, row.balance());
+        insert.setBigDecimal(9, row.creditlim());
+        insert.setObject(10, row.lastorder(), Types.INTEGER);
+        insert.addBatch();
+      }
+      insert.executeBatch();
+      return last - first + 1;
+    }
+  }
+}
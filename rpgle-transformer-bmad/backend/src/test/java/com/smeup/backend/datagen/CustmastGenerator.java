@@ -0,0 +1,184 @@
+package com.smeup.backend.datagen;
+
+import com.smeup.backend.equivalence.CustmastRow;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of synthetic CUSTMAST records for load and scale testing.
+ *
+ * <p>Every record is derived from the seed and its CUSTNO only, so any key range can be
+ * generated independently, in any order and on any number of threads, with identical
+ * results. Values respect the DDS definitions of the Customer entity:
+ * <ul>
+ *   <li>CUSTNAME, ADDR1 (30A), CITY (20A), PHONE (12A) within their lengths
+ *   <li>STATE (2A) two uppercase letters, ZIP (5P 0) five digits
+ *   <li>BALANCE, CREDITLIM (9P 2) with two decimals, at most 9,999,999.99
+ *   <li>LASTORDER (8P 0) a valid YYYYMMDD date
+ * </ul>
+ *
+ * <p>Distributions are skewed like a real customer base: a few cities hold most of the
+ * customers (Zipf), balances are log-normal with a share of zero balances, credit limits
+ * come in weighted tiers and last orders cluster in the recent past.
+ *
+ * <p>Original DDS File: source-rpgle/dds/physical-files/CUSTMAST.dds
+ */
+public class CustmastGenerator {
+
+  /** Highest CUSTNO of the DDS key (5P 0); wider ranges are for scale experiments only. */
+  public static final long MAX_DDS_CUSTOMER_NUMBER = 99_999;
+
+  private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 12, 31);
+  private static final int MAX_DAYS_SINCE_ORDER = 4_000;
+  private static final double MEAN_DAYS_SINCE_ORDER = 120.0;
+  private static final double NEVER_ORDERED_RATE = 0.04;
+  private static final double ZERO_BALANCE_RATE = 0.15;
+  private static final double OVER_LIMIT_RATE = 0.02;
+  private static final double MEDIAN_BALANCE = 1_500.0;
+  private static final double BALANCE_SIGMA = 1.2;
+  private static final long MAX_PACKED_9_2_CENTS = 999_999_999L;
+
+  private static final String[] NAME_PREFIXES = {
+      "ACME", "Global", "Tech", "Prairie", "Summit", "Midwest", "Heartland", "Lakeside",
+      "Pioneer", "Keystone", "Liberty", "Northern", "Capital", "Union", "Eagle", "Frontier",
+      "Golden", "Harbor", "Iron", "Allied", "United", "Central", "Premier", "Riverside",
+      "Sterling", "Atlas", "Beacon", "Cardinal", "Delta", "Evergreen"};
+  private static final String[] NAME_CORES = {
+      "Industries", "Solutions", "Supply", "Logistics", "Foods", "Manufacturing", "Systems",
+      "Services", "Holdings", "Distributors", "Hardware", "Electric", "Builders", "Farms",
+      "Trading", "Motors", "Packaging", "Textiles"};
+  private static final String[] NAME_SUFFIXES = {"Inc", "LLC", "Corp", "Co", "Ltd", ""};
+  private static final String[] STREETS = {
+      "Main", "Oak", "Elm", "Maple", "Cedar", "Pine", "Washington", "Lake", "Hill", "Park",
+      "Lincoln", "Jefferson", "Madison", "Jackson", "Franklin", "Walnut", "Church", "Market",
+      "Spring", "Ridge"};
+  private static final String[] STREET_TYPES = {
+      "Street", "Avenue", "Boulevard", "Road", "Drive", "Lane", "Court", "Parkway"};
+
+  /** Cities by descending size: name, state, first ZIP of the city, area code. */
+  private static final City[] CITIES = {
+      new City("Chicago", "IL", 60601, 312),
+      new City("Houston", "TX", 77001, 713),
+      new City("Los Angeles", "CA", 90001, 213),
+      new City("New York", "NY", 10001, 212),
+      new City("Phoenix", "AZ", 85001, 602),
+      new City("Philadelphia", "PA", 19101, 215),
+      new City("Springfield", "IL", 62701, 217),
+      new City("Dallas", "TX", 75201, 214),
+      new City("Columbus", "OH", 43201, 614),
+      new City("Indianapolis", "IN", 46201, 317),
+      new City("Naperville", "IL", 60540, 630),
+      new City("Milwaukee", "WI", 53201, 414),
+      new City("Denver", "CO", 80201, 303),
+      new City("Nashville", "TN", 37201, 615),
+      new City("Detroit", "MI", 48201, 313),
+      new City("Kansas City", "MO", 64101, 816),
+      new City("Minneapolis", "MN", 55401, 612),
+      new City("Omaha", "NE", 68101, 402),
+      new City("Des Moines", "IA", 50301, 515),
+      new City("Peoria", "IL", 61601, 309),
+      new City("Rockford", "IL", 61101, 815),
+      new City("Boston", "MA", 2101, 617),
+      new City("Atlanta", "GA", 30301, 404),
+      new City("Salt Lake City", "UT", 84101, 801)};
+  private static final double CITY_SKEW = 1.07;
+  private static final double[] CITY_CUMULATIVE_WEIGHTS = zipfCumulativeWeights(CITIES.length);
+
+  private static final long[] CREDIT_LIMIT_CENTS = {
+      100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000};
+  private static final double[] CREDIT_LIMIT_CUMULATIVE_WEIGHTS =
+      cumulative(new double[] {15, 20, 25, 20, 12, 6, 2});
+
+  private final long seed;
+
+  public CustmastGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Returns the record of the given customer number.
+   */
+  public CustmastRow row(long custno) {
+    SplittableRandom random = new SplittableRandom(seed ^ Long.rotateLeft(
+        custno * 0x9E3779B97F4A7C15L, 29));
+
+    City city = CITIES[pick(random, CITY_CUMULATIVE_WEIGHTS)];
+    long creditLimitCents = CREDIT_LIMIT_CENTS[pick(random, CREDIT_LIMIT_CUMULATIVE_WEIGHTS)];
+
+    return new CustmastRow(
+        custno,
+        fit(NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)] + " "
+            + NAME_CORES[random.nextInt(NAME_CORES.length)] + " "
+            + NAME_SUFFIXES[random.nextInt(NAME_SUFFIXES.length)], 30),
+        fit((1 + random.nextInt(9_999)) + " " + STREETS[random.nextInt(STREETS.length)] + " "
+            + STREET_TYPES[random.nextInt(STREET_TYPES.length)], 30),
+        city.name(),
+        city.state(),
+        city.firstZip() + random.nextInt(100),
+        city.areaCode() + "-" + (200 + random.nextInt(800)) + "-"
+            + (10_000 + random.nextInt(10_000) + "").substring(1),
+        BigDecimal.valueOf(balanceCents(random, creditLimitCents), 2),
+        BigDecimal.valueOf(creditLimitCents, 2),
+        lastOrder(random));
+  }
+
+  private static long balanceCents(SplittableRandom random, long creditLimitCents) {
+    if (random.nextDouble() < ZERO_BALANCE_RATE) {
+      return 0;
+    }
+    double balance = Math.exp(Math.log(MEDIAN_BALANCE) + BALANCE_SIGMA * random.nextGaussian());
+    long cents = Math.min(Math.round(balance * 100), MAX_PACKED_9_2_CENTS);
+    if (cents > creditLimitCents && random.nextDouble() >= OVER_LIMIT_RATE) {
+      // most customers stay within their limit
+      cents = (long) (creditLimitCents * random.nextDouble());
+    }
+    return cents;
+  }
+
+  private static Integer lastOrder(SplittableRandom random) {
+    if (random.nextDouble() < NEVER_ORDERED_RATE) {
+      return null;
+    }
+    long daysAgo = Math.min(MAX_DAYS_SINCE_ORDER,
+        (long) (-MEAN_DAYS_SINCE_ORDER * Math.log(1.0 - random.nextDouble())));
+    LocalDate date = REFERENCE_DATE.minusDays(daysAgo);
+    return date.getYear() * 10_000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+  }
+
+  private static int pick(SplittableRandom random, double[] cumulativeWeights) {
+    int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+    return index >= 0 ? index : -index - 1;
+  }
+
+  private static String fit(String value, int length) {
+    return (value.length() > length ? value.substring(0, length) : value).stripTrailing();
+  }
+
+  private static double[] zipfCumulativeWeights(int count) {
+    double[] weights = new double[count];
+    for (int rank = 1; rank <= count; rank++) {
+      weights[rank - 1] = 1.0 / Math.pow(rank, CITY_SKEW);
+    }
+    return cumulative(weights);
+  }
+
+  /**
+   * Normalizes weights into cumulative probabilities ending at exactly 1.
+   */
+  private static double[] cumulative(double[] weights) {
+    double total = Arrays.stream(weights).sum();
+    double[] cumulative = new double[weights.length];
+    double sum = 0;
+    for (int i = 0; i < weights.length; i++) {
+      sum += weights[i];
+      cumulative[i] = sum / total;
+    }
+    cumulative[weights.length - 1] = 1.0;
+    return cumulative;
+  }
+
+  private record City(String name, String state, int firstZip, int areaCode) {
+  }
+}
@@ -0,0 +1,155 @@
+package com.smeup.backend.datagen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.smeup.backend.equivalence.CsvCustmastExtractReader;
+import com.smeup.backend.equivalence.CustmastRow;
+import com.smeup.backend.equivalence.CustmastTableDiffer;
+import com.smeup.backend.equivalence.JdbcCustmastReader;
+import com.smeup.backend.equivalence.TableDiffSummary;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the synthetic CUSTMAST generator, CSV writer and database loader.
+ */
+class CustmastGeneratorTest {
+
+  private static final BigDecimal MAX_PACKED_9_2 = new BigDecimal("9999999.99");
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should derive each record from seed and key only")
+  void shouldBeDeterministic() {
+    // Given
+    CustmastGenerator generator = new CustmastGenerator(42);
+    CustmastGenerator sameSeed = new CustmastGenerator(42);
+    CustmastGenerator otherSeed = new CustmastGenerator(43);
+
+    // When / Then
+    assertThat(sameSeed.row(1001)).isEqualTo(generator.row(1001));
+    assertThat(generator.row(99_999)).isEqualTo(sameSeed.row(99_999));
+    assertThat(otherSeed.row(1001)).isNotEqualTo(generator.row(1001));
+    assertThat(generator.row(1002)).isNotEqualTo(generator.row(1001));
+  }
+
+  @Test
+  @DisplayName("Should respect the DDS definitions over the whole key space")
+  void shouldRespectDdsDefinitions() {
+    // Given
+    CustmastGenerator generator = new CustmastGenerator(7);
+    DateTimeFormatter yyyymmdd = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // When / Then
+    for (long custno = 1; custno <= CustmastGenerator.MAX_DDS_CUSTOMER_NUMBER; custno++) {
+      CustmastRow row = generator.row(custno);
+      assertThat(row.custno()).isEqualTo(custno);
+      assertThat(row.custname()).isNotBlank().hasSizeLessThanOrEqualTo(30);
+      assertThat(row.addr1()).hasSizeLessThanOrEqualTo(30);
+      assertThat(row.city()).hasSizeLessThanOrEqualTo(20);
+      assertThat(row.state()).matches("[A-Z]{2}");
+      assertThat(row.zip()).isBetween(0, 99_999);
+      assertThat(row.phone()).matches("\\d{3}-\\d{3}-\\d{4}");
+      assertThat(row.balance().scale()).isEqualTo(2);
+      assertThat(row.balance()).isBetween(BigDecimal.ZERO, MAX_PACKED_9_2);
+      assertThat(row.creditlim().scale()).isEqualTo(2);
+      assertThat(row.creditlim()).isBetween(BigDecimal.ZERO, MAX_PACKED_9_2);
+      if (row.lastorder() != null) {
+        assertThat(LocalDate.parse(row.lastorder().toString(), yyyymmdd))
+            .isBeforeOrEqualTo(LocalDate.of(2025, 12, 31));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should skew customers towards large cities and small balances")
+  void shouldSkewDistributions() {
+    // Given
+    CustmastGenerator generator = new CustmastGenerator(1);
+    Map<String, Integer> customersByCity = new HashMap<>();
+    int zeroBalances = 0;
+    int overLimit = 0;
+    int rows = 50_000;
+
+    // When
+    for (long custno = 1; custno <= rows; custno++) {
+      CustmastRow row = generator.row(custno);
+      customersByCity.merge(row.city(), 1, Integer::sum);
+      if (row.balance().signum() == 0) {
+        zeroBalances++;
+      }
+      if (row.balance().compareTo(row.creditlim()) > 0) {
+        overLimit++;
+      }
+    }
+
+    // Then
+    assertThat(customersByCity.get("Chicago"))
+        .isGreaterThan(10 * customersByCity.get("Salt Lake City"));
+    assertThat(zeroBalances).isBetween(rows / 10, rows / 5);
+    assertThat(overLimit).isLessThan(rows / 20);
+  }
+
+  @Test
+  @DisplayName("Should write the same CSV whatever the parallelism")
+  void shouldWriteSameCsvInParallel() throws Exception {
+    // Given
+    CustmastGenerator generator = new CustmastGenerator(5);
+    Path sequential = tempDir.resolve("sequential.csv");
+    Path parallel = tempDir.resolve("parallel.csv");
+
+    // When
+    long written = CustmastCsvWriter.write(generator, 1, 35_000, sequential, 1);
+    CustmastCsvWriter.write(generator, 1, 35_000, parallel, 4);
+
+    // Then
+    assertThat(written).isEqualTo(35_000);
+    assertThat(Files.mismatch(sequential, parallel)).isEqualTo(-1);
+    assertThat(Files.readAllLines(sequential)).hasSize(35_001)
+        .startsWith(CustmastCsvWriter.HEADER);
+  }
+
+  @Test
+  @DisplayName("Should load the database with the same rows as the CSV extract")
+  void shouldLoadDatabaseMatchingCsv() throws Exception {
+    // Given
+    String url = "jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+    Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration").load()
+        .migrate();
+    try (Connection connection = DriverManager.getConnection(url, "sa", "");
+        Statement statement = connection.createStatement()) {
+      statement.executeUpdate("DELETE FROM CUSTMAST");
+    }
+    CustmastGenerator generator = new CustmastGenerator(9);
+    Path extract = tempDir.resolve("custmast.csv.gz");
+    CustmastCsvWriter.write(generator, 1, 12_000, extract, 2);
+
+    // When
+    long loaded = new CustmastDatabaseLoader(url, "sa", "", 2).load(generator, 1, 12_000);
+
+    // Then
+    assertThat(loaded).isEqualTo(12_000);
+    TableDiffSummary summary;
+    try (CsvCustmastExtractReader legacy = new CsvCustmastExtractReader(extract);
+        JdbcCustmastReader migrated =
+            new JdbcCustmastReader(DriverManager.getConnection(url, "sa", ""))) {
+      summary = CustmastTableDiffer.diff(legacy, migrated, difference -> { });
+    }
+    assertThat(summary.isEquivalent()).isTrue();
+    assertThat(summary.matched()).isEqualTo(12_000);
+  }
+}
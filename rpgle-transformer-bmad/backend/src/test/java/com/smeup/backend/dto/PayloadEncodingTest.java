@@ -0,0 +1,123 @@
+package com.smeup.backend.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Payload size and serialization cost of the customer inquiry in JSON, CBOR and Smile.
+ *
+ * <p>
+ * Sizes and exact decimal round trips are always checked. The timing comparison runs on
+ * request: {@code mvn test -Dtest=PayloadEncodingTest -Dencoding.benchmark.iterations=200000}
+ */
+class PayloadEncodingTest {
+
+    private static final TypeReference<ApiResponse<CustomerDTO>> CUSTOMER_RESPONSE = new TypeReference<>() { };
+
+    private final Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+
+    PayloadEncodingTest() {
+        mappers.put("JSON", JsonMapper.builder().build());
+        mappers.put("CBOR", CBORMapper.builder().build());
+        mappers.put("Smile", SmileMapper.builder().build());
+    }
+
+    @Test
+    @DisplayName("Binary encodings should be smaller than JSON and keep BALANCE/CREDITLIM exact")
+    void shouldEncodeSmallerAndExact() {
+        ApiResponse<CustomerDTO> response = new ApiResponse<>(customer());
+        ProblemDetail problem = notFound();
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+
+        for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+            ObjectMapper mapper = format.getValue();
+            byte[] customerBytes = mapper.writeValueAsBytes(response);
+            byte[] problemBytes = mapper.writeValueAsBytes(problem);
+            sizes.put(format.getKey(), customerBytes.length);
+            System.out.printf(Locale.ROOT, "%-6s customer %4d bytes, problem %4d bytes%n",
+                    format.getKey(), customerBytes.length, problemBytes.length);
+
+            CustomerDTO decoded = mapper.readValue(customerBytes, CUSTOMER_RESPONSE).getData();
+            // equals, not compareTo: scale included
+            assertThat(decoded.accountBalance()).as(format.getKey()).isEqualTo(new BigDecimal("-1234567.89"));
+            assertThat(decoded.creditLimit()).as(format.getKey()).isEqualTo(new BigDecimal("5000.00"));
+            assertThat(decoded).as(format.getKey()).isEqualTo(customer());
+            assertThat(mapper.readValue(problemBytes, ProblemDetail.class).getDetail())
+                    .isEqualTo(problem.getDetail());
+        }
+        assertThat(sizes.get("CBOR")).isLessThan(sizes.get("JSON"));
+        assertThat(sizes.get("Smile")).isLessThan(sizes.get("JSON"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "encoding.benchmark.iterations", matches = "\\d+")
+    @DisplayName("Serialization cost of the customer inquiry per encoding")
+    void measureSerializationCost() {
+        int iterations = Integer.getInteger("encoding.benchmark.iterations");
+        ApiResponse<CustomerDTO> response = new ApiResponse<>(customer());
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+
+        System.out.printf(Locale.ROOT, "%-6s %7s %12s %12s %12s %12s%n", "", "bytes", "write ns",
+                "write B/op", "read ns", "read B/op");
+        for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+            ObjectMapper mapper = format.getValue();
+            byte[] bytes = mapper.writeValueAsBytes(response);
+            for (int i = 0; i < iterations; i++) { // warm-up
+                sink += mapper.writeValueAsBytes(response).length;
+                sink += mapper.readValue(bytes, CUSTOMER_RESPONSE).getData().zipCode();
+            }
+
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += mapper.writeValueAsBytes(response).length;
+            }
+            long writeNanos = System.nanoTime() - start;
+            long writeBytes = threads.getCurrentThreadAllocatedBytes() - allocated;
+
+            allocated = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += mapper.readValue(bytes, CUSTOMER_RESPONSE).getData().zipCode();
+            }
+            long readNanos = System.nanoTime() - start;
+            long readBytes = threads.getCurrentThreadAllocatedBytes() - allocated;
+
+            System.out.printf(Locale.ROOT, "%-6s %7d %12.0f %12.0f %12.0f %12.0f%n", format.getKey(),
+                    bytes.length, (double) writeNanos / iterations, (double) writeBytes / iterations,
+                    (double) readNanos / iterations, (double) readBytes / iterations);
+        }
+        assertThat(sink).isPositive();
+    }
+
+    private static CustomerDTO customer() {
+        return new CustomerDTO(12345L, "ACME Corporation", "123 Main Street", "Springfield", "IL", 62701,
+                "555-123-4567", new BigDecimal("-1234567.89"), new BigDecimal("5000.00"), 20251215);
+    }
+
+    private static ProblemDetail notFound() {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND,
+                "Customer not found with ID: 99999");
+        problem.setTitle("Customer Not Found");
+        problem.setInstance(URI.create("/api/v1/customers/99999"));
+        return problem;
+    }
+}
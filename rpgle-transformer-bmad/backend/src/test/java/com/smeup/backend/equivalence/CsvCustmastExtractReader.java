@@ -0,0 +1,71 @@
+package com.smeup.backend.equivalence;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams a legacy CUSTMAST extract: CSV with a header of DDS field names, optionally
+ * gzip compressed (.gz), sorted by CUSTNO.
+ *
+ * <p>Rows are parsed one at a time through a Jackson MappingIterator, so memory does not
+ * grow with the size of the extract.
+ */
+public class CsvCustmastExtractReader implements CustmastRowReader {
+
+  private final InputStream input;
+  private final MappingIterator<CustmastRow> rows;
+
+  public CsvCustmastExtractReader(Path extract) {
+    InputStream stream;
+    try {
+      stream = new BufferedInputStream(Files.newInputStream(extract), 1 << 16);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open legacy extract " + extract, e);
+    }
+    try {
+      if (extract.getFileName().toString().endsWith(".gz")) {
+        stream = new GZIPInputStream(stream, 1 << 16);
+      }
+      this.rows = new CsvMapper()
+          .readerFor(CustmastRow.class)
+          .with(CsvSchema.emptySchema().withHeader())
+          .readValues(stream);
+    } catch (IOException e) {
+      // not a gzip file, or no readable header: the file is not handed to close()
+      try {
+        stream.close();
+      } catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw new UncheckedIOException("Cannot open legacy extract " + extract, e);
+    }
+    this.input = stream;
+  }
+
+  @Override
+  public CustmastRow next() {
+    try {
+      return rows.hasNextValue() ? rows.nextValue() : null;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read legacy extract", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      rows.close();
+      input.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
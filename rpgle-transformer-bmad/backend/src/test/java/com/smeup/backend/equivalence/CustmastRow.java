@@ -0,0 +1,24 @@
+package com.smeup.backend.equivalence;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+
+/**
+ * One CUSTMAST record, as read from the legacy extract or from the migrated table.
+ *
+ * <p>Property names are the DDS field names, so a legacy extract CSV with a header of
+ * DDS names maps directly.
+ * Original DDS File: source-rpgle/dds/physical-files/CUSTMAST.dds
+ */
+public record CustmastRow(
+    @JsonProperty("CUSTNO") long custno,
+    @JsonProperty("CUSTNAME") String custname,
+    @JsonProperty("ADDR1") String addr1,
+    @JsonProperty("CITY") String city,
+    @JsonProperty("STATE") String state,
+    @JsonProperty("ZIP") Integer zip,
+    @JsonProperty("PHONE") String phone,
+    @JsonProperty("BALANCE") BigDecimal balance,
+    @JsonProperty("CREDITLIM") BigDecimal creditlim,
+    @JsonProperty("LASTORDER") Integer lastorder) {
+}
@@ -0,0 +1,17 @@
+package com.smeup.backend.equivalence;
+
+/**
+ * Forward-only source of CUSTMAST rows in ascending CUSTNO order.
+ *
+ * <p>Equivalent of an RPGLE READ loop over CUSTMAST by key.
+ */
+public interface CustmastRowReader extends AutoCloseable {
+
+  /**
+   * Returns the next row, or null at end of file.
+   */
+  CustmastRow next();
+
+  @Override
+  void close();
+}
@@ -0,0 +1,191 @@
+package com.smeup.backend.equivalence;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Diffs an entire legacy CUSTMAST extract against the migrated CUSTMAST table.
+ *
+ * <p>Both sides are read in ascending CUSTNO order and merge-joined, so memory stays
+ * constant whatever the table size. Fields are compared with the same rules as
+ * {@link EquivalenceValidator}: BigDecimal values by compareTo, everything else by equals,
+ * except that trailing blanks of character fields are not significant (fixed-length DDS
+ * fields are blank padded in the extract). Messages are only formatted for mismatched
+ * rows, which are handed to the listener as soon as they are found.
+ */
+public final class CustmastTableDiffer {
+
+  private CustmastTableDiffer() {
+  }
+
+  /**
+   * Diffs the two sources and closes neither of them.
+   *
+   * @param legacy The legacy extract, sorted by CUSTNO
+   * @param migrated The migrated table, sorted by CUSTNO
+   * @param listener Receives every mismatched row in CUSTNO order
+   * @return The counters of the diff
+   * @throws IllegalStateException If a side is not strictly ascending by CUSTNO
+   */
+  public static TableDiffSummary diff(
+      CustmastRowReader legacy, CustmastRowReader migrated, Consumer<TableDifference> listener) {
+    long start = System.nanoTime();
+    OrderedReader left = new OrderedReader("Legacy extract", legacy);
+    OrderedReader right = new OrderedReader("Migrated table", migrated);
+    long matched = 0;
+    long missing = 0;
+    long extra = 0;
+    long different = 0;
+
+    CustmastRow expected = left.next();
+    CustmastRow actual = right.next();
+    while (expected != null || actual != null) {
+      int order = expected == null ? 1
+          : actual == null ? -1
+          : Long.compare(expected.custno(), actual.custno());
+      if (order < 0) {
+        missing++;
+        listener.accept(new TableDifference(
+            TableDifference.Kind.MISSING, expected.custno(), List.of()));
+        expected = left.next();
+      } else if (order > 0) {
+        extra++;
+        listener.accept(new TableDifference(
+            TableDifference.Kind.EXTRA, actual.custno(), List.of()));
+        actual = right.next();
+      } else {
+        if (fieldsEqual(expected, actual)) {
+          matched++;
+        } else {
+          different++;
+          listener.accept(new TableDifference(
+              TableDifference.Kind.DIFFERENT, expected.custno(), describe(expected, actual)));
+        }
+        expected = left.next();
+        actual = right.next();
+      }
+    }
+
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    return new TableDiffSummary(
+        left.count, right.count, matched, missing, extra, different, elapsedMillis);
+  }
+
+  private static boolean fieldsEqual(CustmastRow expected, CustmastRow actual) {
+    return charEquals(expected.custname(), actual.custname())
+        && charEquals(expected.addr1(), actual.addr1())
+        && charEquals(expected.city(), actual.city())
+        && charEquals(expected.state(), actual.state())
+        && Objects.equals(expected.zip(), actual.zip())
+        && charEquals(expected.phone(), actual.phone())
+        && decimalEquals(expected.balance(), actual.balance())
+        && decimalEquals(expected.creditlim(), actual.creditlim())
+        && Objects.equals(expected.lastorder(), actual.lastorder());
+  }
+
+  private static List<String> describe(CustmastRow expected, CustmastRow actual) {
+    List<String> differences = new ArrayList<>();
+    if (!charEquals(expected.custname(), actual.custname())) {
+      differences.add(String.format(
+          "CUSTNAME: expected='%s', actual='%s'", expected.custname(), actual.custname()));
+    }
+    if (!charEquals(expected.addr1(), actual.addr1())) {
+      differences.add(String.format(
+          "ADDR1: expected='%s', actual='%s'", expected.addr1(), actual.addr1()));
+    }
+    if (!charEquals(expected.city(), actual.city())) {
+      differences.add(String.format(
+          "CITY: expected='%s', actual='%s'", expected.city(), actual.city()));
+    }
+    if (!charEquals(expected.state(), actual.state())) {
+      differences.add(String.format(
+          "STATE: expected='%s', actual='%s'", expected.state(), actual.state()));
+    }
+    if (!Objects.equals(expected.zip(), actual.zip())) {
+      differences.add(String.format(
+          "ZIP: expected=%s, actual=%s", expected.zip(), actual.zip()));
+    }
+    if (!charEquals(expected.phone(), actual.phone())) {
+      differences.add(String.format(
+          "PHONE: expected='%s', actual='%s'", expected.phone(), actual.phone()));
+    }
+    if (!decimalEquals(expected.balance(), actual.balance())) {
+      differences.add(String.format(
+          "BALANCE: expected=%s, actual=%s", expected.balance(), actual.balance()));
+    }
+    if (!decimalEquals(expected.creditlim(), actual.creditlim())) {
+      differences.add(String.format(
+          "CREDITLIM: expected=%s, actual=%s", expected.creditlim(), actual.creditlim()));
+    }
+    if (!Objects.equals(expected.lastorder(), actual.lastorder())) {
+      differences.add(String.format(
+          "LASTORDER: expected=%s, actual=%s", expected.lastorder(), actual.lastorder()));
+    }
+    return differences;
+  }
+
+  /**
+   * Compares character fields ignoring trailing blanks, without allocating.
+   */
+  private static boolean charEquals(String expected, String actual) {
+    if (expected == null || actual == null) {
+      return expected == actual;
+    }
+    int expectedLength = trimmedLength(expected);
+    return expectedLength == trimmedLength(actual)
+        && expected.regionMatches(0, actual, 0, expectedLength);
+  }
+
+  private static int trimmedLength(String value) {
+    int length = value.length();
+    while (length > 0 && value.charAt(length - 1) == ' ') {
+      length--;
+    }
+    return length;
+  }
+
+  /**
+   * Compares BigDecimal values handling nulls, ignoring scale differences.
+   */
+  private static boolean decimalEquals(BigDecimal expected, BigDecimal actual) {
+    if (expected == null || actual == null) {
+      return expected == actual;
+    }
+    return expected.compareTo(actual) == 0;
+  }
+
+  /**
+   * Counts rows and rejects input that is not strictly ascending, which would make the
+   * merge-join report bogus missing/extra pairs.
+   */
+  private static final class OrderedReader {
+
+    private final String name;
+    private final CustmastRowReader reader;
+    private long count;
+    private long lastKey;
+
+    private OrderedReader(String name, CustmastRowReader reader) {
+      this.name = name;
+      this.reader = reader;
+    }
+
+    private CustmastRow next() {
+      CustmastRow row = reader.next();
+      if (row == null) {
+        return null;
+      }
+      if (count > 0 && row.custno() <= lastKey) {
+        throw new IllegalStateException(String.format(
+            "%s is not in ascending CUSTNO order: %d after %d at row %d",
+            name, row.custno(), lastKey, count + 1));
+      }
+      lastKey = row.custno();
+      count++;
+      return row;
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package com.smeup.backend.equivalence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the streaming CUSTMAST table differ.
+ *
+ * <p>The migrated side runs against H2 in PostgreSQL mode, migrated with the real Flyway
+ * scripts, so no container is needed.
+ */
+class CustmastTableDifferTest {
+
+  private static final String HEADER =
+      "CUSTNO,CUSTNAME,ADDR1,CITY,STATE,ZIP,PHONE,BALANCE,CREDITLIM,LASTORDER";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should find the Flyway-migrated table equivalent to a padded legacy extract")
+  void shouldMatchMigratedTable() throws Exception {
+    // Given - fixed-length fields blank padded, decimals without trailing zeros
+    Path extract = tempDir.resolve("custmast.csv.gz");
+    writeExtract(extract, true,
+        "1001,ACME Corporation              ,123 Main Street               ,"
+            + "Springfield         ,IL,62701,217-555-0100,1500.5,10000,20251201",
+        "1002,Global Industries Inc,456 Oak Avenue,Chicago,IL,60601,312-555-0200,"
+            + "2750.00,25000.00,20251215",
+        "1003,Tech Solutions LLC,789 Elm Boulevard,Naperville,IL,60540,630-555-0300,"
+            + "500.25,5000.00,20251220");
+    List<TableDifference> differences = new ArrayList<>();
+
+    // When
+    TableDiffSummary summary;
+    try (CustmastRowReader legacy = new CsvCustmastExtractReader(extract);
+        CustmastRowReader migrated = new JdbcCustmastReader(migratedDatabase("match"))) {
+      summary = CustmastTableDiffer.diff(legacy, migrated, differences::add);
+    }
+
+    // Then
+    assertThat(differences).isEmpty();
+    assertThat(summary.isEquivalent()).isTrue();
+    assertThat(summary.legacyRows()).isEqualTo(3);
+    assertThat(summary.migratedRows()).isEqualTo(3);
+    assertThat(summary.matched()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should report missing, extra and different rows in CUSTNO order")
+  void shouldReportMismatches() throws Exception {
+    // Given - 1002 dropped and 1003 altered by the migration, 1000 never existed
+    Connection connection = migratedDatabase("mismatch");
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate("DELETE FROM CUSTMAST WHERE CUSTNO = 1002");
+      statement.executeUpdate("UPDATE CUSTMAST SET CITY = 'Aurora', BALANCE = 500.26"
+          + " WHERE CUSTNO = 1003");
+      statement.executeUpdate("INSERT INTO CUSTMAST (CUSTNO, CUSTNAME) VALUES (1000, 'Ghost')");
+    }
+    Path extract = tempDir.resolve("custmast.csv");
+    writeExtract(extract, false,
+        "1001,ACME Corporation,123 Main Street,Springfield,IL,62701,217-555-0100,"
+            + "1500.50,10000.00,20251201",
+        "1002,Global Industries Inc,456 Oak Avenue,Chicago,IL,60601,312-555-0200,"
+            + "2750.00,25000.00,20251215",
+        "1003,Tech Solutions LLC,789 Elm Boulevard,Naperville,IL,60540,630-555-0300,"
+            + "500.25,5000.00,20251220");
+    List<TableDifference> differences = new ArrayList<>();
+
+    // When
+    TableDiffSummary summary;
+    try (CustmastRowReader legacy = new CsvCustmastExtractReader(extract);
+        CustmastRowReader migrated = new JdbcCustmastReader(connection)) {
+      summary = CustmastTableDiffer.diff(legacy, migrated, differences::add);
+    }
+
+    // Then
+    assertThat(summary.isEquivalent()).isFalse();
+    assertThat(summary.matched()).isEqualTo(1);
+    assertThat(summary.missing()).isEqualTo(1);
+    assertThat(summary.extra()).isEqualTo(1);
+    assertThat(summary.different()).isEqualTo(1);
+    assertThat(differences).containsExactly(
+        new TableDifference(TableDifference.Kind.EXTRA, 1000, List.of()),
+        new TableDifference(TableDifference.Kind.MISSING, 1002, List.of()),
+        new TableDifference(TableDifference.Kind.DIFFERENT, 1003, List.of(
+            "CITY: expected='Naperville', actual='Aurora'",
+            "BALANCE: expected=500.25, actual=500.26")));
+  }
+
+  @Test
+  @DisplayName("Should diff large inputs with constant memory")
+  void shouldStreamLargeInputs() {
+    // Given - every 1000th key differs in balance
+    int rows = 200_000;
+    CustmastRowReader legacy = generated(rows, 0);
+    CustmastRowReader migrated = generated(rows, 1000);
+    long[] differentKeys = new long[1];
+
+    // When
+    TableDiffSummary summary = CustmastTableDiffer.diff(legacy, migrated,
+        difference -> differentKeys[0]++);
+
+    // Then
+    assertThat(summary.matched()).isEqualTo(rows - rows / 1000);
+    assertThat(summary.different()).isEqualTo(rows / 1000);
+    assertThat(differentKeys[0]).isEqualTo(rows / 1000);
+    assertThat(summary.getRowsPerMinute()).isPositive();
+  }
+
+  @Test
+  @DisplayName("Should reject input that is not sorted by CUSTNO")
+  void shouldRejectUnsortedInput() {
+    // Given
+    CustmastRowReader legacy = of(row(1002, "B"), row(1001, "A"));
+    CustmastRowReader migrated = of(row(1001, "A"), row(1002, "B"));
+
+    // When / Then
+    assertThatThrownBy(() -> CustmastTableDiffer.diff(legacy, migrated, difference -> { }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Legacy extract is not in ascending CUSTNO order: 1001 after 1002");
+  }
+
+  @Test
+  @DisplayName("Should reject an extract named .gz that is not gzip compressed")
+  void shouldRejectUncompressedGzipExtract() throws IOException {
+    // Given
+    Path extract = tempDir.resolve("custmast.csv.gz");
+    Files.writeString(extract, "CUSTNO,CUSTNAME\n1001,A\n");
+
+    // When / Then
+    assertThatThrownBy(() -> new CsvCustmastExtractReader(extract))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessageContaining("Cannot open legacy extract " + extract);
+  }
+
+  @Test
+  @DisplayName("Should restore and close the connection when CUSTMAST cannot be queried")
+  void shouldCloseConnectionWhenQueryFails() throws SQLException {
+    // Given - a database that was never migrated
+    Connection connection = DriverManager.getConnection(
+        "jdbc:h2:mem:unmigrated;DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+    Connection tracked = spy(connection);
+
+    // When / Then
+    assertThatThrownBy(() -> new JdbcCustmastReader(tracked))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Cannot query CUSTMAST");
+    verify(tracked).setAutoCommit(true);
+    assertThat(connection.isClosed()).isTrue();
+  }
+
+  private Connection migratedDatabase(String name) throws SQLException {
+    String url = "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+    Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration").load()
+        .migrate();
+    return DriverManager.getConnection(url, "sa", "");
+  }
+
+  private static void writeExtract(Path extract, boolean gzip, String... rows)
+      throws IOException {
+    OutputStream output = Files.newOutputStream(extract);
+    if (gzip) {
+      output = new GZIPOutputStream(output);
+    }
+    try (PrintWriter writer = new PrintWriter(output, false, StandardCharsets.UTF_8)) {
+      writer.println(HEADER);
+      for (String row : rows) {
+        writer.println(row);
+      }
+    }
+  }
+
+  private static CustmastRow row(long custno, String name) {
+    return new CustmastRow(custno, name, null, null, null, null, null,
+        BigDecimal.ZERO, BigDecimal.ZERO, null);
+  }
+
+  private static CustmastRowReader of(CustmastRow... rows) {
+    Iterator<CustmastRow> iterator = List.of(rows).iterator();
+    return new CustmastRowReader() {
+      @Override
+      public CustmastRow next() {
+        return iterator.hasNext() ? iterator.next() : null;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+
+  /**
+   * Generates rows on the fly, so the test itself never holds the table in memory.
+   */
+  private static CustmastRowReader generated(int rows, int differenceInterval) {
+    return new CustmastRowReader() {
+      private long next = 1;
+
+      @Override
+      public CustmastRow next() {
+        if (next > rows) {
+          return null;
+        }
+        long custno = next++;
+        BigDecimal balance = BigDecimal.valueOf(custno % 100_000, 2);
+        if (differenceInterval > 0 && custno % differenceInterval == 0) {
+          balance = balance.add(BigDecimal.ONE);
+        }
+        return new CustmastRow(custno, "Customer " + custno, "1 Main Street", "Springfield",
+            "IL", 62701, "217-555-0100", balance, new BigDecimal("10000.00"), 20251201);
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+}
@@ -0,0 +1,57 @@
+package com.smeup.backend.equivalence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Migration sign-off: diffs a full legacy CUSTMAST extract against the migrated table.
+ *
+ * <p>Runs only when an extract is given, e.g.
+ * {@code mvn test -Dtest=CustmastTableEquivalenceTest -Dequivalence.extract=custmast.csv.gz
+ * -Dequivalence.jdbc-url=jdbc:postgresql://host/db -Dequivalence.jdbc-user=...
+ * -Dequivalence.jdbc-password=...}
+ * Original DDS File: source-rpgle/dds/physical-files/CUSTMAST.dds
+ */
+@EnabledIfSystemProperty(named = "equivalence.extract", matches = ".+")
+class CustmastTableEquivalenceTest {
+
+  private static final int MAX_REPORTED_DIFFERENCES = 20;
+
+  @Test
+  @DisplayName("Migrated CUSTMAST should match the legacy extract row for row")
+  void migratedTableShouldMatchLegacyExtract() throws Exception {
+    Path extract = Path.of(System.getProperty("equivalence.extract"));
+    List<TableDifference> firstDifferences = new ArrayList<>();
+
+    TableDiffSummary summary;
+    try (CustmastRowReader legacy = new CsvCustmastExtractReader(extract);
+        CustmastRowReader migrated = new JdbcCustmastReader(DriverManager.getConnection(
+            System.getProperty("equivalence.jdbc-url"),
+            System.getProperty("equivalence.jdbc-user"),
+            System.getProperty("equivalence.jdbc-password")))) {
+      summary = CustmastTableDiffer.diff(legacy, migrated, difference -> {
+        if (firstDifferences.size() < MAX_REPORTED_DIFFERENCES) {
+          firstDifferences.add(difference);
+        }
+      });
+    }
+
+    System.out.println(String.format(Locale.ROOT,
+        "CUSTMAST diff: %d legacy rows, %d migrated rows, %d matched, %d missing, %d extra,"
+            + " %d different in %d ms (%.0f rows/min)",
+        summary.legacyRows(), summary.migratedRows(), summary.matched(), summary.missing(),
+        summary.extra(), summary.different(), summary.elapsedMillis(),
+        summary.getRowsPerMinute()));
+    assertThat(summary.isEquivalent())
+        .as("Table differences (first %d): %s", MAX_REPORTED_DIFFERENCES, firstDifferences)
+        .isTrue();
+  }
+}
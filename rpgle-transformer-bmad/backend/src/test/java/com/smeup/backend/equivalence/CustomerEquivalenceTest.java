@@ -1,30 +1,22 @@
 package com.smeup.backend.equivalence;
 
-import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertTrue;
-
-import com.smeup.backend.dto.ApiResponse;
-import com.smeup.backend.dto.CustomerDTO;
-import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+
+import com.smeup.backend.controller.CustomerController;
+import com.smeup.backend.exception.GlobalExceptionHandler;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.HttpClientErrorException;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -33,8 +25,8 @@ import org.testcontainers.junit.jupiter.Testcontainers;
  * Functional Equivalence Validation Test for Customer Inquiry.
  *
  * <p>Validates 100% functional equivalence to RPGLE CUST001 behavior (NFR1 compliance).
- * Uses parameterized testing with CSV test data to ensure all business logic,
- * data validation, and error handling matches the original RPGLE program.
+ * Executes every CSV test case to ensure all business logic, data validation, and
+ * error handling matches the original RPGLE program.
  *
  * <p>Original RPGLE Program: source-rpgle/programs/CUST001.rpgle
  * Original DDS File: source-rpgle/dds/physical-files/CUSTMAST.dds
@@ -45,13 +37,32 @@ import org.testcontainers.junit.jupiter.Testcontainers;
  * <p>Test Data: backend/src/test/resources/equivalence-test-data/
  *   customer-inquiry-test-cases.csv
  *
+ * <p>Test cases are streamed from the CSV in row ranges; each range is one parameterized
+ * invocation whose cases run concurrently, so a full production regression corpus can be
+ * validated without loading it into memory. The corpus can be split across parallel
+ * forks (separate JVMs), each running the ranges of its own shard.
+ * Configuration (system properties or test properties):
+ * <ul>
+ *   <li>equivalence.parallelism - number of worker threads (default 8)
+ *   <li>equivalence.client - direct (controller bean in-process, default) or http
+ *       (pooled HTTP client against the embedded server)
+ *   <li>equivalence.test-data - CSV file to run instead of the bundled test data,
+ *       gzip compressed if it ends in .gz
+ *   <li>equivalence.shard.index / equivalence.shard.count - zero-based shard of this fork
+ *       and number of forks (default 0 / 1)
+ *   <li>equivalence.block-rows - rows per range (default 10000)
+ * </ul>
+ *
  * <p>Test Framework: JUnit 5 + Testcontainers + Jackson CSV
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @DisplayName("Customer Inquiry Functional Equivalence Tests")
 public class CustomerEquivalenceTest {
 
+  private static final int MAX_REPORTED_FAILURES = 20;
+
   @Container
   @ServiceConnection
   static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
@@ -59,123 +70,101 @@ public class CustomerEquivalenceTest {
   @LocalServerPort
   private int port;
 
-  private RestTemplate restTemplate = new RestTemplate();
+  @Autowired
+  private CustomerController customerController;
 
-  private static List<CustomerTestCase> testCases;
-  private static final List<EquivalenceResult> testResults = new ArrayList<>();
+  @Autowired
+  private GlobalExceptionHandler exceptionHandler;
 
-  /**
-   * Load all test cases from CSV before running tests.
-   * Validates test data file exists and is parseable.
-   */
-  @BeforeAll
-  static void loadTestData() {
-    testCases = TestDataLoader.loadCustomerTestCases();
-    assertNotNull(testCases, "Test cases should be loaded");
-    assertTrue(testCases.size() > 0, "At least one test case should exist");
-    System.out.println("Loaded " + testCases.size() + " test cases for equivalence validation");
-  }
+  @Value("${equivalence.parallelism:8}")
+  private int parallelism;
+
+  @Value("${equivalence.client:direct}")
+  private String clientType;
+
+  @Value("${equivalence.test-data:}")
+  private String testDataFile;
+
+  @Value("${equivalence.shard.index:0}")
+  private int shardIndex;
+
+  @Value("${equivalence.shard.count:1}")
+  private int shardCount;
+
+  @Value("${equivalence.block-rows:10000}")
+  private int blockRows;
+
+  private CustomerTestCaseSource testCases;
+  private EquivalenceReportGenerator report;
+  private EquivalenceRunner runner;
+  private long startNanos;
 
   /**
-   * Generate validation report after all tests complete.
-   * Report shows overall pass/fail and detailed failure analysis.
+   * Opens the test data and the streaming report before the first range runs.
    */
-  @AfterAll
-  static void generateValidationReport() {
-    Path reportPath = EquivalenceReportGenerator.generateReport(testResults);
-    System.out.println("Equivalence validation report: " + reportPath.toAbsolutePath());
+  @BeforeAll
+  void openTestData() {
+    testCases = TestDataLoader.openCustomerTestCases(
+        testDataFile, shardIndex, shardCount, blockRows);
+    report = EquivalenceReportGenerator.open(shardIndex, shardCount);
+    InquiryClient client = "http".equalsIgnoreCase(clientType)
+        ? new HttpInquiryClient(port)
+        : new DirectInquiryClient(customerController, exceptionHandler);
+    runner = new EquivalenceRunner(client, parallelism);
+    startNanos = System.nanoTime();
   }
 
   /**
-   * Provides test cases as stream for parameterized testing.
+   * Row ranges of this shard, parsed only when JUnit reaches them.
    */
-  static Stream<CustomerTestCase> provideTestCases() {
-    return testCases.stream();
+  Stream<TestCaseBlock> testCaseBlocks() {
+    return testCases.blocks();
   }
 
   /**
-   * Parameterized test executing customer inquiry for each test case.
+   * Executes the customer inquiry for every test case of a row range and validates
+   * the results.
    *
    * <p>Validates RPGLE CUSTMAST field mapping equivalence.
    * For positive cases (200 OK), validates all CustomerDTO fields.
    * For negative cases (404/400), validates HTTP status code.
    *
-   * <p>Uses assertAll() to report all field mismatches in a single test execution.
-   *
-   * @param testCase The test case containing input and expected output
+   * <p>Results are streamed to the report as cases complete, so a partial report survives
+   * an aborted run; the assertion message lists the first failures of the range. A shard
+   * left without a range (more shards than ranges) runs no invocation and reports 0 cases.
    */
-  @ParameterizedTest(name = "{0}")
-  @MethodSource("provideTestCases")
+  @ParameterizedTest(name = "rows {0}", allowZeroInvocations = true)
+  @MethodSource("testCaseBlocks")
   @DisplayName("Customer Equivalence Test")
-  void testCustomerEquivalence(CustomerTestCase testCase) {
-    // Call GET /api/v1/customers/{customerId}
-    String url = "http://localhost:" + port + "/api/v1/customers/" + testCase.customerId();
-
-    EquivalenceResult result = executeTestCase(url, testCase);
-
-    // Collect result for report generation
-    testResults.add(result);
+  void testCustomerEquivalence(TestCaseBlock block) {
+    EquivalenceResultCollector results = runner.run(block.testCases(),
+        (index, result) -> report.onResult(block.firstRow() + index, result));
+
+    System.out.printf("Equivalence validation rows %s: %d cases, %d ms, %.1f cases/s"
+            + " (%s client, %d threads)%n",
+        block, block.testCases().size(), results.getElapsedMillis(), results.getThroughput(),
+        clientType, parallelism);
+
+    assertEquals(0, results.getFailedCount(), () -> "Equivalence validation failed for "
+        + results.getFailedCount() + " test case(s) in rows " + block + ":\n"
+        + results.getResults().stream()
+            .filter(result -> !result.isPassed())
+            .limit(MAX_REPORTED_FAILURES)
+            .map(result -> result.getTestCaseId() + ": "
+                + String.join(", ", result.getDifferences()))
+            .collect(Collectors.joining("\n")));
   }
 
-  private EquivalenceResult executeTestCase(String url, CustomerTestCase testCase) {
-    try {
-      ResponseEntity<ApiResponse<CustomerDTO>> response = restTemplate.exchange(
-          url,
-          HttpMethod.GET,
-          null,
-          new ParameterizedTypeReference<ApiResponse<CustomerDTO>>() {});
-
-      HttpStatus actualStatus = (HttpStatus) response.getStatusCode();
-      int actualStatusCode = actualStatus.value();
-
-      if (testCase.isPositiveCase()) {
-        // Positive test case: validate 200 OK and CustomerDTO fields
-        assertEquals(HttpStatus.OK.value(), actualStatusCode,
-            "Expected HTTP 200 for test case: " + testCase.testCaseId());
-
-        ApiResponse<CustomerDTO> apiResponse = response.getBody();
-        assertNotNull(apiResponse, "API response should not be null");
-
-        CustomerDTO actualCustomer = apiResponse.getData();
-        assertNotNull(actualCustomer, "Customer data should not be null");
-
-        // Field-by-field comparison
-        EquivalenceResult result = EquivalenceValidator.compareCustomerResponse(
-            actualCustomer, testCase);
-
-        // Use assertAll to report all field mismatches
-        assertAll("Customer field validation for " + testCase.testCaseId(),
-            () -> assertTrue(result.isPassed(),
-                () -> "Equivalence validation failed. Differences: "
-                    + String.join(", ", result.getDifferences()))
-        );
-
-        return result;
-
-      } else {
-        throw new IllegalStateException(
-            "Expected error response but got success: " + testCase.testCaseId());
-      }
-
-    } catch (HttpClientErrorException e) {
-      // Handle HTTP error responses (404, 400, etc.)
-      int actualStatusCode = e.getStatusCode().value();
-
-      if (testCase.isNegativeCase()) {
-        // Negative test case: validate error status code
-        EquivalenceResult result = EquivalenceValidator.validateStatusCode(
-            actualStatusCode, testCase);
-
-        assertEquals(testCase.expectedStatusCode(), actualStatusCode,
-            "Expected HTTP " + testCase.expectedStatusCode()
-                + " for test case: " + testCase.testCaseId());
-
-        return result;
-
-      } else {
-        throw new IllegalStateException(
-            "Expected success response but got error: " + testCase.testCaseId(), e);
-      }
+  /**
+   * Writes the final report once every range of the shard has run.
+   */
+  @AfterAll
+  void closeReport() {
+    try (CustomerTestCaseSource source = testCases; EquivalenceReportGenerator summary = report) {
+      summary.complete(parallelism, (System.nanoTime() - startNanos) / 1_000_000);
+      System.out.println("Equivalence validation: " + summary.getTotalCount() + " cases, "
+          + summary.getFailedCount() + " failed; report: "
+          + summary.getReportPath().toAbsolutePath());
     }
   }
 }
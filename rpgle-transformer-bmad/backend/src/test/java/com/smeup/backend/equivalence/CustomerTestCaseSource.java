@@ -0,0 +1,181 @@
+package com.smeup.backend.equivalence;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily streams the test cases of a customer-inquiry-test-cases.csv file, one row range
+ * at a time.
+ *
+ * <p>The CSV is divided into consecutive ranges of blockRows rows, which are dealt round
+ * robin to shardCount shards: range n belongs to shard n % shardCount. Every fork reads
+ * the file sequentially, one line at a time, and hands only the ranges of its own shard
+ * to Jackson, so the rows of other shards are split into records but never parsed into
+ * fields or bound. One range is held at a time, so a multi-gigabyte regression corpus
+ * never has to fit in memory. Blank lines are not rows.
+ *
+ * <p>Validates RPGLE test data mapping for functional equivalence validation.
+ * Original DDS File: source-rpgle/dds/physical-files/CUSTMAST.dds
+ */
+public class CustomerTestCaseSource implements AutoCloseable {
+
+  private final String name;
+  private final BufferedReader lines;
+  private final String header;
+  private final ObjectReader reader;
+  private final int shardIndex;
+  private final int shardCount;
+  private final int blockRows;
+  private long nextRow;
+
+  /**
+   * Opens the source; the stream is closed with the source.
+   *
+   * @param input CSV with a header row, already decompressed
+   * @param name File name used in error messages
+   * @param shardIndex Zero-based shard of this fork
+   * @param shardCount Number of forks sharing the file
+   * @param blockRows Rows per range
+   */
+  public CustomerTestCaseSource(
+      InputStream input, String name, int shardIndex, int shardCount, int blockRows) {
+    if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+      throw new IllegalArgumentException(
+          "Invalid shard " + shardIndex + " of " + shardCount + " (index is zero-based)");
+    }
+    if (blockRows < 1) {
+      throw new IllegalArgumentException("Block rows must be at least 1, got " + blockRows);
+    }
+    this.name = name;
+    this.lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    this.shardIndex = shardIndex;
+    this.shardCount = shardCount;
+    this.blockRows = blockRows;
+    this.reader = new CsvMapper()
+        .readerFor(CustomerTestCase.class)
+        .with(CsvSchema.emptySchema().withHeader());
+    try {
+      this.header = readRecord();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read test data from " + name, e);
+    }
+  }
+
+  /**
+   * Returns the row ranges of this shard, read on demand. Closing the stream closes
+   * the source.
+   *
+   * @throws IllegalStateException if the file has no test cases at all
+   */
+  public Stream<TestCaseBlock> blocks() {
+    Spliterator<TestCaseBlock> blocks = new Spliterators.AbstractSpliterator<>(
+        Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+      @Override
+      public boolean tryAdvance(Consumer<? super TestCaseBlock> action) {
+        TestCaseBlock block = nextBlock();
+        if (block == null) {
+          return false;
+        }
+        action.accept(block);
+        return true;
+      }
+    };
+    return StreamSupport.stream(blocks, false).onClose(this::close);
+  }
+
+  private TestCaseBlock nextBlock() {
+    try {
+      String record;
+      while (header != null && (record = readRecord()) != null) {
+        long firstRow = nextRow;
+        boolean ownRange = (firstRow / blockRows) % shardCount == shardIndex;
+        StringBuilder csv = ownRange ? new StringBuilder(header).append('\n') : null;
+        do {
+          if (ownRange) {
+            csv.append(record).append('\n');
+          }
+          nextRow++;
+        } while (nextRow % blockRows != 0 && (record = readRecord()) != null);
+        if (ownRange) {
+          return new TestCaseBlock(firstRow, bind(csv.toString(), firstRow));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read test data from " + name
+          + " after row " + nextRow + ": " + e.getMessage(), e);
+    }
+    if (nextRow == 0) {
+      throw new IllegalStateException("No test cases loaded from " + name
+          + ". CSV file may be empty or malformed.");
+    }
+    return null;
+  }
+
+  /**
+   * Parses the rows of one range, given as CSV text behind the header row.
+   */
+  private List<CustomerTestCase> bind(String csv, long firstRow) {
+    List<CustomerTestCase> testCases = new ArrayList<>();
+    try (MappingIterator<CustomerTestCase> rows = reader.readValues(csv)) {
+      while (rows.hasNextValue()) {
+        testCases.add(rows.nextValue());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to parse test data from " + name
+          + " after row " + (firstRow + testCases.size()) + ". Check CSV format and schema. Error: "
+          + e.getMessage(), e);
+    }
+    return testCases;
+  }
+
+  /**
+   * Reads the next CSV record, joining lines while a quoted field is open.
+   *
+   * @return the record without its line break, or null at the end of the file
+   */
+  private String readRecord() throws IOException {
+    String line;
+    do {
+      line = lines.readLine();
+    } while (line != null && line.isEmpty());
+    if (line == null || quotes(line) % 2 == 0) {
+      return line;
+    }
+    StringBuilder record = new StringBuilder(line);
+    long quoteCount = quotes(line);
+    while (quoteCount % 2 != 0 && (line = lines.readLine()) != null) {
+      record.append('\n').append(line);
+      quoteCount += quotes(line);
+    }
+    // an unterminated quote runs to the end of the file and fails when bound
+    return record.toString();
+  }
+
+  private static long quotes(String line) {
+    return line.chars().filter(c -> c == '"').count();
+  }
+
+  @Override
+  public void close() {
+    try {
+      lines.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package com.smeup.backend.equivalence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the lazily streamed, sharded test case source.
+ */
+class CustomerTestCaseSourceTest {
+
+  private static final String HEADER = "test_case_id,customer_id,expected_name,expected_address,"
+      + "expected_city,expected_state,expected_zip,expected_phone,expected_balance,"
+      + "expected_credit_limit,expected_last_order,expected_status_code";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should stream the bundled test data")
+  void shouldStreamBundledTestData() {
+    // When
+    List<TestCaseBlock> blocks;
+    try (CustomerTestCaseSource source =
+        TestDataLoader.openCustomerTestCases(null, 0, 1, 10_000)) {
+      blocks = source.blocks().toList();
+    }
+
+    // Then
+    assertThat(blocks).hasSize(1);
+    assertThat(blocks.get(0).firstRow()).isZero();
+    assertThat(blocks.get(0).testCases()).isNotEmpty()
+        .anyMatch(CustomerTestCase::isPositiveCase)
+        .anyMatch(CustomerTestCase::isNegativeCase);
+  }
+
+  @Test
+  @DisplayName("Should deal row ranges of a compressed file round robin to the shards")
+  void shouldShardCompressedFileByRowRange() throws IOException {
+    // Given
+    Path corpus = tempDir.resolve("corpus.csv.gz");
+    try (PrintWriter writer = new PrintWriter(
+        new GZIPOutputStream(Files.newOutputStream(corpus)), false, StandardCharsets.UTF_8)) {
+      writer.println(HEADER);
+      for (int row = 0; row < 25; row++) {
+        writer.println("NEGATIVE_" + row + "," + (5000 + row) + ",,,,,,,,,,404");
+      }
+    }
+
+    // When
+    List<TestCaseBlock> shard0;
+    List<TestCaseBlock> shard1;
+    try (CustomerTestCaseSource source =
+        TestDataLoader.openCustomerTestCases(corpus.toString(), 0, 2, 10)) {
+      shard0 = source.blocks().toList();
+    }
+    try (CustomerTestCaseSource source =
+        TestDataLoader.openCustomerTestCases(corpus.toString(), 1, 2, 10)) {
+      shard1 = source.blocks().toList();
+    }
+
+    // Then
+    assertThat(shard0).extracting(TestCaseBlock::toString).containsExactly("0-9", "20-24");
+    assertThat(shard1).extracting(TestCaseBlock::toString).containsExactly("10-19");
+    assertThat(shard1.get(0).testCases().get(0).testCaseId()).isEqualTo("NEGATIVE_10");
+    assertThat(shard1.get(0).testCases().get(0).customerId()).isEqualTo(5010L);
+    assertThat(shard0.get(1).testCases()).extracting(CustomerTestCase::testCaseId)
+        .containsExactly("NEGATIVE_20", "NEGATIVE_21", "NEGATIVE_22", "NEGATIVE_23",
+            "NEGATIVE_24");
+  }
+
+  @Test
+  @DisplayName("Should give a shard without a row range no blocks")
+  void shouldLeaveSurplusShardEmpty() {
+    // When - the bundled test data fits in one range, which goes to shard 0
+    List<TestCaseBlock> blocks;
+    try (CustomerTestCaseSource source =
+        TestDataLoader.openCustomerTestCases(null, 1, 2, 10_000)) {
+      blocks = source.blocks().toList();
+    }
+
+    // Then
+    assertThat(blocks).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should read only as far as the consumer has pulled")
+  void shouldReadLazily() {
+    // Given - a row that cannot be parsed after the first range
+    String csv = HEADER + "\n"
+        + "NEGATIVE_0,5000,,,,,,,,,,404\n"
+        + "NEGATIVE_1,5001,,,,,,,,,,404\n"
+        + "BROKEN,not-a-number,,,,,,,,,,404\n";
+    CustomerTestCaseSource source = new CustomerTestCaseSource(
+        new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "lazy.csv", 0, 1, 2);
+
+    // When
+    List<TestCaseBlock> pulled = new ArrayList<>();
+    try (Stream<TestCaseBlock> blocks = source.blocks()) {
+      Iterator<TestCaseBlock> iterator = blocks.iterator();
+      pulled.add(iterator.next());
+
+      // Then
+      assertThat(pulled.get(0).testCases()).hasSize(2);
+      assertThatThrownBy(iterator::hasNext)
+          .hasMessageContaining("Failed to parse test data from lazy.csv after row 2");
+    }
+  }
+
+  @Test
+  @DisplayName("Should not bind the rows of other shards")
+  void shouldSkipOtherShardsWithoutBinding() {
+    // Given - an unparseable row in shard 0's range, and a quoted line break in shard 1's
+    String csv = HEADER + "\n"
+        + "BROKEN,not-a-number,,,,,,,,,,404\n"
+        + "NEGATIVE_1,5001,,,,,,,,,,404\n"
+        + "\n"
+        + "POSITIVE_2,1001,\"ACME\nCorporation\",\"1 \"\"Main\"\" St\",,,,,,,,200\n"
+        + "NEGATIVE_3,5003,,,,,,,,,,404\n";
+    CustomerTestCaseSource source = new CustomerTestCaseSource(
+        new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "shards.csv", 1, 2, 2);
+
+    // When
+    List<TestCaseBlock> blocks;
+    try (source) {
+      blocks = source.blocks().toList();
+    }
+
+    // Then
+    assertThat(blocks).extracting(TestCaseBlock::toString).containsExactly("2-3");
+    assertThat(blocks.get(0).testCases()).extracting(CustomerTestCase::testCaseId)
+        .containsExactly("POSITIVE_2", "NEGATIVE_3");
+    assertThat(blocks.get(0).testCases().get(0).expectedName()).isEqualTo("ACME\nCorporation");
+    assertThat(blocks.get(0).testCases().get(0).expectedAddress()).isEqualTo("1 \"Main\" St");
+  }
+
+  @Test
+  @DisplayName("Should reject a file without test cases")
+  void shouldRejectEmptyFile() {
+    // Given
+    CustomerTestCaseSource source = new CustomerTestCaseSource(
+        new ByteArrayInputStream((HEADER + "\n").getBytes(StandardCharsets.UTF_8)),
+        "empty.csv", 0, 1, 10);
+
+    // When / Then
+    try (source) {
+      assertThatThrownBy(() -> source.blocks().toList())
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("No test cases loaded from empty.csv");
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.smeup.backend.equivalence;
+
+import com.smeup.backend.controller.CustomerController;
+import com.smeup.backend.dto.ApiResponse;
+import com.smeup.backend.dto.CustomerDTO;
+import com.smeup.backend.exception.CustomerNotFoundException;
+import com.smeup.backend.exception.GlobalExceptionHandler;
+import com.smeup.backend.exception.InvalidCustomerIdException;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Calls the CustomerController bean in-process, without HTTP or MockMvc.
+ *
+ * <p>Exceptions are translated by the GlobalExceptionHandler bean, so status codes match
+ * what the API answers. JSON serialization and request routing are not exercised; use
+ * {@link HttpInquiryClient} to include them.
+ */
+public class DirectInquiryClient implements InquiryClient {
+
+  private final CustomerController customerController;
+  private final GlobalExceptionHandler exceptionHandler;
+
+  public DirectInquiryClient(
+      CustomerController customerController, GlobalExceptionHandler exceptionHandler) {
+    this.customerController = customerController;
+    this.exceptionHandler = exceptionHandler;
+  }
+
+  @Override
+  public InquiryResponse inquire(Long customerId) {
+    try {
+      ResponseEntity<ApiResponse<CustomerDTO>> response =
+          customerController.getCustomerById(customerId);
+      ApiResponse<CustomerDTO> body = response.getBody();
+      return new InquiryResponse(
+          response.getStatusCode().value(), body != null ? body.getData() : null);
+    } catch (CustomerNotFoundException e) {
+      return error(exceptionHandler.handleCustomerNotFoundException(e, jsonRequest()));
+    } catch (InvalidCustomerIdException e) {
+      return error(exceptionHandler.handleInvalidCustomerIdException(e, jsonRequest()));
+    }
+  }
+
+  private static ServletWebRequest jsonRequest() {
+    return new ServletWebRequest(new MockHttpServletRequest());
+  }
+
+  private static InquiryResponse error(ResponseEntity<ProblemDetail> response) {
+    return new InquiryResponse(response.getStatusCode().value(), null);
+  }
+}
@@ -1,140 +1,306 @@
 package com.smeup.backend.equivalence;
 
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
- * Generates markdown validation reports for functional equivalence testing.
+ * Generates the functional equivalence validation report while the tests run.
  *
- * <p>Creates stakeholder-readable reports showing test results, pass/fail rates,
- * and detailed failure analysis for RPGLE transformation validation (NFR1 compliance).
+ * <p>Every result is appended to a JSON Lines detail file as soon as it is received, and
+ * the markdown summary is rebuilt from running counters. Memory therefore stays bounded
+ * by the number of failures detailed in the summary, not by the number of test cases.
+ *
+ * <p>At most once per second the detail file is flushed and the summary is replaced
+ * atomically, so if the run dies midway both files hold a consistent partial report
+ * marked as in progress. Closing the generator writes the final summary.
  *
  * <p>Validates RPGLE CUST001 equivalence.
  * Original Program: source-rpgle/programs/CUST001.rpgle
  */
-public class EquivalenceReportGenerator {
+public class EquivalenceReportGenerator implements EquivalenceResultListener, AutoCloseable {
+
+  private static final String REPORT_FILE = "backend/target/equivalence-validation-report";
+  private static final String DETAIL_FILE = "backend/target/equivalence-results";
+  private static final int MAX_DETAILED_FAILURES = 100;
+  private static final long CHECKPOINT_INTERVAL_NANOS = 1_000_000_000L;
+
+  private final Path reportPath;
+  private final Path detailPath;
+  private final String startedAt;
+  private final JsonGenerator detail;
+
+  /** Lowest-index failures, so the summary lists them in CSV order. */
+  private final TreeMap<Long, EquivalenceResult> detailedFailures = new TreeMap<>();
 
-  private static final String REPORT_FILE = "backend/target/equivalence-validation-report.md";
+  private long totalCount;
+  private long failedCount;
+  private long lastCheckpointNanos = System.nanoTime();
+  private int parallelism;
+  private long elapsedMillis;
+  private boolean completed;
+  private boolean closed;
 
   /**
-   * Generates markdown validation report from test results.
-   *
-   * <p>Validates 100% functional equivalence requirement (NFR1).
-   * Original RPGLE Program: CUST001 - Customer Inquiry
+   * Opens a report at the default locations under backend/target.
+   */
+  public static EquivalenceReportGenerator open() {
+    return open(0, 1);
+  }
+
+  /**
+   * Opens the report of one shard; with several shards the file names get a
+   * -shard-N-of-M suffix so forks sharing a working directory do not collide.
+   */
+  public static EquivalenceReportGenerator open(int shardIndex, int shardCount) {
+    String suffix = shardCount > 1 ? "-shard-" + shardIndex + "-of-" + shardCount : "";
+    return new EquivalenceReportGenerator(
+        Paths.get(REPORT_FILE + suffix + ".md"), Paths.get(DETAIL_FILE + suffix + ".jsonl"));
+  }
+
+  /**
+   * Opens a report, truncating any previous one.
    *
-   * @param results List of EquivalenceResult objects from test execution
-   * @return Path to generated report file
+   * @param reportPath Markdown summary file
+   * @param detailPath JSON Lines file with one record per test case
    */
-  public static Path generateReport(List<EquivalenceResult> results) {
+  public EquivalenceReportGenerator(Path reportPath, Path detailPath) {
+    this.reportPath = reportPath;
+    this.detailPath = detailPath;
+    this.startedAt = LocalDateTime.now()
+        .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
     try {
-      String reportContent = buildReportContent(results);
-      Path reportPath = Paths.get(REPORT_FILE);
+      createParentDirectories(reportPath);
+      createParentDirectories(detailPath);
+      this.detail = new JsonFactoryBuilder()
+          .rootValueSeparator((String) null)
+          .build()
+          .createGenerator(Files.newBufferedWriter(detailPath, StandardCharsets.UTF_8));
+      writeSummary();
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Failed to create equivalence validation report: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Appends the result to the detail file and updates the running counters.
+   */
+  @Override
+  public synchronized void onResult(long index, EquivalenceResult result) {
+    if (closed) {
+      throw new IllegalStateException("Equivalence validation report already closed");
+    }
+    try {
+      writeDetail(index, result);
+      totalCount++;
+      if (!result.isPassed()) {
+        failedCount++;
+        detailedFailures.put(index, result);
+        if (detailedFailures.size() > MAX_DETAILED_FAILURES) {
+          detailedFailures.pollLastEntry();
+        }
+      }
+      if (System.nanoTime() - lastCheckpointNanos >= CHECKPOINT_INTERVAL_NANOS) {
+        checkpoint();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Failed to write equivalence validation report: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Marks the run as complete; the final summary then gets a validation status and,
+   * when parallelism is positive, the throughput of the run.
+   *
+   * @param parallelism Worker threads of the run, or 0 if unknown
+   * @param elapsedMillis Wall-clock duration of the run
+   */
+  public synchronized void complete(int parallelism, long elapsedMillis) {
+    this.parallelism = parallelism;
+    this.elapsedMillis = elapsedMillis;
+    this.completed = true;
+  }
+
+  /**
+   * Flushes the detail file and writes the final summary. A run that was never completed
+   * keeps an aborted partial summary.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try (detail) {
+      detail.flush();
+      writeSummary();
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Failed to write equivalence validation report: " + e.getMessage(), e);
+    }
+
+    System.out.println("=".repeat(80));
+    System.out.println("Equivalence Validation Report Generated:");
+    System.out.println(reportPath.toAbsolutePath());
+    System.out.println(detailPath.toAbsolutePath());
+    System.out.println("=".repeat(80));
+  }
 
-      // Create target directory if it doesn't exist
-      Files.createDirectories(reportPath.getParent());
+  public Path getReportPath() {
+    return reportPath;
+  }
 
-      Files.writeString(reportPath, reportContent);
+  public Path getDetailPath() {
+    return detailPath;
+  }
 
-      System.out.println("=".repeat(80));
-      System.out.println("Equivalence Validation Report Generated:");
-      System.out.println(reportPath.toAbsolutePath());
-      System.out.println("=".repeat(80));
+  public synchronized long getTotalCount() {
+    return totalCount;
+  }
 
-      return reportPath;
+  public synchronized long getFailedCount() {
+    return failedCount;
+  }
 
-    } catch (IOException e) {
-      throw new RuntimeException(
-          "Failed to generate equivalence validation report: " + e.getMessage(), e);
+  private void writeDetail(long index, EquivalenceResult result) throws IOException {
+    detail.writeStartObject();
+    detail.writeNumberField("index", index);
+    detail.writeStringField("testCaseId", result.getTestCaseId());
+    detail.writeBooleanField("passed", result.isPassed());
+    detail.writeArrayFieldStart("differences");
+    for (String difference : result.getDifferences()) {
+      detail.writeString(difference);
     }
+    detail.writeEndArray();
+    detail.writeEndObject();
+    detail.writeRaw('\n');
   }
 
-  private static String buildReportContent(List<EquivalenceResult> results) {
-    StringBuilder report = new StringBuilder();
+  private void checkpoint() throws IOException {
+    detail.flush();
+    writeSummary();
+    lastCheckpointNanos = System.nanoTime();
+  }
+
+  /**
+   * Writes the summary next to the report and moves it into place, so readers never
+   * see a half-written file.
+   */
+  private void writeSummary() throws IOException {
+    Path temporary = reportPath.resolveSibling(reportPath.getFileName() + ".tmp");
+    try (Writer report = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+      writeSummary(report);
+    }
+    Files.move(temporary, reportPath,
+        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private void writeSummary(Writer report) throws IOException {
+    boolean finished = closed && completed;
+    long passedCount = totalCount - failedCount;
+    double passPercentage = totalCount > 0 ? (double) passedCount / totalCount * 100 : 0.0;
 
     // Header
-    report.append("# Functional Equivalence Validation Report\n\n");
-    report.append("**Program:** CUST001 - Customer Inquiry\n\n");
-    report.append("**Original:** source-rpgle/programs/CUST001.rpgle\n\n");
-    report.append("**Date:** ").append(LocalDateTime.now()
-        .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("\n\n");
+    report.write("# Functional Equivalence Validation Report\n\n");
+    report.write("**Program:** CUST001 - Customer Inquiry\n\n");
+    report.write("**Original:** source-rpgle/programs/CUST001.rpgle\n\n");
+    report.write("**Date:** " + startedAt + "\n\n");
 
-    report.append("---\n\n");
+    report.write("---\n\n");
 
     // Summary Statistics
-    long totalTests = results.size();
-    long passedTests = results.stream().filter(EquivalenceResult::isPassed).count();
-    long failedTests = totalTests - passedTests;
-    double passPercentage = totalTests > 0
-        ? (double) passedTests / totalTests * 100
-        : 0.0;
-
-    report.append("## Summary\n\n");
-    report.append(String.format("- **Total Test Cases:** %d\n", totalTests));
-    report.append(String.format("- **Passed:** %d\n", passedTests));
-    report.append(String.format("- **Failed:** %d\n", failedTests));
-    report.append(String.format("- **Pass Rate:** %.1f%%\n\n", passPercentage));
+    report.write("## Summary\n\n");
+    report.write(String.format("- **Total Test Cases:** %d\n", totalCount));
+    report.write(String.format("- **Passed:** %d\n", passedCount));
+    report.write(String.format("- **Failed:** %d\n", failedCount));
+    report.write(String.format(Locale.ROOT, "- **Pass Rate:** %.1f%%\n\n", passPercentage));
 
-    // Overall Result
-    String validationStatus = (failedTests == 0) ? "✅ PASS" : "❌ FAIL";
-    report.append(String.format("**Validation Status:** %s\n\n", validationStatus));
+    if (finished && parallelism > 0) {
+      report.write("## Throughput\n\n");
+      report.write(String.format("- **Parallelism:** %d\n", parallelism));
+      report.write(String.format("- **Elapsed:** %d ms\n", elapsedMillis));
+      report.write(String.format(Locale.ROOT, "- **Throughput:** %.1f test cases/s\n\n",
+          totalCount * 1000.0 / Math.max(1, elapsedMillis)));
+    }
 
-    if (failedTests == 0) {
-      report.append("**Conclusion:** 100% functional equivalence validated. ");
-      report.append("The transformation preserves all RPGLE business logic (NFR1 compliant).\n\n");
+    // Overall Result
+    if (!finished) {
+      report.write(closed
+          ? "**Validation Status:** ⚠️ ABORTED\n\n"
+          : "**Validation Status:** ⏳ IN PROGRESS\n\n");
+      report.write("**Conclusion:** Partial report. The counts above cover only the test cases ");
+      report.write("completed so far; the validation is not conclusive.\n\n");
+    } else if (failedCount == 0) {
+      report.write("**Validation Status:** ✅ PASS\n\n");
+      report.write("**Conclusion:** 100% functional equivalence validated. ");
+      report.write("The transformation preserves all RPGLE business logic (NFR1 compliant).\n\n");
     } else {
-      report.append("**Conclusion:** Functional equivalence validation FAILED. ");
-      report.append(String.format("%d test case(s) have discrepancies. ", failedTests));
-      report.append("Review detailed failure analysis below.\n\n");
+      report.write("**Validation Status:** ❌ FAIL\n\n");
+      report.write("**Conclusion:** Functional equivalence validation FAILED. ");
+      report.write(String.format("%d test case(s) have discrepancies. ", failedCount));
+      report.write("Review detailed failure analysis below.\n\n");
     }
 
-    report.append("---\n\n");
+    report.write("---\n\n");
 
     // Detailed Results
-    if (failedTests > 0) {
-      report.append("## Detailed Failure Analysis\n\n");
-
-      for (EquivalenceResult result : results) {
-        if (!result.isPassed()) {
-          report.append(String.format("### Test Case: %s\n\n", result.getTestCaseId()));
-          report.append("**Differences:**\n\n");
+    if (failedCount > 0) {
+      report.write("## Detailed Failure Analysis\n\n");
+      if (failedCount > detailedFailures.size()) {
+        report.write(String.format("First %d of %d failures in CSV order; ",
+            detailedFailures.size(), failedCount));
+        report.write("all of them are in the detail file.\n\n");
+      }
 
-          for (String difference : result.getDifferences()) {
-            report.append(String.format("- %s\n", difference));
-          }
+      for (Map.Entry<Long, EquivalenceResult> failure : detailedFailures.entrySet()) {
+        report.write(String.format("### Test Case: %s\n\n", failure.getValue().getTestCaseId()));
+        report.write("**Differences:**\n\n");
 
-          report.append("\n");
+        for (String difference : failure.getValue().getDifferences()) {
+          report.write(String.format("- %s\n", difference));
         }
+
+        report.write("\n");
       }
 
-      report.append("---\n\n");
+      report.write("---\n\n");
     }
 
-    // All Test Cases Summary
-    report.append("## All Test Cases\n\n");
-    report.append("| Test Case ID | Status |\n");
-    report.append("|--------------|--------|\n");
+    // All Test Cases
+    report.write("## All Test Cases\n\n");
+    report.write(String.format("One JSON record per test case (index, testCaseId, passed, "
+        + "differences), in completion order: `%s`\n\n", detailPath.getFileName()));
 
-    for (EquivalenceResult result : results) {
-      String status = result.isPassed() ? "✅ PASS" : "❌ FAIL";
-      report.append(String.format("| %s | %s |\n", result.getTestCaseId(), status));
-    }
-
-    report.append("\n---\n\n");
+    report.write("---\n\n");
 
     // Footer
-    report.append("## Validation Criteria\n\n");
-    report.append("- **NFR1 Requirement:** 100% Functional Equivalence (ZERO TOLERANCE)\n");
-    report.append("- **Validation Method:** Field-by-field comparison against CSV test data\n");
-    report.append("- **Test Framework:** JUnit 5 + Testcontainers + Jackson CSV\n");
-    report.append("- **Success Criteria:** All test cases must pass (100% pass rate)\n\n");
+    report.write("## Validation Criteria\n\n");
+    report.write("- **NFR1 Requirement:** 100% Functional Equivalence (ZERO TOLERANCE)\n");
+    report.write("- **Validation Method:** Field-by-field comparison against CSV test data\n");
+    report.write("- **Test Framework:** JUnit 5 + Testcontainers + Jackson CSV, parallel execution\n");
+    report.write("- **Success Criteria:** All test cases must pass (100% pass rate)\n\n");
 
-    report.append("**End of Report**\n");
+    report.write("**End of Report**\n");
+  }
 
-    return report.toString();
+  private static void createParentDirectories(Path path) throws IOException {
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
   }
 }
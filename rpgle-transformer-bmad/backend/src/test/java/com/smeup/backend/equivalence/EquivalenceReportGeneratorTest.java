@@ -0,0 +1,109 @@
+package com.smeup.backend.equivalence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the streaming equivalence report.
+ */
+class EquivalenceReportGeneratorTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should write one JSON line per result and a final summary")
+  void shouldStreamResults() throws Exception {
+    // Given
+    Path reportPath = tempDir.resolve("target/report.md");
+    Path detailPath = tempDir.resolve("target/results.jsonl");
+
+    // When
+    try (EquivalenceReportGenerator report =
+        new EquivalenceReportGenerator(reportPath, detailPath)) {
+      report.onResult(1, EquivalenceResult.fail("NEGATIVE_0",
+          List.of("HTTP Status Code: expected=400, actual=404")));
+      report.onResult(0, EquivalenceResult.pass("POSITIVE_1001"));
+      report.onResult(2, EquivalenceResult.pass("NEGATIVE_9999"));
+      report.complete(4, 1500);
+    }
+
+    // Then
+    List<String> lines = Files.readAllLines(detailPath);
+    assertThat(lines).hasSize(3);
+    JsonNode failure = new ObjectMapper().readTree(lines.get(0));
+    assertThat(failure.get("index").asLong()).isEqualTo(1);
+    assertThat(failure.get("testCaseId").asText()).isEqualTo("NEGATIVE_0");
+    assertThat(failure.get("passed").asBoolean()).isFalse();
+    assertThat(failure.get("differences").get(0).asText())
+        .isEqualTo("HTTP Status Code: expected=400, actual=404");
+
+    String summary = Files.readString(reportPath);
+    assertThat(summary)
+        .contains("- **Total Test Cases:** 3")
+        .contains("- **Failed:** 1")
+        .contains("- **Pass Rate:** 66.7%")
+        .contains("**Validation Status:** ❌ FAIL")
+        .contains("### Test Case: NEGATIVE_0")
+        .contains("`results.jsonl`")
+        .contains("- **Parallelism:** 4")
+        .contains("- **Throughput:** 2.0 test cases/s");
+    assertThat(reportPath.resolveSibling("report.md.tmp")).doesNotExist();
+  }
+
+  @Test
+  @DisplayName("Should keep a partial summary while running and mark an unfinished run as aborted")
+  void shouldWritePartialSummary() throws Exception {
+    // Given
+    Path reportPath = tempDir.resolve("report.md");
+    EquivalenceReportGenerator report =
+        new EquivalenceReportGenerator(reportPath, tempDir.resolve("results.jsonl"));
+
+    // When / Then
+    assertThat(Files.readString(reportPath)).contains("**Validation Status:** ⏳ IN PROGRESS");
+
+    report.onResult(0, EquivalenceResult.pass("POSITIVE_1001"));
+    report.close();
+
+    assertThat(Files.readString(reportPath))
+        .contains("**Validation Status:** ⚠️ ABORTED")
+        .contains("- **Total Test Cases:** 1")
+        .doesNotContain("100% functional equivalence validated");
+  }
+
+  @Test
+  @DisplayName("Should detail only the first failures in CSV order")
+  void shouldBoundDetailedFailures() throws Exception {
+    // Given
+    Path reportPath = tempDir.resolve("report.md");
+    Path detailPath = tempDir.resolve("results.jsonl");
+
+    // When - failures arrive in reverse CSV order
+    try (EquivalenceReportGenerator report =
+        new EquivalenceReportGenerator(reportPath, detailPath)) {
+      for (int index = 149; index >= 0; index--) {
+        report.onResult(index, EquivalenceResult.fail("CASE_" + index, List.of("different")));
+      }
+      report.complete(0, 0);
+      assertThat(report.getFailedCount()).isEqualTo(150);
+    }
+
+    // Then
+    String summary = Files.readString(reportPath);
+    assertThat(summary)
+        .contains("First 100 of 150 failures in CSV order")
+        .contains("### Test Case: CASE_0\n")
+        .contains("### Test Case: CASE_99\n")
+        .doesNotContain("### Test Case: CASE_100\n");
+    assertThat(summary.indexOf("CASE_0\n")).isLessThan(summary.indexOf("CASE_1\n"));
+    assertThat(Files.readAllLines(detailPath)).hasSize(150);
+  }
+}
@@ -0,0 +1,86 @@
+package com.smeup.backend.equivalence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe collector of EquivalenceResults for a parallel run.
+ *
+ * <p>Each result is stored at the index of its test case, so results come back in CSV
+ * order however the workers interleave. Also records the run's wall-clock time for
+ * the throughput figures of the report.
+ */
+public class EquivalenceResultCollector {
+
+  private final AtomicReferenceArray<EquivalenceResult> results;
+  private final AtomicLong failedCount = new AtomicLong();
+  private final int parallelism;
+  private volatile long startNanos;
+  private volatile long elapsedNanos;
+
+  public EquivalenceResultCollector(int testCaseCount, int parallelism) {
+    this.results = new AtomicReferenceArray<>(testCaseCount);
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Marks the start of the run.
+   */
+  public void start() {
+    startNanos = System.nanoTime();
+  }
+
+  /**
+   * Marks the end of the run.
+   */
+  public void finish() {
+    elapsedNanos = System.nanoTime() - startNanos;
+  }
+
+  /**
+   * Records the result of the test case at the given CSV position.
+   */
+  public void record(int index, EquivalenceResult result) {
+    if (!results.compareAndSet(index, null, result)) {
+      throw new IllegalStateException("Result recorded twice for test case #" + index);
+    }
+    if (!result.isPassed()) {
+      failedCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the recorded results in CSV order.
+   */
+  public List<EquivalenceResult> getResults() {
+    List<EquivalenceResult> list = new ArrayList<>(results.length());
+    for (int i = 0; i < results.length(); i++) {
+      EquivalenceResult result = results.get(i);
+      if (result != null) {
+        list.add(result);
+      }
+    }
+    return list;
+  }
+
+  public long getFailedCount() {
+    return failedCount.get();
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedNanos / 1_000_000;
+  }
+
+  /**
+   * Returns executed test cases per second over the whole run.
+   */
+  public double getThroughput() {
+    return elapsedNanos > 0 ? results.length() * 1_000_000_000.0 / elapsedNanos : 0.0;
+  }
+}
@@ -0,0 +1,16 @@
+package com.smeup.backend.equivalence;
+
+/**
+ * Receives each EquivalenceResult as soon as its test case completes.
+ *
+ * <p>Called concurrently by the EquivalenceRunner workers, in completion order rather
+ * than CSV order; implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface EquivalenceResultListener {
+
+  /**
+   * Handles the result of the test case at the given CSV position.
+   */
+  void onResult(long index, EquivalenceResult result);
+}
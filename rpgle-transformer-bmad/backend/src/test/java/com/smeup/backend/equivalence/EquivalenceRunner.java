@@ -0,0 +1,96 @@
+package com.smeup.backend.equivalence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes equivalence test cases concurrently with a fixed number of workers.
+ *
+ * <p>Workers take the next test case from a shared counter instead of one task per case,
+ * so a run of a full customer snapshot (100k+ cases) allocates no per-case futures.
+ * Mismatches and request failures become failing EquivalenceResults; the run itself
+ * only fails if a worker cannot continue.
+ *
+ * <p>Validates RPGLE CUST001 equivalence.
+ * Original Program: source-rpgle/programs/CUST001.rpgle
+ */
+public class EquivalenceRunner {
+
+  private final InquiryClient client;
+  private final int parallelism;
+
+  public EquivalenceRunner(InquiryClient client, int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1, got " + parallelism);
+    }
+    this.client = client;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Runs all test cases and returns their results.
+   *
+   * @param testCases test cases in CSV order
+   * @return collector holding one result per test case, in CSV order
+   */
+  public EquivalenceResultCollector run(List<CustomerTestCase> testCases) {
+    return run(testCases, (index, result) -> {
+    });
+  }
+
+  /**
+   * Runs all test cases, handing each result to the listener as soon as it is known.
+   *
+   * @param testCases test cases in CSV order
+   * @param listener receives results in completion order, e.g. a streaming report
+   * @return collector holding one result per test case, in CSV order
+   */
+  public EquivalenceResultCollector run(
+      List<CustomerTestCase> testCases, EquivalenceResultListener listener) {
+    EquivalenceResultCollector collector =
+        new EquivalenceResultCollector(testCases.size(), parallelism);
+    AtomicInteger next = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    collector.start();
+    try {
+      List<Future<?>> workers = new ArrayList<>(parallelism);
+      for (int i = 0; i < parallelism; i++) {
+        workers.add(executor.submit(() -> {
+          int index;
+          while ((index = next.getAndIncrement()) < testCases.size()) {
+            EquivalenceResult result = execute(testCases.get(index));
+            collector.record(index, result);
+            listener.onResult(index, result);
+          }
+        }));
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Equivalence worker failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Equivalence run interrupted", e);
+    } finally {
+      executor.shutdownNow();
+      collector.finish();
+    }
+    return collector;
+  }
+
+  private EquivalenceResult execute(CustomerTestCase testCase) {
+    try {
+      InquiryResponse response = client.inquire(testCase.customerId());
+      return EquivalenceValidator.validateResponse(response, testCase);
+    } catch (RuntimeException e) {
+      return EquivalenceResult.fail(testCase.testCaseId(),
+          List.of("Request failed: " + e.getMessage()));
+    }
+  }
+}
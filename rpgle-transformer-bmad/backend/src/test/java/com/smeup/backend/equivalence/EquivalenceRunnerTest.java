@@ -0,0 +1,139 @@
+package com.smeup.backend.equivalence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.smeup.backend.dto.CustomerDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the parallel equivalence runner, against an in-memory InquiryClient.
+ */
+class EquivalenceRunnerTest {
+
+  private static final CustomerDTO ACME = new CustomerDTO(1001L, "ACME Corporation",
+      "123 Main Street", "Springfield", "IL", 62701, "217-555-0100",
+      new BigDecimal("1500.50"), new BigDecimal("10000.00"), 20251201);
+
+  /**
+   * Answers like CUST001: 1001 exists, 0 is invalid, everything else is not found.
+   */
+  private final InquiryClient client = customerId -> {
+    if (customerId == 1001L) {
+      return new InquiryResponse(200, ACME);
+    }
+    return new InquiryResponse(customerId == 0L ? 400 : 404, null);
+  };
+
+  @Test
+  @DisplayName("Should pass matching cases and keep results in CSV order")
+  void shouldPassMatchingCasesInOrder() {
+    // Given
+    List<CustomerTestCase> testCases = new ArrayList<>();
+    for (long id = 0; id < 10_000; id++) {
+      testCases.add(id == 1001L ? positive("POSITIVE_1001", ACME) : negative("NEGATIVE_" + id, id));
+    }
+
+    // When
+    EquivalenceResultCollector results = new EquivalenceRunner(client, 8).run(testCases);
+
+    // Then
+    assertThat(results.getFailedCount()).isZero();
+    assertThat(results.getResults()).hasSize(10_000);
+    assertThat(results.getResults().get(0).getTestCaseId()).isEqualTo("NEGATIVE_0");
+    assertThat(results.getResults().get(1001).getTestCaseId()).isEqualTo("POSITIVE_1001");
+    assertThat(results.getResults().get(9_999).getTestCaseId()).isEqualTo("NEGATIVE_9999");
+    assertThat(results.getParallelism()).isEqualTo(8);
+    assertThat(results.getThroughput()).isPositive();
+  }
+
+  @Test
+  @DisplayName("Should report field and status differences as failures")
+  void shouldReportDifferences() {
+    // Given
+    CustomerDTO wrongBalance = new CustomerDTO(1001L, "ACME Corporation", "123 Main Street",
+        "Springfield", "IL", 62701, "217-555-0100", new BigDecimal("1500.51"),
+        new BigDecimal("10000.00"), 20251201);
+    List<CustomerTestCase> testCases = List.of(
+        positive("POSITIVE_1001", wrongBalance),
+        negative("NEGATIVE_1001", 1001L),
+        positive("POSITIVE_2000", new CustomerDTO(2000L, null, null, null, null, null, null,
+            null, null, null)));
+
+    // When
+    EquivalenceResultCollector results = new EquivalenceRunner(client, 2).run(testCases);
+
+    // Then
+    assertThat(results.getFailedCount()).isEqualTo(3);
+    assertThat(results.getResults().get(0).getDifferences())
+        .containsExactly("accountBalance: expected=1500.51, actual=1500.50");
+    assertThat(results.getResults().get(1).getDifferences())
+        .containsExactly("HTTP Status Code: expected=404, actual=200");
+    assertThat(results.getResults().get(2).getDifferences())
+        .containsExactly("HTTP Status Code: expected=200, actual=404");
+  }
+
+  @Test
+  @DisplayName("Should record a failing result when the client throws, and keep going")
+  void shouldRecordClientFailures() {
+    // Given
+    Set<Long> seen = ConcurrentHashMap.newKeySet();
+    InquiryClient failing = customerId -> {
+      seen.add(customerId);
+      if (customerId == 5L) {
+        throw new IllegalStateException("connection reset");
+      }
+      return client.inquire(customerId);
+    };
+    List<CustomerTestCase> testCases = new ArrayList<>();
+    for (long id = 1; id <= 10; id++) {
+      testCases.add(negative("NEGATIVE_" + id, id));
+    }
+
+    // When
+    EquivalenceResultCollector results = new EquivalenceRunner(failing, 4).run(testCases);
+
+    // Then
+    assertThat(seen).hasSize(10);
+    assertThat(results.getFailedCount()).isEqualTo(1);
+    assertThat(results.getResults().get(4).getDifferences())
+        .containsExactly("Request failed: connection reset");
+  }
+
+  @Test
+  @DisplayName("Should hand every result to the listener as it completes")
+  void shouldStreamResultsToListener() {
+    // Given
+    Set<Long> streamed = ConcurrentHashMap.newKeySet();
+    List<CustomerTestCase> testCases = new ArrayList<>();
+    for (long id = 1; id <= 1_000; id++) {
+      testCases.add(negative("NEGATIVE_" + id, id));
+    }
+
+    // When
+    new EquivalenceRunner(client, 4).run(testCases, (index, result) -> {
+      assertThat(result.getTestCaseId()).isEqualTo("NEGATIVE_" + (index + 1));
+      streamed.add(index);
+    });
+
+    // Then
+    assertThat(streamed).hasSize(1_000);
+  }
+
+  private static CustomerTestCase positive(String testCaseId, CustomerDTO expected) {
+    return new CustomerTestCase(testCaseId, expected.customerId(), expected.customerName(),
+        expected.addressLine1(), expected.city(), expected.state(), expected.zipCode(),
+        expected.phoneNumber(), expected.accountBalance(), expected.creditLimit(),
+        expected.lastOrderDate(), 200);
+  }
+
+  private static CustomerTestCase negative(String testCaseId, long customerId) {
+    return new CustomerTestCase(testCaseId, customerId, null, null, null, null, null, null, null,
+        null, null, customerId == 0L ? 400 : 404);
+  }
+}
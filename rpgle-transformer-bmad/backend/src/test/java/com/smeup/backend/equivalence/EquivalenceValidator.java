@@ -17,6 +17,27 @@ import java.util.Objects;
  */
 public class EquivalenceValidator {
 
+  /**
+   * Validates a complete inquiry response: status code first, then customer fields for
+   * positive cases.
+   *
+   * @param response The status code and customer data returned by the inquiry
+   * @param testCase The expected test case values
+   * @return EquivalenceResult indicating pass/fail with detailed differences
+   */
+  public static EquivalenceResult validateResponse(
+      InquiryResponse response, CustomerTestCase testCase) {
+
+    if (testCase.isPositiveCase() && response.statusCode() == 200) {
+      if (response.customer() == null) {
+        return EquivalenceResult.fail(testCase.testCaseId(),
+            List.of("Customer data should not be null"));
+      }
+      return compareCustomerResponse(response.customer(), testCase);
+    }
+    return validateStatusCode(response.statusCode(), testCase);
+  }
+
   /**
    * Compares actual CustomerDTO response against expected test case values.
    *
@@ -0,0 +1,66 @@
+package com.smeup.backend.equivalence;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smeup.backend.dto.CustomerDTO;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Calls the running API over HTTP with one shared java.net.http.HttpClient.
+ *
+ * <p>The client keeps connections alive and reuses them across requests and threads,
+ * so concurrent workers do not pay a TCP handshake per test case.
+ */
+public class HttpInquiryClient implements InquiryClient {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  private final String baseUrl;
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+
+  public HttpInquiryClient(int port) {
+    this.baseUrl = "http://localhost:" + port + "/api/v1/customers/";
+    this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(TIMEOUT)
+        .build();
+    // BigDecimal keeps balances exact (1500.50 must not become a double)
+    this.objectMapper = new ObjectMapper()
+        .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  }
+
+  @Override
+  public InquiryResponse inquire(Long customerId) {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + customerId))
+        .timeout(TIMEOUT)
+        .header("Accept", "application/json")
+        .GET()
+        .build();
+    try {
+      HttpResponse<String> response =
+          httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != 200) {
+        return new InquiryResponse(response.statusCode(), null);
+      }
+      JsonNode data = objectMapper.readTree(response.body()).get("data");
+      CustomerDTO customer = data != null && !data.isNull()
+          ? objectMapper.treeToValue(data, CustomerDTO.class)
+          : null;
+      return new InquiryResponse(response.statusCode(), customer);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Inquiry failed for customer " + customerId, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Inquiry interrupted for customer " + customerId, e);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.smeup.backend.equivalence;
+
+/**
+ * Executes a customer inquiry (GET /api/v1/customers/{customerId}) for the equivalence harness.
+ *
+ * <p>Implementations must be safe for concurrent use: {@link EquivalenceRunner} calls
+ * one instance from all its worker threads.
+ *
+ * <p>Validates RPGLE CHAIN operation on CUSTMAST file.
+ * Original: C CUSTID CHAIN CUSTMAST
+ */
+public interface InquiryClient {
+
+  /**
+   * Looks up a customer and returns the status code and data the API would answer with.
+   *
+   * @param customerId customer number from the test case
+   * @return status code and customer data
+   */
+  InquiryResponse inquire(Long customerId);
+}
@@ -0,0 +1,12 @@
+package com.smeup.backend.equivalence;
+
+import com.smeup.backend.dto.CustomerDTO;
+
+/**
+ * Outcome of one customer inquiry, independent of how the inquiry was executed.
+ *
+ * @param statusCode HTTP status code (200, 400, 404, ...)
+ * @param customer customer data for 200 responses, null otherwise
+ */
+public record InquiryResponse(int statusCode, CustomerDTO customer) {
+}
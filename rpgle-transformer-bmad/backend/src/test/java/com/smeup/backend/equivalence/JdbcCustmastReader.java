@@ -0,0 +1,90 @@
+package com.smeup.backend.equivalence;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams the migrated CUSTMAST table in CUSTNO order through a server-side cursor.
+ *
+ * <p>Auto-commit is switched off and a fetch size is set, which makes the PostgreSQL
+ * driver fetch rows in batches instead of loading the whole result set.
+ */
+public class JdbcCustmastReader implements CustmastRowReader {
+
+  private static final String QUERY = "SELECT CUSTNO, CUSTNAME, ADDR1, CITY, STATE, ZIP, PHONE,"
+      + " BALANCE, CREDITLIM, LASTORDER FROM CUSTMAST ORDER BY CUSTNO";
+  private static final int FETCH_SIZE = 10_000;
+
+  private final Connection connection;
+  private final boolean autoCommit;
+  private final PreparedStatement statement;
+  private final ResultSet resultSet;
+
+  /**
+   * @param connection Connection to the migrated database, closed with the reader, or
+   *     right away if the query cannot be started
+   */
+  public JdbcCustmastReader(Connection connection) {
+    this.connection = connection;
+    boolean previousAutoCommit = false;
+    boolean autoCommitChanged = false;
+    PreparedStatement query = null;
+    try {
+      previousAutoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      autoCommitChanged = true;
+      query = connection.prepareStatement(
+          QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      query.setFetchSize(FETCH_SIZE);
+      this.resultSet = query.executeQuery();
+    } catch (SQLException e) {
+      // the connection is not handed to close(): restore and close it here
+      try (connection; PreparedStatement failed = query) {
+        if (autoCommitChanged) {
+          connection.rollback();
+          connection.setAutoCommit(previousAutoCommit);
+        }
+      } catch (SQLException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw new IllegalStateException("Cannot query CUSTMAST: " + e.getMessage(), e);
+    }
+    this.autoCommit = previousAutoCommit;
+    this.statement = query;
+  }
+
+  @Override
+  public CustmastRow next() {
+    try {
+      if (!resultSet.next()) {
+        return null;
+      }
+      return new CustmastRow(
+          resultSet.getLong(1),
+          resultSet.getString(2),
+          resultSet.getString(3),
+          resultSet.getString(4),
+          resultSet.getString(5),
+          resultSet.getObject(6, Integer.class),
+          resultSet.getString(7),
+          resultSet.getObject(8, BigDecimal.class),
+          resultSet.getObject(9, BigDecimal.class),
+          resultSet.getObject(10, Integer.class));
+    } catch (SQLException e) {
+      throw new IllegalStateException("Cannot read CUSTMAST: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try (connection; statement; resultSet) {
+      connection.rollback();
+      connection.setAutoCommit(autoCommit);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Cannot close CUSTMAST cursor: " + e.getMessage(), e);
+    }
+  }
+}
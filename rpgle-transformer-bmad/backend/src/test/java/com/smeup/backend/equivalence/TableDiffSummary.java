@@ -0,0 +1,36 @@
+package com.smeup.backend.equivalence;
+
+/**
+ * Counters of a full CUSTMAST table diff.
+ *
+ * @param legacyRows Rows read from the legacy extract
+ * @param migratedRows Rows read from the migrated table
+ * @param matched Keys present on both sides with equal fields
+ * @param missing Keys only in the legacy extract
+ * @param extra Keys only in the migrated table
+ * @param different Keys present on both sides with different fields
+ * @param elapsedMillis Wall-clock duration of the diff
+ */
+public record TableDiffSummary(
+    long legacyRows,
+    long migratedRows,
+    long matched,
+    long missing,
+    long extra,
+    long different,
+    long elapsedMillis) {
+
+  /**
+   * Returns true when every legacy row has an identical migrated row and nothing else.
+   */
+  public boolean isEquivalent() {
+    return missing == 0 && extra == 0 && different == 0;
+  }
+
+  /**
+   * Rows read from both sides per minute.
+   */
+  public double getRowsPerMinute() {
+    return (legacyRows + migratedRows) * 60_000.0 / Math.max(1, elapsedMillis);
+  }
+}
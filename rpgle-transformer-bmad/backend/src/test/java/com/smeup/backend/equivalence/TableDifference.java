@@ -0,0 +1,25 @@
+package com.smeup.backend.equivalence;
+
+import java.util.List;
+
+/**
+ * One CUSTNO that does not match between the legacy extract and the migrated table.
+ *
+ * @param kind Whether the row is missing, extra or has different field values
+ * @param customerNumber The CUSTNO key
+ * @param differences Field-level messages, empty for missing and extra rows
+ */
+public record TableDifference(Kind kind, long customerNumber, List<String> differences) {
+
+  /**
+   * Classification of a mismatched row.
+   */
+  public enum Kind {
+    /** Present in the legacy extract, absent from the migrated table. */
+    MISSING,
+    /** Present in the migrated table, absent from the legacy extract. */
+    EXTRA,
+    /** Present on both sides with at least one different field. */
+    DIFFERENT
+  }
+}
@@ -0,0 +1,25 @@
+package com.smeup.backend.equivalence;
+
+import java.util.List;
+
+/**
+ * A contiguous row range of the test case CSV, the unit of sharding and of one
+ * parameterized test invocation.
+ *
+ * @param firstRow Zero-based index of the first data row of the range in the CSV
+ * @param testCases Test cases of the range, in CSV order
+ */
+public record TestCaseBlock(long firstRow, List<CustomerTestCase> testCases) {
+
+  public long lastRow() {
+    return firstRow + testCases.size() - 1;
+  }
+
+  /**
+   * Short form used as the parameterized test display name.
+   */
+  @Override
+  public String toString() {
+    return firstRow + "-" + lastRow();
+  }
+}
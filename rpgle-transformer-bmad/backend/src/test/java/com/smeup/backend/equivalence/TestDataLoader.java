@@ -1,78 +1,73 @@
 package com.smeup.backend.equivalence;
 
-import com.fasterxml.jackson.databind.MappingIterator;
-import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
 
 /**
- * Utility class for loading test data from CSV files.
+ * Utility class for opening test data CSV files.
  *
- * <p>Uses Jackson CSV to parse customer-inquiry-test-cases.csv into
- * CustomerTestCase records for parameterized equivalence testing.
+ * <p>Opens customer-inquiry-test-cases.csv from the test classpath, or any file with the
+ * same schema (e.g. the production regression corpus, optionally gzip compressed), as a
+ * lazily streamed CustomerTestCaseSource for parameterized equivalence testing.
  *
  * <p>Validates RPGLE test data mapping for functional equivalence validation.
  * Original DDS File: source-rpgle/dds/physical-files/CUSTMAST.dds
  */
 public class TestDataLoader {
 
-  private static final String TEST_DATA_FILE =
+  /** Test data on the test classpath, used when no file is given. */
+  public static final String TEST_DATA_FILE =
       "/equivalence-test-data/customer-inquiry-test-cases.csv";
 
+  private static final int BUFFER_SIZE = 1 << 16;
+
   /**
-   * Loads all customer test cases from CSV file.
+   * Opens the customer test cases of one shard.
    *
-   * @return List of CustomerTestCase records parsed from CSV
-   * @throws RuntimeException if CSV file cannot be loaded or parsed
+   * @param testDataFile CSV file path, ending in .gz if compressed; blank for the
+   *     bundled test data
+   * @param shardIndex Zero-based shard of this fork
+   * @param shardCount Number of forks sharing the file
+   * @param blockRows Rows per range dealt to a shard
+   * @return Source streaming the row ranges of the shard
+   * @throws RuntimeException if the CSV file cannot be opened
    */
-  public static List<CustomerTestCase> loadCustomerTestCases() {
-    try (InputStream inputStream =
-        TestDataLoader.class.getResourceAsStream(TEST_DATA_FILE)) {
-
+  public static CustomerTestCaseSource openCustomerTestCases(
+      String testDataFile, int shardIndex, int shardCount, int blockRows) {
+    String name = testDataFile == null || testDataFile.isBlank() ? TEST_DATA_FILE : testDataFile;
+    try {
+      InputStream inputStream = name.equals(TEST_DATA_FILE)
+          ? TestDataLoader.class.getResourceAsStream(TEST_DATA_FILE)
+          : Files.newInputStream(Path.of(name));
       if (inputStream == null) {
         throw new RuntimeException(
             "Test data file not found: " + TEST_DATA_FILE
                 + ". Ensure customer-inquiry-test-cases.csv exists in test resources.");
       }
-
-      CsvMapper mapper = new CsvMapper();
-      CsvSchema schema = CsvSchema.emptySchema().withHeader();
-
-      MappingIterator<CustomerTestCase> iterator =
-          mapper.readerFor(CustomerTestCase.class)
-              .with(schema)
-              .readValues(inputStream);
-
-      List<CustomerTestCase> testCases = new ArrayList<>();
-      while (iterator.hasNext()) {
-        testCases.add(iterator.next());
+      inputStream = new BufferedInputStream(inputStream, BUFFER_SIZE);
+      if (name.endsWith(".gz")) {
+        inputStream = new GZIPInputStream(inputStream, BUFFER_SIZE);
       }
-
-      if (testCases.isEmpty()) {
-        throw new RuntimeException(
-            "No test cases loaded from " + TEST_DATA_FILE
-                + ". CSV file may be empty or malformed.");
-      }
-
-      return testCases;
-
+      return new CustomerTestCaseSource(inputStream, name, shardIndex, shardCount, blockRows);
     } catch (IOException e) {
-      throw new RuntimeException(
-          "Failed to load or parse test data from " + TEST_DATA_FILE
-              + ". Check CSV format and schema. Error: " + e.getMessage(), e);
+      throw new UncheckedIOException("Failed to open test data " + name + ": " + e.getMessage(), e);
     }
   }
 
   /**
-   * Validates CSV file can be loaded successfully.
+   * Validates the bundled CSV file can be opened and has at least one test case.
    * Used for early validation in test setup.
    *
    * @throws RuntimeException if CSV cannot be loaded
    */
   public static void validateTestDataExists() {
-    loadCustomerTestCases(); // Will throw if file doesn't exist or is invalid
+    try (CustomerTestCaseSource source = openCustomerTestCases(null, 0, 1, 1)) {
+      source.blocks().findFirst();
+    }
   }
 }
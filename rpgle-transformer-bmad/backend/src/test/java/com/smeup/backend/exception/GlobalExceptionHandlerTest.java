@@ -3,10 +3,16 @@ package com.smeup.backend.exception;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Unit tests for GlobalExceptionHandler.
@@ -18,7 +24,7 @@ class GlobalExceptionHandlerTest {
     @Test
     void shouldHandleCustomerNotFoundException() {
         CustomerNotFoundException ex = new CustomerNotFoundException(123L);
-        ResponseEntity<ProblemDetail> response = handler.handleCustomerNotFoundException(ex);
+        ResponseEntity<ProblemDetail> response = handler.handleCustomerNotFoundException(ex, request());
 
         assertNotNull(response);
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -28,10 +34,39 @@ class GlobalExceptionHandlerTest {
     @Test
     void shouldHandleInvalidCustomerIdException() {
         InvalidCustomerIdException ex = new InvalidCustomerIdException("Invalid ID");
-        ResponseEntity<ProblemDetail> response = handler.handleInvalidCustomerIdException(ex);
+        ResponseEntity<ProblemDetail> response = handler.handleInvalidCustomerIdException(ex, request());
 
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Invalid ID", response.getBody().getDetail());
     }
+
+    @Test
+    void shouldAnswerInTheBinaryEncodingTheClientPrefers() {
+        CustomerNotFoundException ex = new CustomerNotFoundException(123L);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor");
+
+        ResponseEntity<ProblemDetail> response =
+                handler.handleCustomerNotFoundException(ex, new ServletWebRequest(request));
+
+        assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void shouldPickBinaryEncodingOnlyWhenPreferredToJson() {
+        assertEquals(Optional.of(GlobalExceptionHandler.APPLICATION_SMILE),
+                GlobalExceptionHandler.binaryMediaType("application/x-jackson-smile"));
+        assertEquals(Optional.of(MediaType.APPLICATION_CBOR),
+                GlobalExceptionHandler.binaryMediaType("text/html;q=0.9, application/cbor"));
+        assertEquals(Optional.empty(), GlobalExceptionHandler.binaryMediaType(null));
+        assertEquals(Optional.empty(), GlobalExceptionHandler.binaryMediaType("*/*"));
+        assertEquals(Optional.empty(), GlobalExceptionHandler.binaryMediaType("application/json, application/cbor"));
+        assertEquals(Optional.empty(), GlobalExceptionHandler.binaryMediaType("application/cbor;q=0"));
+        assertEquals(Optional.empty(), GlobalExceptionHandler.binaryMediaType("not a media type"));
+    }
+
+    private static WebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
 }
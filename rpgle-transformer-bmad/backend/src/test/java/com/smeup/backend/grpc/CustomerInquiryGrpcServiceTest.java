@@ -0,0 +1,281 @@
+package com.smeup.backend.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.smeup.backend.entity.Customer;
+import com.smeup.backend.exception.CustomerNotFoundException;
+import com.smeup.backend.exception.InvalidCustomerIdException;
+import com.smeup.backend.grpc.proto.CustomerInquiryGrpc;
+import com.smeup.backend.grpc.proto.CustomerLookupResult;
+import com.smeup.backend.grpc.proto.GetCustomerRequest;
+import com.smeup.backend.grpc.proto.GetCustomersRequest;
+import com.smeup.backend.grpc.proto.ReadCustomersRequest;
+import com.smeup.backend.mapper.CustomerProtoMapper;
+import com.smeup.backend.service.CustomerService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.grpc.server.exception.GrpcExceptionHandlerInterceptor;
+
+/**
+ * gRPC tests for CustomerInquiryGrpcService over an in-process channel.
+ *
+ * <p>
+ * RPGLE Context: the gRPC counterpart of the CUST001 REST endpoint; CustomerService is
+ * mocked, the status mapping goes through CustomerGrpcExceptionHandler as in the
+ * application.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomerInquiry gRPC service")
+class CustomerInquiryGrpcServiceTest {
+
+    @Mock
+    private CustomerService customerService;
+
+    private Server server;
+    private ManagedChannel channel;
+    private CustomerInquiryGrpc.CustomerInquiryBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        CustomerInquiryGrpcService service =
+                new CustomerInquiryGrpcService(customerService, new CustomerProtoMapper());
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(service,
+                        new GrpcExceptionHandlerInterceptor(new CustomerGrpcExceptionHandler())))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = CustomerInquiryGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("GetCustomer should return the customer with amounts in hundredths (RPGLE: CHAIN %FOUND)")
+    void shouldReturnCustomer() {
+        // Given
+        when(customerService.findCustomerById(12345L)).thenReturn(customer(12345L));
+
+        // When
+        com.smeup.backend.grpc.proto.Customer result =
+                stub.getCustomer(GetCustomerRequest.newBuilder().setCustomerId(12345L).build());
+
+        // Then
+        assertThat(result.getCustomerId()).isEqualTo(12345L);
+        assertThat(result.getCustomerName()).isEqualTo("Customer 12345");
+        assertThat(result.getAccountBalance()).isEqualTo(150000L);
+        assertThat(result.getCreditLimit()).isEqualTo(1000000L);
+        assertThat(result.hasPhoneNumber()).isFalse();
+    }
+
+    @Test
+    @DisplayName("GetCustomer should answer NOT_FOUND when the customer does not exist")
+    void shouldAnswerNotFound() {
+        when(customerService.findCustomerById(99999L)).thenThrow(new CustomerNotFoundException(99999L));
+
+        assertThatThrownBy(() -> stub.getCustomer(GetCustomerRequest.newBuilder().setCustomerId(99999L).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND);
+                    assertThat(e.getStatus().getDescription()).contains("99999");
+                });
+    }
+
+    @Test
+    @DisplayName("GetCustomer should answer INVALID_ARGUMENT for an unset or invalid ID")
+    void shouldAnswerInvalidArgument() {
+        when(customerService.findCustomerById(0L))
+                .thenThrow(new InvalidCustomerIdException("Customer ID must be a positive number"));
+
+        assertThatThrownBy(() -> stub.getCustomer(GetCustomerRequest.getDefaultInstance()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    @DisplayName("GetCustomers should stream one result per ID in request order")
+    void shouldStreamBatchResults() {
+        // Given
+        when(customerService.findCustomerById(1L)).thenReturn(customer(1L));
+        when(customerService.findCustomerById(2L)).thenThrow(new CustomerNotFoundException(2L));
+        when(customerService.findCustomerById(0L))
+                .thenThrow(new InvalidCustomerIdException("Customer ID must be a positive number"));
+        when(customerService.findCustomerById(3L)).thenReturn(customer(3L));
+
+        // When
+        List<CustomerLookupResult> results = new ArrayList<>();
+        stub.getCustomers(GetCustomersRequest.newBuilder().addAllCustomerIds(List.of(1L, 2L, 0L, 3L)).build())
+                .forEachRemaining(results::add);
+
+        // Then
+        assertThat(results).extracting(CustomerLookupResult::getCustomerId).containsExactly(1L, 2L, 0L, 3L);
+        assertThat(results.get(0).getCustomer().getCustomerName()).isEqualTo("Customer 1");
+        assertThat(results.get(1).getError()).isEqualTo(CustomerLookupResult.Error.NOT_FOUND);
+        assertThat(results.get(2).getError()).isEqualTo(CustomerLookupResult.Error.INVALID_CUSTOMER_ID);
+        assertThat(results.get(3).hasCustomer()).isTrue();
+    }
+
+    @Test
+    @DisplayName("GetCustomers should reject more IDs than one call may carry")
+    void shouldRejectOversizedBatch() {
+        GetCustomersRequest request = GetCustomersRequest.newBuilder()
+                .addAllCustomerIds(LongStream.rangeClosed(1, CustomerInquiryGrpcService.MAX_BATCH_SIZE + 1)
+                        .boxed().toList())
+                .build();
+
+        assertThatThrownBy(() -> stub.getCustomers(request).hasNext())
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    @DisplayName("ReadCustomers should read page by page to end of file (RPGLE: SETLL/READ until %EOF)")
+    void shouldReadToEndOfFile() {
+        // Given - 600 customers with even numbers from 2 on
+        int pageSize = CustomerInquiryGrpcService.READ_PAGE_SIZE;
+        when(customerService.readCustomers(anyLong(), anyInt())).thenAnswer(invocation ->
+                evenCustomers(invocation.getArgument(0), invocation.getArgument(1), 1200));
+
+        // When
+        List<Long> ids = new ArrayList<>();
+        stub.readCustomers(ReadCustomersRequest.getDefaultInstance())
+                .forEachRemaining(customer -> ids.add(customer.getCustomerId()));
+
+        // Then
+        assertThat(ids).hasSize(600).startsWith(2L, 4L).endsWith(1200L);
+        verify(customerService).readCustomers(1L, pageSize);
+        verify(customerService).readCustomers(1001L, pageSize);
+    }
+
+    @Test
+    @DisplayName("ReadCustomers should stop at the record limit")
+    void shouldStopAtRecordLimit() {
+        when(customerService.readCustomers(anyLong(), anyInt())).thenAnswer(invocation ->
+                evenCustomers(invocation.getArgument(0), invocation.getArgument(1), 1200));
+
+        List<Long> ids = new ArrayList<>();
+        stub.readCustomers(ReadCustomersRequest.newBuilder().setStartCustomerId(101L).setMaxRecords(3).build())
+                .forEachRemaining(customer -> ids.add(customer.getCustomerId()));
+
+        assertThat(ids).containsExactly(102L, 104L, 106L);
+        verify(customerService).readCustomers(101L, 3);
+    }
+
+    @Test
+    @DisplayName("ReadCustomers should read the next page only when the client is ready for more")
+    void shouldPacePagesToClientDemand() {
+        // Given - 600 customers, and a client that asks for one message at a time
+        int pageSize = CustomerInquiryGrpcService.READ_PAGE_SIZE;
+        when(customerService.readCustomers(anyLong(), anyInt())).thenAnswer(invocation ->
+                evenCustomers(invocation.getArgument(0), invocation.getArgument(1), 1200));
+        List<Long> ids = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        AtomicReference<ClientCallStreamObserver<ReadCustomersRequest>> call = new AtomicReference<>();
+
+        // When
+        CustomerInquiryGrpc.newStub(channel).readCustomers(ReadCustomersRequest.getDefaultInstance(),
+                new ClientResponseObserver<ReadCustomersRequest, com.smeup.backend.grpc.proto.Customer>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<ReadCustomersRequest> requestStream) {
+                        call.set(requestStream);
+                        requestStream.disableAutoRequestWithInitial(1);
+                    }
+
+                    @Override
+                    public void onNext(com.smeup.backend.grpc.proto.Customer customer) {
+                        ids.add(customer.getCustomerId());
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        throw new AssertionError(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.set(true);
+                    }
+                });
+
+        // Then - the first page is written, the second waits for the client
+        assertThat(ids).hasSize(1);
+        verify(customerService).readCustomers(1L, pageSize);
+        verify(customerService, never()).readCustomers(1001L, pageSize);
+
+        // When - the client takes the rest of the first page
+        call.get().request(pageSize - 1);
+
+        // Then
+        assertThat(ids).hasSize(pageSize);
+        verify(customerService, never()).readCustomers(1001L, pageSize);
+
+        // When - it asks for more
+        call.get().request(pageSize);
+
+        // Then
+        assertThat(ids).hasSize(600).endsWith(1200L);
+        assertThat(completed).isTrue();
+        verify(customerService).readCustomers(1001L, pageSize);
+    }
+
+    @Test
+    @DisplayName("ReadCustomers should answer INVALID_ARGUMENT for a negative record limit")
+    void shouldRejectNegativeRecordLimit() {
+        assertThatThrownBy(() -> stub.readCustomers(ReadCustomersRequest.newBuilder().setMaxRecords(-1).build())
+                .hasNext())
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    private static List<Customer> evenCustomers(long from, int limit, long last) {
+        Function<Long, Customer> toCustomer = CustomerInquiryGrpcServiceTest::customer;
+        return LongStream.rangeClosed(from, last)
+                .filter(id -> id % 2 == 0)
+                .limit(limit)
+                .mapToObj(toCustomer::apply)
+                .toList();
+    }
+
+    private static Customer customer(long customerId) {
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setCustomerName("Customer " + customerId);
+        customer.setAccountBalance(new BigDecimal("1500.00"));
+        customer.setCreditLimit(new BigDecimal("10000.00"));
+        return customer;
+    }
+}
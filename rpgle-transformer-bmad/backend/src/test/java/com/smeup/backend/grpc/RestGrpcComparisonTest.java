@@ -0,0 +1,58 @@
+package com.smeup.backend.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import java.net.URI;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares the REST and the gRPC customer lookup of a running backend on the same host.
+ *
+ * <p>Start the backend against a loaded CUSTMAST (see CustmastDataGenerationTest), then:
+ * {@code mvn test -Dtest=RestGrpcComparisonTest -Dtransport.benchmark.host=localhost}
+ * Optional: transport.benchmark.rest-port (default 8080), transport.benchmark.grpc-port
+ * (9090), transport.benchmark.requests (50000), transport.benchmark.warmup (20000),
+ * transport.benchmark.concurrency (16), transport.benchmark.last-customer-id (99999) and
+ * transport.benchmark.seed (1). Ids are uniform in 1..last-customer-id, so the share of
+ * 404s follows how densely the table is loaded.
+ */
+@EnabledIfSystemProperty(named = "transport.benchmark.host", matches = ".+")
+class RestGrpcComparisonTest {
+
+  @Test
+  @DisplayName("REST and gRPC should answer the same lookups without errors")
+  void compare() {
+    String host = System.getProperty("transport.benchmark.host");
+    long lastCustomerId = Long.getLong("transport.benchmark.last-customer-id", 99999);
+    long[] customerIds = new SplittableRandom(Long.getLong("transport.benchmark.seed", 1))
+        .longs(Integer.getInteger("transport.benchmark.requests", 50000), 1, lastCustomerId + 1)
+        .toArray();
+    ManagedChannel channel = ManagedChannelBuilder
+        .forAddress(host, Integer.getInteger("transport.benchmark.grpc-port", 9090))
+        .usePlaintext()
+        .build();
+    try {
+      TransportBenchmark benchmark = new TransportBenchmark(
+          URI.create("http://" + host + ":"
+              + Integer.getInteger("transport.benchmark.rest-port", 8080)),
+          channel, Integer.getInteger("transport.benchmark.concurrency", 16));
+
+      List<TransportStats> results = benchmark.run(customerIds,
+          Integer.getInteger("transport.benchmark.warmup", 20000));
+
+      System.out.print(TransportBenchmark.format(results));
+      assertThat(results).allSatisfy(stats -> assertThat(stats.getErrorCount()).isZero());
+      assertThat(results.get(1).getNotFoundCount())
+          .as("gRPC and REST should find the same customers")
+          .isEqualTo(results.get(0).getNotFoundCount());
+    } finally {
+      channel.shutdownNow();
+    }
+  }
+}
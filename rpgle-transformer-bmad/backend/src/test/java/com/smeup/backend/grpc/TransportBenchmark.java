@@ -0,0 +1,168 @@
+package com.smeup.backend.grpc;
+
+import com.smeup.backend.grpc.proto.Customer;
+import com.smeup.backend.grpc.proto.CustomerInquiryGrpc;
+import com.smeup.backend.grpc.proto.GetCustomerRequest;
+import io.grpc.Channel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the REST and the gRPC customer lookup of one backend under the same load.
+ *
+ * <p>Both transports answer the same sequence of customer ids with the same number of
+ * closed-loop clients, REST first, then gRPC, each after its own warm-up. The REST side
+ * uses the JDK HttpClient on HTTP/1.1, the gRPC side a blocking stub on one shared channel,
+ * which is how an internal Java caller would use either.
+ */
+public class TransportBenchmark {
+
+  private final HttpClient http = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .build();
+  private final URI restBaseUri;
+  private final CustomerInquiryGrpc.CustomerInquiryBlockingStub grpc;
+  private final int concurrency;
+
+  /**
+   * Creates a benchmark against one backend.
+   *
+   * @param restBaseUri base URI of the REST API, e.g. http://localhost:8080
+   * @param grpcChannel channel to the gRPC server of the same backend
+   * @param concurrency closed-loop clients per transport
+   */
+  public TransportBenchmark(URI restBaseUri, Channel grpcChannel, int concurrency) {
+    this.restBaseUri = restBaseUri;
+    this.grpc = CustomerInquiryGrpc.newBlockingStub(grpcChannel);
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Runs the lookups of {@code customerIds} over REST, then over gRPC.
+   *
+   * @param customerIds    ids to look up, in order
+   * @param warmupRequests requests per transport before measuring
+   * @return REST and gRPC measurements, in that order
+   */
+  public List<TransportStats> run(long[] customerIds, int warmupRequests) {
+    List<TransportStats> results = new ArrayList<>();
+    results.add(measure("REST", customerIds, warmupRequests, this::lookupRest));
+    results.add(measure("gRPC", customerIds, warmupRequests, this::lookupGrpc));
+    return results;
+  }
+
+  /**
+   * Formats the measurements as a table.
+   */
+  public static String format(List<TransportStats> results) {
+    StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+        "%-6s %9s %8s %8s %9s %9s %9s %7s %11s%n", "", "requests", "errors", "404", "req/s",
+        "p50 us", "p99 us", "max us", "bytes/200"));
+    for (TransportStats stats : results) {
+      report.append(String.format(Locale.ROOT, "%-6s %9d %8d %8d %9.0f %9d %9d %7d %11.1f%n",
+          stats.getTransport(), stats.getRequestCount(), stats.getErrorCount(),
+          stats.getNotFoundCount(), stats.getThroughput(),
+          stats.getLatency().getPercentile(0.5), stats.getLatency().getPercentile(0.99),
+          stats.getLatency().getMax(), stats.getMeanFoundBytes()));
+    }
+    return report.toString();
+  }
+
+  private TransportStats measure(String transport, long[] customerIds, int warmupRequests,
+      Lookup lookup) {
+    TransportStats warmup = new TransportStats(transport);
+    drive(customerIds, warmupRequests, lookup, warmup);
+    TransportStats stats = new TransportStats(transport);
+    long start = System.nanoTime();
+    drive(customerIds, customerIds.length, lookup, stats);
+    stats.finish(System.nanoTime() - start);
+    return stats;
+  }
+
+  private void drive(long[] customerIds, int requests, Lookup lookup, TransportStats stats) {
+    AtomicInteger next = new AtomicInteger();
+    ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+    try {
+      List<Future<?>> running = new ArrayList<>();
+      for (int i = 0; i < concurrency; i++) {
+        running.add(clients.submit(() -> {
+          for (int index = next.getAndIncrement(); index < requests;
+              index = next.getAndIncrement()) {
+            long customerId = customerIds[index % customerIds.length];
+            try {
+              lookup.call(customerId, stats);
+            } catch (RuntimeException e) {
+              stats.recordError();
+            }
+          }
+        }));
+      }
+      for (Future<?> client : running) {
+        client.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while benchmarking", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Benchmark client failed", e.getCause());
+    } finally {
+      clients.shutdownNow();
+    }
+  }
+
+  private void lookupRest(long customerId, TransportStats stats) {
+    long start = System.nanoTime();
+    HttpRequest request = HttpRequest.newBuilder(
+        restBaseUri.resolve("/api/v1/customers/" + customerId)).GET().build();
+    HttpResponse<byte[]> response;
+    try {
+      response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+    long micros = (System.nanoTime() - start) / 1000;
+    if (response.statusCode() == 200) {
+      stats.recordFound(micros, response.body().length);
+    } else if (response.statusCode() == 404) {
+      stats.recordNotFound(micros);
+    } else {
+      stats.recordError();
+    }
+  }
+
+  private void lookupGrpc(long customerId, TransportStats stats) {
+    long start = System.nanoTime();
+    try {
+      Customer customer = grpc.getCustomer(
+          GetCustomerRequest.newBuilder().setCustomerId(customerId).build());
+      stats.recordFound((System.nanoTime() - start) / 1000, customer.getSerializedSize());
+    } catch (StatusRuntimeException e) {
+      if (e.getStatus().getCode() != Status.Code.NOT_FOUND) {
+        throw e;
+      }
+      stats.recordNotFound((System.nanoTime() - start) / 1000);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Lookup {
+    void call(long customerId, TransportStats stats);
+  }
+}
@@ -0,0 +1,103 @@
+package com.smeup.backend.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.smeup.backend.grpc.proto.Customer;
+import com.smeup.backend.grpc.proto.CustomerInquiryGrpc;
+import com.smeup.backend.grpc.proto.GetCustomerRequest;
+import com.sun.net.httpserver.HttpServer;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the REST/gRPC comparison against stub servers answering customers below 1000.
+ */
+class TransportBenchmarkTest {
+
+  private static final String PATH_PREFIX = "/api/v1/customers/";
+
+  private HttpServer rest;
+  private Server grpc;
+  private ManagedChannel channel;
+
+  @BeforeEach
+  void startServers() throws Exception {
+    rest = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    rest.createContext(PATH_PREFIX, exchange -> {
+      long customerId = Long.parseLong(
+          exchange.getRequestURI().getPath().substring(PATH_PREFIX.length()));
+      byte[] body = ("{\"data\":{\"customerId\":" + customerId + "}}")
+          .getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(customerId < 1000 ? 200 : 404, body.length);
+      exchange.getResponseBody().write(body);
+      exchange.close();
+    });
+    rest.start();
+
+    String name = InProcessServerBuilder.generateName();
+    grpc = InProcessServerBuilder.forName(name)
+        .addService(new CustomerInquiryGrpc.CustomerInquiryImplBase() {
+          @Override
+          public void getCustomer(GetCustomerRequest request,
+              StreamObserver<Customer> responseObserver) {
+            if (request.getCustomerId() >= 1000) {
+              responseObserver.onError(Status.NOT_FOUND.asRuntimeException());
+              return;
+            }
+            responseObserver.onNext(
+                Customer.newBuilder().setCustomerId(request.getCustomerId()).build());
+            responseObserver.onCompleted();
+          }
+        })
+        .build()
+        .start();
+    channel = InProcessChannelBuilder.forName(name).build();
+  }
+
+  @AfterEach
+  void stopServers() {
+    channel.shutdownNow();
+    grpc.shutdownNow();
+    rest.stop(0);
+  }
+
+  @Test
+  @DisplayName("Should measure both transports over the same customer ids")
+  void shouldMeasureBothTransports() {
+    // Given - 300 lookups, every third one for a missing customer
+    long[] customerIds = LongStream.range(0, 300)
+        .map(i -> i % 3 == 0 ? 5000 + i : 1 + i)
+        .toArray();
+    TransportBenchmark benchmark = new TransportBenchmark(
+        URI.create("http://127.0.0.1:" + rest.getAddress().getPort()), channel, 4);
+
+    // When
+    List<TransportStats> results = benchmark.run(customerIds, 50);
+
+    // Then
+    assertThat(results).extracting(TransportStats::getTransport).containsExactly("REST", "gRPC");
+    for (TransportStats stats : results) {
+      assertThat(stats.getRequestCount()).isEqualTo(300);
+      assertThat(stats.getNotFoundCount()).isEqualTo(100);
+      assertThat(stats.getErrorCount()).isZero();
+      assertThat(stats.getLatency().getCount()).isEqualTo(300);
+      assertThat(stats.getThroughput()).isPositive();
+      assertThat(stats.getMeanFoundBytes()).isPositive();
+    }
+    assertThat(results.get(1).getMeanFoundBytes()).isLessThan(results.get(0).getMeanFoundBytes());
+    assertThat(TransportBenchmark.format(results)).contains("REST", "gRPC", "bytes/200");
+  }
+}
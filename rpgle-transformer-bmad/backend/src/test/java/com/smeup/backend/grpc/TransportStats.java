@@ -0,0 +1,77 @@
+package com.smeup.backend.grpc;
+
+import com.smeup.backend.traffic.LatencyHistogram;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measurements of one transport in a TransportBenchmark run.
+ */
+public class TransportStats {
+
+  private final String transport;
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final AtomicLong found = new AtomicLong();
+  private final AtomicLong notFound = new AtomicLong();
+  private final AtomicLong errors = new AtomicLong();
+  private final AtomicLong responseBytes = new AtomicLong();
+  private volatile long elapsedNanos;
+
+  TransportStats(String transport) {
+    this.transport = transport;
+  }
+
+  void recordFound(long latencyMicros, int bytes) {
+    latency.record(latencyMicros);
+    found.incrementAndGet();
+    responseBytes.addAndGet(bytes);
+  }
+
+  void recordNotFound(long latencyMicros) {
+    latency.record(latencyMicros);
+    notFound.incrementAndGet();
+  }
+
+  void recordError() {
+    errors.incrementAndGet();
+  }
+
+  void finish(long elapsedNanos) {
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public String getTransport() {
+    return transport;
+  }
+
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  public long getFoundCount() {
+    return found.get();
+  }
+
+  public long getNotFoundCount() {
+    return notFound.get();
+  }
+
+  public long getErrorCount() {
+    return errors.get();
+  }
+
+  public long getRequestCount() {
+    return found.get() + notFound.get() + errors.get();
+  }
+
+  public double getThroughput() {
+    return elapsedNanos == 0 ? 0 : getRequestCount() * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Mean payload per found customer: the JSON body for REST, the serialized message for
+   * gRPC (HTTP and HTTP/2 framing excluded on both sides).
+   */
+  public double getMeanFoundBytes() {
+    return found.get() == 0 ? 0 : (double) responseBytes.get() / found.get();
+  }
+}
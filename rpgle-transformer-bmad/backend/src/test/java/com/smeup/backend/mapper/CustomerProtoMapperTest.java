@@ -0,0 +1,106 @@
+package com.smeup.backend.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.smeup.backend.entity.Customer;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CustomerProtoMapperTest {
+
+    private CustomerProtoMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new CustomerProtoMapper();
+    }
+
+    @Test
+    void shouldMapEntityToMessage() {
+        // Given
+        Customer customer = fullCustomer();
+
+        // When
+        com.smeup.backend.grpc.proto.Customer message = mapper.toMessage(customer);
+
+        // Then
+        assertThat(message.getCustomerId()).isEqualTo(12345L);
+        assertThat(message.getCustomerName()).isEqualTo("ACME Corporation");
+        assertThat(message.getAddressLine1()).isEqualTo("123 Main Street");
+        assertThat(message.getCity()).isEqualTo("Springfield");
+        assertThat(message.getState()).isEqualTo("IL");
+        assertThat(message.getZipCode()).isEqualTo(62701);
+        assertThat(message.getPhoneNumber()).isEqualTo("555-123-4567");
+        assertThat(message.getAccountBalance()).isEqualTo(150025L);
+        assertThat(message.getCreditLimit()).isEqualTo(1000000L);
+        assertThat(message.getLastOrderDate()).isEqualTo(20251215);
+    }
+
+    @Test
+    void shouldLeaveNullFieldsUnset() {
+        Customer customer = new Customer();
+        customer.setCustomerId(1L);
+        customer.setCustomerName("Minimal");
+
+        com.smeup.backend.grpc.proto.Customer message = mapper.toMessage(customer);
+
+        assertThat(message.hasAddressLine1()).isFalse();
+        assertThat(message.hasZipCode()).isFalse();
+        assertThat(message.hasAccountBalance()).isFalse();
+        assertThat(message.hasCreditLimit()).isFalse();
+        assertThat(message.hasLastOrderDate()).isFalse();
+        assertThat(mapper.toEntity(message).getAccountBalance()).isNull();
+    }
+
+    @Test
+    void shouldReturnNullMessageForNullEntity() {
+        assertThat(mapper.toMessage(null)).isNull();
+    }
+
+    @Test
+    void shouldRejectAmountsBeyondHundredths() {
+        Customer customer = fullCustomer();
+        customer.setAccountBalance(new BigDecimal("1.005"));
+
+        assertThatThrownBy(() -> mapper.toMessage(customer)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void shouldRoundTripPackedDecimalExtremes() {
+        // Given - 9P 2 bounds and a negative balance
+        Customer customer = fullCustomer();
+        customer.setAccountBalance(new BigDecimal("-9999999.99"));
+        customer.setCreditLimit(new BigDecimal("9999999.99"));
+
+        // When
+        Customer result = mapper.toEntity(mapper.toMessage(customer));
+
+        // Then
+        assertThat(result.getAccountBalance()).isEqualTo(new BigDecimal("-9999999.99"));
+        assertThat(result.getCreditLimit()).isEqualTo(new BigDecimal("9999999.99"));
+        assertThat(result.getCustomerName()).isEqualTo(customer.getCustomerName());
+        assertThat(result.getLastOrderDate()).isEqualTo(customer.getLastOrderDate());
+    }
+
+    @Test
+    void shouldReturnNullEntityForNullMessage() {
+        assertThat(mapper.toEntity(null)).isNull();
+    }
+
+    private static Customer fullCustomer() {
+        Customer customer = new Customer();
+        customer.setCustomerId(12345L);
+        customer.setCustomerName("ACME Corporation");
+        customer.setAddressLine1("123 Main Street");
+        customer.setCity("Springfield");
+        customer.setState("IL");
+        customer.setZipCode(62701);
+        customer.setPhoneNumber("555-123-4567");
+        customer.setAccountBalance(new BigDecimal("1500.25"));
+        customer.setCreditLimit(new BigDecimal("10000.00"));
+        customer.setLastOrderDate(20251215);
+        return customer;
+    }
+}
@@ -0,0 +1,26 @@
+package com.smeup.backend.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import org.h2.api.Trigger;
+
+/**
+ * H2 counterpart of the PostgreSQL CUSTMAST_CHANGE_BUMP trigger, so that tests on H2 run
+ * the customer existence filter against a maintained change counter.
+ *
+ * <p>Installed by db/vendor/h2/R__custmast_change_trigger.sql (test resources) as a row
+ * trigger on inserts and updates of any column, so it bumps more often than the PostgreSQL
+ * one; an extra bump only costs the filter a rebuild.
+ */
+public class CustmastChangeH2Trigger implements Trigger {
+
+  @Override
+  public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+    try (PreparedStatement bump = connection.prepareStatement(
+        "UPDATE CUSTMAST_CHANGE SET CHANGE_COUNT = CHANGE_COUNT + 1 WHERE ID = ?")) {
+      bump.setLong(1, Thread.currentThread().threadId() % 16 + 1);
+      bump.executeUpdate();
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.smeup.backend.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.smeup.backend.BackendApplication;
+import com.smeup.backend.service.CustomerExistenceFilter;
+import com.smeup.backend.service.CustomerService;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Tests for the migrate-only run and the serve profile that relies on it.
+ *
+ * <p>Each test uses its own H2 database, so the migrate job always starts from an empty
+ * schema.
+ */
+class SchemaMigrationApplicationTest {
+
+  /** The test properties leave out the vendor folder that application.yml configures. */
+  private static final String VENDOR_LOCATIONS =
+      "--spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}";
+
+  private final String url = "jdbc:h2:mem:" + UUID.randomUUID()
+      + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+  @Test
+  @DisplayName("should run the migrations only when the migrate profile is requested")
+  void shouldDetectMigrateProfile() {
+    assertThat(SchemaMigrationApplication.isRequested("--spring.profiles.active=migrate")).isTrue();
+    assertThat(SchemaMigrationApplication.isRequested("--spring.profiles.active=prod,migrate")).isTrue();
+    assertThat(SchemaMigrationApplication.isRequested("--spring.profiles.active=serve")).isFalse();
+    assertThat(SchemaMigrationApplication.isRequested()).isFalse();
+  }
+
+  @Test
+  @DisplayName("should migrate CUSTMAST and exit with 0, also when there is nothing left to do")
+  void shouldMigrateAndExit() {
+    // When
+    int first = SchemaMigrationApplication.migrate(datasourceArgs());
+    int second = SchemaMigrationApplication.migrate(datasourceArgs());
+
+    // Then
+    assertThat(first).isZero();
+    assertThat(second).isZero();
+    assertThat(jdbcTemplate().queryForList(
+        "select \"version\" from \"flyway_schema_history\""
+            + " where \"success\" and \"version\" is not null order by \"installed_rank\"", String.class))
+        .containsExactly("1", "2", "3", "4");
+    assertThat(jdbcTemplate().queryForObject("select count(*) from custmast", Integer.class)).isPositive();
+  }
+
+  @Test
+  @DisplayName("should serve from a migrated schema without running Flyway")
+  void shouldServeWithoutFlyway() {
+    // Given
+    SchemaMigrationApplication.migrate(datasourceArgs());
+
+    // When
+    try (ConfigurableApplicationContext context = serve()) {
+      // Then
+      assertThat(context.getBeansOfType(Flyway.class)).isEmpty();
+      assertThat(context.getBeansOfType(SchemaVersionCheck.class)).hasSize(1);
+      assertThat(context.getBeanFactory().containsSingleton("customerService")).isTrue();
+      assertThat(context.getBean(CustomerService.class).findCustomerById(1001L).getCustomerName())
+          .isNotBlank();
+    }
+  }
+
+  @Test
+  @DisplayName("should see a customer inserted by another writer once the change counter is polled")
+  void shouldFollowCustmastChangesInExistenceFilter() {
+    // Given - the migrate job installs the change trigger (db/vendor/h2 in test resources)
+    SchemaMigrationApplication.migrate(datasourceArgs()[0], datasourceArgs()[1], VENDOR_LOCATIONS);
+
+    try (ConfigurableApplicationContext context = serve(VENDOR_LOCATIONS)) {
+      CustomerExistenceFilter filter = context.getBean(CustomerExistenceFilter.class);
+      filter.rebuild();
+      assertThat(filter.mightExist(5000L)).isFalse();
+
+      // When - inserted outside the application
+      jdbcTemplate().update("insert into CUSTMAST (CUSTNO, CUSTNAME, ADDR1, CITY, STATE, ZIP, PHONE,"
+          + " BALANCE, CREDITLIM, LASTORDER) values (5000, 'Outside Writer', '1 Side St', 'Peoria',"
+          + " 'IL', 61602, '309-555-0100', 0, 1000, 20260101)");
+      filter.pollChanges();
+
+      // Then
+      assertThat(filter.mightExist(5000L)).isTrue();
+      assertThat(filter.mightExist(5001L)).isFalse();
+      assertThat(context.getBean(CustomerService.class).findCustomerById(5000L).getCustomerName())
+          .isEqualTo("Outside Writer");
+    }
+  }
+
+  @Test
+  @DisplayName("should refuse to serve a schema the migrate job has not run on")
+  void shouldNotServeUnmigratedSchema() {
+    assertThatThrownBy(this::serve)
+        .rootCause()
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("run the migrate job");
+  }
+
+  private ConfigurableApplicationContext serve(String... args) {
+    return new SpringApplicationBuilder(BackendApplication.class)
+        .profiles("serve")
+        .run(Stream.concat(Stream.of(datasourceArgs()[0], datasourceArgs()[1], "--server.port=0",
+            "--spring.grpc.server.port=0"), Stream.of(args)).toArray(String[]::new));
+  }
+
+  private String[] datasourceArgs() {
+    return new String[] {"--spring.datasource.url=" + url, "--spring.datasource.username=sa"};
+  }
+
+  private JdbcTemplate jdbcTemplate() {
+    return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+  }
+}
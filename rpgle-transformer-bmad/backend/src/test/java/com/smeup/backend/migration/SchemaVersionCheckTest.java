@@ -0,0 +1,157 @@
+package com.smeup.backend.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.UUID;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Unit tests for the startup schema version check of the serve profile.
+ *
+ * <p>The history table is a minimal stand-in for flyway_schema_history in H2; the expected
+ * version comes from the real migrations in db/migration (V1 to V4).
+ */
+class SchemaVersionCheckTest {
+
+  private static final String HISTORY_TABLE = "flyway_schema_history";
+
+  private DriverManagerDataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  @Test
+  @DisplayName("should expect the highest versioned migration on the classpath")
+  void shouldExpectLatestClasspathMigration() {
+    // When
+    MigrationVersion expected = check("classpath:db/migration").expectedVersion();
+
+    // Then
+    assertThat(expected).isEqualTo(MigrationVersion.fromVersion("4"));
+  }
+
+  @Test
+  @DisplayName("should resolve {vendor} to the database's migration folder")
+  void shouldResolveVendorLocation() {
+    // When - both db/vendor folders only hold repeatable migrations
+    MigrationVersion expected =
+        check("classpath:db/migration", "classpath:db/vendor/{vendor}").expectedVersion();
+
+    // Then
+    assertThat(expected).isEqualTo(MigrationVersion.fromVersion("4"));
+  }
+
+  @Test
+  @DisplayName("should start when every migration has been applied")
+  void shouldPassWhenSchemaIsCurrent() {
+    // Given
+    history("1", true);
+    history("2", true);
+    history("3", true);
+    history("4", true);
+
+    // When / Then
+    assertThatCode(() -> check("classpath:db/migration").afterPropertiesSet()).doesNotThrowAnyException();
+  }
+
+  @Test
+  @DisplayName("should fail startup and point to the migrate job when a migration is missing")
+  void shouldFailWhenSchemaIsBehind() {
+    // Given - V2 failed, so the schema is still at V1
+    history("1", true);
+    history("2", false);
+
+    // When / Then
+    assertThatThrownBy(() -> check("classpath:db/migration").afterPropertiesSet())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Schema at version 1 but this build expects 4")
+        .hasMessageContaining("--spring.profiles.active=migrate");
+  }
+
+  @Test
+  @DisplayName("should fail startup when the database was never migrated")
+  void shouldFailWithoutHistoryTable() {
+    // When / Then
+    assertThatThrownBy(() -> check("classpath:db/migration").afterPropertiesSet())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("No Flyway history table " + HISTORY_TABLE);
+  }
+
+  @Test
+  @DisplayName("should report a history table it cannot read instead of asking for a migration")
+  void shouldRethrowWhenHistoryTableIsUnreadable() {
+    // Given - the table exists, but not as Flyway created it
+    jdbcTemplate.execute("create table \"" + HISTORY_TABLE + "\" (\"version\" varchar(50))");
+
+    // When / Then
+    assertThatThrownBy(() -> check("classpath:db/migration").afterPropertiesSet())
+        .isInstanceOf(BadSqlGrammarException.class);
+  }
+
+  @Test
+  @DisplayName("should report an unreachable database instead of asking for a migration")
+  void shouldRethrowWhenDatabaseIsUnreachable() {
+    // Given
+    dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+
+    // When / Then
+    assertThatThrownBy(() -> check("classpath:db/migration").currentVersion())
+        .isInstanceOf(CannotGetJdbcConnectionException.class);
+  }
+
+  @Test
+  @DisplayName("should accept a schema migrated ahead by a newer release")
+  void shouldPassWhenSchemaIsAhead() {
+    // Given - versions compare numerically, not as strings
+    history("1", true);
+    history("2", true);
+    history("10", true);
+
+    // When
+    SchemaVersionCheck check = check("classpath:db/migration");
+
+    // Then
+    assertThat(check.currentVersion()).contains(MigrationVersion.fromVersion("10"));
+    assertThatCode(check::afterPropertiesSet).doesNotThrowAnyException();
+  }
+
+  @Test
+  @DisplayName("should expect nothing from a location without migrations")
+  void shouldExpectEmptyVersionWithoutMigrations() {
+    // Given
+    history("1", true);
+
+    // When
+    SchemaVersionCheck check = check("classpath:db/none");
+
+    // Then
+    assertThat(check.expectedVersion()).isEqualTo(MigrationVersion.EMPTY);
+    assertThatCode(check::afterPropertiesSet).doesNotThrowAnyException();
+  }
+
+  private SchemaVersionCheck check(String... locations) {
+    return new SchemaVersionCheck(dataSource, List.of(locations), HISTORY_TABLE);
+  }
+
+  private void history(String version, boolean success) {
+    // quoted lower-case identifiers, as Flyway creates them
+    jdbcTemplate.execute("create table if not exists \"" + HISTORY_TABLE + "\""
+        + " (\"version\" varchar(50), \"success\" boolean not null)");
+    jdbcTemplate.update("insert into \"" + HISTORY_TABLE + "\" values (?, ?)", version, success);
+  }
+}
@@ -235,4 +235,19 @@ class CustomerRepositoryTest {
       assertThat(all).hasSize(2);
     }
   }
+
+  @Nested
+  @DisplayName("findCustmastChangeCount() - existence filter change marker")
+  class ChangeCountTests {
+
+    @Test
+    @DisplayName("should be empty when no trigger maintains the counter")
+    void shouldBeEmptyWithoutTrigger() {
+      // When - H2 runs only db/migration here, without a db/vendor trigger
+      Optional<Long> changeCount = customerRepository.findCustmastChangeCount();
+
+      // Then
+      assertThat(changeCount).isEmpty();
+    }
+  }
 }
@@ -0,0 +1,228 @@
+package com.smeup.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.smeup.backend.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Unit tests for the in-memory CUSTNO existence filter.
+ */
+class CustomerExistenceFilterTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CustomerExistenceFilter filter =
+            new CustomerExistenceFilter(true, customerRepository, meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        // CUSTMAST unchanged since the rebuild unless a test says otherwise
+        when(customerRepository.findCustmastChangeCount()).thenReturn(Optional.of(0L));
+    }
+
+    @Test
+    @DisplayName("Should let every lookup through until the first rebuild")
+    void shouldAllowEverythingBeforeFirstRebuild() {
+        assertThat(filter.isLoaded()).isFalse();
+        assertThat(filter.mightExist(12345L)).isTrue();
+        assertThat(filter.getRejectionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should answer exactly for the whole CUSTNO key space after a rebuild")
+    void shouldHaveNoFalseNegativesOrPositives() {
+        // Given - a random third of the key space, including both ends
+        Random random = new Random(1);
+        List<Long> existing = new ArrayList<>(List.of(1L, CustomerExistenceFilter.MAX_CUSTOMER_ID));
+        for (long id = 2; id < CustomerExistenceFilter.MAX_CUSTOMER_ID; id++) {
+            if (random.nextInt(3) == 0) {
+                existing.add(id);
+            }
+        }
+        when(customerRepository.findAllCustomerIds()).thenReturn(existing);
+
+        // When
+        filter.rebuild();
+
+        // Then
+        boolean[] expected = new boolean[(int) CustomerExistenceFilter.MAX_CUSTOMER_ID + 1];
+        existing.forEach(id -> expected[id.intValue()] = true);
+        for (long id = 1; id <= CustomerExistenceFilter.MAX_CUSTOMER_ID; id++) {
+            assertThat(filter.mightExist(id)).as("customer %d", id).isEqualTo(expected[(int) id]);
+        }
+        assertThat(meterRegistry.get("customer.existence-filter.rejections").counter().count())
+                .isEqualTo(CustomerExistenceFilter.MAX_CUSTOMER_ID - existing.size());
+    }
+
+    @Test
+    @DisplayName("Should not reject keys outside the CUSTNO range")
+    void shouldNotRejectOutOfRangeKeys() {
+        when(customerRepository.findAllCustomerIds()).thenReturn(List.of(1L, 123456L));
+
+        filter.rebuild();
+
+        assertThat(filter.mightExist(0L)).isTrue();
+        assertThat(filter.mightExist(123456L)).isTrue();
+        assertThat(filter.mightExist(2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should see deleted customers as missing after the next rebuild")
+    void shouldTrackDeletesOnRebuild() {
+        // Given
+        when(customerRepository.findAllCustomerIds()).thenReturn(List.of(100L));
+        filter.rebuild();
+
+        // When - 100 deleted, which does not move the change counter
+        when(customerRepository.findAllCustomerIds()).thenReturn(List.of());
+        filter.pollChanges();
+
+        // Then
+        assertThat(filter.mightExist(100L)).isTrue();
+        filter.rebuild();
+        assertThat(filter.mightExist(100L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should answer lookups without reading the database")
+    void shouldNotQueryOnLookup() {
+        // Given
+        when(customerRepository.findAllCustomerIds()).thenReturn(List.of(100L));
+        filter.rebuild();
+        clearInvocations(customerRepository);
+
+        // When
+        for (long id = 101; id < 1101; id++) {
+            assertThat(filter.mightExist(id)).isFalse();
+        }
+
+        // Then
+        verifyNoInteractions(customerRepository);
+        assertThat(filter.getRejectionCount()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Should rebuild once the polled change counter moves")
+    void shouldRebuildWhenCustmastChanged() {
+        // Given
+        when(customerRepository.findAllCustomerIds()).thenReturn(List.of(100L));
+        filter.rebuild();
+        filter.pollChanges();
+        verify(customerRepository, times(1)).findAllCustomerIds();
+
+        // When - customer 200 inserted outside the application
+        when(customerRepository.findCustmastChangeCount()).thenReturn(Optional.of(1L));
+        when(customerRepository.findAllCustomerIds()).thenReturn(List.of(100L, 200L));
+        filter.pollChanges();
+
+        // Then
+        verify(customerRepository, times(2)).findAllCustomerIds();
+        assertThat(filter.mightExist(200L)).isTrue();
+        assertThat(filter.mightExist(300L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let misses through while a changed CUSTMAST cannot be reloaded")
+    void shouldLetMissesThroughUntilRebuildSucceeds() {
+        // Given
+        when(customerRepository.findAllCustomerIds()).thenReturn(List.of(100L));
+        filter.rebuild();
+        assertThat(filter.mightExist(200L)).isFalse();
+
+        // When - the counter moved, but the key query fails
+        when(customerRepository.findCustmastChangeCount()).thenReturn(Optional.of(1L));
+        when(customerRepository.findAllCustomerIds())
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+        filter.pollChanges();
+
+        // Then
+        assertThat(filter.mightExist(100L)).isTrue();
+        assertThat(filter.mightExist(200L)).isTrue();
+        assertThat(filter.getStaleMissCount()).isEqualTo(1);
+        assertThat(filter.getRejectionCount()).isEqualTo(1);
+
+        // And the next successful rebuild trusts misses again
+        doReturn(List.of(100L, 200L)).when(customerRepository).findAllCustomerIds();
+        filter.pollChanges();
+        assertThat(filter.mightExist(300L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let misses through when the change counter cannot be read")
+    void shouldLetMissesThroughWhenCounterUnreadable() {
+        // Given
+        when(customerRepository.findAllCustomerIds()).thenReturn(List.of(100L));
+        filter.rebuild();
+
+        // When
+        when(customerRepository.findCustmastChangeCount())
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+        filter.pollChanges();
+
+        // Then
+        assertThat(filter.mightExist(200L)).isTrue();
+        assertThat(filter.getRejectionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the previous bitset when the rebuild query fails")
+    void shouldKeepPreviousBitsetOnFailure() {
+        // Given
+        when(customerRepository.findAllCustomerIds()).thenReturn(List.of(100L));
+        filter.rebuild();
+
+        // When
+        when(customerRepository.findAllCustomerIds())
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+        filter.rebuild();
+
+        // Then
+        assertThat(filter.mightExist(100L)).isTrue();
+        assertThat(filter.mightExist(200L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stay empty when no trigger maintains the change counter")
+    void shouldStayEmptyWithoutChangeTrigger() {
+        // Given
+        when(customerRepository.findCustmastChangeCount()).thenReturn(Optional.empty());
+
+        // When
+        filter.rebuild();
+
+        // Then
+        assertThat(filter.isLoaded()).isFalse();
+        assertThat(filter.mightExist(200L)).isTrue();
+        verify(customerRepository, never()).findAllCustomerIds();
+    }
+
+    @Test
+    @DisplayName("Should let every lookup through when disabled")
+    void shouldAllowEverythingWhenDisabled() {
+        CustomerExistenceFilter disabled =
+                new CustomerExistenceFilter(false, customerRepository, meterRegistry);
+        when(customerRepository.findAllCustomerIds()).thenReturn(List.of(100L));
+
+        disabled.rebuild();
+
+        assertThat(disabled.mightExist(200L)).isTrue();
+        assertThat(disabled.isLoaded()).isFalse();
+    }
+}
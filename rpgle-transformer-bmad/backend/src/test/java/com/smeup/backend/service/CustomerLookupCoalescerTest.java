@@ -0,0 +1,230 @@
+package com.smeup.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.smeup.backend.entity.Customer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Unit tests for single-flight coalescing of customer lookups.
+ */
+class CustomerLookupCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run one query for concurrent lookups of the same customer")
+    void shouldCoalesceConcurrentLookups() throws Exception {
+        // Given
+        CustomerLookupCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        Customer customer = customer(12345L);
+
+        // When - every caller arrives while the first query is blocked
+        List<Future<Optional<Customer>>> results = lookupConcurrently(coalescer, 12345L,
+                blockingQuery(() -> Optional.of(customer)));
+        awaitFollowers(coalescer, CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<Optional<Customer>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).containsSame(customer);
+        }
+        assertThat(queries).hasValue(1);
+        assertThat(coalescer.getLeaderCount()).isEqualTo(1);
+        assertThat(coalescer.getCoalescingRatio()).isCloseTo((CALLERS - 1) / (double) CALLERS, within(1e-9));
+        assertThat(meterRegistry.get("customer.lookup.coalescing.ratio").gauge().value())
+                .isEqualTo(coalescer.getCoalescingRatio());
+        assertThat(meterRegistry.get("customer.lookup.coalescing.requests").tag("role", "follower")
+                .counter().count()).isEqualTo(CALLERS - 1);
+        assertThat(meterRegistry.get("customer.lookup.coalescing.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand not found to every waiter as an empty result")
+    void shouldFanOutNotFound() throws Exception {
+        // Given
+        CustomerLookupCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+
+        // When
+        List<Future<Optional<Customer>>> results = lookupConcurrently(coalescer, 99999L,
+                blockingQuery(Optional::empty));
+        awaitFollowers(coalescer, CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<Optional<Customer>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEmpty();
+        }
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should fail every waiter with the query's exception")
+    void shouldPropagateQueryFailure() throws Exception {
+        // Given
+        CustomerLookupCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        DataAccessResourceFailureException failure = new DataAccessResourceFailureException("connection lost");
+
+        // When
+        List<Future<Optional<Customer>>> results = lookupConcurrently(coalescer, 12345L,
+                blockingQuery(() -> {
+                    throw failure;
+                }));
+        awaitFollowers(coalescer, CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<Optional<Customer>> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseReference(failure);
+        }
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should stop waiting after the maximum wait and query directly")
+    void shouldQueryDirectlyAfterMaxWait() throws Exception {
+        // Given - the first query hangs until released, later queries answer at once
+        CustomerLookupCoalescer coalescer = coalescer(Duration.ofMillis(50));
+        Customer customer = customer(12345L);
+        Function<Long, Optional<Customer>> query = id -> {
+            if (queries.incrementAndGet() == 1) {
+                awaitRelease();
+            }
+            return Optional.of(customer);
+        };
+        Future<Optional<Customer>> first = executor.submit(() -> coalescer.lookup(12345L, query));
+        awaitQueries(1);
+
+        // When
+        Optional<Customer> second = coalescer.lookup(12345L, query);
+
+        // Then
+        assertThat(second).containsSame(customer);
+        assertThat(coalescer.getTimeoutCount()).isEqualTo(1);
+        assertThat(first.isDone()).isFalse();
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsSame(customer);
+    }
+
+    @Test
+    @DisplayName("Should not reuse a completed lookup or coalesce different customers")
+    void shouldOnlyCoalesceInFlightLookupsOfSameCustomer() {
+        // Given
+        CustomerLookupCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        Function<Long, Optional<Customer>> query = id -> {
+            queries.incrementAndGet();
+            return Optional.of(customer(id));
+        };
+
+        // When
+        coalescer.lookup(1L, query);
+        coalescer.lookup(1L, query);
+        coalescer.lookup(2L, query);
+
+        // Then
+        assertThat(queries).hasValue(3);
+        assertThat(coalescer.getFollowerCount()).isZero();
+        assertThat(coalescer.getCoalescingRatio()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should query for every caller when disabled")
+    void shouldQueryEveryTimeWhenDisabled() throws Exception {
+        // Given
+        CustomerLookupCoalescer coalescer =
+                new CustomerLookupCoalescer(false, Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        List<Future<Optional<Customer>>> results = lookupConcurrently(coalescer, 12345L,
+                blockingQuery(() -> Optional.of(customer(12345L))));
+        awaitQueries(CALLERS);
+        release.countDown();
+
+        // Then
+        for (Future<Optional<Customer>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isPresent();
+        }
+        assertThat(coalescer.getLeaderCount()).isZero();
+    }
+
+    private CustomerLookupCoalescer coalescer(Duration maxWait) {
+        return new CustomerLookupCoalescer(true, maxWait, meterRegistry);
+    }
+
+    private Function<Long, Optional<Customer>> blockingQuery(Supplier<Optional<Customer>> result) {
+        return id -> {
+            queries.incrementAndGet();
+            awaitRelease();
+            return result.get();
+        };
+    }
+
+    private List<Future<Optional<Customer>>> lookupConcurrently(CustomerLookupCoalescer coalescer, long customerId,
+            Function<Long, Optional<Customer>> query) {
+        List<Future<Optional<Customer>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> coalescer.lookup(customerId, query)));
+        }
+        return results;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitFollowers(CustomerLookupCoalescer coalescer, int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.getFollowerCount() < followers && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(coalescer.getFollowerCount()).isEqualTo(followers);
+    }
+
+    private void awaitQueries(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queries.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(queries).hasValue(count);
+    }
+
+    private static Customer customer(long customerId) {
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setCustomerName("Customer " + customerId);
+        return customer;
+    }
+}
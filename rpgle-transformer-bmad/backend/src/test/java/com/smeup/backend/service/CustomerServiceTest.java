@@ -2,6 +2,9 @@ package com.smeup.backend.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -10,13 +13,18 @@ import com.smeup.backend.entity.Customer;
 import com.smeup.backend.exception.CustomerNotFoundException;
 import com.smeup.backend.exception.InvalidCustomerIdException;
 import com.smeup.backend.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerServiceTest {
@@ -24,6 +32,14 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Spy
+    private CustomerLookupCoalescer lookupCoalescer =
+            new CustomerLookupCoalescer(true, Duration.ofSeconds(2), new SimpleMeterRegistry());
+
+    @Spy
+    private CustomerExistenceFilter existenceFilter =
+            new CustomerExistenceFilter(true, mock(CustomerRepository.class), new SimpleMeterRegistry());
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -58,6 +74,19 @@ class CustomerServiceTest {
         verify(customerRepository, times(1)).findByCustomerId(99999L);
     }
 
+    @Test
+    @DisplayName("findCustomerById should answer a definite miss without querying CUSTMAST")
+    void shouldRejectDefiniteMissWithoutQuery() {
+        // Given - the existence filter knows that customer 54321 does not exist
+        doReturn(false).when(existenceFilter).mightExist(54321L);
+
+        // When / Then
+        assertThatThrownBy(() -> customerService.findCustomerById(54321L))
+                .isInstanceOf(CustomerNotFoundException.class)
+                .hasMessageContaining("Customer not found with ID: 54321");
+        verify(customerRepository, never()).findByCustomerId(54321L);
+    }
+
     @Test
     @DisplayName("findCustomerById should throw InvalidCustomerIdException when ID is null (RPGLE: CUSTNO IFEQ *ZEROS)")
     void shouldThrowWhenIdIsNull() {
@@ -94,4 +123,29 @@ class CustomerServiceTest {
                 .isInstanceOf(InvalidCustomerIdException.class)
                 .hasMessageContaining("Customer ID must be a positive number");
     }
+
+    @Test
+    @DisplayName("readCustomers should read from the key in CUSTNO order (RPGLE: SETLL/READ CUSTMAST)")
+    void shouldReadCustomersFromKey() {
+        // Given
+        Customer customer = new Customer();
+        customer.setCustomerId(12345L);
+        when(customerRepository.findByCustomerIdGreaterThanEqualOrderByCustomerIdAsc(12000L, Limit.of(10)))
+                .thenReturn(List.of(customer));
+
+        // When
+        List<Customer> result = customerService.readCustomers(12000L, 10);
+
+        // Then
+        assertThat(result).containsExactly(customer);
+    }
+
+    @Test
+    @DisplayName("readCustomers should validate the start key and the record limit")
+    void shouldValidateReadArguments() {
+        assertThatThrownBy(() -> customerService.readCustomers(0L, 10))
+                .isInstanceOf(InvalidCustomerIdException.class);
+        assertThatThrownBy(() -> customerService.readCustomers(1L, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,85 @@
+package com.smeup.backend.traffic;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe latency histogram in microseconds with about 3% resolution.
+ *
+ * <p>Values below 64 us get one bucket each; above, every power of two is split into 32
+ * buckets, so a distribution of millions of requests costs a fixed 15 KB.
+ *
+ * <p>benchmarks/ carries a copy (com.smeup.benchmark.LatencyHistogram); keep both in step.
+ */
+public class LatencyHistogram {
+
+  private static final int LINEAR_BUCKETS = 64;
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = LINEAR_BUCKETS + (Long.SIZE - 6) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records one latency; negative values count as zero.
+   */
+  public void record(long micros) {
+    long value = Math.max(0, micros);
+    counts.incrementAndGet(bucket(value));
+    count.incrementAndGet();
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns the latency below which the given share of the recorded values fall, as the
+   * lower bound of its bucket (the exact maximum for quantile 1).
+   *
+   * @param quantile between 0 and 1, e.g. 0.99
+   */
+  public long getPercentile(double quantile) {
+    long total = count.get();
+    if (total == 0) {
+      return 0;
+    }
+    if (quantile >= 1.0) {
+      return max.get();
+    }
+    long target = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += counts.get(bucket);
+      if (seen >= target) {
+        return Math.min(lowerBound(bucket), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  private static int bucket(long value) {
+    if (value < LINEAR_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return LINEAR_BUCKETS + (exponent - 6) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long lowerBound(int bucket) {
+    if (bucket < LINEAR_BUCKETS) {
+      return bucket;
+    }
+    int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 6;
+    int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+    return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+  }
+}
@@ -0,0 +1,49 @@
+package com.smeup.backend.traffic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the fixed-size latency histogram.
+ */
+class LatencyHistogramTest {
+
+  @Test
+  @DisplayName("Should report percentiles within the bucket resolution")
+  void shouldReportPercentiles() {
+    // Given
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    // When - 1..100000 us, uniformly
+    for (long micros = 1; micros <= 100_000; micros++) {
+      histogram.record(micros);
+    }
+
+    // Then
+    assertThat(histogram.getCount()).isEqualTo(100_000);
+    assertThat(histogram.getPercentile(0.5)).isCloseTo(50_000, within(1_600L));
+    assertThat(histogram.getPercentile(0.99)).isCloseTo(99_000, within(3_100L));
+    assertThat(histogram.getPercentile(1.0)).isEqualTo(100_000);
+  }
+
+  @Test
+  @DisplayName("Should be exact below 64 us and empty-safe")
+  void shouldBeExactForSmallValues() {
+    // Given
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertThat(histogram.getPercentile(0.5)).isZero();
+
+    // When
+    histogram.record(3);
+    histogram.record(5);
+    histogram.record(-1);
+
+    // Then
+    assertThat(histogram.getPercentile(0.5)).isEqualTo(3);
+    assertThat(histogram.getPercentile(0.9)).isEqualTo(5);
+    assertThat(histogram.getMax()).isEqualTo(5);
+  }
+}
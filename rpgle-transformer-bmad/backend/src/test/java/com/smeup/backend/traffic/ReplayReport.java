@@ -0,0 +1,134 @@
+package com.smeup.backend.traffic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outcome of a traffic replay: response equivalence against the capture and captured vs
+ * replayed latency distributions.
+ */
+public class ReplayReport {
+
+  private static final int MAX_LISTED_MISMATCHES = 20;
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999, 1.0};
+
+  private final LatencyHistogram captured = new LatencyHistogram();
+  private final LatencyHistogram replayed = new LatencyHistogram();
+  private final AtomicLong matched = new AtomicLong();
+  private final AtomicLong statusMismatches = new AtomicLong();
+  private final AtomicLong bodyMismatches = new AtomicLong();
+  private final AtomicLong errors = new AtomicLong();
+  private final AtomicLong maxLagMicros = new AtomicLong();
+  private final List<String> firstMismatches = Collections.synchronizedList(new ArrayList<>());
+  private volatile long elapsedMillis;
+
+  void recordResponse(TrafficRecord expected, int status, int bodyHash, int bodyLength,
+      long latencyMicros) {
+    captured.record(expected.latencyMicros());
+    replayed.record(latencyMicros);
+    if (status != expected.status()) {
+      statusMismatches.incrementAndGet();
+      listMismatch(String.format("customer %d: status expected=%d, actual=%d",
+          expected.customerId(), expected.status(), status));
+    } else if (bodyHash != expected.bodyHash() || bodyLength != expected.bodyLength()) {
+      bodyMismatches.incrementAndGet();
+      listMismatch(String.format("customer %d: body differs (%d bytes, expected %d bytes)",
+          expected.customerId(), bodyLength, expected.bodyLength()));
+    } else {
+      matched.incrementAndGet();
+    }
+  }
+
+  void recordError(TrafficRecord expected, Throwable error) {
+    captured.record(expected.latencyMicros());
+    errors.incrementAndGet();
+    listMismatch("customer " + expected.customerId() + ": request failed: " + error.getMessage());
+  }
+
+  void recordLag(long lagMicros) {
+    maxLagMicros.accumulateAndGet(lagMicros, Math::max);
+  }
+
+  void finish(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  private void listMismatch(String mismatch) {
+    if (firstMismatches.size() < MAX_LISTED_MISMATCHES) {
+      firstMismatches.add(mismatch);
+    }
+  }
+
+  public long getRequestCount() {
+    return matched.get() + statusMismatches.get() + bodyMismatches.get() + errors.get();
+  }
+
+  public long getMatchedCount() {
+    return matched.get();
+  }
+
+  public long getStatusMismatchCount() {
+    return statusMismatches.get();
+  }
+
+  public long getBodyMismatchCount() {
+    return bodyMismatches.get();
+  }
+
+  public long getErrorCount() {
+    return errors.get();
+  }
+
+  /**
+   * Returns true when every replayed response had the captured status and body.
+   */
+  public boolean isEquivalent() {
+    return matched.get() == getRequestCount();
+  }
+
+  public LatencyHistogram getCaptured() {
+    return captured;
+  }
+
+  public LatencyHistogram getReplayed() {
+    return replayed;
+  }
+
+  public List<String> getFirstMismatches() {
+    synchronized (firstMismatches) {
+      return List.copyOf(firstMismatches);
+    }
+  }
+
+  /**
+   * Formats the report for the console.
+   */
+  public String format() {
+    StringBuilder report = new StringBuilder();
+    report.append(String.format(Locale.ROOT,
+        "Replayed %d requests in %d ms (max schedule lag %d us)%n",
+        getRequestCount(), elapsedMillis, maxLagMicros.get()));
+    report.append(String.format(Locale.ROOT,
+        "Equivalent: %d, status mismatches: %d, body mismatches: %d, errors: %d%n",
+        matched.get(), statusMismatches.get(), bodyMismatches.get(), errors.get()));
+    report.append(String.format(Locale.ROOT, "%-10s %12s %12s%n",
+        "Latency", "captured us", "replayed us"));
+    for (double quantile : QUANTILES) {
+      report.append(String.format(Locale.ROOT, "%-10s %12d %12d%n",
+          quantile >= 1.0 ? "max" : "p" + formatQuantile(quantile),
+          captured.getPercentile(quantile), replayed.getPercentile(quantile)));
+    }
+    for (String mismatch : getFirstMismatches()) {
+      report.append("  ").append(mismatch).append(System.lineSeparator());
+    }
+    return report.toString();
+  }
+
+  private static String formatQuantile(double quantile) {
+    String percent = String.format(Locale.ROOT, "%.1f", quantile * 100);
+    return percent.endsWith(".0") ? percent.substring(0, percent.length() - 2) : percent;
+  }
+}
@@ -0,0 +1,147 @@
+package com.smeup.backend.traffic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import com.smeup.backend.controller.CustomerController;
+import com.smeup.backend.entity.Customer;
+import com.smeup.backend.exception.CustomerNotFoundException;
+import com.smeup.backend.exception.GlobalExceptionHandler;
+import com.smeup.backend.exception.InvalidCustomerIdException;
+import com.smeup.backend.mapper.CustomerMapper;
+import com.smeup.backend.service.CustomerService;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Tests capture of customer inquiries through the filter, the writer and the reader.
+ */
+class TrafficCaptureFilterTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should capture inquiries with status, body hash and encoding, and skip other requests")
+  void shouldCaptureInquiries() throws Exception {
+    // Given
+    CustomerService customerService = mock(CustomerService.class);
+    given(customerService.findCustomerById(1001L)).willReturn(acme());
+    given(customerService.findCustomerById(9999L)).willThrow(new CustomerNotFoundException(9999L));
+    given(customerService.findCustomerById(0L))
+        .willThrow(new InvalidCustomerIdException("Customer ID must be a positive number"));
+    Path file = tempDir.resolve("capture.bin");
+    TrafficLogWriter trafficLog = new TrafficLogWriter(file, 1024);
+    MockMvc mockMvc = MockMvcBuilders
+        .standaloneSetup(new CustomerController(customerService, new CustomerMapper()))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .addFilters(new TrafficCaptureFilter(trafficLog, 1.0))
+        .build();
+
+    // When
+    byte[] found = mockMvc.perform(get("/api/v1/customers/1001"))
+        .andReturn().getResponse().getContentAsByteArray();
+    byte[] notFound = mockMvc.perform(get("/api/v1/customers/9999"))
+        .andReturn().getResponse().getContentAsByteArray();
+    mockMvc.perform(get("/api/v1/customers/0"));
+    byte[] cbor = mockMvc.perform(get("/api/v1/customers/1001").accept(MediaType.APPLICATION_CBOR))
+        .andReturn().getResponse().getContentAsByteArray();
+    mockMvc.perform(get("/api/v1/customers/abc"));
+    mockMvc.perform(post("/api/v1/customers/1001"));
+    trafficLog.close();
+
+    // Then
+    List<TrafficRecord> records = new ArrayList<>();
+    try (TrafficLogReader reader = new TrafficLogReader(file)) {
+      assertThat(reader.getStartEpochMillis()).isPositive();
+      TrafficRecord record;
+      while ((record = reader.next()) != null) {
+        records.add(record);
+      }
+    }
+    assertThat(records).extracting(TrafficRecord::customerId).containsExactly(1001L, 9999L, 0L, 1001L);
+    assertThat(records).extracting(TrafficRecord::status).containsExactly(200, 404, 400, 200);
+    assertThat(records).extracting(TrafficRecord::encoding).containsExactly(ResponseEncoding.JSON,
+        ResponseEncoding.JSON, ResponseEncoding.JSON, ResponseEncoding.CBOR);
+    assertThat(records.get(0).bodyHash()).isEqualTo(crc(found));
+    assertThat(records.get(0).bodyLength()).isEqualTo(found.length);
+    assertThat(records.get(1).bodyHash()).isEqualTo(crc(notFound));
+    assertThat(records.get(1).offsetNanos()).isGreaterThan(records.get(0).offsetNanos());
+    assertThat(records.get(3).bodyHash()).isEqualTo(crc(cbor)).isNotEqualTo(crc(found));
+    assertThat(trafficLog.getWrittenCount()).isEqualTo(4);
+    assertThat(trafficLog.getDroppedCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should drop records instead of blocking when the writer falls behind")
+  void shouldDropWhenClosed() {
+    // Given
+    TrafficLogWriter trafficLog = new TrafficLogWriter(tempDir.resolve("closed.bin"), 1);
+    trafficLog.close();
+
+    // When
+    boolean accepted = trafficLog.offer(new TrafficRecord(0, 1001, 10, 200, 0, 0,
+        ResponseEncoding.JSON));
+
+    // Then
+    assertThat(accepted).isFalse();
+    assertThat(trafficLog.getDroppedCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should read logs captured before the encoding was recorded as JSON")
+  void shouldReadVersionOneLogs() throws Exception {
+    // Given - header and one record in the version 1 layout, without the encoding byte
+    Path file = tempDir.resolve("v1.bin");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(bytes)) {
+      output.writeInt(TrafficLogFormat.MAGIC);
+      output.writeShort(TrafficLogFormat.VERSION_WITHOUT_ENCODING);
+      output.writeLong(1_700_000_000_000L);
+      output.writeLong(5_000);
+      output.writeLong(1001);
+      output.writeInt(250);
+      output.writeShort(200);
+      output.writeInt(0x1234);
+      output.writeInt(64);
+    }
+    Files.write(file, bytes.toByteArray());
+
+    // When / Then
+    try (TrafficLogReader reader = new TrafficLogReader(file)) {
+      assertThat(reader.next()).isEqualTo(
+          new TrafficRecord(5_000, 1001, 250, 200, 0x1234, 64, ResponseEncoding.JSON));
+      assertThat(reader.next()).isNull();
+    }
+  }
+
+  private static Customer acme() {
+    Customer customer = new Customer();
+    customer.setCustomerId(1001L);
+    customer.setCustomerName("ACME Corporation");
+    customer.setState("IL");
+    customer.setAccountBalance(new BigDecimal("1500.50"));
+    return customer;
+  }
+
+  private static int crc(byte[] body) {
+    CRC32C crc = new CRC32C();
+    crc.update(body);
+    return (int) crc.getValue();
+  }
+}
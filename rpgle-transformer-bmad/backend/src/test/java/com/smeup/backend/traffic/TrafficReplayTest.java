@@ -0,0 +1,39 @@
+package com.smeup.backend.traffic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Replays a production traffic capture against a candidate build before rollout.
+ *
+ * <p>Capture on the running service with traffic.capture.enabled=true (see
+ * TrafficCaptureConfig), then, with the candidate running against the same data:
+ * {@code mvn test -Dtest=TrafficReplayTest -Dtraffic.replay.log=traffic-capture.bin
+ * -Dtraffic.replay.target=http://candidate:8080 -Dtraffic.replay.speedup=1}
+ * Optional: traffic.replay.max-in-flight (default 64). A speedup of 0 replays as fast
+ * as possible.
+ */
+@EnabledIfSystemProperty(named = "traffic.replay.log", matches = ".+")
+class TrafficReplayTest {
+
+  @Test
+  @DisplayName("Candidate should answer captured inquiries identically")
+  void replay() {
+    TrafficReplayer replayer = new TrafficReplayer(
+        URI.create(System.getProperty("traffic.replay.target", "http://localhost:8080")),
+        Double.parseDouble(System.getProperty("traffic.replay.speedup", "1")),
+        Integer.getInteger("traffic.replay.max-in-flight", 64));
+
+    ReplayReport report = replayer.replay(Path.of(System.getProperty("traffic.replay.log")));
+
+    System.out.print(report.format());
+    assertThat(report.isEquivalent())
+        .as("Replayed responses differ from the capture: %s", report.getFirstMismatches())
+        .isTrue();
+  }
+}
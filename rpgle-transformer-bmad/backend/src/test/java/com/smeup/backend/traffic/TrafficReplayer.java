@@ -0,0 +1,107 @@
+package com.smeup.backend.traffic;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Reissues captured customer inquiries against a candidate build.
+ *
+ * <p>Requests are sent open loop at their captured offsets divided by the speedup (1 for
+ * the original pace, 10 for ten times faster, 0 for as fast as possible), so a slow
+ * candidate does not slow the load down. At most maxInFlight requests are outstanding;
+ * when that limit is hit the schedule slips, which the report shows as schedule lag.
+ * Each request asks for the encoding the captured response was sent in, and each response
+ * is compared by status and body CRC-32C with the captured one.
+ */
+public class TrafficReplayer {
+
+  private final HttpClient httpClient;
+  private final String customersUri;
+  private final double speedup;
+  private final int maxInFlight;
+
+  /**
+   * @param baseUri Candidate server, e.g. http://localhost:8080
+   * @param speedup Pace relative to the capture; 0 sends without delays
+   * @param maxInFlight Maximum outstanding requests
+   */
+  public TrafficReplayer(URI baseUri, double speedup, int maxInFlight) {
+    if (speedup < 0 || maxInFlight < 1) {
+      throw new IllegalArgumentException(
+          "Invalid replay speedup " + speedup + " or max in flight " + maxInFlight);
+    }
+    this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    this.customersUri = baseUri.toString().replaceAll("/+$", "") + TrafficCaptureFilter.PATH_PREFIX;
+    this.speedup = speedup;
+    this.maxInFlight = maxInFlight;
+  }
+
+  /**
+   * Replays every request of the capture log and waits for all responses.
+   */
+  public ReplayReport replay(Path captureLog) {
+    ReplayReport report = new ReplayReport();
+    Semaphore inFlight = new Semaphore(maxInFlight);
+    Phaser outstanding = new Phaser(1);
+    long startNanos = System.nanoTime();
+
+    try (TrafficLogReader reader = new TrafficLogReader(captureLog)) {
+      TrafficRecord record;
+      while ((record = reader.next()) != null) {
+        long dueNanos = startNanos + (speedup > 0 ? (long) (record.offsetNanos() / speedup) : 0);
+        long wait;
+        while ((wait = dueNanos - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        inFlight.acquireUninterruptibly();
+        if (speedup > 0) {
+          report.recordLag((System.nanoTime() - dueNanos) / 1_000);
+        }
+        outstanding.register();
+        send(record, report, () -> {
+          inFlight.release();
+          outstanding.arriveAndDeregister();
+        });
+      }
+    }
+
+    outstanding.arriveAndAwaitAdvance();
+    report.finish((System.nanoTime() - startNanos) / 1_000_000);
+    return report;
+  }
+
+  private void send(TrafficRecord record, ReplayReport report, Runnable done) {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(customersUri + record.customerId()))
+        .header("Accept", record.encoding().getMediaType().toString())
+        .GET()
+        .timeout(Duration.ofSeconds(30))
+        .build();
+    long sentNanos = System.nanoTime();
+    httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+        .whenComplete((response, error) -> {
+          try {
+            if (error != null) {
+              report.recordError(record, error);
+            } else {
+              CRC32C crc = new CRC32C();
+              crc.update(response.body());
+              report.recordResponse(record, response.statusCode(), (int) crc.getValue(),
+                  response.body().length, (System.nanoTime() - sentNanos) / 1_000);
+            }
+          } finally {
+            done.run();
+          }
+        });
+  }
+}
@@ -0,0 +1,150 @@
+package com.smeup.backend.traffic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the replay of a capture log against a stub candidate server.
+ */
+class TrafficReplayerTest {
+
+  @TempDir
+  Path tempDir;
+
+  private HttpServer candidate;
+
+  /**
+   * Candidate answering 200 with a small body for ids below 1000, 404 otherwise; the body is
+   * a CBOR stand-in when the request asks for application/cbor, JSON otherwise.
+   */
+  @BeforeEach
+  void startCandidate() throws Exception {
+    candidate = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    candidate.createContext(TrafficCaptureFilter.PATH_PREFIX, exchange -> {
+      long customerId = Long.parseLong(exchange.getRequestURI().getPath()
+          .substring(TrafficCaptureFilter.PATH_PREFIX.length()));
+      String accept = exchange.getRequestHeaders().getFirst("Accept");
+      byte[] body = "application/cbor".equals(accept) ? cborBody(customerId) : body(customerId);
+      exchange.sendResponseHeaders(status(customerId), body.length);
+      exchange.getResponseBody().write(body);
+      exchange.close();
+    });
+    candidate.start();
+  }
+
+  @AfterEach
+  void stopCandidate() {
+    candidate.stop(0);
+  }
+
+  @Test
+  @DisplayName("Should report equivalent responses, mismatches and latency distributions")
+  void shouldCompareResponses() {
+    // Given - 500 captured requests 1 ms apart; 7 and 8 answered differently at capture time
+    Path file = tempDir.resolve("capture.bin");
+    try (TrafficLogWriter trafficLog = new TrafficLogWriter(file, 1024)) {
+      for (long id = 1; id <= 500; id++) {
+        long customerId = id == 500 ? 5000 : id;
+        byte[] body = body(customerId);
+        int status = id == 8 ? 500 : status(customerId);
+        int hash = id == 7 ? 0 : crc(body);
+        trafficLog.offer(new TrafficRecord(id * 1_000_000, customerId, 100 + (int) id, status,
+            hash, body.length, ResponseEncoding.JSON));
+      }
+    }
+    URI baseUri = URI.create("http://127.0.0.1:" + candidate.getAddress().getPort());
+
+    // When
+    ReplayReport report = new TrafficReplayer(baseUri, 10.0, 16).replay(file);
+
+    // Then
+    assertThat(report.getRequestCount()).isEqualTo(500);
+    assertThat(report.getMatchedCount()).isEqualTo(498);
+    assertThat(report.getBodyMismatchCount()).isEqualTo(1);
+    assertThat(report.getStatusMismatchCount()).isEqualTo(1);
+    assertThat(report.getErrorCount()).isZero();
+    assertThat(report.isEquivalent()).isFalse();
+    assertThat(report.getFirstMismatches()).containsExactlyInAnyOrder(
+        "customer 7: body differs (" + body(7).length + " bytes, expected "
+            + body(7).length + " bytes)",
+        "customer 8: status expected=500, actual=200");
+    assertThat(report.getCaptured().getMax()).isEqualTo(600);
+    assertThat(report.getReplayed().getCount()).isEqualTo(500);
+    assertThat(report.format()).contains("Replayed 500 requests").contains("p99.9");
+  }
+
+  @Test
+  @DisplayName("Should ask for the captured encoding so binary responses compare equal")
+  void shouldReplayCapturedEncoding() {
+    // Given - the same customer captured once as JSON and once as CBOR
+    Path file = tempDir.resolve("capture.bin");
+    try (TrafficLogWriter trafficLog = new TrafficLogWriter(file, 16)) {
+      trafficLog.offer(new TrafficRecord(0, 42, 100, 200, crc(body(42)), body(42).length,
+          ResponseEncoding.JSON));
+      trafficLog.offer(new TrafficRecord(1, 42, 100, 200, crc(cborBody(42)), cborBody(42).length,
+          ResponseEncoding.CBOR));
+    }
+    URI baseUri = URI.create("http://127.0.0.1:" + candidate.getAddress().getPort());
+
+    // When
+    ReplayReport report = new TrafficReplayer(baseUri, 0, 4).replay(file);
+
+    // Then
+    assertThat(report.getRequestCount()).isEqualTo(2);
+    assertThat(report.getMatchedCount()).isEqualTo(2);
+    assertThat(report.isEquivalent()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should count failed requests as errors")
+  void shouldCountErrors() {
+    // Given
+    Path file = tempDir.resolve("capture.bin");
+    try (TrafficLogWriter trafficLog = new TrafficLogWriter(file, 16)) {
+      trafficLog.offer(new TrafficRecord(0, 1, 100, 200, 0, 0, ResponseEncoding.JSON));
+    }
+    candidate.stop(0);
+
+    // When
+    ReplayReport report = new TrafficReplayer(
+        URI.create("http://127.0.0.1:" + candidate.getAddress().getPort()), 0, 4).replay(file);
+
+    // Then
+    assertThat(report.getErrorCount()).isEqualTo(1);
+    assertThat(report.isEquivalent()).isFalse();
+  }
+
+  private static byte[] body(long customerId) {
+    return (customerId < 1000 ? "{\"data\":{\"customerId\":" + customerId + "}}" : "{}")
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] cborBody(long customerId) {
+    byte[] json = body(customerId);
+    byte[] body = new byte[json.length + 1];
+    body[0] = (byte) 0xbf; // CBOR indefinite-length map, enough to differ from the JSON body
+    System.arraycopy(json, 0, body, 1, json.length);
+    return body;
+  }
+
+  private static int status(long customerId) {
+    return customerId < 1000 ? 200 : 404;
+  }
+
+  private static int crc(byte[] body) {
+    CRC32C crc = new CRC32C();
+    crc.update(body);
+    return (int) crc.getValue();
+  }
+}